@@ -0,0 +1,51 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import android.content.ContextWrapper;
+
+import androidx.annotation.NonNull;
+
+/**
+ * A {@link android.content.Context} stand-in used by benchmarks running on plain JVM, where there
+ * is no application context available. Provides only the package name which is the only context
+ * data accessed by intent builders while building their intents.
+ *
+ * @author Martin Albedinsky
+ */
+final class BenchmarkContext extends ContextWrapper {
+
+	/**
+	 * Package name reported by the benchmark context.
+	 */
+	static final String PACKAGE_NAME = "universum.studios.android.intent.benchmark";
+
+	/**
+	 * Creates a new instance of BenchmarkContext without any base context.
+	 */
+	BenchmarkContext() {
+		super(null);
+	}
+
+	/**
+	 */
+	@Override @NonNull public String getPackageName() {
+		return PACKAGE_NAME;
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2016 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import android.util.Patterns;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.regex.Matcher;
+
+/**
+ * Benchmarks of {@link EmailAddressValidator} compared to the {@link Patterns#EMAIL_ADDRESS} regex
+ * which it replaces in {@link EmailIntent}.
+ *
+ * @author Martin Albedinsky
+ */
+@State(Scope.Thread)
+public class EmailAddressValidatorBenchmark {
+
+	private static final String VALID_ADDRESS = "john.doe+newsletter@mail.google.com";
+	private static final String INVALID_ADDRESS = "john.doe+newsletter@mail..google.com";
+
+	private Matcher matcher;
+
+	@Setup public void setUp() {
+		this.matcher = Patterns.EMAIL_ADDRESS.matcher("");
+	}
+
+	@Benchmark public boolean validatorWithValidAddress() {
+		return EmailAddressValidator.isValid(VALID_ADDRESS);
+	}
+
+	@Benchmark public boolean validatorWithInvalidAddress() {
+		return EmailAddressValidator.isValid(INVALID_ADDRESS);
+	}
+
+	@Benchmark public boolean patternWithValidAddress() {
+		return Patterns.EMAIL_ADDRESS.matcher(VALID_ADDRESS).matches();
+	}
+
+	@Benchmark public boolean patternWithInvalidAddress() {
+		return Patterns.EMAIL_ADDRESS.matcher(INVALID_ADDRESS).matches();
+	}
+
+	@Benchmark public boolean reusedMatcherWithValidAddress() {
+		return matcher.reset(VALID_ADDRESS).matches();
+	}
+}
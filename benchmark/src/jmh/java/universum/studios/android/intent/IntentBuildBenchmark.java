@@ -0,0 +1,144 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.Intent;
+import android.net.Uri;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks of the build path of all intent builders provided by the library. Each benchmark
+ * re-applies one of the builder's data before building its intent, so the memoized intent is
+ * invalidated and the whole {@link BaseIntent#build(Context)} path is measured, except for the
+ * <var>memoized</var> benchmarks which measure build of a builder with unchanged data.
+ * <p>
+ * Run via {@code ./gradlew :benchmark:jmh}. Throughput along with allocation rate reported by the
+ * GC profiler is written into {@code benchmark/build/reports/jmh}.
+ *
+ * @author Martin Albedinsky
+ */
+@State(Scope.Thread)
+public class IntentBuildBenchmark {
+
+	private static final String PHONE_NUMBER = "+420123456789";
+	private static final String EMAIL_ADDRESS = "john.doe@android.com";
+	private static final Uri CONTENT_URI = Uri.parse("content://android/data/images/lion.jpg");
+
+	private Context context;
+	private SimpleIntent simpleActionIntent;
+	private SimpleIntent simpleActivityIntent;
+	private CalendarIntent calendarViewIntent;
+	private CalendarIntent calendarInsertIntent;
+	private MapIntent mapIntent;
+	private EmailIntent emailIntent;
+	private SmsIntent smsIntent;
+	private DialerIntent dialerIntent;
+	private WebIntent webIntent;
+	private PlayIntent playIntent;
+	private ShareIntent shareIntent;
+	private ImageIntent imageIntent;
+	private VideoIntent videoIntent;
+
+	@Setup public void setUp() {
+		this.context = new BenchmarkContext();
+		this.simpleActionIntent = new SimpleIntent().action(Intent.ACTION_VIEW);
+		this.simpleActivityIntent = new SimpleIntent().activityClass(Activity.class);
+		this.calendarViewIntent = new CalendarIntent();
+		this.calendarInsertIntent = new CalendarIntent()
+				.type(CalendarIntent.TYPE_INSERT_EVENT)
+				.title("Meeting")
+				.description("Weekly meeting.")
+				.location("Prague");
+		this.mapIntent = new MapIntent().location(50.0755, 14.4378).zoomLevel(10).locationQuery("Prague Castle");
+		this.emailIntent = new EmailIntent().to(EMAIL_ADDRESS).cc("jane.doe@android.com").message("Message.");
+		this.smsIntent = new SmsIntent().body("Sms body.");
+		this.dialerIntent = new DialerIntent();
+		this.webIntent = new WebIntent();
+		this.playIntent = new PlayIntent();
+		this.shareIntent = new ShareIntent().content("Shared content.").title("Title");
+		this.imageIntent = new ImageIntent();
+		this.videoIntent = new VideoIntent();
+	}
+
+	@Benchmark public Intent simpleIntentWithAction() {
+		return simpleActionIntent.flags(Intent.FLAG_ACTIVITY_NEW_TASK).build(context);
+	}
+
+	@Benchmark public Intent simpleIntentWithActivity() {
+		return simpleActivityIntent.flags(Intent.FLAG_ACTIVITY_NEW_TASK).build(context);
+	}
+
+	@Benchmark public Intent simpleIntentMemoized() {
+		return simpleActionIntent.build(context);
+	}
+
+	@Benchmark public Intent calendarIntentView() {
+		return calendarViewIntent.beginTime(1546300800000L).build(context);
+	}
+
+	@Benchmark public Intent calendarIntentInsert() {
+		return calendarInsertIntent.beginTime(1546300800000L).endTime(1546304400000L).build(context);
+	}
+
+	@Benchmark public Intent mapIntent() {
+		return mapIntent.label("Castle").build(context);
+	}
+
+	@Benchmark public Intent emailIntent() {
+		return emailIntent.subject("Subject").build(context);
+	}
+
+	@Benchmark public Intent emailIntentMemoized() {
+		return emailIntent.build(context);
+	}
+
+	@Benchmark public Intent smsIntent() {
+		return smsIntent.phoneNumber(PHONE_NUMBER).build(context);
+	}
+
+	@Benchmark public Intent dialerIntent() {
+		return dialerIntent.phoneNumber(PHONE_NUMBER).build(context);
+	}
+
+	@Benchmark public Intent webIntent() {
+		return webIntent.url("https://www.android.com/intl/en_us/").build(context);
+	}
+
+	@Benchmark public Intent playIntent() {
+		return playIntent.applicationId("com.google.android.apps.maps").build(context);
+	}
+
+	@Benchmark public Intent shareIntent() {
+		return shareIntent.uri(CONTENT_URI).build(context);
+	}
+
+	@Benchmark public Intent imageIntent() {
+		return imageIntent.input(CONTENT_URI).build(context);
+	}
+
+	@Benchmark public Intent videoIntent() {
+		return videoIntent.input(CONTENT_URI).build(context);
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2016 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import android.util.Patterns;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmarks of {@link WebUrlValidator} compared to the {@link Patterns#WEB_URL} regex along with
+ * the HTTP prefix regex which it replaces in {@link WebIntent#url(String)}.
+ *
+ * @author Martin Albedinsky
+ */
+@State(Scope.Thread)
+public class WebUrlValidatorBenchmark {
+
+	private static final String HTTP_PREFIX = "http://";
+	private static final String NORMALIZED_URL = "https://www.google.com/search?q=android+intents";
+	private static final String URL_WITHOUT_SCHEME = "www.google.com/search?q=android+intents";
+	private static final String INVALID_URL = "www.google..com/search?q=android+intents";
+
+	private Matcher webUrlMatcher;
+	private Matcher httpFormatMatcher;
+
+	@Setup public void setUp() {
+		this.webUrlMatcher = Patterns.WEB_URL.matcher("");
+		this.httpFormatMatcher = Pattern.compile("^(http|https):\\/\\/(.+)").matcher("");
+	}
+
+	@Benchmark public String validatorWithNormalizedUrl() {
+		return WebUrlValidator.normalize(NORMALIZED_URL);
+	}
+
+	@Benchmark public String validatorWithUrlWithoutScheme() {
+		return WebUrlValidator.normalize(URL_WITHOUT_SCHEME);
+	}
+
+	@Benchmark public String validatorWithInvalidUrl() {
+		return WebUrlValidator.normalize(INVALID_URL);
+	}
+
+	@Benchmark public String patternWithNormalizedUrl() {
+		return normalizeViaPattern(NORMALIZED_URL);
+	}
+
+	@Benchmark public String patternWithUrlWithoutScheme() {
+		return normalizeViaPattern(URL_WITHOUT_SCHEME);
+	}
+
+	@Benchmark public String patternWithInvalidUrl() {
+		return normalizeViaPattern(INVALID_URL);
+	}
+
+	private String normalizeViaPattern(final String url) {
+		if (webUrlMatcher.reset(url).matches()) {
+			return httpFormatMatcher.reset(url).matches() ? url : HTTP_PREFIX + url;
+		}
+		return null;
+	}
+}
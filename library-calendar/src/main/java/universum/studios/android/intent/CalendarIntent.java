@@ -228,6 +228,7 @@ public class CalendarIntent extends BaseIntent<CalendarIntent> {
 	 */
 	public CalendarIntent type(@Type final int type) {
 		this.type = type;
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -257,6 +258,7 @@ public class CalendarIntent extends BaseIntent<CalendarIntent> {
 	 */
 	public CalendarIntent eventId(@IntRange(from = 1) final long eventId) {
 		this.eventId = eventId;
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -284,6 +286,7 @@ public class CalendarIntent extends BaseIntent<CalendarIntent> {
 	 */
 	public CalendarIntent time(@IntRange(from = 0) final long time) {
 		this.beginTime = time;
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -313,6 +316,7 @@ public class CalendarIntent extends BaseIntent<CalendarIntent> {
 	 */
 	public CalendarIntent beginTime(@IntRange(from = 0) final long beginTime) {
 		this.beginTime = beginTime;
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -343,6 +347,7 @@ public class CalendarIntent extends BaseIntent<CalendarIntent> {
 	 */
 	public CalendarIntent endTime(@IntRange(from = 0) final long endTime) {
 		this.endTime = endTime;
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -369,6 +374,7 @@ public class CalendarIntent extends BaseIntent<CalendarIntent> {
 	 */
 	public CalendarIntent title(@Nullable final CharSequence title) {
 		this.title = title;
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -394,6 +400,7 @@ public class CalendarIntent extends BaseIntent<CalendarIntent> {
 	 */
 	public CalendarIntent description(@Nullable final CharSequence description) {
 		this.description = description;
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -419,6 +426,7 @@ public class CalendarIntent extends BaseIntent<CalendarIntent> {
 	 */
 	public CalendarIntent location(@Nullable final CharSequence location) {
 		this.location = location;
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -446,6 +454,7 @@ public class CalendarIntent extends BaseIntent<CalendarIntent> {
 	 */
 	public CalendarIntent availability(@Availability final int availability) {
 		this.availability = availability;
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -463,6 +472,28 @@ public class CalendarIntent extends BaseIntent<CalendarIntent> {
 		return availability;
 	}
 
+	/**
+	 * The begin time will be reset to the current time and the end time to begin time + 1.
+	 */
+	@Override public CalendarIntent reset() {
+		super.reset();
+		this.type = TYPE_VIEW;
+		this.eventId = -1;
+		this.beginTime = System.currentTimeMillis();
+		this.endTime = beginTime + 1;
+		this.title = null;
+		this.description = null;
+		this.location = null;
+		this.availability = AVAILABILITY_BUSY;
+		return this;
+	}
+
+	/**
+	 */
+	@Override protected boolean isBuiltIntentCacheable() {
+		return getClass() == CalendarIntent.class;
+	}
+
 	/**
 	 */
 	@Override protected void ensureCanBuildOrThrow() {
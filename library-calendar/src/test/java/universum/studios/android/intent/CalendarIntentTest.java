@@ -58,6 +58,26 @@ public final class CalendarIntentTest extends RobolectricTestCase {
 		assertThat(intent.availability(), is(CalendarIntent.AVAILABILITY_BUSY));
 	}
 
+	@Test public void testReset() {
+		// Arrange:
+		final CalendarIntent intent = new CalendarIntent();
+		intent.type(CalendarIntent.TYPE_EDIT_EVENT).eventId(1000L).beginTime(0L).endTime(1L);
+		intent.title("Title").description("Description").location("Location");
+		intent.availability(CalendarIntent.AVAILABILITY_FREE);
+		final long currentTime = System.currentTimeMillis();
+		// Act:
+		intent.reset();
+		// Assert:
+		assertThat(intent.type(), is(CalendarIntent.TYPE_VIEW));
+		assertThat(intent.eventId(), is(-1L));
+		assertThatTimeIsInRange(intent.beginTime(), currentTime, currentTime + 10);
+		assertThatTimeIsInRange(intent.endTime(), currentTime + 1, currentTime + 11);
+		assertThat(intent.title(), is((CharSequence) ""));
+		assertThat(intent.description(), is((CharSequence) ""));
+		assertThat(intent.location(), is((CharSequence) ""));
+		assertThat(intent.availability(), is(CalendarIntent.AVAILABILITY_BUSY));
+	}
+
 	@Test public void testType() {
 		// Arrange:
 		final CalendarIntent intent = new CalendarIntent();
@@ -153,6 +173,17 @@ public final class CalendarIntentTest extends RobolectricTestCase {
 		assertThat(intent.getData(), is(Uri.parse("content://" + CalendarContract.AUTHORITY + "/time/" + Long.toString(time))));
 	}
 
+	@Test public void testBuildAfterChange() {
+		// Arrange:
+		final CalendarIntent calendarIntent = new CalendarIntent();
+		calendarIntent.build(context);
+		// Act:
+		calendarIntent.type(CalendarIntent.TYPE_VIEW_EVENT).eventId(1000L);
+		// Assert:
+		final Intent intent = calendarIntent.build(context);
+		assertThat(intent.getData(), is(ContentUris.withAppendedId(CalendarContract.Events.CONTENT_URI, 1000L)));
+	}
+
 	@Test public void testBuildTypeOfViewWithInvalidTime() {
 		// Arrange:
 		final CalendarIntent intent = new CalendarIntent();
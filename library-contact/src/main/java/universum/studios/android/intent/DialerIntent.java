@@ -90,6 +90,7 @@ public class DialerIntent extends BaseIntent<DialerIntent> {
 	 */
 	public DialerIntent phoneNumber(@Nullable final String number) {
 		this.phoneNumber = number;
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -104,6 +105,20 @@ public class DialerIntent extends BaseIntent<DialerIntent> {
 		return phoneNumber == null ? "" : phoneNumber;
 	}
 
+	/**
+	 */
+	@Override public DialerIntent reset() {
+		super.reset();
+		this.phoneNumber = null;
+		return this;
+	}
+
+	/**
+	 */
+	@Override protected boolean isBuiltIntentCacheable() {
+		return getClass() == DialerIntent.class;
+	}
+
 	/**
 	 */
 	@Override protected void ensureCanBuildOrThrow() {
@@ -0,0 +1,175 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2016 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import android.util.Patterns;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Utility class that may be used to validate e-mail addresses. The validation accepts the same
+ * e-mail addresses as {@link Patterns#EMAIL_ADDRESS}, however it is performed by a hand-written
+ * state machine which does not allocate any memory and may be safely used concurrently from
+ * multiple threads.
+ * <p>
+ * Valid e-mail address consists of:
+ * <ul>
+ * <li>local part with at least 1 and at most 256 characters from {@code [a-zA-Z0-9+._%-]},</li>
+ * <li>{@code @} character,</li>
+ * <li>domain label starting with {@code [a-zA-Z0-9]} followed by at most 64 characters from {@code [a-zA-Z0-9-]},</li>
+ * <li>at least one {@code .} character followed by a label starting with {@code [a-zA-Z0-9]} and
+ * followed by at most 25 characters from {@code [a-zA-Z0-9-]}.</li>
+ * </ul>
+ *
+ * @author Martin Albedinsky
+ * @since 1.3
+ */
+public final class EmailAddressValidator {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "EmailAddressValidator";
+
+	/**
+	 * Maximum length of the local part of an e-mail address.
+	 */
+	private static final int LOCAL_PART_MAX_LENGTH = 256;
+
+	/**
+	 * Maximum length of the first label of a domain part of an e-mail address.
+	 */
+	private static final int DOMAIN_LABEL_MAX_LENGTH = 65;
+
+	/**
+	 * Maximum length of the subsequent labels of a domain part of an e-mail address.
+	 */
+	private static final int SUBDOMAIN_LABEL_MAX_LENGTH = 26;
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 */
+	private EmailAddressValidator() {
+		// Not allowed to be instantiated publicly.
+		throw new UnsupportedOperationException();
+	}
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Checks whether the specified <var>address</var> is a valid e-mail address.
+	 *
+	 * @param address The e-mail address to be validated. May be {@code null}.
+	 * @return {@code True} if the address is valid, {@code false} if it is not or it is {@code null}.
+	 */
+	public static boolean isValid(@Nullable final CharSequence address) {
+		if (address == null) {
+			return false;
+		}
+		final int length = address.length();
+		int index = 0;
+		// Local part.
+		while (index < length && isLocalPartChar(address.charAt(index))) {
+			index++;
+		}
+		if (index == 0 || index > LOCAL_PART_MAX_LENGTH || index == length || address.charAt(index) != '@') {
+			return false;
+		}
+		index++;
+		// Domain part, one label followed by at least one '.' separated label.
+		int labelsCount = 0;
+		while (true) {
+			final int labelStart = index;
+			if (index == length || !isLetterOrDigit(address.charAt(index))) {
+				return false;
+			}
+			index++;
+			while (index < length && isLabelChar(address.charAt(index))) {
+				index++;
+			}
+			final int labelMaxLength = labelsCount == 0 ? DOMAIN_LABEL_MAX_LENGTH : SUBDOMAIN_LABEL_MAX_LENGTH;
+			if (index - labelStart > labelMaxLength) {
+				return false;
+			}
+			if (index == length) {
+				return labelsCount > 0;
+			}
+			if (address.charAt(index) != '.') {
+				return false;
+			}
+			index++;
+			labelsCount++;
+		}
+	}
+
+	/**
+	 * Checks whether the specified <var>c</var> is an ASCII letter or digit.
+	 *
+	 * @param c The character to check.
+	 * @return {@code True} if the character is from {@code [a-zA-Z0-9]}, {@code false} otherwise.
+	 */
+	private static boolean isLetterOrDigit(final char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+	}
+
+	/**
+	 * Checks whether the specified <var>c</var> may be contained in a domain label.
+	 *
+	 * @param c The character to check.
+	 * @return {@code True} if the character is from {@code [a-zA-Z0-9-]}, {@code false} otherwise.
+	 */
+	private static boolean isLabelChar(final char c) {
+		return isLetterOrDigit(c) || c == '-';
+	}
+
+	/**
+	 * Checks whether the specified <var>c</var> may be contained in a local part.
+	 *
+	 * @param c The character to check.
+	 * @return {@code True} if the character is from {@code [a-zA-Z0-9+._%-]}, {@code false} otherwise.
+	 */
+	private static boolean isLocalPartChar(final char c) {
+		return isLabelChar(c) || c == '+' || c == '.' || c == '_' || c == '%';
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+}
@@ -75,7 +75,10 @@ public class EmailIntent extends BaseIntent<EmailIntent> {
 	 * Matcher for valid e-mail address.
 	 *
 	 * @see Patterns#EMAIL_ADDRESS
+	 * @deprecated This matcher is not thread safe. Use {@link EmailAddressValidator#isValid(CharSequence)}
+	 * instead.
 	 */
+	@Deprecated
 	public static final Matcher EMAIL_MATCHER = Patterns.EMAIL_ADDRESS.matcher("");
 
 	/*
@@ -132,6 +135,7 @@ public class EmailIntent extends BaseIntent<EmailIntent> {
 			this.addresses = new ArrayList<>(1);
 		}
 		appendEmailAddress(addresses, address);
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -165,6 +169,7 @@ public class EmailIntent extends BaseIntent<EmailIntent> {
 			}
 			appendEmailAddresses(this.addresses, addresses);
 		}
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -199,6 +204,7 @@ public class EmailIntent extends BaseIntent<EmailIntent> {
 			this.ccAddresses = new ArrayList<>(1);
 		}
 		appendEmailAddress(ccAddresses, address);
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -234,6 +240,7 @@ public class EmailIntent extends BaseIntent<EmailIntent> {
 			}
 			appendEmailAddresses(ccAddresses, addresses);
 		}
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -268,6 +275,7 @@ public class EmailIntent extends BaseIntent<EmailIntent> {
 			this.bccAddresses = new ArrayList<>(1);
 		}
 		appendEmailAddress(bccAddresses, address);
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -303,6 +311,7 @@ public class EmailIntent extends BaseIntent<EmailIntent> {
 			}
 			appendEmailAddresses(bccAddresses, addresses);
 		}
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -330,6 +339,7 @@ public class EmailIntent extends BaseIntent<EmailIntent> {
 	 */
 	public EmailIntent subject(@NonNull final CharSequence subject) {
 		this.subject = subject;
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -354,6 +364,7 @@ public class EmailIntent extends BaseIntent<EmailIntent> {
 	 */
 	public EmailIntent message(@NonNull final CharSequence message) {
 		this.message = message;
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -368,6 +379,24 @@ public class EmailIntent extends BaseIntent<EmailIntent> {
 		return message == null ? "" : message;
 	}
 
+	/**
+	 */
+	@Override public EmailIntent reset() {
+		super.reset();
+		this.addresses = null;
+		this.ccAddresses = null;
+		this.bccAddresses = null;
+		this.subject = null;
+		this.message = null;
+		return this;
+	}
+
+	/**
+	 */
+	@Override protected boolean isBuiltIntentCacheable() {
+		return getClass() == EmailIntent.class;
+	}
+
 	/**
 	 */
 	@Override protected void ensureCanBuildOrThrow() {
@@ -451,7 +480,7 @@ public class EmailIntent extends BaseIntent<EmailIntent> {
 	 * @param address Address to append.
 	 */
 	private static void appendEmailAddress(final List<String> list, final String address) {
-		if (EMAIL_MATCHER.reset(address).matches()) {
+		if (EmailAddressValidator.isValid(address)) {
 			list.add(address);
 			return;
 		}
@@ -95,6 +95,7 @@ public final class SmsIntent extends BaseIntent {
 	 */
 	public SmsIntent phoneNumber(@Nullable final String number) {
 		this.phoneNumber = number;
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -119,6 +120,7 @@ public final class SmsIntent extends BaseIntent {
 	 */
 	public SmsIntent body(@Nullable final CharSequence body) {
 		this.body = body;
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -133,6 +135,21 @@ public final class SmsIntent extends BaseIntent {
 		return body == null ? "" : body;
 	}
 
+	/**
+	 */
+	@Override public SmsIntent reset() {
+		super.reset();
+		this.phoneNumber = null;
+		this.body = null;
+		return this;
+	}
+
+	/**
+	 */
+	@Override protected boolean isBuiltIntentCacheable() {
+		return true;
+	}
+
 	/**
 	 */
 	@Override protected void ensureCanBuildOrThrow() {
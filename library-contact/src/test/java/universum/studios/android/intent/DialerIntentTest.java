@@ -47,6 +47,16 @@ public final class DialerIntentTest extends RobolectricTestCase {
 		assertThat(intent.phoneNumber(), is(""));
 	}
 
+	@Test public void testReset() {
+		// Arrange:
+		final DialerIntent intent = new DialerIntent();
+		intent.phoneNumber("00124456");
+		// Act:
+		intent.reset();
+		// Assert:
+		assertThat(intent.phoneNumber(), is(""));
+	}
+
 	@Test public void testPhoneNumber() {
 		// Arrange:
 		final DialerIntent intent = new DialerIntent();
@@ -68,6 +78,18 @@ public final class DialerIntentTest extends RobolectricTestCase {
 		assertThat(intent.getData(), is(Uri.parse("tel:02644569874")));
 	}
 
+	@Test public void testBuildAfterChange() {
+		// Arrange:
+		final DialerIntent dialerIntent = new DialerIntent();
+		dialerIntent.phoneNumber("0123456789");
+		dialerIntent.build(context);
+		// Act:
+		dialerIntent.phoneNumber("9876543210");
+		// Assert:
+		final Intent intent = dialerIntent.build(context);
+		assertThat(intent.getData(), is(Uri.parse("tel:9876543210")));
+	}
+
 	@Test public void testBuildWithoutNumber() {
 		assertThatBuildThrowsExceptionWithMessage(
 				context,
@@ -0,0 +1,75 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2016 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import org.junit.Test;
+
+import universum.studios.android.test.local.LocalTestCase;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author Martin Albedinsky
+ */
+public final class EmailAddressValidatorTest extends LocalTestCase {
+
+	@Test(expected = IllegalAccessException.class)
+	public void testInstantiation() throws Exception {
+		// Act:
+		EmailAddressValidator.class.newInstance();
+	}
+
+	@Test public void testIsValid() {
+		// Act + Assert:
+		assertThat(EmailAddressValidator.isValid("john.doe@gmail.com"), is(true));
+		assertThat(EmailAddressValidator.isValid("john_doe+test%1@mail-server.google.co.uk"), is(true));
+		assertThat(EmailAddressValidator.isValid("a@b.c"), is(true));
+		assertThat(EmailAddressValidator.isValid(repeat('a', 256) + "@b.c"), is(true));
+		assertThat(EmailAddressValidator.isValid("a@" + repeat('b', 65) + ".c"), is(true));
+		assertThat(EmailAddressValidator.isValid("a@b." + repeat('c', 26)), is(true));
+	}
+
+	@Test public void testIsValidWithInvalidAddresses() {
+		// Act + Assert:
+		assertThat(EmailAddressValidator.isValid(null), is(false));
+		assertThat(EmailAddressValidator.isValid(""), is(false));
+		assertThat(EmailAddressValidator.isValid("john.doe"), is(false));
+		assertThat(EmailAddressValidator.isValid("john.doe@"), is(false));
+		assertThat(EmailAddressValidator.isValid("@gmail.com"), is(false));
+		assertThat(EmailAddressValidator.isValid("john.doe@gmail"), is(false));
+		assertThat(EmailAddressValidator.isValid("john.doe@gmail."), is(false));
+		assertThat(EmailAddressValidator.isValid("john.doe@gmail..com"), is(false));
+		assertThat(EmailAddressValidator.isValid("john.doe@-gmail.com"), is(false));
+		assertThat(EmailAddressValidator.isValid("john.doe@gmail.-com"), is(false));
+		assertThat(EmailAddressValidator.isValid("john doe@gmail.com"), is(false));
+		assertThat(EmailAddressValidator.isValid("john.doe@gmail@com"), is(false));
+		assertThat(EmailAddressValidator.isValid(repeat('a', 257) + "@b.c"), is(false));
+		assertThat(EmailAddressValidator.isValid("a@" + repeat('b', 66) + ".c"), is(false));
+		assertThat(EmailAddressValidator.isValid("a@b." + repeat('c', 27)), is(false));
+	}
+
+	private static String repeat(final char c, final int count) {
+		final StringBuilder builder = new StringBuilder(count);
+		for (int i = 0; i < count; i++) {
+			builder.append(c);
+		}
+		return builder.toString();
+	}
+}
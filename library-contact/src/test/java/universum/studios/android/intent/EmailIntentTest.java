@@ -59,6 +59,21 @@ public final class EmailIntentTest extends RobolectricTestCase {
 		assertThat(intent.message(), is((CharSequence) ""));
 	}
 
+	@Test public void testReset() {
+		// Arrange:
+		final EmailIntent intent = new EmailIntent();
+		intent.to("john.doe@gmail.com").cc("jane.doe@gmail.com").bcc("test@android.com");
+		intent.subject("Subject").message("Message");
+		// Act:
+		intent.reset();
+		// Assert:
+		assertThat(intent.addresses(), is(Collections.EMPTY_LIST));
+		assertThat(intent.ccAddresses(), is(Collections.EMPTY_LIST));
+		assertThat(intent.bccAddresses(), is(Collections.EMPTY_LIST));
+		assertThat(intent.subject(), is((CharSequence) ""));
+		assertThat(intent.message(), is((CharSequence) ""));
+	}
+
 	@Test public void testToSingle() {
 		// Arrange:
 		final EmailIntent intent = new EmailIntent();
@@ -287,6 +302,19 @@ public final class EmailIntentTest extends RobolectricTestCase {
 		assertThat(intent.getStringArrayExtra(Intent.EXTRA_CC), is(nullValue()));
 	}
 
+	@Test public void testBuildAfterChange() {
+		// Arrange:
+		final EmailIntent emailIntent = new EmailIntent();
+		emailIntent.to("john.doe@gmail.com");
+		emailIntent.build(context);
+		// Act:
+		emailIntent.to("jane.doe@gmail.com").subject("Subject");
+		// Assert:
+		final Intent intent = emailIntent.build(context);
+		assertThat(intent.getData(), is(Uri.fromParts("mailto", "john.doe@gmail.com,jane.doe@gmail.com", null)));
+		assertThat(intent.getCharSequenceExtra(Intent.EXTRA_SUBJECT).toString(), is("Subject"));
+	}
+
 	@Test public void testBuildWithoutAddresses() {
 		assertThatBuildThrowsExceptionWithMessage(
 				context,
@@ -48,6 +48,17 @@ public final class SmsIntentTest extends RobolectricTestCase {
 		assertThat(intent.body(), is((CharSequence) ""));
 	}
 
+	@Test public void testReset() {
+		// Arrange:
+		final SmsIntent intent = new SmsIntent();
+		intent.phoneNumber("00124456").body("Sms body content.");
+		// Act:
+		intent.reset();
+		// Assert:
+		assertThat(intent.phoneNumber(), is(""));
+		assertThat(intent.body(), is((CharSequence) ""));
+	}
+
 	@Test public void testPhoneNumber() {
 		// Arrange:
 		final SmsIntent intent = new SmsIntent();
@@ -101,6 +112,18 @@ public final class SmsIntentTest extends RobolectricTestCase {
 		assertThat(intent.getStringExtra("sms_body"), is("Sms body content."));
 	}
 
+	@Test public void testBuildAfterChange() {
+		// Arrange:
+		final SmsIntent smsIntent = new SmsIntent();
+		smsIntent.phoneNumber("0123456789");
+		smsIntent.build(context);
+		// Act:
+		smsIntent.body("Message");
+		// Assert:
+		final Intent intent = smsIntent.build(context);
+		assertThat(intent.getCharSequenceExtra("sms_body").toString(), is("Message"));
+	}
+
 	@Test public void testBuildWithoutNumber() {
 		assertThatBuildThrowsExceptionWithMessage(
 				context,
@@ -0,0 +1,935 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.content.Intent;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Matrix;
+import android.net.Uri;
+import android.os.Build;
+import android.os.Looper;
+import android.os.ParcelFileDescriptor;
+import android.os.Process;
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+/**
+ * Utility class used to decode bitmaps of image content picked via {@link ImageIntent}.
+ * <p>
+ * The image content is usually opened only once. If the content is backed by a regular file, both bounds
+ * and pixels of the image are decoded directly from its file descriptor, otherwise the content is
+ * read through a buffered stream which is reset after the bounds have been decoded, or opened once
+ * more if decoding of the bounds has read beyond the stream's mark limit. Content which cannot be
+ * opened as a file descriptor at all, like images stored within application resources, is read
+ * through a stream opened via {@link ContentResolver#openInputStream(Uri)}. Image is decoded
+ * with the largest power of two sample size which still keeps its dimensions above the dimensions
+ * requested via {@link ImageIntent.ImageOptions} and then scaled exactly to them according to the
+ * requested fit mode, and all opened streams and descriptors are closed as soon as the decoding
+ * finishes.
+ * <p>
+ * Images too large to be decoded even with sampling may be decoded only partially by specifying
+ * a region via {@link ImageIntent.ImageOptions#region(android.graphics.Rect)}.
+ * <p>
+ * Memory of bitmaps which are no longer needed may be reused for decoding via {@link BitmapPool}
+ * specified via {@link #setBitmapPool(BitmapPool)}. Duration of each decoding may be observed via
+ * {@link #setMetrics(Metrics)}.
+ * <p>
+ * Memory allocated by images decoded at the same time, including the bitmaps into which they are
+ * fitted, is limited by a process-wide {@link DecodeGovernor} which may be changed via
+ * {@link #setDecodeGovernor(DecodeGovernor)}. Decoding of an image that does not fit into its budget
+ * is queued, downsampled or rejected, in which case {@code null} is returned. Decoding performed
+ * on the main thread is never queued.
+ * <p>
+ * Asynchronous decoding, like the one performed via {@link ImageIntent#processResultIntentAsync(int, int, Intent, Context, ImageIntent.ImageOptions, ImageIntent.ResultCallback)},
+ * is executed on a bounded executor which may be changed via {@link #setExecutor(Executor)}.
+ *
+ * @author Martin Albedinsky
+ * @since 1.3
+ */
+public final class BitmapDecoder {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	private static final String TAG = "BitmapDecoder";
+
+	/**
+	 * Size of the buffer used to read image content which is not backed by a regular file.
+	 */
+	@VisibleForTesting static final int BUFFER_SIZE = 16 * 1024;
+
+	/**
+	 * Maximum count of bytes that may be read from a stream while decoding image bounds so the
+	 * stream may be still reset afterwards.
+	 */
+	@VisibleForTesting static final int MARK_LIMIT = 1024 * 1024;
+
+	/**
+	 * Maximum sample size that may be used to decode an image.
+	 */
+	private static final int MAX_SAMPLE_SIZE = 1 << 30;
+
+	/**
+	 * Maximum count of threads of the default executor used for asynchronous decoding. Decoding
+	 * of large images is memory intensive, so only few images are decoded in parallel.
+	 */
+	@VisibleForTesting static final int MAX_EXECUTOR_THREADS = Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() - 1));
+
+	/**
+	 * Maximum count of threads of the default executor used for parallel decoding of multiple images.
+	 * Memory of the images decoded in parallel is limited by the decode governor.
+	 */
+	@VisibleForTesting static final int MAX_PARALLEL_EXECUTOR_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+	/**
+	 * Duration for which may threads of the default executor stay idle before they are terminated.
+	 */
+	private static final long EXECUTOR_KEEP_ALIVE_SECONDS = 30;
+
+	/**
+	 * Divisor of the maximum heap size used to compute budget of the default decode governor.
+	 */
+	private static final int DEFAULT_GOVERNOR_HEAP_DIVISOR = 4;
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Interface that may be used to observe how long decoding of image content takes.
+	 *
+	 * @author Martin Albedinsky
+	 * @since 1.3
+	 *
+	 * @see #setMetrics(Metrics)
+	 */
+	public interface Metrics {
+
+		/**
+		 * Default metrics implementation which ignores all measurements.
+		 */
+		Metrics NONE = new Metrics() {
+
+			/**
+			 */
+			@Override public void onBitmapDecoded(
+					@NonNull final Uri uri,
+					final int sampleSize,
+					@Nullable final Bitmap bitmap,
+					final long decodeNanos
+			) {
+				// Measurements are ignored.
+			}
+		};
+
+		/**
+		 * Invoked whenever decoding of image content at the specified <var>uri</var> has finished.
+		 * <p>
+		 * <b>Note</b>, that this method is invoked on the thread on which has been the decoding
+		 * performed.
+		 *
+		 * @param uri         Uri of the decoded image content.
+		 * @param sampleSize  Sample size used to decode the image.
+		 * @param bitmap      The decoded bitmap or {@code null} if the decoding has failed.
+		 * @param decodeNanos Duration of the decoding in nanoseconds, including opening of the content.
+		 */
+		void onBitmapDecoded(@NonNull Uri uri, int sampleSize, @Nullable Bitmap bitmap, long decodeNanos);
+	}
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Metrics notified about duration of each decoding.
+	 */
+	private static volatile Metrics metrics = Metrics.NONE;
+
+	/**
+	 * Pool of bitmaps which may be reused for decoding.
+	 */
+	private static volatile BitmapPool bitmapPool;
+
+	/**
+	 * Executor specified via {@link #setExecutor(Executor)} used for asynchronous decoding.
+	 */
+	private static volatile Executor executor;
+
+	/**
+	 * Default executor used for asynchronous decoding, lazily created when first requested.
+	 */
+	private static Executor defaultExecutor;
+
+	/**
+	 * Executor specified via {@link #setParallelExecutor(Executor)} used for parallel decoding.
+	 */
+	private static volatile Executor parallelExecutor;
+
+	/**
+	 * Default executor used for parallel decoding, lazily created when first requested.
+	 */
+	private static Executor defaultParallelExecutor;
+
+	/**
+	 * Governor specified via {@link #setDecodeGovernor(DecodeGovernor)} used to limit memory of
+	 * concurrent decodings.
+	 */
+	private static volatile DecodeGovernor decodeGovernor;
+
+	/**
+	 * Default governor used to limit memory of concurrent decodings, lazily created when first requested.
+	 */
+	private static DecodeGovernor defaultDecodeGovernor;
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 */
+	private BitmapDecoder() {
+		// Not allowed to be instantiated publicly.
+		throw new UnsupportedOperationException();
+	}
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Specifies metrics to be notified about duration of each decoding performed via
+	 * {@link #decode(ContentResolver, Uri, ImageIntent.ImageOptions)}.
+	 * <p>
+	 * Default value: <b>{@link Metrics#NONE}</b>
+	 *
+	 * @param metrics The desired metrics. May be {@code null} to use the default ones.
+	 */
+	public static void setMetrics(@Nullable final Metrics metrics) {
+		BitmapDecoder.metrics = metrics == null ? Metrics.NONE : metrics;
+	}
+
+	/**
+	 * Specifies a pool of bitmaps which should be reused when decoding images via
+	 * {@link #decode(ContentResolver, Uri, ImageIntent.ImageOptions)}. When a pool is specified, all
+	 * decoded bitmaps are mutable, so they may be returned into the pool via {@link BitmapPool#put(Bitmap)}
+	 * whenever they are no longer needed.
+	 * <p>
+	 * <b>Note</b>, that pooled bitmaps are reused only for image content backed by a regular file,
+	 * as only such content may be safely decoded again, if decoding into a pooled bitmap fails.
+	 * <p>
+	 * Default value: <b>{@code null}</b>
+	 *
+	 * @param pool The desired pool. May be {@code null} to not reuse any bitmaps.
+	 */
+	public static void setBitmapPool(@Nullable final BitmapPool pool) {
+		BitmapDecoder.bitmapPool = pool;
+	}
+
+	/**
+	 * Releases the given <var>bitmap</var> which is no longer needed. The bitmap is put into the pool
+	 * specified via {@link #setBitmapPool(BitmapPool)}, if any, or it is recycled.
+	 *
+	 * @param bitmap The bitmap to be released.
+	 */
+	static void release(@NonNull final Bitmap bitmap) {
+		final BitmapPool pool = bitmapPool;
+		if (pool == null) {
+			bitmap.recycle();
+		} else {
+			pool.put(bitmap);
+		}
+	}
+
+	/**
+	 * Specifies an executor to be used for asynchronous decoding of images.
+	 * <p>
+	 * Default value: <b>executor with at most {@link #MAX_EXECUTOR_THREADS} background threads</b>
+	 *
+	 * @param executor The desired executor. May be {@code null} to use the default one.
+	 */
+	public static void setExecutor(@Nullable final Executor executor) {
+		BitmapDecoder.executor = executor;
+	}
+
+	/**
+	 * Returns the executor to be used for asynchronous decoding.
+	 *
+	 * @return The executor specified via {@link #setExecutor(Executor)} or the default one.
+	 */
+	@NonNull static Executor obtainExecutor() {
+		final Executor executor = BitmapDecoder.executor;
+		if (executor != null) {
+			return executor;
+		}
+		synchronized (BitmapDecoder.class) {
+			if (defaultExecutor == null) {
+				defaultExecutor = createDefaultExecutor(MAX_EXECUTOR_THREADS, "BitmapDecoder #");
+			}
+			return defaultExecutor;
+		}
+	}
+
+	/**
+	 * Specifies an executor to be used for parallel decoding of multiple images, like the one performed
+	 * via {@link ImageIntent#processMultipleResultIntentAsync(int, int, Intent, Context, ImageIntent.ImageOptions, ImageIntent.MultipleResultCallback)}.
+	 * <p>
+	 * Default value: <b>executor with at most {@link #MAX_PARALLEL_EXECUTOR_THREADS} background threads</b>
+	 *
+	 * @param executor The desired executor. May be {@code null} to use the default one.
+	 */
+	public static void setParallelExecutor(@Nullable final Executor executor) {
+		BitmapDecoder.parallelExecutor = executor;
+	}
+
+	/**
+	 * Returns the executor to be used for parallel decoding.
+	 *
+	 * @return The executor specified via {@link #setParallelExecutor(Executor)} or the default one.
+	 */
+	@NonNull static Executor obtainParallelExecutor() {
+		final Executor executor = BitmapDecoder.parallelExecutor;
+		if (executor != null) {
+			return executor;
+		}
+		synchronized (BitmapDecoder.class) {
+			if (defaultParallelExecutor == null) {
+				defaultParallelExecutor = createDefaultExecutor(MAX_PARALLEL_EXECUTOR_THREADS, "BitmapDecoder-Parallel #");
+			}
+			return defaultParallelExecutor;
+		}
+	}
+
+	/**
+	 * Creates a default executor with bounded count of background threads which are terminated
+	 * when idle.
+	 *
+	 * @param threads    Maximum count of threads of the executor.
+	 * @param namePrefix Prefix for names of the created threads.
+	 * @return New executor instance.
+	 */
+	private static Executor createDefaultExecutor(final int threads, final String namePrefix) {
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+				threads,
+				threads,
+				EXECUTOR_KEEP_ALIVE_SECONDS,
+				TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>(),
+				new ThreadFactory() {
+
+					/**
+					 * Counter used to name the created threads.
+					 */
+					private final AtomicInteger count = new AtomicInteger();
+
+					/**
+					 */
+					@Override public Thread newThread(@NonNull final Runnable runnable) {
+						return new Thread(new Runnable() {
+
+							/**
+							 */
+							@Override public void run() {
+								Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+								runnable.run();
+							}
+						}, namePrefix + count.incrementAndGet());
+					}
+				}
+		);
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Specifies a governor which should limit memory allocated by images decoded at the same time
+	 * via {@link #decode(ContentResolver, Uri, ImageIntent.ImageOptions)}.
+	 * <p>
+	 * Default value: <b>governor with budget of one quarter of the maximum heap size</b>
+	 *
+	 * @param governor The desired governor. May be {@code null} to use the default one.
+	 */
+	public static void setDecodeGovernor(@Nullable final DecodeGovernor governor) {
+		BitmapDecoder.decodeGovernor = governor;
+	}
+
+	/**
+	 * Returns the governor to be used to limit memory of concurrent decodings.
+	 *
+	 * @return The governor specified via {@link #setDecodeGovernor(DecodeGovernor)} or the default one.
+	 */
+	@NonNull static DecodeGovernor obtainDecodeGovernor() {
+		final DecodeGovernor governor = BitmapDecoder.decodeGovernor;
+		if (governor != null) {
+			return governor;
+		}
+		synchronized (BitmapDecoder.class) {
+			if (defaultDecodeGovernor == null) {
+				defaultDecodeGovernor = new DecodeGovernor(Math.max(1, Runtime.getRuntime().maxMemory() / DEFAULT_GOVERNOR_HEAP_DIVISOR));
+			}
+			return defaultDecodeGovernor;
+		}
+	}
+
+	/**
+	 * Decodes bitmap of the image content at the specified <var>uri</var>.
+	 * <p>
+	 * <b>Note</b>, that decoding of large images may take a considerable amount of time, and it may
+	 * be also queued by the decode governor, so this method should be preferably invoked on a background
+	 * thread. When invoked on the main thread, the decoding is never queued, so it is rather downsampled
+	 * or rejected if the budget of the decode governor is not available.
+	 *
+	 * @param resolver Content resolver used to open the image content.
+	 * @param uri      Uri of the image content to be decoded.
+	 * @param options  Options specifying the desired dimensions of the decoded bitmap. May be
+	 *                 {@code null} to decode the image in its full size.
+	 * @return Decoded bitmap or {@code null} if the content could not be opened or decoded, or if
+	 * its decoding has been rejected by the decode governor.
+	 */
+	@Nullable public static Bitmap decode(
+			@NonNull final ContentResolver resolver,
+			@NonNull final Uri uri,
+			@Nullable final ImageIntent.ImageOptions options
+	) {
+		if (options != null && options.region != null) {
+			return decodeRegion(resolver, uri, options);
+		}
+		final long startTime = System.nanoTime();
+		final BitmapFactory.Options bitmapOptions = new BitmapFactory.Options();
+		if (options != null && options.config != null) {
+			bitmapOptions.inPreferredConfig = decodingConfigOf(options.config);
+		}
+		final DecodeGovernor governor = obtainDecodeGovernor();
+		long acquiredBytes = 0;
+		Bitmap bitmap = null;
+		ParcelFileDescriptor descriptor = null;
+		InputStream stream = null;
+		try {
+			try {
+				descriptor = resolver.openFileDescriptor(uri, "r");
+			} catch (FileNotFoundException e) {
+				// Content stored at an offset within a larger file, like an asset or a raw resource,
+				// may be opened only as a stream.
+				Log.d(TAG, "Unable to open descriptor of image content at uri(" + uri + "), falling back to stream.");
+			}
+			final BitmapPool pool = bitmapPool;
+			if (descriptor != null && descriptor.getStatSize() >= 0) {
+				final FileDescriptor fileDescriptor = descriptor.getFileDescriptor();
+				// Decoding from a file descriptor of a regular file restores its offset, so it
+				// may be used for all passes.
+				bitmapOptions.inJustDecodeBounds = true;
+				BitmapFactory.decodeFileDescriptor(fileDescriptor, null, bitmapOptions);
+				prepareOptions(bitmapOptions, options);
+				acquiredBytes = acquireBudget(governor, bitmapOptions, options);
+				if (acquiredBytes >= 0) {
+					if (pool != null) {
+						bitmapOptions.inMutable = true;
+						bitmap = decodeIntoPooledBitmap(fileDescriptor, bitmapOptions, pool);
+					}
+					if (bitmap == null) {
+						bitmap = BitmapFactory.decodeFileDescriptor(fileDescriptor, null, bitmapOptions);
+					}
+				}
+			} else {
+				stream = descriptor == null ?
+						openStream(resolver, uri) :
+						new BufferedInputStream(new FileInputStream(descriptor.getFileDescriptor()), BUFFER_SIZE);
+				stream.mark(MARK_LIMIT);
+				bitmapOptions.inJustDecodeBounds = true;
+				BitmapFactory.decodeStream(stream, null, bitmapOptions);
+				try {
+					stream.reset();
+				} catch (IOException e) {
+					// Bounds pass has read beyond the mark limit, like for images with large
+					// metadata headers, so the content needs to be opened once more.
+					close(stream);
+					close(descriptor);
+					stream = null;
+					descriptor = null;
+					stream = openStream(resolver, uri);
+				}
+				prepareOptions(bitmapOptions, options);
+				acquiredBytes = acquireBudget(governor, bitmapOptions, options);
+				if (acquiredBytes >= 0) {
+					bitmapOptions.inMutable = pool != null;
+					bitmap = BitmapFactory.decodeStream(stream, null, bitmapOptions);
+				}
+			}
+			if (acquiredBytes < 0) {
+				Log.w(TAG, "Decoding of image content at uri(" + uri + ") has been rejected due to insufficient memory budget.");
+			}
+			bitmap = fit(bitmap, options);
+		} catch (IOException e) {
+			Log.e(TAG, "Unable to decode image content at uri(" + uri + ").", e);
+		} finally {
+			if (acquiredBytes > 0) {
+				governor.release(acquiredBytes);
+			}
+			close(stream);
+			close(descriptor);
+		}
+		metrics.onBitmapDecoded(uri, Math.max(1, bitmapOptions.inSampleSize), bitmap, System.nanoTime() - startTime);
+		return bitmap;
+	}
+
+	/**
+	 * Opens a new buffered stream of the content at the specified <var>uri</var>.
+	 *
+	 * @param resolver Content resolver used to open the content.
+	 * @param uri      Uri of the content to be opened.
+	 * @return Buffered stream of the content.
+	 * @throws IOException If the content cannot be opened.
+	 */
+	private static InputStream openStream(final ContentResolver resolver, final Uri uri) throws IOException {
+		final InputStream stream = resolver.openInputStream(uri);
+		if (stream == null) {
+			throw new FileNotFoundException("Unable to open image content at uri(" + uri + ").");
+		}
+		return new BufferedInputStream(stream, BUFFER_SIZE);
+	}
+
+	/**
+	 * Decodes only the region of the image content at the specified <var>uri</var> which is specified
+	 * by the given <var>options</var>.
+	 *
+	 * @param resolver Content resolver used to open the image content.
+	 * @param uri      Uri of the image content to be decoded.
+	 * @param options  Options specifying the region and the desired dimensions of the decoded bitmap.
+	 * @return Decoded bitmap or {@code null} if the content could not be opened or decoded.
+	 *
+	 * @see ImageRegionDecoder
+	 */
+	private static Bitmap decodeRegion(final ContentResolver resolver, final Uri uri, final ImageIntent.ImageOptions options) {
+		final long startTime = System.nanoTime();
+		final BitmapFactory.Options bitmapOptions = new BitmapFactory.Options();
+		Bitmap bitmap = null;
+		ImageRegionDecoder decoder = null;
+		try {
+			decoder = ImageRegionDecoder.open(resolver, uri);
+			bitmap = fit(decoder.decode(options.region, options, bitmapOptions), options);
+		} catch (IOException e) {
+			Log.e(TAG, "Unable to decode region of image content at uri(" + uri + ").", e);
+		} finally {
+			if (decoder != null) {
+				try {
+					decoder.close();
+				} catch (IOException e) {
+					Log.w(TAG, "Failed to close descriptor of image content.", e);
+				}
+			}
+		}
+		metrics.onBitmapDecoded(uri, Math.max(1, bitmapOptions.inSampleSize), bitmap, System.nanoTime() - startTime);
+		return bitmap;
+	}
+
+	/**
+	 * Prepares the given <var>bitmapOptions</var> with already decoded bounds to decode pixels of
+	 * the image according to the specified <var>options</var>.
+	 *
+	 * @param bitmapOptions Options with decoded image bounds.
+	 * @param options       Options specifying the desired dimensions of the decoded bitmap. May be
+	 *                      {@code null} to decode the image in its full size.
+	 */
+	private static void prepareOptions(final BitmapFactory.Options bitmapOptions, final ImageIntent.ImageOptions options) {
+		bitmapOptions.inJustDecodeBounds = false;
+		if (options != null) {
+			final int sampleSize = computeSampleSize(
+					bitmapOptions.outWidth,
+					bitmapOptions.outHeight,
+					options.width,
+					options.height,
+					options.fitMode
+			);
+			bitmapOptions.inSampleSize = constrainSampleSize(
+					bitmapOptions.outWidth,
+					bitmapOptions.outHeight,
+					sampleSize,
+					options.maxPixels
+			);
+		}
+	}
+
+	/**
+	 * Fits the given sampled <var>bitmap</var> exactly into the dimensions and pixel budget specified
+	 * by the given <var>options</var> via {@link #scale(Bitmap, ImageIntent.ImageOptions)}, so the
+	 * decoded images have the same geometry as the scaled camera thumbnails. The bitmap is scaled
+	 * only if it exceeds the requested dimensions or pixel budget, or if it should be cropped, and
+	 * it is converted to the preferred configuration as the last step.
+	 *
+	 * @param bitmap  The sampled bitmap to be fitted. May be {@code null}. If scaled or converted,
+	 *                it is released.
+	 * @param options Options specifying the desired dimensions of the bitmap. May be {@code null}.
+	 * @return The fitted bitmap, or the given one if it has not needed to be scaled nor converted.
+	 */
+	@VisibleForTesting static Bitmap fit(@Nullable final Bitmap bitmap, @Nullable final ImageIntent.ImageOptions options) {
+		if (bitmap == null || options == null) {
+			return bitmap;
+		}
+		final int width = bitmap.getWidth();
+		final int height = bitmap.getHeight();
+		final boolean exceedsTarget = (options.width > 0 && width > options.width)
+				|| (options.height > 0 && height > options.height)
+				|| (options.maxPixels > 0 && (long) width * height > options.maxPixels);
+		final boolean crop = options.fitMode == ImageIntent.ImageOptions.FIT_CROP && options.width > 0 && options.height > 0;
+		final Bitmap fittedBitmap = exceedsTarget || crop ? scale(bitmap, options) : convert(bitmap, options.config);
+		if (fittedBitmap != bitmap) {
+			release(bitmap);
+		}
+		return fittedBitmap;
+	}
+
+	/**
+	 * Computes the count of bytes of the bitmap into which is fitted an image of the specified
+	 * dimensions via {@link #fit(Bitmap, ImageIntent.ImageOptions)} according to the given
+	 * <var>options</var>. Such bitmap is allocated while the decoded one is still held.
+	 *
+	 * @param width   Width of the image.
+	 * @param height  Height of the image.
+	 * @param options Options specifying the desired dimensions of the bitmap. May be {@code null}.
+	 * @return Count of bytes or {@code 0} if the image does not need to be scaled.
+	 */
+	@VisibleForTesting static long fittedByteCountOf(final int width, final int height, @Nullable final ImageIntent.ImageOptions options) {
+		if (options == null || width <= 0 || height <= 0) {
+			return 0;
+		}
+		int fittedWidth, fittedHeight;
+		if (options.fitMode == ImageIntent.ImageOptions.FIT_CROP && options.width > 0 && options.height > 0) {
+			fittedWidth = options.width;
+			fittedHeight = options.height;
+		} else {
+			final float widthScale = options.width > 0 ? options.width / (float) width : 1;
+			final float heightScale = options.height > 0 ? options.height / (float) height : 1;
+			final float scale = Math.min(1, Math.min(widthScale, heightScale));
+			fittedWidth = Math.max(1, Math.round(width * scale));
+			fittedHeight = Math.max(1, Math.round(height * scale));
+		}
+		final long pixels = (long) fittedWidth * fittedHeight;
+		if (options.maxPixels > 0 && pixels > options.maxPixels) {
+			final double reduction = Math.sqrt(options.maxPixels / (double) pixels);
+			fittedWidth = Math.max(1, (int) (fittedWidth * reduction));
+			fittedHeight = Math.max(1, (int) (fittedHeight * reduction));
+		}
+		if (fittedWidth == width && fittedHeight == height) {
+			return 0;
+		}
+		return DecodeGovernor.byteCountOf(fittedWidth, fittedHeight, 1, decodingConfigOf(options.config));
+	}
+
+	/**
+	 * Acquires budget for decoding of the image with bounds decoded into the given <var>bitmapOptions</var>
+	 * from the specified <var>governor</var>, including the bitmap into which is the decoded image
+	 * fitted. If the governor admits the decoding only with a larger sample size, the sample size
+	 * of the options is updated accordingly.
+	 * <p>
+	 * Decoding requested on the main thread never waits for the budget, so it is downsampled or
+	 * rejected right away if the budget is not available.
+	 *
+	 * @param governor      The governor from which to acquire the budget.
+	 * @param bitmapOptions Options with decoded image bounds prepared to decode its pixels.
+	 * @param options       Options specifying the desired dimensions of the decoded bitmap. May be
+	 *                      {@code null}.
+	 * @return Count of acquired bytes which should be released when the decoding finishes or
+	 * {@code -1} if the decoding has been rejected.
+	 */
+	private static long acquireBudget(final DecodeGovernor governor, final BitmapFactory.Options bitmapOptions, final ImageIntent.ImageOptions options) {
+		final long fittedBytes = fittedByteCountOf(bitmapOptions.outWidth, bitmapOptions.outHeight, options);
+		final int sampleSize = governor.acquire(
+				bitmapOptions.outWidth,
+				bitmapOptions.outHeight,
+				bitmapOptions.inSampleSize,
+				bitmapOptions.inPreferredConfig,
+				fittedBytes,
+				Looper.myLooper() != Looper.getMainLooper()
+		);
+		if (sampleSize == DecodeGovernor.REJECTED) {
+			return -1;
+		}
+		bitmapOptions.inSampleSize = sampleSize;
+		return DecodeGovernor.byteCountOf(bitmapOptions.outWidth, bitmapOptions.outHeight, sampleSize, bitmapOptions.inPreferredConfig) + fittedBytes;
+	}
+
+	/**
+	 * Decodes pixels of the image into a bitmap obtained from the given <var>pool</var>.
+	 *
+	 * @param fileDescriptor Descriptor of the image content.
+	 * @param bitmapOptions  Options with decoded image bounds prepared to decode its pixels.
+	 * @param pool           The pool from which to obtain the reusable bitmap.
+	 * @return Decoded bitmap or {@code null} if there is no suitable pooled bitmap or the image could
+	 * not be decoded into it.
+	 */
+	private static Bitmap decodeIntoPooledBitmap(final FileDescriptor fileDescriptor, final BitmapFactory.Options bitmapOptions, final BitmapPool pool) {
+		final int sampleSize = Math.max(1, bitmapOptions.inSampleSize);
+		final Bitmap reusableBitmap = pool.get(
+				divideRoundingUp(bitmapOptions.outWidth, sampleSize),
+				divideRoundingUp(bitmapOptions.outHeight, sampleSize),
+				bitmapOptions.inPreferredConfig == null ? Bitmap.Config.ARGB_8888 : bitmapOptions.inPreferredConfig,
+				sampleSize
+		);
+		if (reusableBitmap == null) {
+			return null;
+		}
+		bitmapOptions.inBitmap = reusableBitmap;
+		try {
+			final Bitmap bitmap = BitmapFactory.decodeFileDescriptor(fileDescriptor, null, bitmapOptions);
+			if (bitmap != null) {
+				return bitmap;
+			}
+		} catch (IllegalArgumentException e) {
+			Log.w(TAG, "Unable to decode image into pooled bitmap.", e);
+		} finally {
+			bitmapOptions.inBitmap = null;
+		}
+		pool.put(reusableBitmap);
+		return null;
+	}
+
+	/**
+	 * Divides the specified <var>value</var> by the given <var>divisor</var> rounding the result up.
+	 */
+	private static int divideRoundingUp(final int value, final int divisor) {
+		return (value + divisor - 1) / divisor;
+	}
+
+	/**
+	 * Computes the largest power of two sample size with which the image of the specified dimensions
+	 * will be decoded into bitmap that still covers the specified target dimensions, in case of
+	 * {@link ImageIntent.ImageOptions#FIT_CROP FIT_CROP} mode, or which is still at least as large as
+	 * the image fitted inside of the target dimensions, in case of {@link ImageIntent.ImageOptions#FIT_INSIDE FIT_INSIDE}
+	 * mode.
+	 *
+	 * @param width        Width of the image.
+	 * @param height       Height of the image.
+	 * @param targetWidth  The desired width of the bitmap. Non-positive value means that the width
+	 *                     is not constrained.
+	 * @param targetHeight The desired height of the bitmap. Non-positive value means that the height
+	 *                     is not constrained.
+	 * @param fitMode      Mode determining how should be the image fitted into the target dimensions.
+	 * @return Sample size that is power of two, {@code 1} if the image should not be sampled.
+	 */
+	@IntRange(from = 1) static int computeSampleSize(
+			final int width,
+			final int height,
+			final int targetWidth,
+			final int targetHeight,
+			@ImageIntent.ImageOptions.FitMode final int fitMode
+	) {
+		if (width <= 0 || height <= 0 || (targetWidth <= 0 && targetHeight <= 0)) {
+			return 1;
+		}
+		final boolean fitInside = fitMode == ImageIntent.ImageOptions.FIT_INSIDE && targetWidth > 0 && targetHeight > 0;
+		int sampleSize = 1;
+		while (sampleSize < MAX_SAMPLE_SIZE) {
+			final int nextSampleSize = sampleSize * 2;
+			final boolean widthCovered = targetWidth <= 0 || width / nextSampleSize >= targetWidth;
+			final boolean heightCovered = targetHeight <= 0 || height / nextSampleSize >= targetHeight;
+			if (fitInside ? !widthCovered && !heightCovered : !widthCovered || !heightCovered) {
+				break;
+			}
+			sampleSize = nextSampleSize;
+		}
+		return sampleSize;
+	}
+
+	/**
+	 * Increases the specified <var>sampleSize</var> by power of two factors until the image of the
+	 * specified dimensions decoded with such sample size has at most the specified count of pixels.
+	 *
+	 * @param width      Width of the image.
+	 * @param height     Height of the image.
+	 * @param sampleSize The sample size to be constrained.
+	 * @param maxPixels  Maximum count of pixels of the decoded bitmap. Non-positive value means no limit.
+	 * @return Sample size that is power of two, at least as large as the specified one.
+	 */
+	@IntRange(from = 1) static int constrainSampleSize(final int width, final int height, final int sampleSize, final long maxPixels) {
+		int constrainedSampleSize = Math.max(1, sampleSize);
+		if (maxPixels <= 0 || width <= 0 || height <= 0) {
+			return constrainedSampleSize;
+		}
+		while (constrainedSampleSize < MAX_SAMPLE_SIZE
+				&& (long) divideRoundingUp(width, constrainedSampleSize) * divideRoundingUp(height, constrainedSampleSize) > maxPixels) {
+			constrainedSampleSize *= 2;
+		}
+		return constrainedSampleSize;
+	}
+
+	/**
+	 * Scales the given <var>source</var> bitmap according to the specified <var>options</var>.
+	 * <p>
+	 * The bitmap is scaled with filtering while preserving its aspect ratio, either to fit inside of
+	 * the requested dimensions or to cover them, in which case it is also cropped around its center
+	 * to exactly the requested dimensions. The scaled bitmap is further reduced to the requested
+	 * pixel budget and converted to the preferred configuration if necessary.
+	 *
+	 * @param source  The bitmap to be scaled. It must not be a hardware bitmap, as such bitmaps
+	 *                cannot be scaled. It is not recycled by this method.
+	 * @param options Options specifying the desired dimensions and configuration of the scaled bitmap.
+	 * @return Scaled bitmap or the source bitmap if no scaling or conversion has been necessary.
+	 */
+	@NonNull static Bitmap scale(@NonNull final Bitmap source, @NonNull final ImageIntent.ImageOptions options) {
+		final int sourceWidth = source.getWidth();
+		final int sourceHeight = source.getHeight();
+		int regionWidth = sourceWidth;
+		int regionHeight = sourceHeight;
+		int width, height;
+		final float widthScale = options.width > 0 ? options.width / (float) sourceWidth : 0;
+		final float heightScale = options.height > 0 ? options.height / (float) sourceHeight : 0;
+		if (widthScale > 0 && heightScale > 0 && options.fitMode == ImageIntent.ImageOptions.FIT_CROP) {
+			final float scale = Math.max(widthScale, heightScale);
+			regionWidth = Math.max(1, Math.min(sourceWidth, Math.round(options.width / scale)));
+			regionHeight = Math.max(1, Math.min(sourceHeight, Math.round(options.height / scale)));
+			width = options.width;
+			height = options.height;
+		} else {
+			final float scale;
+			if (widthScale > 0 && heightScale > 0) {
+				scale = Math.min(widthScale, heightScale);
+			} else {
+				scale = widthScale > 0 ? widthScale : (heightScale > 0 ? heightScale : 1);
+			}
+			width = Math.max(1, Math.round(sourceWidth * scale));
+			height = Math.max(1, Math.round(sourceHeight * scale));
+		}
+		final long pixels = (long) width * height;
+		if (options.maxPixels > 0 && pixels > options.maxPixels) {
+			final double reduction = Math.sqrt(options.maxPixels / (double) pixels);
+			width = Math.max(1, (int) (width * reduction));
+			height = Math.max(1, (int) (height * reduction));
+		}
+		Bitmap bitmap = source;
+		if (width != sourceWidth || height != sourceHeight) {
+			final Matrix matrix = new Matrix();
+			matrix.setScale(width / (float) regionWidth, height / (float) regionHeight);
+			bitmap = Bitmap.createBitmap(
+					source,
+					(sourceWidth - regionWidth) / 2,
+					(sourceHeight - regionHeight) / 2,
+					regionWidth,
+					regionHeight,
+					matrix,
+					true
+			);
+		}
+		// Conversion to the hardware configuration needs to be the last step, as hardware bitmaps
+		// cannot be scaled.
+		final Bitmap convertedBitmap = convert(bitmap, options.config);
+		if (convertedBitmap != bitmap && bitmap != source) {
+			bitmap.recycle();
+		}
+		return convertedBitmap;
+	}
+
+	/**
+	 * Converts the given <var>bitmap</var> to the specified <var>config</var>.
+	 *
+	 * @param bitmap The bitmap to be converted. It is not recycled by this method.
+	 * @param config The desired configuration. May be {@code null} to keep the bitmap's configuration.
+	 * @return Converted bitmap or the given one if no conversion has been necessary or possible.
+	 */
+	@NonNull static Bitmap convert(@NonNull final Bitmap bitmap, @Nullable final Bitmap.Config config) {
+		if (config == null || bitmap.getConfig() == config) {
+			return bitmap;
+		}
+		final Bitmap convertedBitmap = bitmap.copy(config, isMutableConfig(config));
+		return convertedBitmap == null ? bitmap : convertedBitmap;
+	}
+
+	/**
+	 * Returns the configuration with which should be decoded pixels of an image that is requested
+	 * with the specified <var>config</var>. Hardware bitmaps cannot be scaled nor reused, so such
+	 * images are decoded with the default software configuration and converted only after they
+	 * have been scaled.
+	 *
+	 * @param config The requested bitmap configuration. May be {@code null}.
+	 * @return Configuration to be used for decoding.
+	 */
+	@Nullable static Bitmap.Config decodingConfigOf(@Nullable final Bitmap.Config config) {
+		return isMutableConfig(config) ? config : Bitmap.Config.ARGB_8888;
+	}
+
+	/**
+	 * Checks whether bitmaps with the specified <var>config</var> may be mutable.
+	 *
+	 * @param config The bitmap configuration to check.
+	 * @return {@code False} for {@link Bitmap.Config#HARDWARE}, {@code true} otherwise.
+	 */
+	static boolean isMutableConfig(@Nullable final Bitmap.Config config) {
+		return Build.VERSION.SDK_INT < Build.VERSION_CODES.O || config != Bitmap.Config.HARDWARE;
+	}
+
+	/**
+	 * Closes the given <var>stream</var> ignoring any exception.
+	 *
+	 * @param stream The stream to be closed. May be {@code null}.
+	 */
+	private static void close(final InputStream stream) {
+		if (stream != null) {
+			try {
+				stream.close();
+			} catch (IOException e) {
+				Log.w(TAG, "Failed to close stream of image content.", e);
+			}
+		}
+	}
+
+	/**
+	 * Closes the given <var>descriptor</var> ignoring any exception.
+	 *
+	 * @param descriptor The descriptor to be closed. May be {@code null}.
+	 */
+	private static void close(final ParcelFileDescriptor descriptor) {
+		if (descriptor != null) {
+			try {
+				descriptor.close();
+			} catch (IOException e) {
+				Log.w(TAG, "Failed to close descriptor of image content.", e);
+			}
+		}
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+}
@@ -0,0 +1,318 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Build;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+/**
+ * A BitmapPool holds mutable bitmaps that are no longer used, so their memory may be reused when
+ * decoding other images via {@link BitmapFactory.Options#inBitmap}, instead of allocating a new
+ * bitmap for each decoded image. Pooled bitmaps are bucketed by their allocation size and the total
+ * size of all pooled bitmaps is kept within a byte budget specified for the pool. Whenever the budget
+ * is exceeded, the least recently pooled bitmaps are evicted and recycled.
+ * <p>
+ * A pool may be specified for decoding of images picked via {@link ImageIntent} via
+ * {@link BitmapDecoder#setBitmapPool(BitmapPool)}. Bitmaps obtained from the decoder should be then
+ * returned back into the pool via {@link #put(Bitmap)} whenever they are no longer needed.
+ * <p>
+ * <b>Note</b>, that on devices prior to {@link Build.VERSION_CODES#KITKAT KITKAT} pooled bitmaps
+ * may be reused only for images of the same dimensions and configuration which are decoded without
+ * sampling.
+ *
+ * <h3>Usage</h3>
+ * <pre>
+ * final BitmapPool pool = new BitmapPool(8 * 1024 * 1024);
+ * BitmapDecoder.setBitmapPool(pool);
+ * // ... later, when the previously obtained image is replaced by a new one
+ * pool.put(previousImage);
+ * </pre>
+ *
+ * @author Martin Albedinsky
+ * @since 1.3
+ */
+public final class BitmapPool {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "BitmapPool";
+
+	/**
+	 * Maximum ratio between allocation size of a pooled bitmap and the requested size for which may
+	 * be the pooled bitmap reused. Larger bitmaps are not reused, so the pool does not waste memory
+	 * by reusing large bitmaps for small images.
+	 */
+	@VisibleForTesting static final int MAX_SIZE_MULTIPLE = 4;
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Maximum total size of all pooled bitmaps in bytes.
+	 */
+	private final long maxSize;
+
+	/**
+	 * Pooled bitmaps bucketed by their allocation size.
+	 */
+	private final TreeMap<Integer, List<Bitmap>> buckets = new TreeMap<>();
+
+	/**
+	 * All pooled bitmaps in order in which have been put into the pool, with the least recently
+	 * pooled bitmap first.
+	 */
+	private final LinkedHashSet<Bitmap> bitmaps = new LinkedHashSet<>();
+
+	/**
+	 * Current total size of all pooled bitmaps in bytes.
+	 */
+	private long size;
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of BitmapPool with the specified <var>maxSize</var>.
+	 *
+	 * @param maxSize Maximum total size of all pooled bitmaps in bytes.
+	 * @throws IllegalArgumentException If the specified size is not positive.
+	 */
+	public BitmapPool(@IntRange(from = 1) final long maxSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("Max size must be greater than 0.");
+		}
+		this.maxSize = maxSize;
+	}
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Returns the maximum total size of bitmaps that may be held by this pool.
+	 *
+	 * @return Max size in bytes.
+	 */
+	@IntRange(from = 1) public long maxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Returns the current total size of all bitmaps held by this pool.
+	 *
+	 * @return Size in bytes.
+	 */
+	@IntRange(from = 0) public synchronized long size() {
+		return size;
+	}
+
+	/**
+	 * Returns the count of bitmaps held by this pool.
+	 *
+	 * @return Count of pooled bitmaps.
+	 */
+	@IntRange(from = 0) public synchronized int count() {
+		return bitmaps.size();
+	}
+
+	/**
+	 * Puts the given <var>bitmap</var> into this pool so its memory may be reused. If there is not
+	 * enough space in the pool, the least recently pooled bitmaps are evicted and recycled.
+	 * <p>
+	 * Immutable, already recycled bitmaps and bitmaps larger than the max size of this pool are
+	 * recycled immediately. <b>Note</b>, that the given bitmap must not be used by the caller anymore.
+	 *
+	 * @param bitmap The bitmap to be pooled.
+	 */
+	public void put(@NonNull final Bitmap bitmap) {
+		if (bitmap.isRecycled()) {
+			return;
+		}
+		final int bitmapSize = sizeOf(bitmap);
+		if (!bitmap.isMutable() || bitmapSize > maxSize) {
+			bitmap.recycle();
+			return;
+		}
+		final List<Bitmap> evicted = new ArrayList<>(1);
+		synchronized (this) {
+			if (!bitmaps.add(bitmap)) {
+				return;
+			}
+			List<Bitmap> bucket = buckets.get(bitmapSize);
+			if (bucket == null) {
+				buckets.put(bitmapSize, bucket = new ArrayList<>(1));
+			}
+			bucket.add(bitmap);
+			this.size += bitmapSize;
+			final Iterator<Bitmap> iterator = bitmaps.iterator();
+			while (size > maxSize && iterator.hasNext()) {
+				final Bitmap eldest = iterator.next();
+				iterator.remove();
+				removeFromBucket(eldest, sizeOf(eldest));
+				evicted.add(eldest);
+			}
+		}
+		for (final Bitmap eldest : evicted) {
+			eldest.recycle();
+		}
+	}
+
+	/**
+	 * Obtains a pooled bitmap which may be used as {@link BitmapFactory.Options#inBitmap} to decode
+	 * image of the specified dimensions and configuration. The returned bitmap is removed from this
+	 * pool.
+	 *
+	 * @param width      Width of the bitmap into which will be the image decoded.
+	 * @param height     Height of the bitmap into which will be the image decoded.
+	 * @param config     Configuration of the bitmap into which will be the image decoded.
+	 * @param sampleSize Sample size with which will be the image decoded.
+	 * @return Reusable bitmap or {@code null} if there is no suitable bitmap in the pool.
+	 */
+	@Nullable public Bitmap get(final int width, final int height, @NonNull final Bitmap.Config config, final int sampleSize) {
+		if (width <= 0 || height <= 0) {
+			return null;
+		}
+		final boolean exactMatchRequired = Build.VERSION.SDK_INT < Build.VERSION_CODES.KITKAT;
+		if (exactMatchRequired && sampleSize > 1) {
+			return null;
+		}
+		final long requiredSize = (long) width * height * bytesPerPixel(config);
+		if (requiredSize > maxSize || requiredSize > Integer.MAX_VALUE) {
+			return null;
+		}
+		synchronized (this) {
+			final long maxReusableSize = Math.min(Integer.MAX_VALUE, requiredSize * MAX_SIZE_MULTIPLE);
+			for (final Map.Entry<Integer, List<Bitmap>> entry : buckets.subMap((int) requiredSize, true, (int) maxReusableSize, true).entrySet()) {
+				final List<Bitmap> bucket = entry.getValue();
+				for (int i = bucket.size() - 1; i >= 0; i--) {
+					final Bitmap bitmap = bucket.get(i);
+					if (exactMatchRequired && (bitmap.getWidth() != width || bitmap.getHeight() != height || bitmap.getConfig() != config)) {
+						continue;
+					}
+					bucket.remove(i);
+					if (bucket.isEmpty()) {
+						buckets.remove(entry.getKey());
+					}
+					bitmaps.remove(bitmap);
+					this.size -= entry.getKey();
+					return bitmap;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Removes the given <var>bitmap</var> from its size bucket.
+	 *
+	 * @param bitmap     The bitmap to be removed.
+	 * @param bitmapSize Allocation size of the bitmap.
+	 */
+	private void removeFromBucket(final Bitmap bitmap, final int bitmapSize) {
+		final List<Bitmap> bucket = buckets.get(bitmapSize);
+		if (bucket != null) {
+			bucket.remove(bitmap);
+			if (bucket.isEmpty()) {
+				buckets.remove(bitmapSize);
+			}
+		}
+		this.size -= bitmapSize;
+	}
+
+	/**
+	 * Evicts and recycles all bitmaps held by this pool.
+	 */
+	public void clear() {
+		final List<Bitmap> evicted;
+		synchronized (this) {
+			evicted = new ArrayList<>(bitmaps);
+			bitmaps.clear();
+			buckets.clear();
+			this.size = 0;
+		}
+		for (final Bitmap bitmap : evicted) {
+			bitmap.recycle();
+		}
+	}
+
+	/**
+	 * Returns the size of memory allocated for pixels of the given <var>bitmap</var>.
+	 *
+	 * @param bitmap The bitmap of which size to resolve.
+	 * @return Allocation size in bytes.
+	 */
+	static int sizeOf(@NonNull final Bitmap bitmap) {
+		return Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT ? bitmap.getAllocationByteCount() : bitmap.getByteCount();
+	}
+
+	/**
+	 * Returns the count of bytes used to store a single pixel of bitmap with the specified <var>config</var>.
+	 *
+	 * @param config The bitmap configuration.
+	 * @return Count of bytes per pixel.
+	 */
+	static int bytesPerPixel(@Nullable final Bitmap.Config config) {
+		if (config == null) {
+			return 4;
+		}
+		switch (config) {
+			case ALPHA_8:
+				return 1;
+			case RGB_565:
+			case ARGB_4444:
+				return 2;
+			case RGBA_F16:
+				return 8;
+			default:
+				return 4;
+		}
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+}
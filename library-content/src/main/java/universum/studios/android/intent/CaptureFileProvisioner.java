@@ -0,0 +1,544 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import android.os.Build;
+import android.os.Environment;
+import android.os.Process;
+import android.os.SystemClock;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+/**
+ * A CaptureFileProvisioner keeps a small pool of pre-created, uniquely named files which may be
+ * used as output for content captured by camera, for example via {@link ImageIntent#output(File)}
+ * or {@link VideoIntent#output(File)}, so the files do not need to be created on the main thread
+ * right before the camera is launched, as is the case for {@link ImageIntent#createImageFile()}
+ * or {@link VideoIntent#createVideoFile()}.
+ * <p>
+ * Files are created on the executor specified via {@link BaseIntent#setAsyncExecutor(java.util.concurrent.Executor)}
+ * and the pool is refilled in the background whenever a file is taken from it. A pooled file may
+ * be taken without any disk I/O via {@link #poll()} or obtained via {@link #obtainAsync(Callback)}
+ * which creates a new file in the background if the pool is empty. Files which have not been used,
+ * for example because the user has cancelled the camera, should be given back via {@link #recycle(File)}.
+ * <p>
+ * Pooled files exist in the directory of the provisioner, so whenever the process is killed while
+ * some files are still pooled, they are left there empty. Such leftover files, that is empty files
+ * matching the provisioner's name format which are older than the current process, are reused by
+ * the first refilling of the pool and all remaining ones are deleted, so they do not pile up in the
+ * directory. They are also deleted by {@link #clear()}. Leftovers are therefore recognized only
+ * by their name, emptiness and age, so the directory should not contain empty files with the same
+ * name format that are still needed, like files created via {@link ImageIntent#createImageFile()}
+ * in a previous process for which the camera result has not been delivered yet.
+ * <p>
+ * Default provisioners for images and videos may be obtained via {@link #images()} and {@link #videos()}.
+ *
+ * <h3>Usage</h3>
+ * <pre>
+ * // When the screen is created.
+ * CaptureFileProvisioner.images().prepare();
+ * // ... later, when the user requests to capture a photo.
+ * final File file = CaptureFileProvisioner.images().poll();
+ * if (file != null) {
+ *     imageIntent.output(file);
+ * }
+ * </pre>
+ *
+ * @author Martin Albedinsky
+ * @since 1.3
+ */
+public final class CaptureFileProvisioner {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "CaptureFileProvisioner";
+
+	/**
+	 * Default count of files kept in the pool.
+	 */
+	public static final int DEFAULT_POOL_SIZE = 2;
+
+	/**
+	 * Maximum count of attempts to create a uniquely named file.
+	 */
+	private static final int MAX_CREATE_ATTEMPTS = 10;
+
+	/**
+	 * Tolerance in milliseconds applied when comparing modification time of a file with start time
+	 * of the current process, as modification times may be truncated to whole seconds.
+	 */
+	private static final long MODIFICATION_TIME_TOLERANCE = 2000;
+
+	/**
+	 * Time in milliseconds when the current process has been started. Empty files older than this
+	 * time are leftovers of previous processes. Prior to {@link Build.VERSION_CODES#N Nougat} the
+	 * time when the {@link ContentIntent} class has been loaded is used instead, which precedes
+	 * creation of any file via {@link ImageIntent#createImageFile()} or {@link VideoIntent#createVideoFile()}.
+	 */
+	private static final long PROCESS_START_TIME = Build.VERSION.SDK_INT >= Build.VERSION_CODES.N ?
+			System.currentTimeMillis() - (SystemClock.elapsedRealtime() - Process.getStartElapsedRealtime()) :
+			ContentIntent.LOAD_TIME;
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Callback that may be used to receive a file obtained via {@link #obtainAsync(Callback)}. The
+	 * callback is invoked on the main thread.
+	 *
+	 * @author Martin Albedinsky
+	 * @since 1.3
+	 */
+	public interface Callback {
+
+		/**
+		 * Invoked whenever the requested file has been provisioned.
+		 *
+		 * @param file The provisioned empty file or {@code null} if it could not be created.
+		 */
+		void onFileProvisioned(@Nullable File file);
+	}
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Default provisioner of image files, lazily created when first requested.
+	 */
+	private static CaptureFileProvisioner imagesProvisioner;
+
+	/**
+	 * Default provisioner of video files, lazily created when first requested.
+	 */
+	private static CaptureFileProvisioner videosProvisioner;
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Directory within which are the files created.
+	 */
+	private final File directory;
+
+	/**
+	 * Format for names of the created files.
+	 */
+	private final String fileNameFormat;
+
+	/**
+	 * Suffix of the created files.
+	 */
+	private final String fileSuffix;
+
+	/**
+	 * Part of the file name format before the time stamp placeholder.
+	 */
+	private final String namePrefix;
+
+	/**
+	 * Part of the file name format after the time stamp placeholder along with the file suffix.
+	 */
+	private final String nameSuffix;
+
+	/**
+	 * Maximum count of files kept in the pool.
+	 */
+	private final int poolSize;
+
+	/**
+	 * Pool with pre-created files.
+	 */
+	private final ArrayDeque<File> pool;
+
+	/**
+	 * Flag indicating whether refilling of the pool has been already scheduled.
+	 */
+	private boolean refillScheduled;
+
+	/**
+	 * Flag indicating whether leftover files have been already reclaimed by the first refilling.
+	 */
+	private boolean leftoversReclaimed;
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of CaptureFileProvisioner.
+	 *
+	 * @param directory      The directory within which should be the files created. Created if it
+	 *                       does not exist.
+	 * @param fileNameFormat Format for names of the files with a single placeholder for the time stamp
+	 *                       obtained via {@link ContentIntent#createContentFileTimeStamp()}, like
+	 *                       {@link ImageIntent#IMAGE_FILE_NAME_FORMAT}.
+	 * @param fileSuffix     Suffix of the files, like {@code .jpg}.
+	 * @param poolSize       Maximum count of files to be kept in the pool.
+	 * @throws IllegalArgumentException If the pool size is not positive.
+	 */
+	public CaptureFileProvisioner(
+			@NonNull final File directory,
+			@NonNull final String fileNameFormat,
+			@NonNull final String fileSuffix,
+			@IntRange(from = 1) final int poolSize
+	) {
+		if (poolSize <= 0) {
+			throw new IllegalArgumentException("Pool size must be greater than zero.");
+		}
+		this.directory = directory;
+		this.fileNameFormat = fileNameFormat;
+		this.fileSuffix = fileSuffix;
+		final int placeholderIndex = fileNameFormat.indexOf("%s");
+		this.namePrefix = placeholderIndex < 0 ? fileNameFormat : fileNameFormat.substring(0, placeholderIndex);
+		this.nameSuffix = (placeholderIndex < 0 ? "" : fileNameFormat.substring(placeholderIndex + 2)) + fileSuffix;
+		this.poolSize = poolSize;
+		this.pool = new ArrayDeque<>(poolSize);
+	}
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Returns the default provisioner of image files which are created in the same directory and
+	 * with the same name format as files created via {@link ImageIntent#createImageFile()}.
+	 *
+	 * @return Default provisioner for images.
+	 */
+	@NonNull public static CaptureFileProvisioner images() {
+		synchronized (CaptureFileProvisioner.class) {
+			if (imagesProvisioner == null) {
+				imagesProvisioner = new CaptureFileProvisioner(
+						Environment.getExternalStoragePublicDirectory(Environment.DIRECTORY_PICTURES),
+						ImageIntent.IMAGE_FILE_NAME_FORMAT,
+						".jpg",
+						DEFAULT_POOL_SIZE
+				);
+			}
+			return imagesProvisioner;
+		}
+	}
+
+	/**
+	 * Returns the default provisioner of video files which are created in the same directory and
+	 * with the same name format as files created via {@link VideoIntent#createVideoFile()}.
+	 *
+	 * @return Default provisioner for videos.
+	 */
+	@NonNull public static CaptureFileProvisioner videos() {
+		synchronized (CaptureFileProvisioner.class) {
+			if (videosProvisioner == null) {
+				videosProvisioner = new CaptureFileProvisioner(
+						Environment.getExternalStoragePublicDirectory(Environment.DIRECTORY_MOVIES),
+						VideoIntent.VIDEO_FILE_NAME_FORMAT,
+						".mp4",
+						DEFAULT_POOL_SIZE
+				);
+			}
+			return videosProvisioner;
+		}
+	}
+
+	/**
+	 * Returns the count of files currently kept in the pool.
+	 *
+	 * @return Count of pooled files.
+	 */
+	@IntRange(from = 0) public int pooledCount() {
+		synchronized (pool) {
+			return pool.size();
+		}
+	}
+
+	/**
+	 * Schedules filling of the pool in the background, so files are ready when they are requested.
+	 * This method should be preferably called well before a file is needed, for example when the
+	 * screen from which is the camera launched is created.
+	 */
+	public void prepare() {
+		scheduleRefill();
+	}
+
+	/**
+	 * Takes a file from the pool without any disk I/O and schedules refilling of the pool.
+	 *
+	 * @return Pre-created empty file or {@code null} if the pool is currently empty.
+	 */
+	@Nullable public File poll() {
+		final File file;
+		synchronized (pool) {
+			file = pool.poll();
+		}
+		scheduleRefill();
+		return file;
+	}
+
+	/**
+	 * Obtains a file either from the pool or, if the pool is empty, by creating a new one in the
+	 * background. The file is delivered to the specified <var>callback</var> on the main thread.
+	 *
+	 * @param callback Callback to be notified on the main thread about the obtained file.
+	 */
+	public void obtainAsync(@NonNull final Callback callback) {
+		final File pooledFile = poll();
+		if (pooledFile != null) {
+			deliver(callback, pooledFile);
+			return;
+		}
+		BaseIntent.obtainAsyncExecutor().execute(new Runnable() {
+
+			/**
+			 */
+			@Override public void run() {
+				deliver(callback, createFile());
+			}
+		});
+	}
+
+	/**
+	 * Delivers the given <var>file</var> to the specified <var>callback</var> on the main thread.
+	 */
+	private static void deliver(final Callback callback, final File file) {
+		BaseIntent.postToMainThread(new Runnable() {
+
+			/**
+			 */
+			@Override public void run() {
+				callback.onFileProvisioned(file);
+			}
+		});
+	}
+
+	/**
+	 * Gives back the specified <var>file</var> which has been obtained from this provisioner but has
+	 * not been used. The file is returned into the pool if it is still empty and the pool is not full,
+	 * otherwise it is deleted, unless it contains any data. The check is performed in the background.
+	 *
+	 * @param file The unused file.
+	 */
+	public void recycle(@NonNull final File file) {
+		BaseIntent.obtainAsyncExecutor().execute(new Runnable() {
+
+			/**
+			 */
+			@Override public void run() {
+				if (!file.isFile() || file.length() > 0) {
+					// The file has been deleted or it contains captured content meanwhile.
+					return;
+				}
+				synchronized (pool) {
+					if (pool.size() < poolSize && !pool.contains(file)) {
+						pool.offer(file);
+						return;
+					}
+				}
+				deleteFile(file);
+			}
+		});
+	}
+
+	/**
+	 * Deletes all files kept in the pool along with leftover files of previous processes in the
+	 * background. This method should be called whenever the files are no longer going to be requested,
+	 * so no empty files are left in the directory.
+	 */
+	public void clear() {
+		final File[] files;
+		synchronized (pool) {
+			files = pool.toArray(new File[pool.size()]);
+			pool.clear();
+		}
+		BaseIntent.obtainAsyncExecutor().execute(new Runnable() {
+
+			/**
+			 */
+			@Override public void run() {
+				for (final File file : files) {
+					deleteFile(file);
+				}
+				for (final File file : listLeftoverFiles()) {
+					synchronized (pool) {
+						if (pool.contains(file)) {
+							continue;
+						}
+					}
+					deleteFile(file);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Schedules refilling of the pool in the background if it is not full and the refilling has not
+	 * been scheduled yet.
+	 */
+	private void scheduleRefill() {
+		synchronized (pool) {
+			if (refillScheduled || pool.size() >= poolSize) {
+				return;
+			}
+			refillScheduled = true;
+		}
+		BaseIntent.obtainAsyncExecutor().execute(new Runnable() {
+
+			/**
+			 */
+			@Override public void run() {
+				refill();
+			}
+		});
+	}
+
+	/**
+	 * Creates files until the pool is full. The first refilling reclaims leftover files first.
+	 */
+	@VisibleForTesting void refill() {
+		try {
+			final boolean reclaimLeftovers;
+			synchronized (pool) {
+				reclaimLeftovers = !leftoversReclaimed;
+				this.leftoversReclaimed = true;
+			}
+			if (reclaimLeftovers) {
+				reclaimLeftoverFiles();
+			}
+			while (pooledCount() < poolSize) {
+				final File file = createFile();
+				if (file == null) {
+					break;
+				}
+				synchronized (pool) {
+					pool.offer(file);
+				}
+			}
+		} finally {
+			synchronized (pool) {
+				refillScheduled = false;
+			}
+		}
+	}
+
+	/**
+	 * Puts files left empty in the directory by previous processes back into the pool while it is
+	 * not full and deletes all the other ones.
+	 */
+	private void reclaimLeftoverFiles() {
+		for (final File file : listLeftoverFiles()) {
+			synchronized (pool) {
+				if (pool.contains(file)) {
+					continue;
+				}
+				if (pool.size() < poolSize) {
+					pool.offer(file);
+					continue;
+				}
+			}
+			deleteFile(file);
+		}
+	}
+
+	/**
+	 * Lists leftover files of previous processes within the directory of this provisioner.
+	 *
+	 * @return List of leftover files. May be empty.
+	 *
+	 * @see #isLeftoverFile(File)
+	 */
+	private List<File> listLeftoverFiles() {
+		final File[] files = directory.listFiles();
+		if (files == null) {
+			return Collections.emptyList();
+		}
+		final List<File> leftoverFiles = new ArrayList<>(0);
+		for (final File file : files) {
+			if (isLeftoverFile(file)) {
+				leftoverFiles.add(file);
+			}
+		}
+		return leftoverFiles;
+	}
+
+	/**
+	 * Checks whether the specified <var>file</var> is a leftover of a previous process, that is an
+	 * empty file with name matching the name format of this provisioner, older than the current process.
+	 *
+	 * @param file The file to check.
+	 * @return {@code True} if the file is a leftover, {@code false} otherwise.
+	 */
+	@VisibleForTesting boolean isLeftoverFile(@NonNull final File file) {
+		final String name = file.getName();
+		return name.length() > namePrefix.length() + nameSuffix.length()
+				&& name.startsWith(namePrefix)
+				&& name.endsWith(nameSuffix)
+				&& file.isFile()
+				&& file.length() == 0
+				&& file.lastModified() + MODIFICATION_TIME_TOLERANCE < PROCESS_START_TIME;
+	}
+
+	/**
+	 * Creates a new uniquely named empty file within the directory of this provisioner.
+	 *
+	 * @return The created file or {@code null} if it could not be created.
+	 */
+	@Nullable File createFile() {
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			return null;
+		}
+		final String fileName = String.format(fileNameFormat, ContentIntent.createContentFileTimeStamp());
+		for (int attempt = 0; attempt < MAX_CREATE_ATTEMPTS; attempt++) {
+			final File file = ContentIntent.createContentFile(
+					attempt == 0 ? fileName + fileSuffix : fileName + "_" + attempt + fileSuffix,
+					directory
+			);
+			if (file != null) {
+				return file;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Deletes the specified <var>file</var>. A file which cannot be deleted is left in the directory
+	 * and, if it is still empty, reclaimed as a leftover by a later process.
+	 */
+	private static void deleteFile(final File file) {
+		file.delete();
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+}
@@ -0,0 +1,369 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import android.content.ContentResolver;
+import android.net.Uri;
+import android.os.ParcelFileDescriptor;
+import android.util.Log;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayDeque;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+/**
+ * Utility class that may be used to copy content picked via {@link VideoIntent} or any other
+ * {@link ContentIntent} into a file, for example into an app-private storage, without copying its
+ * bytes through the Java heap.
+ * <p>
+ * If the content is backed by a regular file, it is copied via {@link FileChannel#transferFrom(ReadableByteChannel, long, long)}
+ * between channels of the opened file descriptors, which allows the platform to copy the bytes
+ * directly in the kernel. Content which is not backed by a regular file, like pipes of some content
+ * providers, or content which may be opened only as a stream is copied through a direct buffer
+ * obtained from a small pool of reusable buffers.
+ * <p>
+ * Progress of the copying may be observed via {@link ProgressListener} and the copying may be
+ * cancelled via {@link Cancellation}.
+ *
+ * @author Martin Albedinsky
+ * @since 1.3
+ *
+ * @see VideoIntent#copyResultIntent(int, int, android.content.Intent, android.content.Context, File, ProgressListener, Cancellation)
+ */
+public final class ContentCopier {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	private static final String TAG = "ContentCopier";
+
+	/**
+	 * Maximum count of bytes transferred between channels at once, so the progress is reported and
+	 * cancellation checked regularly even for large files.
+	 */
+	@VisibleForTesting static final long TRANSFER_CHUNK_SIZE = 4 * 1024 * 1024;
+
+	/**
+	 * Size of the direct buffers used to copy content which cannot be transferred between channels.
+	 */
+	@VisibleForTesting static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * Maximum count of direct buffers kept in the pool.
+	 */
+	private static final int MAX_POOLED_BUFFERS = 4;
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Listener that may be used to observe progress of copying performed via {@link #copy(ContentResolver, Uri, File, ProgressListener, Cancellation)}.
+	 *
+	 * @author Martin Albedinsky
+	 * @since 1.3
+	 */
+	public interface ProgressListener {
+
+		/**
+		 * Invoked whenever another chunk of the content has been copied.
+		 * <p>
+		 * <b>Note</b>, that this method is invoked on the thread on which is the copying performed.
+		 *
+		 * @param copiedBytes Count of bytes copied so far.
+		 * @param totalBytes  Total size of the content in bytes or {@code -1} if it is not known.
+		 */
+		void onCopyProgress(long copiedBytes, long totalBytes);
+	}
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Pool of direct buffers reused for copying of content which cannot be transferred between channels.
+	 */
+	private static final ArrayDeque<ByteBuffer> BUFFER_POOL = new ArrayDeque<>(MAX_POOLED_BUFFERS);
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 */
+	private ContentCopier() {
+		// Not allowed to be instantiated publicly.
+		throw new UnsupportedOperationException();
+	}
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Copies the content at the specified <var>uri</var> into the specified <var>outputFile</var>.
+	 * If the copying fails or is cancelled, the output file is deleted.
+	 * <p>
+	 * <b>Note</b>, that this method performs disk I/O, so it should be invoked on a background thread.
+	 *
+	 * @param resolver     Content resolver used to open the content.
+	 * @param uri          Uri of the content to be copied.
+	 * @param outputFile   The file into which to copy the content. Existing file is overwritten.
+	 * @param listener     Listener to be notified about progress of the copying. May be {@code null}.
+	 * @param cancellation Cancellation that may be used to cancel the copying. May be {@code null}.
+	 * @return Count of the copied bytes.
+	 * @throws InterruptedIOException If the copying has been cancelled.
+	 * @throws IOException            If the content could not be opened, read or written.
+	 */
+	public static long copy(
+			@NonNull final ContentResolver resolver,
+			@NonNull final Uri uri,
+			@NonNull final File outputFile,
+			@Nullable final ProgressListener listener,
+			@Nullable final Cancellation cancellation
+	) throws IOException {
+		ParcelFileDescriptor descriptor = null;
+		InputStream inputStream = null;
+		final FileOutputStream outputStream = new FileOutputStream(outputFile);
+		boolean succeeded = false;
+		try {
+			try {
+				descriptor = resolver.openFileDescriptor(uri, "r");
+			} catch (FileNotFoundException e) {
+				// Some providers may open their content only as a stream.
+				Log.d(TAG, "Unable to open descriptor of content at uri(" + uri + "), falling back to stream.");
+			}
+			final FileChannel outputChannel = outputStream.getChannel();
+			final long copiedBytes;
+			if (descriptor != null) {
+				inputStream = new FileInputStream(descriptor.getFileDescriptor());
+				final long totalBytes = descriptor.getStatSize();
+				copiedBytes = totalBytes >= 0 ?
+						transfer(((FileInputStream) inputStream).getChannel(), outputChannel, totalBytes, listener, cancellation) :
+						copyBuffered(((FileInputStream) inputStream).getChannel(), outputChannel, -1, listener, cancellation);
+			} else {
+				inputStream = resolver.openInputStream(uri);
+				if (inputStream == null) {
+					throw new FileNotFoundException("Unable to open content at uri(" + uri + ").");
+				}
+				copiedBytes = copyBuffered(Channels.newChannel(inputStream), outputChannel, -1, listener, cancellation);
+			}
+			outputStream.flush();
+			succeeded = true;
+			return copiedBytes;
+		} finally {
+			close(inputStream);
+			close(descriptor);
+			close(outputStream);
+			if (!succeeded && outputFile.exists() && !outputFile.delete()) {
+				outputFile.deleteOnExit();
+			}
+		}
+	}
+
+	/**
+	 * Transfers all bytes from the given <var>input</var> channel of a regular file into the given
+	 * <var>output</var> channel in chunks of {@link #TRANSFER_CHUNK_SIZE}.
+	 *
+	 * @return Count of the transferred bytes.
+	 */
+	private static long transfer(
+			final FileChannel input,
+			final FileChannel output,
+			final long totalBytes,
+			final ProgressListener listener,
+			final Cancellation cancellation
+	) throws IOException {
+		long position = 0;
+		while (position < totalBytes) {
+			checkNotCancelled(cancellation);
+			final long transferred = output.transferFrom(input, position, Math.min(TRANSFER_CHUNK_SIZE, totalBytes - position));
+			if (transferred <= 0) {
+				break;
+			}
+			position += transferred;
+			if (listener != null) {
+				listener.onCopyProgress(position, totalBytes);
+			}
+		}
+		if (position < totalBytes) {
+			// Size of the file has changed meanwhile, copy the rest in a buffered manner.
+			input.position(position);
+			output.position(position);
+			return position + copyBuffered(input, output, totalBytes, listener, cancellation);
+		}
+		return position;
+	}
+
+	/**
+	 * Copies all remaining bytes from the given <var>input</var> channel into the given <var>output</var>
+	 * channel through a pooled direct buffer.
+	 *
+	 * @return Count of the copied bytes.
+	 */
+	@VisibleForTesting static long copyBuffered(
+			final ReadableByteChannel input,
+			final FileChannel output,
+			final long totalBytes,
+			final ProgressListener listener,
+			final Cancellation cancellation
+	) throws IOException {
+		final long initialPosition = output.position();
+		final ByteBuffer buffer = obtainBuffer();
+		try {
+			long copiedBytes = 0;
+			while (true) {
+				checkNotCancelled(cancellation);
+				if (input.read(buffer) < 0) {
+					break;
+				}
+				buffer.flip();
+				while (buffer.hasRemaining()) {
+					copiedBytes += output.write(buffer);
+				}
+				buffer.clear();
+				if (listener != null) {
+					listener.onCopyProgress(initialPosition + copiedBytes, totalBytes);
+				}
+			}
+			return copiedBytes;
+		} finally {
+			recycleBuffer(buffer);
+		}
+	}
+
+	/**
+	 * Throws {@link InterruptedIOException} if the given <var>cancellation</var> has been cancelled.
+	 */
+	private static void checkNotCancelled(final Cancellation cancellation) throws InterruptedIOException {
+		if (cancellation != null && cancellation.isCancelled()) {
+			throw new InterruptedIOException("Copying has been cancelled.");
+		}
+	}
+
+	/**
+	 * Obtains a direct buffer from the pool or creates a new one if the pool is empty.
+	 *
+	 * @return Cleared direct buffer with capacity of {@link #BUFFER_SIZE}.
+	 */
+	private static ByteBuffer obtainBuffer() {
+		synchronized (BUFFER_POOL) {
+			final ByteBuffer buffer = BUFFER_POOL.poll();
+			if (buffer != null) {
+				return buffer;
+			}
+		}
+		return ByteBuffer.allocateDirect(BUFFER_SIZE);
+	}
+
+	/**
+	 * Returns the given <var>buffer</var> into the pool if the pool is not full.
+	 *
+	 * @param buffer The buffer to be recycled.
+	 */
+	private static void recycleBuffer(final ByteBuffer buffer) {
+		buffer.clear();
+		synchronized (BUFFER_POOL) {
+			if (BUFFER_POOL.size() < MAX_POOLED_BUFFERS) {
+				BUFFER_POOL.offer(buffer);
+			}
+		}
+	}
+
+	/**
+	 * Returns the count of direct buffers currently held in the pool.
+	 */
+	@VisibleForTesting static int pooledBuffersCount() {
+		synchronized (BUFFER_POOL) {
+			return BUFFER_POOL.size();
+		}
+	}
+
+	/**
+	 * Closes the given <var>closeable</var> ignoring any exception.
+	 *
+	 * @param closeable The closeable to be closed. May be {@code null}.
+	 */
+	private static void close(final Closeable closeable) {
+		if (closeable != null) {
+			try {
+				closeable.close();
+			} catch (IOException e) {
+				Log.w(TAG, "Failed to close stream or descriptor of content.", e);
+			}
+		}
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+
+	/**
+	 * Cancellation that may be used to cancel copying performed via {@link #copy(ContentResolver, Uri, File, ProgressListener, Cancellation)}.
+	 * Cancelled copying is stopped before the next chunk is copied.
+	 *
+	 * @author Martin Albedinsky
+	 * @since 1.3
+	 */
+	public static final class Cancellation {
+
+		/**
+		 * Flag indicating whether this cancellation has been cancelled.
+		 */
+		private volatile boolean cancelled;
+
+		/**
+		 * Cancels the copying associated with this cancellation.
+		 */
+		public void cancel() {
+			this.cancelled = true;
+		}
+
+		/**
+		 * Checks whether this cancellation has been cancelled.
+		 *
+		 * @return {@code True} if cancelled, {@code false} otherwise.
+		 */
+		public boolean isCancelled() {
+			return cancelled;
+		}
+	}
+}
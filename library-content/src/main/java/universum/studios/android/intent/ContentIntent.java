@@ -37,6 +37,8 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicLong;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -81,6 +83,43 @@ public abstract class ContentIntent<I extends ContentIntent<I>> extends BaseInte
 	 * Static members ==============================================================================
 	 */
 
+	/**
+	 * Time in milliseconds when this class has been loaded.
+	 */
+	static final long LOAD_TIME = System.currentTimeMillis();
+
+	/**
+	 * Sequence used to make time stamps created via {@link #createContentFileTimeStamp()} unique
+	 * within the current process.
+	 */
+	private static final AtomicLong TIME_STAMP_SEQUENCE = new AtomicLong();
+
+	/**
+	 * Lock used to synchronize access to the cached time stamp format and the formatted time stamp.
+	 */
+	private static final Object TIME_STAMP_LOCK = new Object();
+
+	/**
+	 * Cached format used to format time stamps. Guarded by {@link #TIME_STAMP_LOCK}.
+	 */
+	private static SimpleDateFormat timeStampFormat;
+
+	/**
+	 * Locale for which has been {@link #timeStampFormat} created. Guarded by {@link #TIME_STAMP_LOCK}.
+	 */
+	private static Locale timeStampLocale;
+
+	/**
+	 * Second of the last formatted time stamp. Guarded by {@link #TIME_STAMP_LOCK}.
+	 */
+	private static long timeStampSecond = -1;
+
+	/**
+	 * Last formatted time stamp, reused for all time stamps within the same second. Guarded by
+	 * {@link #TIME_STAMP_LOCK}.
+	 */
+	private static String timeStampText;
+
 	/*
 	 * Members =====================================================================================
 	 */
@@ -116,12 +155,42 @@ public abstract class ContentIntent<I extends ContentIntent<I>> extends BaseInte
 
 	/**
 	 * Creates a time stamp in the {@link #CONTENT_FILE_TIME_STAMP_FORMAT} format for the current
-	 * {@link Date} that may be used as name for a content file.
+	 * {@link Date} that may be used as name for a content file. The time stamp is followed by
+	 * an underscore and a sequence number which is incremented for each created time stamp, so
+	 * time stamps created within the same second, even from multiple threads, are unique within
+	 * the current process.
 	 *
-	 * @return String representation of the current time stamp.
+	 * @return String representation of the current time stamp, like {@code 20180101_120000_0}.
 	 */
 	@NonNull public static String createContentFileTimeStamp() {
-		return new SimpleDateFormat(CONTENT_FILE_TIME_STAMP_FORMAT, Locale.getDefault()).format(new Date());
+		final long sequence = TIME_STAMP_SEQUENCE.getAndIncrement();
+		return formatTimeStamp(System.currentTimeMillis()) + "_" + sequence;
+	}
+
+	/**
+	 * Formats the specified <var>millis</var> time in the {@link #CONTENT_FILE_TIME_STAMP_FORMAT}
+	 * format. The format is created only once for the current default locale and the formatted
+	 * time stamp is reused for all times within the same second.
+	 *
+	 * @param millis The time to be formatted.
+	 * @return Formatted time stamp.
+	 */
+	static String formatTimeStamp(final long millis) {
+		final long second = millis / 1000;
+		final Locale locale = Locale.getDefault();
+		synchronized (TIME_STAMP_LOCK) {
+			if (timeStampFormat == null || !locale.equals(timeStampLocale)) {
+				timeStampFormat = new SimpleDateFormat(CONTENT_FILE_TIME_STAMP_FORMAT, locale);
+				timeStampLocale = locale;
+				timeStampSecond = -1;
+			}
+			if (second != timeStampSecond) {
+				timeStampFormat.setTimeZone(TimeZone.getDefault());
+				timeStampText = timeStampFormat.format(new Date(millis));
+				timeStampSecond = second;
+			}
+			return timeStampText;
+		}
 	}
 
 	/**
@@ -147,6 +216,7 @@ public abstract class ContentIntent<I extends ContentIntent<I>> extends BaseInte
 	 * creation process.
 	 *
 	 * @see #createContentFile(String, String)
+	 * @see CaptureFileProvisioner
 	 */
 	@Nullable public static File createContentFile(@NonNull final String fileName, @NonNull final File directory) {
 		try {
@@ -281,6 +351,7 @@ public abstract class ContentIntent<I extends ContentIntent<I>> extends BaseInte
 		this.uri = uri;
 		this.dataType = null;
 		this.hasInputUri = uri != null;
+		invalidateBuiltIntent();
 		return (I) this;
 	}
 
@@ -313,6 +384,7 @@ public abstract class ContentIntent<I extends ContentIntent<I>> extends BaseInte
 		this.uri = uri;
 		this.dataType = null;
 		this.hasInputUri = false;
+		invalidateBuiltIntent();
 		return (I) this;
 	}
 
@@ -336,6 +408,7 @@ public abstract class ContentIntent<I extends ContentIntent<I>> extends BaseInte
 	@SuppressWarnings("unchecked")
 	public I dataType(@NonNull @MimeType.Value final String type) {
 		this.dataType = type;
+		invalidateBuiltIntent();
 		return (I) this;
 	}
 
@@ -354,19 +427,28 @@ public abstract class ContentIntent<I extends ContentIntent<I>> extends BaseInte
 	/**
 	 */
 	@Override public boolean startWith(@NonNull final IntentStarter starter) {
-		final Context context = starter.getContext();
 		if (handlers == null) {
-			final Intent intent = build(context);
-			if (isActivityForIntentAvailable(context, intent)) {
-				return onStartWith(starter, intent);
-			}
-			notifyActivityNotFound(context);
-			return false;
+			return super.startWith(starter);
 		}
 		onShowChooserDialog(starter);
 		return true;
 	}
 
+	/**
+	 * If there is at least one {@link ContentHandler} attached, the chooser dialog is shown immediately
+	 * on the calling thread which should be the main thread.
+	 */
+	@Override public void startWithAsync(@NonNull final IntentStarter starter, @Nullable final StartCallback callback) {
+		if (handlers == null) {
+			super.startWithAsync(starter, callback);
+			return;
+		}
+		onShowChooserDialog(starter);
+		if (callback != null) {
+			callback.onIntentStarted(this, true);
+		}
+	}
+
 	/**
 	 * Invoked from {@link #startWith(IntentStarter)} to show a chooser dialog if there is at least
 	 * one {@link ContentHandler} attached.
@@ -405,6 +487,18 @@ public abstract class ContentIntent<I extends ContentIntent<I>> extends BaseInte
 		throw new IllegalStateException("Cannot build intent for set of ContentHandlers.");
 	}
 
+	/**
+	 */
+	@SuppressWarnings("unchecked")
+	@Override public I reset() {
+		super.reset();
+		this.uri = null;
+		this.dataType = null;
+		this.hasInputUri = false;
+		this.handlers = null;
+		return (I) this;
+	}
+
 	/**
 	 */
 	@Override protected void ensureCanBuildOrThrow() {
@@ -0,0 +1,467 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import android.content.ContentResolver;
+import android.database.Cursor;
+import android.graphics.BitmapFactory;
+import android.media.MediaMetadataRetriever;
+import android.net.Uri;
+import android.os.Build;
+import android.os.ParcelFileDescriptor;
+import android.provider.OpenableColumns;
+import android.text.TextUtils;
+import android.util.Log;
+import android.util.LruCache;
+import android.webkit.MimeTypeMap;
+
+import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+/**
+ * A ContentMetadata holds basic information about image or video content picked via {@link ImageIntent}
+ * or {@link VideoIntent}, like its dimensions, MIME type, byte size and display name, which may be
+ * used for example to decide whether the content should be uploaded, without decoding any of its
+ * pixels.
+ * <p>
+ * Metadata are gathered via {@link #inspect(ContentResolver, Uri)} using a single query for
+ * {@link OpenableColumns} of the content and a pass which decodes only bounds of an image or
+ * metadata of a video via {@link MediaMetadataRetriever}. Dimensions of videos are reported as
+ * displayed, that is with their rotation applied. Complete metadata are cached per content uri,
+ * so repeated inspection of the same content needs only the query of its openable columns, which
+ * is used to validate the cached metadata against the current size, and for files also against
+ * the last modification time of the content. The cache may be cleared via {@link #clearCache()}.
+ *
+ * <h3>Usage</h3>
+ * <pre>
+ * final ContentMetadata metadata = ContentMetadata.inspect(context.getContentResolver(), data.getData());
+ * if (metadata.size() &lt;= MAX_UPLOAD_SIZE) {
+ *     // ... upload the content
+ * }
+ * </pre>
+ *
+ * @author Martin Albedinsky
+ * @since 1.3
+ */
+public final class ContentMetadata {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	private static final String TAG = "ContentMetadata";
+
+	/**
+	 * Value returned for metadata which could not be resolved.
+	 */
+	public static final int UNKNOWN = -1;
+
+	/**
+	 * Maximum count of metadata that may be stored in the cache.
+	 */
+	private static final int CACHE_MAX_SIZE = 64;
+
+	/**
+	 * Projection used to query openable columns of the content.
+	 */
+	private static final String[] OPENABLE_PROJECTION = {OpenableColumns.DISPLAY_NAME, OpenableColumns.SIZE};
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Cache with metadata of already inspected content.
+	 */
+	private static final LruCache<Uri, ContentMetadata> CACHE = new LruCache<>(CACHE_MAX_SIZE);
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Uri of the content described by these metadata.
+	 */
+	private final Uri uri;
+
+	/**
+	 * MIME type of the content. May be {@code null} if unknown.
+	 */
+	String mimeType;
+
+	/**
+	 * Display name of the content. May be {@code null} if unknown.
+	 */
+	String displayName;
+
+	/**
+	 * Size of the content in bytes or {@link #UNKNOWN}.
+	 */
+	long size = UNKNOWN;
+
+	/**
+	 * Dimensions of the image or video or {@link #UNKNOWN}.
+	 */
+	int width = UNKNOWN, height = UNKNOWN;
+
+	/**
+	 * Duration of the video in milliseconds or {@link #UNKNOWN}.
+	 */
+	long durationMillis = UNKNOWN;
+
+	/**
+	 * Last modification time of the content or {@link #UNKNOWN}. Resolved only for files.
+	 */
+	long lastModified = UNKNOWN;
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of ContentMetadata for the specified <var>uri</var>.
+	 *
+	 * @param uri Uri of the content described by the metadata.
+	 */
+	ContentMetadata(final Uri uri) {
+		this.uri = uri;
+	}
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Inspects the content at the specified <var>uri</var> to obtain its metadata. If the content has
+	 * been already inspected and it has not changed since then, its cached metadata are returned.
+	 * <p>
+	 * Content with a video MIME type is inspected via {@link MediaMetadataRetriever}, any other
+	 * content is treated as an image of which only bounds are decoded.
+	 * <p>
+	 * <b>Note</b>, that inspection performs a query and disk I/O, so this method should be preferably
+	 * invoked on a background thread.
+	 *
+	 * @param resolver Content resolver used to query and open the content.
+	 * @param uri      Uri of the content to be inspected.
+	 * @return Metadata of the content. Metadata which could not be resolved, for example because the
+	 * content does not exist, are {@code null} or {@link #UNKNOWN}.
+	 */
+	@NonNull public static ContentMetadata inspect(@NonNull final ContentResolver resolver, @NonNull final Uri uri) {
+		final ContentMetadata metadata = new ContentMetadata(uri);
+		queryOpenableColumns(resolver, metadata);
+		final ContentMetadata cached = CACHE.get(uri);
+		if (cached != null && cached.size == metadata.size && cached.lastModified == metadata.lastModified) {
+			return cached;
+		}
+		metadata.mimeType = resolveMimeType(resolver, uri);
+		ParcelFileDescriptor descriptor = null;
+		try {
+			descriptor = resolver.openFileDescriptor(uri, "r");
+			if (descriptor != null) {
+				if (metadata.size == UNKNOWN && descriptor.getStatSize() >= 0) {
+					metadata.size = descriptor.getStatSize();
+				}
+				if (metadata.isVideo()) {
+					retrieveVideoMetadata(descriptor.getFileDescriptor(), metadata);
+				} else {
+					decodeImageBounds(descriptor, metadata);
+				}
+				if (isCacheable(metadata)) {
+					CACHE.put(uri, metadata);
+				} else {
+					CACHE.remove(uri);
+				}
+			}
+		} catch (IOException e) {
+			Log.e(TAG, "Unable to inspect content at uri(" + uri + ").", e);
+		} finally {
+			if (descriptor != null) {
+				try {
+					descriptor.close();
+				} catch (IOException e) {
+					Log.w(TAG, "Failed to close descriptor of content.", e);
+				}
+			}
+		}
+		return metadata;
+	}
+
+	/**
+	 * Queries display name and size of the content described by the given <var>metadata</var>.
+	 * For file uris these are obtained directly from the file.
+	 *
+	 * @param resolver Content resolver used to query the content.
+	 * @param metadata The metadata to be filled with the queried values.
+	 */
+	private static void queryOpenableColumns(final ContentResolver resolver, final ContentMetadata metadata) {
+		final Uri uri = metadata.uri;
+		if (ContentResolver.SCHEME_FILE.equals(uri.getScheme())) {
+			final String path = uri.getPath();
+			if (path != null) {
+				final File file = new File(path);
+				metadata.displayName = file.getName();
+				if (file.isFile()) {
+					metadata.size = file.length();
+					metadata.lastModified = file.lastModified();
+				}
+			}
+			return;
+		}
+		Cursor cursor = null;
+		try {
+			cursor = resolver.query(uri, OPENABLE_PROJECTION, null, null, null);
+			if (cursor != null && cursor.moveToFirst()) {
+				final int nameIndex = cursor.getColumnIndex(OpenableColumns.DISPLAY_NAME);
+				if (nameIndex >= 0 && !cursor.isNull(nameIndex)) {
+					metadata.displayName = cursor.getString(nameIndex);
+				}
+				final int sizeIndex = cursor.getColumnIndex(OpenableColumns.SIZE);
+				if (sizeIndex >= 0 && !cursor.isNull(sizeIndex)) {
+					metadata.size = cursor.getLong(sizeIndex);
+				}
+			}
+		} catch (RuntimeException e) {
+			Log.w(TAG, "Unable to query openable columns of content at uri(" + uri + ").", e);
+		} finally {
+			if (cursor != null) {
+				cursor.close();
+			}
+		}
+	}
+
+	/**
+	 * Checks whether the given <var>metadata</var> may be cached. Metadata with unknown size or
+	 * dimensions, like of content which has not been fully written yet, are always inspected anew.
+	 *
+	 * @param metadata The metadata to check.
+	 * @return {@code True} if the metadata may be cached, {@code false} otherwise.
+	 */
+	@VisibleForTesting static boolean isCacheable(@NonNull final ContentMetadata metadata) {
+		return metadata.size > 0 && metadata.width != UNKNOWN && metadata.height != UNKNOWN;
+	}
+
+	/**
+	 * Resolves MIME type of the content at the specified <var>uri</var> either via the given resolver
+	 * or from extension of the content path.
+	 *
+	 * @param resolver Content resolver used to resolve the MIME type.
+	 * @param uri      Uri of the content.
+	 * @return Resolved MIME type or {@code null} if it could not be resolved.
+	 */
+	private static String resolveMimeType(final ContentResolver resolver, final Uri uri) {
+		final String mimeType = resolver.getType(uri);
+		if (mimeType != null) {
+			return mimeType;
+		}
+		final String extension = MimeTypeMap.getFileExtensionFromUrl(uri.toString());
+		return TextUtils.isEmpty(extension) ? null : MimeTypeMap.getSingleton().getMimeTypeFromExtension(extension.toLowerCase(Locale.US));
+	}
+
+	/**
+	 * Decodes bounds of the image from the given <var>descriptor</var> into the given <var>metadata</var>.
+	 *
+	 * @param descriptor Descriptor of the image content.
+	 * @param metadata   The metadata to be filled with the decoded bounds.
+	 * @throws IOException If reading of the content fails.
+	 */
+	private static void decodeImageBounds(final ParcelFileDescriptor descriptor, final ContentMetadata metadata) throws IOException {
+		final BitmapFactory.Options options = new BitmapFactory.Options();
+		options.inJustDecodeBounds = true;
+		if (descriptor.getStatSize() >= 0) {
+			BitmapFactory.decodeFileDescriptor(descriptor.getFileDescriptor(), null, options);
+		} else {
+			final InputStream stream = new FileInputStream(descriptor.getFileDescriptor());
+			try {
+				BitmapFactory.decodeStream(stream, null, options);
+			} finally {
+				stream.close();
+			}
+		}
+		if (options.outWidth > 0 && options.outHeight > 0) {
+			metadata.width = options.outWidth;
+			metadata.height = options.outHeight;
+		}
+		if (metadata.mimeType == null) {
+			metadata.mimeType = options.outMimeType;
+		}
+	}
+
+	/**
+	 * Retrieves dimensions and duration of the video from the given <var>fileDescriptor</var> into
+	 * the given <var>metadata</var>.
+	 *
+	 * @param fileDescriptor Descriptor of the video content.
+	 * @param metadata       The metadata to be filled with the retrieved values.
+	 */
+	private static void retrieveVideoMetadata(final FileDescriptor fileDescriptor, final ContentMetadata metadata) {
+		final MediaMetadataRetriever retriever = new MediaMetadataRetriever();
+		try {
+			retriever.setDataSource(fileDescriptor);
+			final int width = parseInt(retriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_VIDEO_WIDTH));
+			final int height = parseInt(retriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_VIDEO_HEIGHT));
+			// Dimensions are reported for the encoded frames which are rotated when the video is displayed.
+			final boolean rotatedSideways = Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1 &&
+					isSidewaysRotation(parseInt(retriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_VIDEO_ROTATION)));
+			metadata.width = rotatedSideways ? height : width;
+			metadata.height = rotatedSideways ? width : height;
+			metadata.durationMillis = parseLong(retriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_DURATION));
+		} catch (RuntimeException e) {
+			Log.w(TAG, "Unable to retrieve metadata of video content at uri(" + metadata.uri + ").", e);
+		} finally {
+			retriever.release();
+		}
+	}
+
+	/**
+	 * Checks whether the specified rotation of a video turns it sideways, so its width and height
+	 * are swapped when it is displayed.
+	 *
+	 * @param degrees The rotation in degrees. May be {@link #UNKNOWN}.
+	 * @return {@code True} if the rotation is by 90 or 270 degrees, {@code false} otherwise.
+	 */
+	@VisibleForTesting static boolean isSidewaysRotation(final int degrees) {
+		final int normalizedDegrees = (degrees % 360 + 360) % 360;
+		return normalizedDegrees == 90 || normalizedDegrees == 270;
+	}
+
+	/**
+	 * Parses the given metadata <var>value</var> as integer.
+	 *
+	 * @return Parsed value or {@link #UNKNOWN} if the value is missing or invalid.
+	 */
+	private static int parseInt(final String value) {
+		final long parsed = parseLong(value);
+		return parsed > Integer.MAX_VALUE ? UNKNOWN : (int) parsed;
+	}
+
+	/**
+	 * Parses the given metadata <var>value</var> as long.
+	 *
+	 * @return Parsed value or {@link #UNKNOWN} if the value is missing or invalid.
+	 */
+	private static long parseLong(final String value) {
+		if (value == null) {
+			return UNKNOWN;
+		}
+		try {
+			return Long.parseLong(value);
+		} catch (NumberFormatException e) {
+			return UNKNOWN;
+		}
+	}
+
+	/**
+	 * Clears all cached metadata of already inspected content.
+	 */
+	public static void clearCache() {
+		CACHE.evictAll();
+	}
+
+	/**
+	 * Returns the uri of the content described by these metadata.
+	 *
+	 * @return The content uri.
+	 */
+	@NonNull public Uri uri() {
+		return uri;
+	}
+
+	/**
+	 * Returns the MIME type of the content.
+	 *
+	 * @return MIME type or {@code null} if it could not be resolved.
+	 */
+	@Nullable public String mimeType() {
+		return mimeType;
+	}
+
+	/**
+	 * Checks whether the content is a video according to its MIME type.
+	 *
+	 * @return {@code True} if the MIME type of the content is a video one, {@code false} otherwise.
+	 */
+	public boolean isVideo() {
+		return mimeType != null && mimeType.startsWith("video/");
+	}
+
+	/**
+	 * Returns the display name of the content.
+	 *
+	 * @return Display name or {@code null} if it could not be resolved.
+	 */
+	@Nullable public String displayName() {
+		return displayName;
+	}
+
+	/**
+	 * Returns the size of the content.
+	 *
+	 * @return Size in bytes or {@link #UNKNOWN} if it could not be resolved.
+	 */
+	public long size() {
+		return size;
+	}
+
+	/**
+	 * Returns the width of the image or video.
+	 *
+	 * @return Width in pixels or {@link #UNKNOWN} if it could not be resolved.
+	 */
+	public int width() {
+		return width;
+	}
+
+	/**
+	 * Returns the height of the image or video.
+	 *
+	 * @return Height in pixels or {@link #UNKNOWN} if it could not be resolved.
+	 */
+	public int height() {
+		return height;
+	}
+
+	/**
+	 * Returns the duration of the video.
+	 *
+	 * @return Duration in milliseconds or {@link #UNKNOWN} if the content is not a video or the
+	 * duration could not be resolved.
+	 */
+	public long durationMillis() {
+		return durationMillis;
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+}
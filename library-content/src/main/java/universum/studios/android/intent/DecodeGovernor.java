@@ -0,0 +1,368 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+/**
+ * A DecodeGovernor limits the amount of memory that may be allocated by images decoded at the same
+ * time. Each decoding is admitted against a byte budget of the governor using the size of the bitmap
+ * which would be decoded, as computed from the image bounds decoded via {@link BitmapFactory.Options#inJustDecodeBounds}.
+ * Decoding which does not fit into the remaining budget is queued until the memory of decodings
+ * that are already in progress is released. If the budget does not become available within the
+ * maximum wait time, the decoding is downsampled, at most by {@link #MAX_DOWNSAMPLE_FACTOR}, so it
+ * fits into the remaining budget, or it is rejected. Decoding of an image which would exceed the
+ * whole budget on its own is always downsampled. Decodings requested on the main thread are never
+ * queued, so they are downsampled or rejected right away.
+ * <p>
+ * Images picked via {@link ImageIntent} are decoded by {@link BitmapDecoder} under governance of
+ * a process-wide governor which may be specified via {@link BitmapDecoder#setDecodeGovernor(DecodeGovernor)}.
+ * Counts of the governed decodings are available via {@link #queuedCount()}, {@link #downsampledCount()}
+ * and {@link #rejectedCount()}.
+ *
+ * <h3>Usage</h3>
+ * <pre>
+ * final DecodeGovernor governor = new DecodeGovernor(32 * 1024 * 1024, 1000);
+ * BitmapDecoder.setDecodeGovernor(governor);
+ * // ... later
+ * Log.d(TAG, "Rejected decodes: " + governor.rejectedCount());
+ * </pre>
+ *
+ * @author Martin Albedinsky
+ * @since 1.3
+ */
+public final class DecodeGovernor {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "DecodeGovernor";
+
+	/**
+	 * Default maximum time in milliseconds for which may be a decoding queued before it is downsampled
+	 * or rejected.
+	 */
+	public static final long DEFAULT_MAX_WAIT_MILLIS = 2000;
+
+	/**
+	 * Maximum factor by which may be increased sample size of a decoding that has been queued for
+	 * too long, so it fits into the remaining budget.
+	 */
+	public static final int MAX_DOWNSAMPLE_FACTOR = 4;
+
+	/**
+	 * Sample size returned by {@link #acquire(int, int, int, Bitmap.Config)} when a decoding has been
+	 * rejected.
+	 */
+	static final int REJECTED = 0;
+
+	/**
+	 * Maximum sample size that may be used to fit a decoding into the budget.
+	 */
+	private static final int MAX_SAMPLE_SIZE = 1 << 30;
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Maximum count of bytes that may be allocated by all decodings in progress.
+	 */
+	private final long maxBytes;
+
+	/**
+	 * Maximum time in milliseconds for which may be a decoding queued.
+	 */
+	private final long maxWaitMillis;
+
+	/**
+	 * Count of bytes currently acquired by decodings in progress.
+	 */
+	private long usedBytes;
+
+	/**
+	 * Count of decodings that have been admitted, including the downsampled ones.
+	 */
+	private long admittedCount;
+
+	/**
+	 * Count of decodings that have been queued due to insufficient budget.
+	 */
+	private long queuedCount;
+
+	/**
+	 * Count of decodings that have been admitted with increased sample size.
+	 */
+	private long downsampledCount;
+
+	/**
+	 * Count of decodings that have been rejected.
+	 */
+	private long rejectedCount;
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Same as {@link #DecodeGovernor(long, long)} with {@link #DEFAULT_MAX_WAIT_MILLIS} as the maximum
+	 * wait time.
+	 */
+	public DecodeGovernor(@IntRange(from = 1) final long maxBytes) {
+		this(maxBytes, DEFAULT_MAX_WAIT_MILLIS);
+	}
+
+	/**
+	 * Creates a new instance of DecodeGovernor with the specified budget.
+	 *
+	 * @param maxBytes      Maximum count of bytes that may be allocated by all decodings in progress.
+	 * @param maxWaitMillis Maximum time in milliseconds for which may be a decoding queued until
+	 *                      the budget becomes available. Zero means that decodings are not queued.
+	 * @throws IllegalArgumentException If the specified budget is not positive or the wait time
+	 *                                  is negative.
+	 */
+	public DecodeGovernor(@IntRange(from = 1) final long maxBytes, @IntRange(from = 0) final long maxWaitMillis) {
+		if (maxBytes <= 0) {
+			throw new IllegalArgumentException("Max bytes must be greater than zero.");
+		}
+		if (maxWaitMillis < 0) {
+			throw new IllegalArgumentException("Max wait time must not be negative.");
+		}
+		this.maxBytes = maxBytes;
+		this.maxWaitMillis = maxWaitMillis;
+	}
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Returns the budget of this governor.
+	 *
+	 * @return Maximum count of bytes that may be allocated by all decodings in progress.
+	 */
+	@IntRange(from = 1) public long maxBytes() {
+		return maxBytes;
+	}
+
+	/**
+	 * Returns the count of bytes currently acquired by decodings in progress.
+	 *
+	 * @return Count of used bytes.
+	 */
+	@IntRange(from = 0) public synchronized long usedBytes() {
+		return usedBytes;
+	}
+
+	/**
+	 * Returns the count of decodings admitted by this governor, including the downsampled ones.
+	 *
+	 * @return Count of admitted decodings.
+	 */
+	@IntRange(from = 0) public synchronized long admittedCount() {
+		return admittedCount;
+	}
+
+	/**
+	 * Returns the count of decodings which have been queued due to insufficient budget.
+	 *
+	 * @return Count of queued decodings.
+	 */
+	@IntRange(from = 0) public synchronized long queuedCount() {
+		return queuedCount;
+	}
+
+	/**
+	 * Returns the count of decodings which have been admitted only with increased sample size.
+	 *
+	 * @return Count of downsampled decodings.
+	 */
+	@IntRange(from = 0) public synchronized long downsampledCount() {
+		return downsampledCount;
+	}
+
+	/**
+	 * Returns the count of decodings which have been rejected.
+	 *
+	 * @return Count of rejected decodings.
+	 */
+	@IntRange(from = 0) public synchronized long rejectedCount() {
+		return rejectedCount;
+	}
+
+	/**
+	 * Same as {@link #acquire(int, int, int, Bitmap.Config, long, boolean)} without any extra bytes
+	 * where the calling thread may be blocked.
+	 */
+	int acquire(final int width, final int height, final int sampleSize, @Nullable final Bitmap.Config config) {
+		return acquire(width, height, sampleSize, config, 0, true);
+	}
+
+	/**
+	 * Acquires budget for decoding of an image with the specified dimensions. If the budget is not
+	 * available and the calling thread may be blocked, it is blocked for at most the maximum wait
+	 * time of this governor.
+	 * <p>
+	 * Each successful acquisition must be followed by {@link #release(long)} with count of bytes
+	 * computed via {@link #byteCountOf(int, int, int, Bitmap.Config)} for the returned sample size
+	 * increased by the specified <var>extraBytes</var>.
+	 *
+	 * @param width      Width of the image.
+	 * @param height     Height of the image.
+	 * @param sampleSize The requested sample size with which should be the image decoded.
+	 * @param config     Configuration of the decoded bitmap. May be {@code null} for the default one.
+	 * @param extraBytes Count of bytes which will be allocated in addition to the decoded bitmap,
+	 *                   like for a bitmap into which is the decoded one scaled.
+	 * @param mayWait    {@code True} if the calling thread may be blocked until the budget becomes
+	 *                   available, {@code false} to downsample or reject the decoding right away.
+	 * @return Sample size with which may be the image decoded, at least as large as the requested
+	 * one, or {@link #REJECTED} if the decoding has been rejected.
+	 */
+	synchronized int acquire(
+			final int width,
+			final int height,
+			final int sampleSize,
+			@Nullable final Bitmap.Config config,
+			@IntRange(from = 0) final long extraBytes,
+			final boolean mayWait
+	) {
+		int admittedSampleSize = Math.max(1, sampleSize);
+		long bytes = byteCountOf(width, height, admittedSampleSize, config) + extraBytes;
+		if (bytes > maxBytes) {
+			admittedSampleSize = fitSampleSize(width, height, admittedSampleSize, config, maxBytes - extraBytes, MAX_SAMPLE_SIZE);
+			if (admittedSampleSize == REJECTED) {
+				rejectedCount++;
+				return REJECTED;
+			}
+			downsampledCount++;
+			bytes = byteCountOf(width, height, admittedSampleSize, config) + extraBytes;
+		}
+		if (bytes > maxBytes - usedBytes) {
+			queuedCount++;
+			final long deadline = System.nanoTime() + (mayWait ? maxWaitMillis : 0) * 1000000L;
+			long remainingNanos;
+			while (bytes > maxBytes - usedBytes && (remainingNanos = deadline - System.nanoTime()) > 0) {
+				try {
+					final long remainingMillis = remainingNanos / 1000000L;
+					wait(remainingMillis, (int) (remainingNanos - remainingMillis * 1000000L));
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					break;
+				}
+			}
+			if (bytes > maxBytes - usedBytes) {
+				final int downsampledSize = fitSampleSize(
+						width,
+						height,
+						admittedSampleSize,
+						config,
+						maxBytes - usedBytes - extraBytes,
+						(int) Math.min((long) admittedSampleSize * MAX_DOWNSAMPLE_FACTOR, MAX_SAMPLE_SIZE)
+				);
+				if (downsampledSize == REJECTED) {
+					rejectedCount++;
+					return REJECTED;
+				}
+				if (downsampledSize != admittedSampleSize) {
+					downsampledCount++;
+				}
+				admittedSampleSize = downsampledSize;
+				bytes = byteCountOf(width, height, admittedSampleSize, config) + extraBytes;
+			}
+		}
+		usedBytes += bytes;
+		admittedCount++;
+		return admittedSampleSize;
+	}
+
+	/**
+	 * Finds the smallest power of two multiple of the specified <var>sampleSize</var> with which
+	 * the image of the specified dimensions fits into the specified count of bytes.
+	 *
+	 * @return The found sample size or {@link #REJECTED} if there is no such sample size within
+	 * the specified <var>maxSampleSize</var>.
+	 */
+	private static int fitSampleSize(
+			final int width,
+			final int height,
+			final int sampleSize,
+			final Bitmap.Config config,
+			final long availableBytes,
+			final int maxSampleSize
+	) {
+		int fittingSampleSize = sampleSize;
+		while (byteCountOf(width, height, fittingSampleSize, config) > availableBytes) {
+			if (fittingSampleSize >= maxSampleSize) {
+				return REJECTED;
+			}
+			fittingSampleSize *= 2;
+		}
+		return fittingSampleSize;
+	}
+
+	/**
+	 * Releases the specified count of bytes previously acquired via {@link #acquire(int, int, int, Bitmap.Config)}
+	 * and wakes up all queued decodings.
+	 *
+	 * @param bytes The count of bytes to be released.
+	 */
+	synchronized void release(final long bytes) {
+		usedBytes = Math.max(0, usedBytes - bytes);
+		notifyAll();
+	}
+
+	/**
+	 * Computes the count of bytes allocated for bitmap of an image with the specified dimensions
+	 * decoded with the specified sample size and configuration.
+	 *
+	 * @param width      Width of the image.
+	 * @param height     Height of the image.
+	 * @param sampleSize Sample size with which is the image decoded.
+	 * @param config     Configuration of the decoded bitmap. May be {@code null} for the default one.
+	 * @return Count of bytes or {@code 0} if the dimensions are unknown.
+	 */
+	@VisibleForTesting static long byteCountOf(final int width, final int height, final int sampleSize, @Nullable final Bitmap.Config config) {
+		if (width <= 0 || height <= 0) {
+			return 0;
+		}
+		final int divisor = Math.max(1, sampleSize);
+		return (long) ((width + divisor - 1) / divisor) * ((height + divisor - 1) / divisor) * BitmapPool.bytesPerPixel(config);
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+}
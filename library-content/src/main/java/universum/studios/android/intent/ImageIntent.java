@@ -20,21 +20,29 @@ package universum.studios.android.intent;
 
 import android.app.Activity;
 import android.app.Fragment;
+import android.content.ClipData;
 import android.content.ContentResolver;
 import android.content.Context;
 import android.content.Intent;
 import android.content.res.Resources;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
+import android.graphics.Rect;
 import android.net.Uri;
+import android.os.Build;
 import android.os.Bundle;
 import android.os.Environment;
 import android.provider.MediaStore;
-import android.util.Log;
 
 import java.io.File;
-import java.io.IOException;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import androidx.annotation.IntDef;
 import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -55,7 +63,7 @@ public class ImageIntent extends ContentIntent<ImageIntent> {
 	/**
 	 * Log TAG.
 	 */
-	private static final String TAG = "ImageIntent";
+	// private static final String TAG = "ImageIntent";
 
 	/**
 	 * Flag to identify request code used to obtain image from gallery.
@@ -78,6 +86,59 @@ public class ImageIntent extends ContentIntent<ImageIntent> {
 	 * Interface ===================================================================================
 	 */
 
+	/**
+	 * Callback that may be used to receive image processed via {@link #processResultIntentAsync(int, int, Intent, Context, ImageOptions, ResultCallback)}.
+	 * The callback is invoked on the main thread.
+	 *
+	 * @author Martin Albedinsky
+	 * @since 1.3
+	 */
+	public interface ResultCallback {
+
+		/**
+		 * Invoked whenever processing of the result intent has finished and the associated request
+		 * has not been cancelled.
+		 *
+		 * @param requestCode The request code for which has been the result intent processed.
+		 * @param image       The obtained image or {@code null} if there is no image available or
+		 *                    it could not be decoded.
+		 */
+		void onResultProcessed(int requestCode, @Nullable Bitmap image);
+	}
+
+	/**
+	 * Callback that may be used to receive images processed via {@link #processMultipleResultIntentAsync(int, int, Intent, Context, ImageOptions, MultipleResultCallback)}.
+	 * Each image is delivered as soon as it is decoded, so images are not necessarily delivered in
+	 * the order in which they have been selected, but each one is delivered along with its position
+	 * within the selection. The callback is invoked on the main thread.
+	 *
+	 * @author Martin Albedinsky
+	 * @since 1.3
+	 */
+	public interface MultipleResultCallback {
+
+		/**
+		 * Invoked whenever one of the selected images has been processed and the associated request
+		 * has not been cancelled.
+		 *
+		 * @param requestCode The request code for which has been the result intent processed.
+		 * @param position    Position of the image within the selection.
+		 * @param uri         Uri of the selected image content.
+		 * @param image       The obtained image or {@code null} if it could not be decoded.
+		 */
+		void onImageProcessed(int requestCode, int position, @NonNull Uri uri, @Nullable Bitmap image);
+
+		/**
+		 * Invoked whenever all of the selected images have been processed and the associated request
+		 * has not been cancelled.
+		 *
+		 * @param requestCode The request code for which has been the result intent processed.
+		 * @param count       Count of the processed images. May be {@code 0} if there have been no
+		 *                    images selected.
+		 */
+		void onAllImagesProcessed(int requestCode, int count);
+	}
+
 	/*
 	 * Static members ==============================================================================
 	 */
@@ -86,11 +147,21 @@ public class ImageIntent extends ContentIntent<ImageIntent> {
 	 * Members =====================================================================================
 	 */
 
+	/**
+	 * Gallery intent handler.
+	 */
+	private ContentHandler galleryHandler;
+
 	/**
 	 * Camera intent handler.
 	 */
 	private ContentHandler cameraHandler;
 
+	/**
+	 * Flag indicating whether the gallery intent should allow to pick multiple images.
+	 */
+	private boolean allowMultiple;
+
 	/*
 	 * Constructors ================================================================================
 	 */
@@ -99,15 +170,32 @@ public class ImageIntent extends ContentIntent<ImageIntent> {
 	 * Methods =====================================================================================
 	 */
 
+	/**
+	 * Same as {@link #createGalleryIntent(boolean)} with {@code false} for <var>allowMultiple</var>
+	 * parameter.
+	 */
+	@NonNull public static Intent createGalleryIntent() {
+		return createGalleryIntent(false);
+	}
+
 	/**
 	 * Creates a new instance of Intent with {@link Intent#ACTION_GET_CONTENT} and {@link MimeType#IMAGE}
 	 * MIME type that can be used to launch a gallery app (depends on user's choice) to pick one of
 	 * available images.
 	 *
+	 * @param allowMultiple {@code True} to allow picking of multiple images via {@link Intent#EXTRA_ALLOW_MULTIPLE},
+	 *                      {@code false} otherwise. Images picked in such mode are delivered via
+	 *                      {@link ClipData} of the result intent (see {@link #obtainResultUris(Intent)}).
 	 * @return New gallery intent instance.
+	 *
+	 * @since 1.3
 	 */
-	@NonNull public static Intent createGalleryIntent() {
-		return new Intent(Intent.ACTION_GET_CONTENT).setType(MimeType.IMAGE);
+	@NonNull public static Intent createGalleryIntent(final boolean allowMultiple) {
+		final Intent intent = new Intent(Intent.ACTION_GET_CONTENT).setType(MimeType.IMAGE);
+		if (allowMultiple) {
+			intent.putExtra(Intent.EXTRA_ALLOW_MULTIPLE, true);
+		}
+		return intent;
 	}
 
 	/**
@@ -152,6 +240,9 @@ public class ImageIntent extends ContentIntent<ImageIntent> {
 	/**
 	 * Same as {@link #createImageFile(String)} with <var>fileName</var> in {@link #IMAGE_FILE_NAME_FORMAT}
 	 * format with a string representation of the current time stamp obtained via {@link #createContentFileTimeStamp()}.
+	 * <p>
+	 * <b>Note</b>, that this method creates the file on the calling thread. To avoid disk I/O on the
+	 * main thread, files may be obtained from {@link CaptureFileProvisioner#images()}.
 	 */
 	@Nullable public static File createImageFile() {
 		return createImageFile(String.format(IMAGE_FILE_NAME_FORMAT, createContentFileTimeStamp()));
@@ -170,13 +261,59 @@ public class ImageIntent extends ContentIntent<ImageIntent> {
 		return createContentFile(appendDefaultFileSuffixIfNotPresented(fileName, ".jpg"), Environment.DIRECTORY_PICTURES);
 	}
 
+	/**
+	 * Obtains uris of all images picked from gallery from the given result <var>data</var> intent.
+	 * Images picked in multi-select mode are obtained from {@link ClipData} of the intent in the
+	 * order in which they have been selected, a single picked image from its data.
+	 *
+	 * @param data The data from {@link Activity#onActivityResult(int, int, Intent)} or
+	 *             {@link Fragment#onActivityResult(int, int, Intent)}. May be {@code null}.
+	 * @return List with uris of the picked images. May be empty if there are no images available.
+	 *
+	 * @since 1.3
+	 */
+	@NonNull public static List<Uri> obtainResultUris(@Nullable final Intent data) {
+		if (data == null) {
+			return Collections.emptyList();
+		}
+		final ClipData clipData = Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN ? data.getClipData() : null;
+		if (clipData != null && clipData.getItemCount() > 0) {
+			final int itemCount = clipData.getItemCount();
+			final List<Uri> uris = new ArrayList<>(itemCount);
+			for (int i = 0; i < itemCount; i++) {
+				final Uri uri = clipData.getItemAt(i).getUri();
+				if (uri != null) {
+					uris.add(uri);
+				}
+			}
+			return uris;
+		}
+		final Uri uri = data.getData();
+		return uri == null ? Collections.<Uri>emptyList() : Collections.singletonList(uri);
+	}
+
+	/**
+	 * Same as {@link #processResultIntent(int, int, Intent, Context, ImageOptions, Uri)} with {@code null}
+	 * for <var>outputUri</var> parameter.
+	 */
+	@Nullable static Bitmap processResultIntent(
+			final int requestCode,
+			final int resultCode,
+			@Nullable final Intent data,
+			@NonNull final Context context,
+			@Nullable final ImageOptions options
+	) {
+		return processResultIntent(requestCode, resultCode, data, context, options, null);
+	}
+
 	/**
 	 * Processes the given result <var>data</var> intent to obtain a user's picked image.
 	 * <p>
 	 * <b>Note</b>, that in case of {@link #REQUEST_CODE_CAMERA}, the captured photo's bitmap will be
-	 * received only in quality of "place holder" image, not as full quality image. For full quality
-	 * photo pass an instance of Uri to {@link #output(Uri)} and the bitmap of the captured
-	 * photo will be stored on the specified uri.
+	 * received only in quality of "place holder" image, not as full quality image, unless the
+	 * <var>outputUri</var> is specified. For full quality photo pass an instance of Uri to {@link #output(Uri)}
+	 * and the captured photo will be stored on the specified uri and decoded from there in the same
+	 * way as images picked from gallery. See {@link #processResultAsync(int, int, Intent, Context, ImageOptions, ResultCallback)}.
 	 *
 	 * @param requestCode The request code from {@link Activity#onActivityResult(int, int, Intent)} or
 	 *                    {@link Fragment#onActivityResult(int, int, Intent)}.
@@ -189,55 +326,43 @@ public class ImageIntent extends ContentIntent<ImageIntent> {
 	 *                    {@link Fragment#onActivityResult(int, int, Intent)}.
 	 * @param context     Current valid context.
 	 * @param options     Image options to adjust obtained bitmap.
+	 * @param outputUri   Uri at which should be stored the photo captured by camera. May be {@code null}.
 	 * @return Instance of Bitmap obtained from the given <var>data</var> Intent.
+	 *
+	 * @see BitmapDecoder#decode(ContentResolver, Uri, ImageOptions)
 	 */
-	@SuppressWarnings("deprecation")
 	@Nullable static Bitmap processResultIntent(
 			final int requestCode,
 			final int resultCode,
 			@Nullable final Intent data,
 			@NonNull final Context context,
-			@Nullable final ImageOptions options
+			@Nullable final ImageOptions options,
+			@Nullable final Uri outputUri
 	) {
-		if (data == null || resultCode != Activity.RESULT_OK) {
-			// User canceled the intent or no data are available.
+		if (resultCode != Activity.RESULT_OK) {
+			// User canceled the intent.
 			return null;
 		}
 		switch (requestCode) {
 			case REQUEST_CODE_GALLERY:
-				final Uri imageUri = data.getData();
+				final Uri imageUri = data == null ? null : data.getData();
 				if (imageUri == null) {
 					return null;
 				}
-				Bitmap galleryImage = null;
-				final ContentResolver contentResolver = context.getContentResolver();
-				try {
-					if (options == null) {
-						galleryImage = BitmapFactory.decodeStream(contentResolver.openInputStream(imageUri));
-					} else {
-						// Get the dimensions of the returned bitmap.
-						final BitmapFactory.Options bmOptions = new BitmapFactory.Options();
-						bmOptions.inJustDecodeBounds = true;
-						BitmapFactory.decodeStream(contentResolver.openInputStream(imageUri), null, bmOptions);
-						final int bmWidth = bmOptions.outWidth;
-						final int bmHeight = bmOptions.outHeight;
-						// Compute how much to scale the bitmap.
-						final int scaleFactor = Math.min(bmWidth / options.width, bmHeight / options.height);
-						// Decode scaled bitmap.
-						bmOptions.inJustDecodeBounds = false;
-						bmOptions.inSampleSize = scaleFactor;
-						bmOptions.inPurgeable = true;
-						galleryImage = BitmapFactory.decodeStream(contentResolver.openInputStream(imageUri), null, bmOptions);
+				return BitmapDecoder.decode(context.getContentResolver(), imageUri, options);
+			case REQUEST_CODE_CAMERA:
+				// Camera applications store full quality photo at the output uri and usually do not
+				// deliver any data in such case.
+				if (outputUri != null) {
+					final Bitmap outputImage = BitmapDecoder.decode(context.getContentResolver(), outputUri, options);
+					if (outputImage != null) {
+						return outputImage;
 					}
-				} catch (IOException e) {
-					Log.e(TAG, "Unable to open stream to image content at uri(" + imageUri + ").", e);
 				}
-				return galleryImage;
-			case REQUEST_CODE_CAMERA:
-				final Bundle extras = data.getExtras();
+				final Bundle extras = data == null ? null : data.getExtras();
 				final Bitmap cameraImage = extras == null ? null : (Bitmap) extras.get("data");
 				if (cameraImage != null && options != null) {
-					return Bitmap.createScaledBitmap(cameraImage, options.width, options.height, false);
+					return BitmapDecoder.scale(cameraImage, options);
 				}
 				return cameraImage;
 			default:
@@ -245,6 +370,198 @@ public class ImageIntent extends ContentIntent<ImageIntent> {
 		}
 	}
 
+	/**
+	 * Same as {@link #processResultIntent(int, int, Intent, Context, ImageOptions)} but the result
+	 * intent is processed and the image decoded on a background thread (see {@link BitmapDecoder#setExecutor(java.util.concurrent.Executor)}).
+	 * The obtained image is delivered to the specified <var>callback</var> on the main thread.
+	 * <p>
+	 * The returned request should be cancelled whenever the result is no longer needed, for example
+	 * when the host activity or fragment is being destroyed. The callback is not invoked for cancelled
+	 * requests and it is not referenced by them anymore. Image decoded for a request cancelled during
+	 * its decoding is released into {@link BitmapPool}, if specified, or recycled.
+	 *
+	 * @param requestCode The request code from {@link Activity#onActivityResult(int, int, Intent)} or
+	 *                    {@link Fragment#onActivityResult(int, int, Intent)}.
+	 * @param resultCode  The result code from {@link Activity#onActivityResult(int, int, Intent)} or
+	 *                    {@link Fragment#onActivityResult(int, int, Intent)}.
+	 * @param data        The data from {@link Activity#onActivityResult(int, int, Intent)} or
+	 *                    {@link Fragment#onActivityResult(int, int, Intent)}.
+	 * @param context     Current valid context. Only its application context is retained.
+	 * @param options     Image options to adjust obtained bitmap.
+	 * @param callback    Callback to be notified on the main thread about the obtained image.
+	 * @return Request that may be used to cancel the processing.
+	 *
+	 * @see #processResultAsync(int, int, Intent, Context, ImageOptions, ResultCallback)
+	 */
+	@NonNull public static ResultRequest processResultIntentAsync(
+			final int requestCode,
+			final int resultCode,
+			@Nullable final Intent data,
+			@NonNull final Context context,
+			@Nullable final ImageOptions options,
+			@NonNull final ResultCallback callback
+	) {
+		return processResultIntentAsync(requestCode, resultCode, data, context, options, null, callback);
+	}
+
+	/**
+	 * Same as {@link #processResultIntentAsync(int, int, Intent, Context, ImageOptions, ResultCallback)}
+	 * but in case of {@link #REQUEST_CODE_CAMERA} the captured photo is decoded in full quality from
+	 * the output uri specified via {@link #output(Uri)} for this intent builder, if any.
+	 *
+	 * @see #processResultIntentAsync(int, int, Intent, Context, ImageOptions, ResultCallback)
+	 */
+	@NonNull public ResultRequest processResultAsync(
+			final int requestCode,
+			final int resultCode,
+			@Nullable final Intent data,
+			@NonNull final Context context,
+			@Nullable final ImageOptions options,
+			@NonNull final ResultCallback callback
+	) {
+		return processResultIntentAsync(requestCode, resultCode, data, context, options, uri, callback);
+	}
+
+	/**
+	 * Processes the given result <var>data</var> intent on a background thread and delivers the
+	 * obtained image to the specified <var>callback</var> on the main thread.
+	 *
+	 * @see #processResultIntent(int, int, Intent, Context, ImageOptions, Uri)
+	 */
+	private static ResultRequest processResultIntentAsync(
+			final int requestCode,
+			final int resultCode,
+			final Intent data,
+			final Context context,
+			final ImageOptions options,
+			final Uri outputUri,
+			final ResultCallback callback
+	) {
+		final ResultRequest request = new ResultRequest(callback);
+		final Context applicationContext = context.getApplicationContext();
+		BitmapDecoder.obtainExecutor().execute(new Runnable() {
+
+			/**
+			 */
+			@Override public void run() {
+				if (request.isCancelled()) {
+					return;
+				}
+				final Bitmap image = processResultIntent(requestCode, resultCode, data, applicationContext, options, outputUri);
+				BaseIntent.postToMainThread(new Runnable() {
+
+					/**
+					 */
+					@Override public void run() {
+						final ResultCallback callback = (ResultCallback) request.callback;
+						if (callback != null) {
+							request.callback = null;
+							callback.onResultProcessed(requestCode, image);
+						} else if (image != null) {
+							// Request has been cancelled while the image was being decoded.
+							BitmapDecoder.release(image);
+						}
+					}
+				});
+			}
+		});
+		return request;
+	}
+
+	/**
+	 * Processes the given result <var>data</var> intent of {@link #REQUEST_CODE_GALLERY} request, which
+	 * may contain multiple images picked in multi-select mode (see {@link #allowMultiple(boolean)}).
+	 * All picked images are decoded in parallel on background threads (see {@link BitmapDecoder#setParallelExecutor(Executor)})
+	 * and each one is delivered to the specified <var>callback</var> on the main thread as soon as
+	 * it is decoded, along with its position within the selection. Memory of images decoded at the
+	 * same time is limited by {@link DecodeGovernor}.
+	 * <p>
+	 * The returned request should be cancelled whenever the result is no longer needed. Images which
+	 * have not started to decode yet are skipped for cancelled requests, and images decoded after
+	 * cancellation are released.
+	 *
+	 * @param requestCode The request code from {@link Activity#onActivityResult(int, int, Intent)} or
+	 *                    {@link Fragment#onActivityResult(int, int, Intent)}. Results of requests
+	 *                    other than {@link #REQUEST_CODE_GALLERY} contain no images.
+	 * @param resultCode  The result code from {@link Activity#onActivityResult(int, int, Intent)} or
+	 *                    {@link Fragment#onActivityResult(int, int, Intent)}.
+	 * @param data        The data from {@link Activity#onActivityResult(int, int, Intent)} or
+	 *                    {@link Fragment#onActivityResult(int, int, Intent)}.
+	 * @param context     Current valid context. Only its application context is retained.
+	 * @param options     Image options to adjust obtained bitmaps.
+	 * @param callback    Callback to be notified on the main thread about the obtained images.
+	 * @return Request that may be used to cancel the processing.
+	 *
+	 * @see #obtainResultUris(Intent)
+	 * @since 1.3
+	 */
+	@NonNull public static ResultRequest processMultipleResultIntentAsync(
+			final int requestCode,
+			final int resultCode,
+			@Nullable final Intent data,
+			@NonNull final Context context,
+			@Nullable final ImageOptions options,
+			@NonNull final MultipleResultCallback callback
+	) {
+		final ResultRequest request = new ResultRequest(callback);
+		final List<Uri> uris = resultCode == Activity.RESULT_OK && requestCode == REQUEST_CODE_GALLERY ?
+				obtainResultUris(data) :
+				Collections.<Uri>emptyList();
+		final int count = uris.size();
+		if (count == 0) {
+			BaseIntent.postToMainThread(new Runnable() {
+
+				/**
+				 */
+				@Override public void run() {
+					final MultipleResultCallback callback = (MultipleResultCallback) request.callback;
+					if (callback != null) {
+						request.callback = null;
+						callback.onAllImagesProcessed(requestCode, 0);
+					}
+				}
+			});
+			return request;
+		}
+		final ContentResolver resolver = context.getApplicationContext().getContentResolver();
+		final Executor executor = BitmapDecoder.obtainParallelExecutor();
+		// Decremented only on the main thread, where are delivered the processed images.
+		final AtomicInteger remainingCount = new AtomicInteger(count);
+		for (int i = 0; i < count; i++) {
+			final int position = i;
+			final Uri uri = uris.get(i);
+			executor.execute(new Runnable() {
+
+				/**
+				 */
+				@Override public void run() {
+					if (request.isCancelled()) {
+						return;
+					}
+					final Bitmap image = BitmapDecoder.decode(resolver, uri, options);
+					BaseIntent.postToMainThread(new Runnable() {
+
+						/**
+						 */
+						@Override public void run() {
+							final MultipleResultCallback callback = (MultipleResultCallback) request.callback;
+							if (callback != null) {
+								callback.onImageProcessed(requestCode, position, uri, image);
+								if (remainingCount.decrementAndGet() == 0) {
+									request.callback = null;
+									callback.onAllImagesProcessed(requestCode, count);
+								}
+							} else if (image != null) {
+								BitmapDecoder.release(image);
+							}
+						}
+					});
+				}
+			});
+		}
+		return request;
+	}
+
 	/**
 	 * Adds two default {@link ContentHandler}s. One for {@link #REQUEST_CODE_GALLERY} and second one
 	 * for {@link #REQUEST_CODE_CAMERA}.
@@ -252,9 +569,10 @@ public class ImageIntent extends ContentIntent<ImageIntent> {
 	@SuppressWarnings("ConstantConditions")
 	@Override public ImageIntent withDefaultHandlers(@NonNull final Context context) {
 		withHandlers(
-				onCreateGalleryHandler(context.getResources()),
+				galleryHandler = onCreateGalleryHandler(context.getResources()),
 				cameraHandler = onCreateCameraHandler(context.getResources())
 		);
+		updateGalleryHandler();
 		if (uri == null) {
 			cameraHandler.intent.removeExtra(MediaStore.EXTRA_OUTPUT);
 		} else {
@@ -276,7 +594,7 @@ public class ImageIntent extends ContentIntent<ImageIntent> {
 	@NonNull protected ContentHandler onCreateGalleryHandler(@NonNull final Resources resources) {
 		return new ContentHandler(
 				"Gallery",
-				createGalleryIntent()
+				createGalleryIntent(allowMultiple)
 		).requestCode(REQUEST_CODE_GALLERY);
 	}
 
@@ -297,6 +615,63 @@ public class ImageIntent extends ContentIntent<ImageIntent> {
 		).requestCode(REQUEST_CODE_CAMERA);
 	}
 
+	/**
+	 */
+	@Override public ImageIntent reset() {
+		super.reset();
+		this.galleryHandler = null;
+		this.cameraHandler = null;
+		this.allowMultiple = false;
+		return this;
+	}
+
+	/**
+	 */
+	@Override protected boolean isBuiltIntentCacheable() {
+		return getClass() == ImageIntent.class;
+	}
+
+	/**
+	 * Sets a flag indicating whether the gallery intent should allow user to pick multiple images.
+	 * Results of such intent should be processed via {@link #processMultipleResultIntentAsync(int, int, Intent, Context, ImageOptions, MultipleResultCallback)}.
+	 *
+	 * @param allowMultiple {@code True} to allow picking of multiple images, {@code false} otherwise.
+	 * @return This intent builder to allow methods chaining.
+	 *
+	 * @see #allowMultiple()
+	 * @since 1.3
+	 */
+	public ImageIntent allowMultiple(final boolean allowMultiple) {
+		this.allowMultiple = allowMultiple;
+		updateGalleryHandler();
+		return this;
+	}
+
+	/**
+	 * Returns the flag indicating whether the gallery intent allows to pick multiple images.
+	 *
+	 * @return {@code True} if multiple images may be picked, {@code false} otherwise.
+	 *
+	 * @see #allowMultiple(boolean)
+	 * @since 1.3
+	 */
+	public boolean allowMultiple() {
+		return allowMultiple;
+	}
+
+	/**
+	 * Updates intent of the gallery handler, if created, according to the current multi-select flag.
+	 */
+	private void updateGalleryHandler() {
+		if (galleryHandler != null) {
+			if (allowMultiple) {
+				galleryHandler.intent.putExtra(Intent.EXTRA_ALLOW_MULTIPLE, true);
+			} else {
+				galleryHandler.intent.removeExtra(Intent.EXTRA_ALLOW_MULTIPLE);
+			}
+		}
+	}
+
 	/**
 	 * If the passed <var>uri</var> is not {@code null}, the current data (MIME) type will be set
 	 * by default to {@link MimeType#IMAGE}.
@@ -339,16 +714,64 @@ public class ImageIntent extends ContentIntent<ImageIntent> {
 
 	/**
 	 * Simple options for {@link #processResultIntent(int, int, Intent, Context, ImageOptions)}.
+	 * <p>
+	 * The requested dimensions, fit mode and pixel budget are applied in the same way to all obtained
+	 * images, whether picked from gallery, captured by camera into an output uri or delivered as
+	 * camera thumbnails.
 	 *
 	 * @author Martin Albedinsky
 	 */
 	public static class ImageOptions {
 
+		/**
+		 * Fit mode for which the obtained image is scaled so it fits entirely inside of the requested
+		 * dimensions while preserving its aspect ratio.
+		 *
+		 * @since 1.3
+		 */
+		public static final int FIT_INSIDE = 0x01;
+
+		/**
+		 * Fit mode for which the obtained image is scaled so it covers the requested dimensions while
+		 * preserving its aspect ratio. The image is then cropped to the requested dimensions around
+		 * its center, so this mode needs to be requested explicitly via {@link #fitMode(int)}.
+		 *
+		 * @since 1.3
+		 */
+		public static final int FIT_CROP = 0x02;
+
+		/**
+		 * Defines an annotation for determining set of allowed fit modes for {@link #fitMode(int)}.
+		 */
+		@Retention(RetentionPolicy.SOURCE)
+		@IntDef({FIT_INSIDE, FIT_CROP})
+		public @interface FitMode {}
+
 		/**
 		 * Dimensions to which should be obtained image bitmap re-sized.
 		 */
 		int width, height;
 
+		/**
+		 * Maximum count of pixels of the obtained image bitmap. Non-positive value means no limit.
+		 */
+		long maxPixels;
+
+		/**
+		 * Preferred configuration of the obtained image bitmap. {@code null} for default configuration.
+		 */
+		Bitmap.Config config;
+
+		/**
+		 * Mode determining how should be the obtained image bitmap fitted into the requested dimensions.
+		 */
+		@FitMode int fitMode = FIT_INSIDE;
+
+		/**
+		 * Region of the image to be decoded. {@code null} to decode the whole image.
+		 */
+		Rect region;
+
 		/**
 		 * Sets the dimensions to which should be the obtained image bitmap re-sized.
 		 *
@@ -361,5 +784,123 @@ public class ImageIntent extends ContentIntent<ImageIntent> {
 			this.height = height;
 			return this;
 		}
+
+		/**
+		 * Sets the maximum count of pixels that the obtained image bitmap may have. If the image
+		 * re-sized to the requested dimensions would have more pixels, it is reduced further.
+		 *
+		 * @param maxPixels The desired maximum count of pixels. May be {@code 0} for no limit.
+		 * @return This options instance.
+		 *
+		 * @since 1.3
+		 */
+		public ImageOptions maxPixels(@IntRange(from = 0) final long maxPixels) {
+			this.maxPixels = maxPixels;
+			return this;
+		}
+
+		/**
+		 * Sets the preferred configuration of the obtained image bitmap. For example {@link Bitmap.Config#RGB_565}
+		 * requires only half of the memory of the default {@link Bitmap.Config#ARGB_8888} configuration
+		 * for images without transparency and {@link Bitmap.Config#HARDWARE} keeps the pixels only
+		 * in graphics memory on devices where it is available.
+		 * <p>
+		 * <b>Note</b>, that bitmaps with hardware configuration are immutable and so they cannot be
+		 * reused via {@link BitmapPool}. Images requested with such configuration are decoded and
+		 * scaled as software bitmaps and converted to hardware ones only at the end.
+		 *
+		 * @param config The desired configuration. May be {@code null} to use the default one.
+		 * @return This options instance.
+		 *
+		 * @since 1.3
+		 */
+		public ImageOptions preferredConfig(@Nullable final Bitmap.Config config) {
+			this.config = config;
+			return this;
+		}
+
+		/**
+		 * Sets the mode determining how should be the obtained image bitmap fitted into the dimensions
+		 * specified via {@link #inSize(int, int)}.
+		 * <p>
+		 * Default value: <b>{@link #FIT_INSIDE}</b>
+		 *
+		 * @param fitMode The desired fit mode. One of {@link #FIT_INSIDE} or {@link #FIT_CROP}.
+		 * @return This options instance.
+		 *
+		 * @since 1.3
+		 */
+		public ImageOptions fitMode(@FitMode final int fitMode) {
+			this.fitMode = fitMode;
+			return this;
+		}
+
+		/**
+		 * Sets a region of the image to which should be the decoding restricted. When specified, only
+		 * the region is decoded via {@link ImageRegionDecoder} and the requested dimensions and pixel
+		 * budget are applied to the region instead of to the whole image, so even very large images
+		 * may be decoded without materializing them in full resolution.
+		 * <p>
+		 * <b>Note</b>, that the region is applied only to images decoded from content, not to
+		 * thumbnails delivered by camera, and that regions are not decoded into bitmaps from
+		 * {@link BitmapPool}.
+		 *
+		 * @param region The desired region in coordinates of the whole image. May be {@code null}
+		 *               to decode the whole image.
+		 * @return This options instance.
+		 *
+		 * @since 1.3
+		 */
+		public ImageOptions region(@Nullable final Rect region) {
+			this.region = region == null ? null : new Rect(region);
+			return this;
+		}
+	}
+
+	/**
+	 * Request for asynchronous processing of result intent initiated via
+	 * {@link #processResultIntentAsync(int, int, Intent, Context, ImageOptions, ResultCallback)} or
+	 * {@link #processMultipleResultIntentAsync(int, int, Intent, Context, ImageOptions, MultipleResultCallback)}.
+	 *
+	 * @author Martin Albedinsky
+	 * @since 1.3
+	 */
+	public static final class ResultRequest {
+
+		/**
+		 * Callback to be notified about the processed image, either {@link ResultCallback} or
+		 * {@link MultipleResultCallback}. Cleared when this request is cancelled or finished.
+		 */
+		volatile Object callback;
+
+		/**
+		 * Creates a new instance of ResultRequest with the specified <var>callback</var>.
+		 *
+		 * @param callback The callback to be notified about the processed image.
+		 */
+		ResultRequest(final Object callback) {
+			this.callback = callback;
+		}
+
+		/**
+		 * Cancels this request, so the associated callback will not be notified about the processed
+		 * image. If the processing has not started yet, it will be skipped entirely.
+		 * <p>
+		 * This method should be called on the main thread to ensure that the callback is not
+		 * invoked afterwards.
+		 */
+		public void cancel() {
+			this.callback = null;
+		}
+
+		/**
+		 * Checks whether this request has been cancelled or has already finished.
+		 *
+		 * @return {@code True} if the callback of this request will not be notified anymore,
+		 * {@code false} otherwise.
+		 */
+		public boolean isCancelled() {
+			return callback == null;
+		}
 	}
-}
\ No newline at end of file
+}
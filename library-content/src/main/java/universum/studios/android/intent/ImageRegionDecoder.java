@@ -0,0 +1,281 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import android.content.ContentResolver;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.BitmapRegionDecoder;
+import android.graphics.Rect;
+import android.net.Uri;
+import android.os.ParcelFileDescriptor;
+
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * An ImageRegionDecoder may be used to decode only particular regions of an image picked via
+ * {@link ImageIntent}, without ever decoding the image in its full resolution. This is useful for
+ * large images, like panoramas or scanned documents, which would not fit into memory even when
+ * decoded with sampling.
+ * <p>
+ * The image content is opened only once when the decoder is opened via {@link #open(ContentResolver, Uri)},
+ * so the decoder may be used to decode multiple regions, for example tiles of a tiled preview.
+ * Whenever the decoder is no longer needed, it should be closed via {@link #close()}.
+ * <p>
+ * A single region may be also decoded via {@link BitmapDecoder#decode(ContentResolver, Uri, ImageIntent.ImageOptions)}
+ * by specifying the region via {@link ImageIntent.ImageOptions#region(Rect)}.
+ *
+ * <h3>Usage</h3>
+ * <pre>
+ * final ImageRegionDecoder decoder = ImageRegionDecoder.open(context.getContentResolver(), imageUri);
+ * try {
+ *     final int tileSize = decoder.height() / 4;
+ *     final Bitmap tile = decoder.decode(
+ *             new Rect(0, 0, tileSize, tileSize),
+ *             new ImageIntent.ImageOptions().inSize(256, 256)
+ *     );
+ * } finally {
+ *     decoder.close();
+ * }
+ * </pre>
+ *
+ * @author Martin Albedinsky
+ * @since 1.3
+ */
+public final class ImageRegionDecoder implements Closeable {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "ImageRegionDecoder";
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Descriptor of the opened image content. May be {@code null} if the content could be opened
+	 * only as a stream, which has been already fully read by the framework decoder.
+	 */
+	private final ParcelFileDescriptor descriptor;
+
+	/**
+	 * Framework decoder used to decode regions of the image.
+	 */
+	private final BitmapRegionDecoder decoder;
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of ImageRegionDecoder for the given <var>descriptor</var> and <var>decoder</var>.
+	 *
+	 * @param descriptor Descriptor of the opened image content. May be {@code null}.
+	 * @param decoder    Framework decoder created for the image content.
+	 */
+	private ImageRegionDecoder(final ParcelFileDescriptor descriptor, final BitmapRegionDecoder decoder) {
+		this.descriptor = descriptor;
+		this.decoder = decoder;
+	}
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Opens a new region decoder for the image content at the specified <var>uri</var>.
+	 *
+	 * @param resolver Content resolver used to open the image content.
+	 * @param uri      Uri of the image content.
+	 * @return Region decoder ready to decode regions of the image.
+	 * @throws IOException If the content could not be opened or its format is not supported.
+	 */
+	@NonNull public static ImageRegionDecoder open(@NonNull final ContentResolver resolver, @NonNull final Uri uri) throws IOException {
+		final ParcelFileDescriptor descriptor;
+		try {
+			descriptor = resolver.openFileDescriptor(uri, "r");
+		} catch (FileNotFoundException e) {
+			// Content stored at an offset within a larger file, like an asset or a raw resource,
+			// may be opened only as a stream.
+			return openStream(resolver, uri);
+		}
+		if (descriptor == null) {
+			throw new FileNotFoundException("Unable to open image content at uri(" + uri + ").");
+		}
+		try {
+			final BitmapRegionDecoder decoder;
+			if (descriptor.getStatSize() >= 0) {
+				decoder = BitmapRegionDecoder.newInstance(descriptor.getFileDescriptor(), false);
+			} else {
+				// Content which is not backed by a regular file is buffered by the framework decoder.
+				decoder = BitmapRegionDecoder.newInstance(new FileInputStream(descriptor.getFileDescriptor()), false);
+			}
+			if (decoder == null) {
+				throw new IOException("Unsupported format of image content at uri(" + uri + ").");
+			}
+			return new ImageRegionDecoder(descriptor, decoder);
+		} catch (IOException e) {
+			descriptor.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Opens a new region decoder for the image content at the specified <var>uri</var> which is read
+	 * through a stream.
+	 *
+	 * @param resolver Content resolver used to open the image content.
+	 * @param uri      Uri of the image content.
+	 * @return Region decoder ready to decode regions of the image.
+	 * @throws IOException If the content could not be opened or its format is not supported.
+	 */
+	private static ImageRegionDecoder openStream(final ContentResolver resolver, final Uri uri) throws IOException {
+		final InputStream stream = resolver.openInputStream(uri);
+		if (stream == null) {
+			throw new FileNotFoundException("Unable to open image content at uri(" + uri + ").");
+		}
+		try {
+			// Framework decoder buffers the whole stream, so it may be closed right away.
+			final BitmapRegionDecoder decoder = BitmapRegionDecoder.newInstance(stream, false);
+			if (decoder == null) {
+				throw new IOException("Unsupported format of image content at uri(" + uri + ").");
+			}
+			return new ImageRegionDecoder(null, decoder);
+		} finally {
+			stream.close();
+		}
+	}
+
+	/**
+	 * Returns the width of the whole image.
+	 *
+	 * @return Image width in pixels.
+	 */
+	public int width() {
+		return decoder.getWidth();
+	}
+
+	/**
+	 * Returns the height of the whole image.
+	 *
+	 * @return Image height in pixels.
+	 */
+	public int height() {
+		return decoder.getHeight();
+	}
+
+	/**
+	 * Decodes the specified <var>region</var> of the image.
+	 * <p>
+	 * The region is decoded with the largest power of two sample size for which the decoded bitmap
+	 * still satisfies dimensions and pixel budget specified by the given <var>options</var>. Region
+	 * specified via {@link ImageIntent.ImageOptions#region(Rect)} is ignored by this method.
+	 *
+	 * @param region  The region to be decoded in coordinates of the whole image. The region is
+	 *                clipped to bounds of the image.
+	 * @param options Options specifying the desired dimensions and configuration of the decoded
+	 *                bitmap. May be {@code null} to decode the region in its full size.
+	 * @return Decoded bitmap or {@code null} if the region is outside of the image or it could not
+	 * be decoded.
+	 * @throws IllegalStateException If this decoder has been already closed.
+	 */
+	@Nullable public Bitmap decode(@NonNull final Rect region, @Nullable final ImageIntent.ImageOptions options) {
+		final Bitmap bitmap = decode(region, options, new BitmapFactory.Options());
+		if (bitmap == null || options == null) {
+			return bitmap;
+		}
+		final Bitmap convertedBitmap = BitmapDecoder.convert(bitmap, options.config);
+		if (convertedBitmap != bitmap) {
+			bitmap.recycle();
+		}
+		return convertedBitmap;
+	}
+
+	/**
+	 * Same as {@link #decode(Rect, ImageIntent.ImageOptions)} where the region is decoded using
+	 * the given <var>bitmapOptions</var>. The region is always decoded into a software bitmap which
+	 * is not converted to the preferred configuration.
+	 *
+	 * @param bitmapOptions Options to be prepared for decoding of the region.
+	 */
+	@Nullable Bitmap decode(
+			@NonNull final Rect region,
+			@Nullable final ImageIntent.ImageOptions options,
+			@NonNull final BitmapFactory.Options bitmapOptions
+	) {
+		final Rect clippedRegion = new Rect(region);
+		if (!clippedRegion.intersect(0, 0, decoder.getWidth(), decoder.getHeight())) {
+			return null;
+		}
+		if (options != null) {
+			final int sampleSize = BitmapDecoder.computeSampleSize(
+					clippedRegion.width(),
+					clippedRegion.height(),
+					options.width,
+					options.height,
+					options.fitMode
+			);
+			bitmapOptions.inSampleSize = BitmapDecoder.constrainSampleSize(
+					clippedRegion.width(),
+					clippedRegion.height(),
+					sampleSize,
+					options.maxPixels
+			);
+			if (options.config != null) {
+				bitmapOptions.inPreferredConfig = BitmapDecoder.decodingConfigOf(options.config);
+			}
+		}
+		return decoder.decodeRegion(clippedRegion, bitmapOptions);
+	}
+
+	/**
+	 * Releases the framework decoder and closes the image content. This decoder cannot be used
+	 * anymore afterwards.
+	 */
+	@Override public void close() throws IOException {
+		decoder.recycle();
+		if (descriptor != null) {
+			descriptor.close();
+		}
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+}
@@ -0,0 +1,349 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import android.content.ContentResolver;
+import android.graphics.Bitmap;
+import android.net.Uri;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+
+/**
+ * Utility class that may be used to transcode an image picked via {@link ImageIntent} directly into
+ * a file or an output stream, for example before the image is uploaded, without the need to keep
+ * its bitmap around.
+ * <p>
+ * The image is decoded via {@link BitmapDecoder} with the largest possible sampling and fitted inside
+ * of the requested maximum dimension, and then encoded into the requested format. The sampled bitmap
+ * is released by the decoder as soon as it has been fitted, so the peak memory is bounded by the
+ * requested maximum dimension rather than by dimensions of the source image.
+ *
+ * <h3>Usage</h3>
+ * <pre>
+ * final ImageTranscoder.Result result = ImageTranscoder.transcode(
+ *         context.getContentResolver(),
+ *         imageUri,
+ *         new ImageTranscoder.Options().maxDimension(1920).quality(85),
+ *         uploadFile
+ * );
+ * </pre>
+ *
+ * @author Martin Albedinsky
+ * @since 1.3
+ */
+public final class ImageTranscoder {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "ImageTranscoder";
+
+	/**
+	 * Size of the buffer used to write the encoded image.
+	 */
+	private static final int BUFFER_SIZE = 16 * 1024;
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 */
+	private ImageTranscoder() {
+		// Not allowed to be instantiated publicly.
+		throw new UnsupportedOperationException();
+	}
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Same as {@link #transcode(ContentResolver, Uri, Options, OutputStream)} where the image is
+	 * encoded into the specified <var>outputFile</var>. If the transcoding fails, the output file
+	 * is deleted.
+	 *
+	 * @param outputFile The file into which to write the encoded image.
+	 */
+	@NonNull public static Result transcode(
+			@NonNull final ContentResolver resolver,
+			@NonNull final Uri uri,
+			@NonNull final Options options,
+			@NonNull final File outputFile
+	) throws IOException {
+		final OutputStream stream = new FileOutputStream(outputFile);
+		boolean succeeded = false;
+		try {
+			final Result result = transcode(resolver, uri, options, stream);
+			succeeded = true;
+			return result;
+		} finally {
+			stream.close();
+			if (!succeeded && !outputFile.delete()) {
+				outputFile.deleteOnExit();
+			}
+		}
+	}
+
+	/**
+	 * Transcodes the image content at the specified <var>uri</var> into the given <var>outputStream</var>
+	 * according to the specified <var>options</var>.
+	 * <p>
+	 * <b>Note</b>, that this method performs disk I/O and decoding, so it should be invoked on
+	 * a background thread.
+	 *
+	 * @param resolver     Content resolver used to open the image content.
+	 * @param uri          Uri of the image content to be transcoded.
+	 * @param options      Options specifying the maximum dimension and format of the encoded image.
+	 * @param outputStream The stream into which to write the encoded image. The stream is flushed
+	 *                     but not closed by this method.
+	 * @return Result with dimensions and size of the encoded image along with durations of the
+	 * particular transcoding phases.
+	 * @throws IOException If the image could not be decoded, encoded or written.
+	 */
+	@NonNull public static Result transcode(
+			@NonNull final ContentResolver resolver,
+			@NonNull final Uri uri,
+			@NonNull final Options options,
+			@NonNull final OutputStream outputStream
+	) throws IOException {
+		final ImageIntent.ImageOptions imageOptions = new ImageIntent.ImageOptions()
+				.inSize(options.maxDimension, options.maxDimension)
+				.fitMode(ImageIntent.ImageOptions.FIT_INSIDE);
+		final long decodeStartTime = System.nanoTime();
+		final Bitmap bitmap = BitmapDecoder.decode(resolver, uri, imageOptions);
+		if (bitmap == null) {
+			throw new IOException("Unable to decode image content at uri(" + uri + ").");
+		}
+		final long encodeStartTime = System.nanoTime();
+		final CountingOutputStream stream = new CountingOutputStream(new BufferedOutputStream(outputStream, BUFFER_SIZE));
+		final Result result = new Result();
+		result.width = bitmap.getWidth();
+		result.height = bitmap.getHeight();
+		try {
+			if (!bitmap.compress(options.format, options.quality, stream)) {
+				throw new IOException("Unable to encode image content at uri(" + uri + ").");
+			}
+			stream.flush();
+		} finally {
+			BitmapDecoder.release(bitmap);
+		}
+		final long endTime = System.nanoTime();
+		result.byteCount = stream.count;
+		result.decodeNanos = encodeStartTime - decodeStartTime;
+		result.encodeNanos = endTime - encodeStartTime;
+		return result;
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+
+	/**
+	 * Options for {@link #transcode(ContentResolver, Uri, Options, OutputStream)}.
+	 *
+	 * @author Martin Albedinsky
+	 * @since 1.3
+	 */
+	public static final class Options {
+
+		/**
+		 * Maximum width and height of the encoded image. Non-positive value means no limit.
+		 */
+		int maxDimension;
+
+		/**
+		 * Format into which should be the image encoded.
+		 */
+		Bitmap.CompressFormat format = Bitmap.CompressFormat.JPEG;
+
+		/**
+		 * Quality with which should be the image encoded.
+		 */
+		int quality = 90;
+
+		/**
+		 * Sets the maximum width and height of the encoded image. Larger images are scaled down while
+		 * preserving their aspect ratio.
+		 * <p>
+		 * Default value: <b>0 (no limit)</b>
+		 *
+		 * @param maxDimension The desired maximum dimension. May be {@code 0} for no limit.
+		 * @return These options to allow methods chaining.
+		 */
+		public Options maxDimension(@IntRange(from = 0) final int maxDimension) {
+			this.maxDimension = maxDimension;
+			return this;
+		}
+
+		/**
+		 * Sets the format into which should be the image encoded.
+		 * <p>
+		 * Default value: <b>{@link Bitmap.CompressFormat#JPEG}</b>
+		 *
+		 * @param format The desired format.
+		 * @return These options to allow methods chaining.
+		 */
+		public Options format(@NonNull final Bitmap.CompressFormat format) {
+			this.format = format;
+			return this;
+		}
+
+		/**
+		 * Sets the quality with which should be the image encoded. Ignored for lossless formats.
+		 * <p>
+		 * Default value: <b>90</b>
+		 *
+		 * @param quality The desired quality from the range {@code [0, 100]}.
+		 * @return These options to allow methods chaining.
+		 */
+		public Options quality(@IntRange(from = 0, to = 100) final int quality) {
+			this.quality = quality;
+			return this;
+		}
+	}
+
+	/**
+	 * Result of transcoding performed via {@link #transcode(ContentResolver, Uri, Options, OutputStream)}.
+	 *
+	 * @author Martin Albedinsky
+	 * @since 1.3
+	 */
+	public static final class Result {
+
+		/**
+		 * Dimensions of the encoded image.
+		 */
+		int width, height;
+
+		/**
+		 * Count of bytes of the encoded image.
+		 */
+		long byteCount;
+
+		/**
+		 * Durations of the particular transcoding phases in nanoseconds.
+		 */
+		long decodeNanos, encodeNanos;
+
+		/**
+		 * Returns the width of the encoded image.
+		 *
+		 * @return Width in pixels.
+		 */
+		public int width() {
+			return width;
+		}
+
+		/**
+		 * Returns the height of the encoded image.
+		 *
+		 * @return Height in pixels.
+		 */
+		public int height() {
+			return height;
+		}
+
+		/**
+		 * Returns the size of the encoded image.
+		 *
+		 * @return Count of written bytes.
+		 */
+		public long byteCount() {
+			return byteCount;
+		}
+
+		/**
+		 * Returns the duration of decoding of the source image, including opening of its content and
+		 * fitting of the decoded image inside of the maximum dimension.
+		 *
+		 * @return Duration in nanoseconds.
+		 */
+		public long decodeNanos() {
+			return decodeNanos;
+		}
+
+		/**
+		 * Returns the duration of encoding of the image into the output.
+		 *
+		 * @return Duration in nanoseconds.
+		 */
+		public long encodeNanos() {
+			return encodeNanos;
+		}
+	}
+
+	/**
+	 * Output stream which counts bytes written into the wrapped stream.
+	 */
+	private static final class CountingOutputStream extends FilterOutputStream {
+
+		/**
+		 * Count of bytes written so far.
+		 */
+		long count;
+
+		/**
+		 * Creates a new instance of CountingOutputStream wrapping the given <var>stream</var>.
+		 *
+		 * @param stream The stream into which to write.
+		 */
+		CountingOutputStream(final OutputStream stream) {
+			super(stream);
+		}
+
+		/**
+		 */
+		@Override public void write(final int oneByte) throws IOException {
+			out.write(oneByte);
+			count++;
+		}
+
+		/**
+		 */
+		@Override public void write(@NonNull final byte[] buffer, final int offset, final int length) throws IOException {
+			out.write(buffer, offset, length);
+			count += length;
+		}
+	}
+}
@@ -111,6 +111,7 @@ public class ShareIntent extends BaseIntent<ShareIntent> {
 	 */
 	public ShareIntent content(@Nullable final CharSequence text) {
 		this.content = text;
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -135,6 +136,7 @@ public class ShareIntent extends BaseIntent<ShareIntent> {
 	 */
 	public ShareIntent uri(@Nullable final Uri uri) {
 		this.uri = uri;
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -162,6 +164,9 @@ public class ShareIntent extends BaseIntent<ShareIntent> {
 
 	/**
 	 * Sets a list of Uris to content that should be shared.
+	 * <p>
+	 * <b>Note</b>, that the given list is copied, so any subsequent changes of it will not be
+	 * reflected by this intent builder.
 	 *
 	 * @param uris The desired list of content uris. May be {@code null} to clear the current one.
 	 * @return This intent builder to allow methods chaining.
@@ -170,7 +175,8 @@ public class ShareIntent extends BaseIntent<ShareIntent> {
 	 * @see #uris()
 	 */
 	public ShareIntent uris(@Nullable final List<Uri> uris) {
-		this.uris = uris;
+		this.uris = uris == null ? null : new ArrayList<>(uris);
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -200,6 +206,7 @@ public class ShareIntent extends BaseIntent<ShareIntent> {
 	 */
 	public ShareIntent mimeType(@NonNull @MimeType.Value final String type) {
 		this.dataType = type;
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -223,6 +230,7 @@ public class ShareIntent extends BaseIntent<ShareIntent> {
 	 */
 	public ShareIntent title(@Nullable final CharSequence title) {
 		this.title = title;
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -237,6 +245,24 @@ public class ShareIntent extends BaseIntent<ShareIntent> {
 		return title == null ? "" : title;
 	}
 
+	/**
+	 */
+	@Override public ShareIntent reset() {
+		super.reset();
+		this.dataType = MimeType.TEXT;
+		this.title = null;
+		this.content = null;
+		this.uri = null;
+		this.uris = null;
+		return this;
+	}
+
+	/**
+	 */
+	@Override protected boolean isBuiltIntentCacheable() {
+		return getClass() == ShareIntent.class;
+	}
+
 	/**
 	 */
 	@Override protected void ensureCanBuildOrThrow() {
@@ -19,15 +19,22 @@
 package universum.studios.android.intent;
 
 import android.app.Activity;
+import android.app.Fragment;
 import android.content.Context;
 import android.content.Intent;
 import android.content.res.Resources;
 import android.net.Uri;
 import android.os.Environment;
 import android.provider.MediaStore;
+import android.util.Log;
 
 import java.io.File;
+import java.io.IOException;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
 
+import androidx.annotation.IntDef;
+import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
@@ -47,7 +54,7 @@ public class VideoIntent extends ContentIntent<VideoIntent> {
 	/**
 	 * Log TAG.
 	 */
-	// private static final String TAG = "VideoIntent";
+	private static final String TAG = "VideoIntent";
 
 	/**
 	 * Flag to identify request code used to obtain video from gallery.
@@ -66,6 +73,37 @@ public class VideoIntent extends ContentIntent<VideoIntent> {
 	 */
 	public static final String VIDEO_FILE_NAME_FORMAT = "VIDEO_%s";
 
+	/**
+	 * Quality value indicating that no quality should be requested from the camera app, so it uses
+	 * its default quality.
+	 *
+	 * @since 1.3
+	 */
+	public static final int QUALITY_UNSPECIFIED = -1;
+
+	/**
+	 * Quality value requesting low quality video, suitable for example for MMS messages.
+	 *
+	 * @see MediaStore#EXTRA_VIDEO_QUALITY
+	 * @since 1.3
+	 */
+	public static final int QUALITY_LOW = 0;
+
+	/**
+	 * Quality value requesting high quality video.
+	 *
+	 * @see MediaStore#EXTRA_VIDEO_QUALITY
+	 * @since 1.3
+	 */
+	public static final int QUALITY_HIGH = 1;
+
+	/**
+	 * Defines an annotation for determining set of allowed qualities for {@link #quality(int)}.
+	 */
+	@Retention(RetentionPolicy.SOURCE)
+	@IntDef({QUALITY_UNSPECIFIED, QUALITY_LOW, QUALITY_HIGH})
+	public @interface Quality {}
+
 	/*
 	 * Interface ===================================================================================
 	 */
@@ -83,6 +121,21 @@ public class VideoIntent extends ContentIntent<VideoIntent> {
 	 */
 	private ContentHandler cameraHandler;
 
+	/**
+	 * Maximum duration of the captured video in seconds. Non-positive value means no limit.
+	 */
+	private int durationLimit;
+
+	/**
+	 * Maximum size of the captured video in bytes. Non-positive value means no limit.
+	 */
+	private long sizeLimit;
+
+	/**
+	 * Quality of the captured video.
+	 */
+	@Quality private int quality = QUALITY_UNSPECIFIED;
+
 	/*
 	 * Constructors ================================================================================
 	 */
@@ -145,6 +198,9 @@ public class VideoIntent extends ContentIntent<VideoIntent> {
 	/**
 	 * Same as {@link #createVideoFile(String)} with <var>fileName</var> in {@link #VIDEO_FILE_NAME_FORMAT}
 	 * format with the current time stamp provided by {@link #createContentFileTimeStamp() }.
+	 * <p>
+	 * <b>Note</b>, that this method creates the file on the calling thread. To avoid disk I/O on the
+	 * main thread, files may be obtained from {@link CaptureFileProvisioner#videos()}.
 	 */
 	@Nullable public static File createVideoFile() {
 		return createVideoFile(String.format(VIDEO_FILE_NAME_FORMAT, createContentFileTimeStamp()));
@@ -163,6 +219,134 @@ public class VideoIntent extends ContentIntent<VideoIntent> {
 		return createContentFile(appendDefaultFileSuffixIfNotPresented(fileName, ".mp4"), Environment.DIRECTORY_MOVIES);
 	}
 
+	/**
+	 * Same as {@link #copyResultIntent(int, int, Intent, Context, Uri, File, ContentCopier.ProgressListener, ContentCopier.Cancellation)}
+	 * with {@code null} for <var>outputUri</var> parameter.
+	 *
+	 * @since 1.3
+	 */
+	@Nullable public static File copyResultIntent(
+			final int requestCode,
+			final int resultCode,
+			@Nullable final Intent data,
+			@NonNull final Context context,
+			@NonNull final File outputFile,
+			@Nullable final ContentCopier.ProgressListener listener,
+			@Nullable final ContentCopier.Cancellation cancellation
+	) {
+		return copyResultIntent(requestCode, resultCode, data, context, null, outputFile, listener, cancellation);
+	}
+
+	/**
+	 * Copies the video obtained from the given result <var>data</var> intent into the specified
+	 * <var>outputFile</var>, for example into an app-private storage, via {@link ContentCopier}.
+	 * <p>
+	 * In case of {@link #REQUEST_CODE_CAMERA}, camera applications store the captured video at the
+	 * output uri specified for the camera intent and usually do not deliver any data, so the video
+	 * is copied from the specified <var>outputUri</var>, if any, and the uri from the result data is
+	 * used only as fallback. See also {@link #copyResult(int, int, Intent, Context, File, ContentCopier.ProgressListener, ContentCopier.Cancellation)}.
+	 * <p>
+	 * <b>Note</b>, that this method performs disk I/O, so it should be invoked on a background thread.
+	 *
+	 * @param requestCode  The request code from {@link Activity#onActivityResult(int, int, Intent)} or
+	 *                     {@link Fragment#onActivityResult(int, int, Intent)}.
+	 *                     Can be only one of {@link #REQUEST_CODE_CAMERA} or {@link #REQUEST_CODE_GALLERY}.
+	 * @param resultCode   The result code from {@link Activity#onActivityResult(int, int, Intent)} or
+	 *                     {@link Fragment#onActivityResult(int, int, Intent)}.
+	 *                     If {@link Activity#RESULT_OK}, the passed <var>data</var> will be processed,
+	 *                     otherwise {@code null} will be returned.
+	 * @param data         The data from {@link Activity#onActivityResult(int, int, Intent)} or
+	 *                     {@link Fragment#onActivityResult(int, int, Intent)}.
+	 * @param context      Current valid context.
+	 * @param outputUri    Uri at which should be stored the video captured by camera. May be {@code null}.
+	 * @param outputFile   The file into which to copy the video.
+	 * @param listener     Listener to be notified about progress of the copying. May be {@code null}.
+	 * @param cancellation Cancellation that may be used to cancel the copying. May be {@code null}.
+	 * @return The output file with the copied video or {@code null} if there is no video available
+	 * or the copying has failed or has been cancelled.
+	 *
+	 * @since 1.3
+	 */
+	@Nullable public static File copyResultIntent(
+			final int requestCode,
+			final int resultCode,
+			@Nullable final Intent data,
+			@NonNull final Context context,
+			@Nullable final Uri outputUri,
+			@NonNull final File outputFile,
+			@Nullable final ContentCopier.ProgressListener listener,
+			@Nullable final ContentCopier.Cancellation cancellation
+	) {
+		if (resultCode != Activity.RESULT_OK) {
+			return null;
+		}
+		final Uri videoUri;
+		switch (requestCode) {
+			case REQUEST_CODE_GALLERY:
+				videoUri = data == null ? null : data.getData();
+				break;
+			case REQUEST_CODE_CAMERA:
+				videoUri = outputUri == null ? (data == null ? null : data.getData()) : outputUri;
+				break;
+			default:
+				return null;
+		}
+		if (videoUri == null) {
+			return null;
+		}
+		try {
+			ContentCopier.copy(context.getContentResolver(), videoUri, outputFile, listener, cancellation);
+			return outputFile;
+		} catch (IOException e) {
+			Log.e(TAG, "Unable to copy video content at uri(" + videoUri + ").", e);
+			return null;
+		}
+	}
+
+	/**
+	 * Same as {@link #copyResultIntent(int, int, Intent, Context, File, ContentCopier.ProgressListener, ContentCopier.Cancellation)}
+	 * but in case of {@link #REQUEST_CODE_CAMERA} the captured video is copied from the output uri
+	 * specified via {@link #output(Uri)} for this intent builder, if any.
+	 *
+	 * @see #copyResultIntent(int, int, Intent, Context, Uri, File, ContentCopier.ProgressListener, ContentCopier.Cancellation)
+	 * @since 1.3
+	 */
+	@Nullable public File copyResult(
+			final int requestCode,
+			final int resultCode,
+			@Nullable final Intent data,
+			@NonNull final Context context,
+			@NonNull final File outputFile,
+			@Nullable final ContentCopier.ProgressListener listener,
+			@Nullable final ContentCopier.Cancellation cancellation
+	) {
+		return copyResultIntent(requestCode, resultCode, data, context, uri, outputFile, listener, cancellation);
+	}
+
+	/**
+	 * Loads thumbnail and duration of the video at the specified <var>uri</var> asynchronously via
+	 * the default {@link VideoThumbnailCache}, so repeated requests for the same video, for example
+	 * whenever a screen showing the video is re-created, are served from memory or disk cache.
+	 *
+	 * @param context      Current valid context.
+	 * @param uri          Uri of the video, for example the one obtained from result data intent.
+	 * @param maxDimension Maximum width and height of the thumbnail. May be {@code 0} to keep the
+	 *                     thumbnail in its extracted size.
+	 * @param callback     Callback to be notified on the main thread about the loaded thumbnail.
+	 * @return Request that may be used to cancel the loading.
+	 *
+	 * @see VideoThumbnailCache#getDefault(Context)
+	 * @since 1.3
+	 */
+	@NonNull public static VideoThumbnailCache.Request loadThumbnailAsync(
+			@NonNull final Context context,
+			@NonNull final Uri uri,
+			final int maxDimension,
+			@NonNull final VideoThumbnailCache.Callback callback
+	) {
+		return VideoThumbnailCache.getDefault(context).load(context, uri, maxDimension, callback);
+	}
+
 	/**
 	 * Adds two default {@link ContentHandler}s. One for {@link #REQUEST_CODE_GALLERY} and second one
 	 * for {@link #REQUEST_CODE_CAMERA}.
@@ -178,6 +362,7 @@ public class VideoIntent extends ContentIntent<VideoIntent> {
 		} else {
 			cameraHandler.intent.putExtra(MediaStore.EXTRA_OUTPUT, uri);
 		}
+		updateCameraHandlerLimits();
 		return this;
 	}
 
@@ -215,6 +400,136 @@ public class VideoIntent extends ContentIntent<VideoIntent> {
 		).requestCode(REQUEST_CODE_CAMERA);
 	}
 
+	/**
+	 */
+	@Override public VideoIntent reset() {
+		super.reset();
+		this.cameraHandler = null;
+		this.durationLimit = 0;
+		this.sizeLimit = 0;
+		this.quality = QUALITY_UNSPECIFIED;
+		return this;
+	}
+
+	/**
+	 */
+	@Override protected boolean isBuiltIntentCacheable() {
+		return getClass() == VideoIntent.class;
+	}
+
+	/**
+	 * Sets the maximum duration of a video to be captured by the camera.
+	 *
+	 * @param seconds The desired duration limit in seconds. May be {@code 0} for no limit.
+	 * @return This intent builder to allow methods chaining.
+	 *
+	 * @see MediaStore#EXTRA_DURATION_LIMIT
+	 * @see #durationLimit()
+	 * @since 1.3
+	 */
+	public VideoIntent durationLimit(@IntRange(from = 0) final int seconds) {
+		this.durationLimit = seconds;
+		updateCameraHandlerLimits();
+		return this;
+	}
+
+	/**
+	 * Returns the maximum duration of a video to be captured by the camera.
+	 *
+	 * @return Duration limit in seconds or {@code 0} if there is no limit.
+	 *
+	 * @see #durationLimit(int)
+	 * @since 1.3
+	 */
+	@IntRange(from = 0) public int durationLimit() {
+		return durationLimit;
+	}
+
+	/**
+	 * Sets the maximum size of a video to be captured by the camera.
+	 *
+	 * @param bytes The desired size limit in bytes. May be {@code 0} for no limit.
+	 * @return This intent builder to allow methods chaining.
+	 *
+	 * @see MediaStore#EXTRA_SIZE_LIMIT
+	 * @see #sizeLimit()
+	 * @since 1.3
+	 */
+	public VideoIntent sizeLimit(@IntRange(from = 0) final long bytes) {
+		this.sizeLimit = bytes;
+		updateCameraHandlerLimits();
+		return this;
+	}
+
+	/**
+	 * Returns the maximum size of a video to be captured by the camera.
+	 *
+	 * @return Size limit in bytes or {@code 0} if there is no limit.
+	 *
+	 * @see #sizeLimit(long)
+	 * @since 1.3
+	 */
+	@IntRange(from = 0) public long sizeLimit() {
+		return sizeLimit;
+	}
+
+	/**
+	 * Sets the quality of a video to be captured by the camera.
+	 * <p>
+	 * Default value: <b>{@link #QUALITY_UNSPECIFIED}</b>
+	 *
+	 * @param quality The desired quality. One of {@link #QUALITY_LOW}, {@link #QUALITY_HIGH} or
+	 *                {@link #QUALITY_UNSPECIFIED} to use default quality of the camera app.
+	 * @return This intent builder to allow methods chaining.
+	 *
+	 * @see MediaStore#EXTRA_VIDEO_QUALITY
+	 * @see #quality()
+	 * @since 1.3
+	 */
+	public VideoIntent quality(@Quality final int quality) {
+		this.quality = quality;
+		updateCameraHandlerLimits();
+		return this;
+	}
+
+	/**
+	 * Returns the quality of a video to be captured by the camera.
+	 *
+	 * @return One of {@link #QUALITY_LOW}, {@link #QUALITY_HIGH} or {@link #QUALITY_UNSPECIFIED}.
+	 *
+	 * @see #quality(int)
+	 * @since 1.3
+	 */
+	@Quality public int quality() {
+		return quality;
+	}
+
+	/**
+	 * Updates intent of the camera handler, if created, with the current duration limit, size limit
+	 * and quality.
+	 */
+	private void updateCameraHandlerLimits() {
+		if (cameraHandler == null) {
+			return;
+		}
+		final Intent intent = cameraHandler.intent;
+		if (durationLimit > 0) {
+			intent.putExtra(MediaStore.EXTRA_DURATION_LIMIT, durationLimit);
+		} else {
+			intent.removeExtra(MediaStore.EXTRA_DURATION_LIMIT);
+		}
+		if (sizeLimit > 0) {
+			intent.putExtra(MediaStore.EXTRA_SIZE_LIMIT, sizeLimit);
+		} else {
+			intent.removeExtra(MediaStore.EXTRA_SIZE_LIMIT);
+		}
+		if (quality == QUALITY_UNSPECIFIED) {
+			intent.removeExtra(MediaStore.EXTRA_VIDEO_QUALITY);
+		} else {
+			intent.putExtra(MediaStore.EXTRA_VIDEO_QUALITY, quality);
+		}
+	}
+
 	/**
 	 * If the passed <var>uri</var> is not {@code null}, the current data (MIME) type will be by
 	 * default set to {@link MimeType#VIDEO}.
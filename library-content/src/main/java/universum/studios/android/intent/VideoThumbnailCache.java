@@ -0,0 +1,635 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.database.Cursor;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.media.MediaMetadataRetriever;
+import android.net.Uri;
+import android.provider.MediaStore;
+import android.util.Log;
+import android.util.LruCache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+/**
+ * A VideoThumbnailCache may be used to obtain thumbnail and duration of a video picked via {@link VideoIntent}
+ * asynchronously, so they do not need to be extracted via {@link MediaMetadataRetriever} each time
+ * they are requested, for example whenever a screen showing the picked video is re-created.
+ * <p>
+ * Loaded thumbnails are cached on disk under a key created from the video uri, the last modification
+ * time of the video and the requested maximum dimension of the thumbnail, so a modified video is
+ * extracted again and thumbnails of different sizes are cached separately. Thumbnails cached in
+ * memory are keyed only by the video uri and the maximum dimension, so they are delivered right
+ * away without waiting for any background work, and validated against the last modification time
+ * of the video afterwards, so a thumbnail of a modified video is loaded anew on the next request.
+ * Size of both caches is bounded and the least recently used entries are evicted whenever the bound
+ * is exceeded.
+ * <p>
+ * Thumbnails which are not cached in memory are loaded on the executor used by {@link BitmapDecoder}
+ * (see {@link BitmapDecoder#setExecutor(java.util.concurrent.Executor)}).
+ * A default cache instance which is used by {@link VideoIntent#loadThumbnailAsync(Context, Uri, int, Callback)}
+ * may be obtained via {@link #getDefault(Context)}.
+ *
+ * @author Martin Albedinsky
+ * @since 1.3
+ */
+public final class VideoThumbnailCache {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	private static final String TAG = "VideoThumbnailCache";
+
+	/**
+	 * Name of the directory within the application cache directory used by the default cache.
+	 */
+	@VisibleForTesting static final String DEFAULT_DIRECTORY_NAME = "video-thumbnails";
+
+	/**
+	 * Maximum size of the disk cache of the default cache.
+	 */
+	private static final long DEFAULT_MAX_DISK_SIZE = 10 * 1024 * 1024;
+
+	/**
+	 * Divisor of the maximum heap size used to compute size of the memory cache of the default cache.
+	 */
+	private static final int DEFAULT_MEMORY_HEAP_DIVISOR = 32;
+
+	/**
+	 * Suffix of the files of the disk cache.
+	 */
+	private static final String FILE_SUFFIX = ".thumb";
+
+	/**
+	 * Quality with which are thumbnails encoded into the disk cache.
+	 */
+	private static final int DISK_QUALITY = 85;
+
+	/**
+	 * Size of the buffer used to read and write files of the disk cache.
+	 */
+	private static final int BUFFER_SIZE = 8 * 1024;
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Callback that may be used to receive thumbnails loaded via {@link #load(Context, Uri, int, Callback)}.
+	 * The callback is invoked on the main thread.
+	 *
+	 * @author Martin Albedinsky
+	 * @since 1.3
+	 */
+	public interface Callback {
+
+		/**
+		 * Invoked whenever loading of the thumbnail has finished and the associated request has not
+		 * been cancelled.
+		 *
+		 * @param uri            Uri of the video.
+		 * @param thumbnail      The loaded thumbnail or {@code null} if it could not be extracted.
+		 *                       The thumbnail is shared by the cache, so it must not be recycled.
+		 * @param durationMillis Duration of the video in milliseconds or {@code -1} if unknown.
+		 */
+		void onThumbnailLoaded(@NonNull Uri uri, @Nullable Bitmap thumbnail, long durationMillis);
+	}
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Default cache instance, lazily created when first requested.
+	 */
+	private static VideoThumbnailCache defaultCache;
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Directory of the disk cache.
+	 */
+	private final File directory;
+
+	/**
+	 * Maximum size of all files of the disk cache in bytes.
+	 */
+	private final long maxDiskSize;
+
+	/**
+	 * Memory cache with thumbnails keyed by keys created via {@link #createMemoryKey(Uri, int)}.
+	 */
+	private final LruCache<String, Entry> memoryCache;
+
+	/**
+	 * Lock used to synchronize access to the disk cache.
+	 */
+	private final Object diskLock = new Object();
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of VideoThumbnailCache with the specified bounds.
+	 *
+	 * @param directory     Directory for files of the disk cache. Created if it does not exist.
+	 * @param maxDiskSize   Maximum size of all files of the disk cache in bytes.
+	 * @param maxMemorySize Maximum size of all thumbnails of the memory cache in bytes.
+	 * @throws IllegalArgumentException If any of the specified sizes is not positive.
+	 */
+	public VideoThumbnailCache(@NonNull final File directory, @IntRange(from = 1) final long maxDiskSize, @IntRange(from = 1) final int maxMemorySize) {
+		if (maxDiskSize <= 0 || maxMemorySize <= 0) {
+			throw new IllegalArgumentException("Max sizes must be greater than zero.");
+		}
+		this.directory = directory;
+		this.maxDiskSize = maxDiskSize;
+		this.memoryCache = new LruCache<String, Entry>(maxMemorySize) {
+
+			/**
+			 */
+			@Override protected int sizeOf(@NonNull final String key, @NonNull final Entry entry) {
+				return BitmapPool.sizeOf(entry.thumbnail);
+			}
+		};
+	}
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Returns the default cache instance with disk cache in the application cache directory.
+	 *
+	 * @param context Context used to resolve the cache directory.
+	 * @return The default cache.
+	 */
+	@NonNull public static VideoThumbnailCache getDefault(@NonNull final Context context) {
+		synchronized (VideoThumbnailCache.class) {
+			if (defaultCache == null) {
+				defaultCache = new VideoThumbnailCache(
+						new File(context.getApplicationContext().getCacheDir(), DEFAULT_DIRECTORY_NAME),
+						DEFAULT_MAX_DISK_SIZE,
+						(int) Math.min(Integer.MAX_VALUE, Runtime.getRuntime().maxMemory() / DEFAULT_MEMORY_HEAP_DIVISOR)
+				);
+			}
+			return defaultCache;
+		}
+	}
+
+	/**
+	 * Loads thumbnail and duration of the video at the specified <var>uri</var>. A thumbnail cached
+	 * in memory is delivered right away and validated on a background thread, otherwise the last
+	 * modification time of the video is resolved on a background thread and the thumbnail is then
+	 * loaded from the disk cache or extracted from the video.
+	 *
+	 * @param context      Current valid context. Only its application context is retained.
+	 * @param uri          Uri of the video.
+	 * @param maxDimension Maximum width and height of the extracted thumbnail. May be {@code 0}
+	 *                     to keep the thumbnail in its extracted size.
+	 * @param callback     Callback to be notified on the main thread about the loaded thumbnail.
+	 * @return Request that may be used to cancel the loading.
+	 */
+	@NonNull public Request load(
+			@NonNull final Context context,
+			@NonNull final Uri uri,
+			@IntRange(from = 0) final int maxDimension,
+			@NonNull final Callback callback
+	) {
+		final Request request = new Request(callback);
+		final Context applicationContext = context.getApplicationContext();
+		final String memoryKey = createMemoryKey(uri, maxDimension);
+		final Entry cachedEntry = memoryCache.get(memoryKey);
+		if (cachedEntry != null) {
+			deliver(request, uri, cachedEntry);
+		}
+		BitmapDecoder.obtainExecutor().execute(new Runnable() {
+
+			/**
+			 */
+			@Override public void run() {
+				if (cachedEntry == null && request.isCancelled()) {
+					return;
+				}
+				final long lastModified = resolveLastModified(applicationContext.getContentResolver(), uri);
+				if (cachedEntry != null) {
+					if (cachedEntry.lastModified != lastModified) {
+						// The video has been modified since its thumbnail has been cached.
+						invalidateMemoryEntry(memoryKey, cachedEntry);
+					}
+					return;
+				}
+				final Entry entry = loadEntry(applicationContext, uri, lastModified, maxDimension);
+				if (entry.thumbnail != null) {
+					memoryCache.put(memoryKey, entry);
+				}
+				deliver(request, uri, entry);
+			}
+		});
+		return request;
+	}
+
+	/**
+	 * Removes the given <var>entry</var> from the memory cache, unless it has been already replaced
+	 * by another entry under the specified <var>memoryKey</var>.
+	 */
+	private void invalidateMemoryEntry(final String memoryKey, final Entry entry) {
+		synchronized (memoryCache) {
+			if (memoryCache.get(memoryKey) == entry) {
+				memoryCache.remove(memoryKey);
+			}
+		}
+	}
+
+	/**
+	 * Delivers the given <var>entry</var> to callback of the specified <var>request</var> on the
+	 * main thread, unless the request is cancelled meanwhile.
+	 */
+	private static void deliver(final Request request, final Uri uri, final Entry entry) {
+		BaseIntent.postToMainThread(new Runnable() {
+
+			/**
+			 */
+			@Override public void run() {
+				final Callback callback = request.callback;
+				if (callback != null) {
+					request.callback = null;
+					callback.onThumbnailLoaded(uri, entry.thumbnail, entry.durationMillis);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Loads entry for the video at the specified <var>uri</var> from the disk cache or extracts it
+	 * from the video and stores it into the disk cache under the key created via {@link #createKey(Uri, long, int)}.
+	 *
+	 * @return Loaded entry.
+	 */
+	private Entry loadEntry(final Context context, final Uri uri, final long lastModified, final int maxDimension) {
+		final File file = new File(directory, createKey(uri, lastModified, maxDimension) + FILE_SUFFIX);
+		Entry entry = readEntry(file, lastModified);
+		if (entry == null) {
+			entry = extractEntry(context, uri, lastModified, maxDimension);
+			if (entry.thumbnail != null) {
+				writeEntry(file, entry);
+			}
+		}
+		return entry;
+	}
+
+	/**
+	 * Resolves the last modification time of the video at the specified <var>uri</var>.
+	 *
+	 * @return Last modification time or {@code 0} if it could not be resolved.
+	 */
+	private static long resolveLastModified(final ContentResolver resolver, final Uri uri) {
+		if (ContentResolver.SCHEME_FILE.equals(uri.getScheme())) {
+			final String path = uri.getPath();
+			return path == null ? 0 : new File(path).lastModified();
+		}
+		Cursor cursor = null;
+		try {
+			cursor = resolver.query(uri, new String[]{MediaStore.MediaColumns.DATE_MODIFIED}, null, null, null);
+			if (cursor != null && cursor.moveToFirst() && !cursor.isNull(0)) {
+				return cursor.getLong(0);
+			}
+		} catch (RuntimeException e) {
+			// Not all providers support the modification date column.
+			Log.d(TAG, "Unable to query modification date of video at uri(" + uri + ").");
+		} finally {
+			if (cursor != null) {
+				cursor.close();
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Creates a key for the memory cache from the specified <var>uri</var> and <var>maxDimension</var>.
+	 *
+	 * @param uri          Uri of the video.
+	 * @param maxDimension Maximum dimension of the thumbnail.
+	 * @return Key for the memory cache.
+	 */
+	@VisibleForTesting static String createMemoryKey(final Uri uri, final int maxDimension) {
+		return uri.toString() + '#' + maxDimension;
+	}
+
+	/**
+	 * Creates a key for the disk cache from the specified <var>uri</var>, <var>lastModified</var>
+	 * time and <var>maxDimension</var> which is safe to be used as file name.
+	 *
+	 * @param uri          Uri of the video.
+	 * @param lastModified Last modification time of the video.
+	 * @param maxDimension Maximum dimension of the thumbnail.
+	 * @return Hexadecimal key.
+	 */
+	@VisibleForTesting static String createKey(final Uri uri, final long lastModified, final int maxDimension) {
+		final String key = uri.toString() + '@' + lastModified + '#' + maxDimension;
+		try {
+			final byte[] digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes("UTF-8"));
+			final StringBuilder builder = new StringBuilder(digest.length * 2);
+			for (final byte value : digest) {
+				builder.append(Character.forDigit((value >> 4) & 0xF, 16));
+				builder.append(Character.forDigit(value & 0xF, 16));
+			}
+			return builder.toString();
+		} catch (NoSuchAlgorithmException | IOException e) {
+			return Integer.toHexString(key.hashCode());
+		}
+	}
+
+	/**
+	 * Extracts thumbnail and duration of the video at the specified <var>uri</var>.
+	 *
+	 * @return Extracted entry. Its thumbnail is {@code null} if it could not be extracted.
+	 */
+	private static Entry extractEntry(final Context context, final Uri uri, final long lastModified, final int maxDimension) {
+		final MediaMetadataRetriever retriever = new MediaMetadataRetriever();
+		try {
+			retriever.setDataSource(context, uri);
+			final String duration = retriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_DURATION);
+			Bitmap thumbnail = retriever.getFrameAtTime();
+			if (thumbnail != null && maxDimension > 0 && (thumbnail.getWidth() > maxDimension || thumbnail.getHeight() > maxDimension)) {
+				final Bitmap scaledThumbnail = BitmapDecoder.scale(thumbnail, new ImageIntent.ImageOptions()
+						.inSize(maxDimension, maxDimension)
+						.fitMode(ImageIntent.ImageOptions.FIT_INSIDE)
+				);
+				thumbnail.recycle();
+				thumbnail = scaledThumbnail;
+			}
+			return new Entry(thumbnail, duration == null ? -1 : Long.parseLong(duration), lastModified);
+		} catch (RuntimeException e) {
+			Log.e(TAG, "Unable to extract thumbnail of video at uri(" + uri + ").", e);
+			return new Entry(null, -1, lastModified);
+		} finally {
+			retriever.release();
+		}
+	}
+
+	/**
+	 * Reads entry from the specified <var>file</var> of the disk cache and marks it as recently used.
+	 *
+	 * @return Read entry or {@code null} if there is no such file or it could not be read.
+	 */
+	@Nullable private Entry readEntry(final File file, final long lastModified) {
+		synchronized (diskLock) {
+			if (!file.isFile()) {
+				return null;
+			}
+			DataInputStream stream = null;
+			try {
+				stream = new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE));
+				final long durationMillis = stream.readLong();
+				final Bitmap thumbnail = BitmapFactory.decodeStream(stream);
+				if (thumbnail == null) {
+					return null;
+				}
+				file.setLastModified(System.currentTimeMillis());
+				return new Entry(thumbnail, durationMillis, lastModified);
+			} catch (IOException e) {
+				Log.w(TAG, "Unable to read cached thumbnail from file(" + file + ").", e);
+				return null;
+			} finally {
+				close(stream);
+			}
+		}
+	}
+
+	/**
+	 * Writes the given <var>entry</var> into the specified <var>file</var> of the disk cache and
+	 * trims the disk cache to its maximum size.
+	 */
+	private void writeEntry(final File file, final Entry entry) {
+		synchronized (diskLock) {
+			if (!directory.isDirectory() && !directory.mkdirs()) {
+				Log.w(TAG, "Unable to create directory(" + directory + ") for cached thumbnails.");
+				return;
+			}
+			DataOutputStream stream = null;
+			boolean succeeded = false;
+			try {
+				stream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE));
+				stream.writeLong(entry.durationMillis);
+				succeeded = entry.thumbnail.compress(Bitmap.CompressFormat.JPEG, DISK_QUALITY, stream);
+				stream.flush();
+			} catch (IOException e) {
+				succeeded = false;
+				Log.w(TAG, "Unable to write thumbnail into file(" + file + ").", e);
+			} finally {
+				close(stream);
+				if (!succeeded) {
+					file.delete();
+				}
+			}
+			trimDiskCache();
+		}
+	}
+
+	/**
+	 * Deletes the least recently used files of the disk cache until its size does not exceed the
+	 * maximum size.
+	 */
+	private void trimDiskCache() {
+		final File[] files = directory.listFiles();
+		if (files == null) {
+			return;
+		}
+		long size = 0;
+		for (final File file : files) {
+			size += file.length();
+		}
+		if (size <= maxDiskSize) {
+			return;
+		}
+		Arrays.sort(files, new Comparator<File>() {
+
+			/**
+			 */
+			@Override public int compare(final File first, final File second) {
+				final long firstModified = first.lastModified();
+				final long secondModified = second.lastModified();
+				return firstModified < secondModified ? -1 : (firstModified == secondModified ? 0 : 1);
+			}
+		});
+		for (int i = 0; i < files.length && size > maxDiskSize; i++) {
+			final long length = files[i].length();
+			if (files[i].delete()) {
+				size -= length;
+			}
+		}
+	}
+
+	/**
+	 * Returns the current size of all files of the disk cache.
+	 *
+	 * @return Size in bytes.
+	 */
+	@IntRange(from = 0) public long diskSize() {
+		synchronized (diskLock) {
+			final File[] files = directory.listFiles();
+			long size = 0;
+			if (files != null) {
+				for (final File file : files) {
+					size += file.length();
+				}
+			}
+			return size;
+		}
+	}
+
+	/**
+	 * Clears thumbnails cached in memory. Thumbnails cached on disk are kept.
+	 */
+	public void clearMemory() {
+		memoryCache.evictAll();
+	}
+
+	/**
+	 * Clears thumbnails cached both in memory and on disk.
+	 */
+	public void clear() {
+		memoryCache.evictAll();
+		synchronized (diskLock) {
+			final File[] files = directory.listFiles();
+			if (files != null) {
+				for (final File file : files) {
+					file.delete();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Closes the given <var>stream</var> ignoring any exception.
+	 */
+	private static void close(final Closeable stream) {
+		if (stream != null) {
+			try {
+				stream.close();
+			} catch (IOException e) {
+				Log.w(TAG, "Failed to close stream of cached thumbnail.", e);
+			}
+		}
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+
+	/**
+	 * Entry of the cache holding thumbnail and duration of a single video.
+	 */
+	@VisibleForTesting static final class Entry {
+
+		/**
+		 * Thumbnail of the video. May be {@code null} if it could not be extracted.
+		 */
+		final Bitmap thumbnail;
+
+		/**
+		 * Duration of the video in milliseconds or {@code -1} if unknown.
+		 */
+		final long durationMillis;
+
+		/**
+		 * Last modification time of the video from which has been the thumbnail extracted.
+		 */
+		final long lastModified;
+
+		/**
+		 * Creates a new instance of Entry with the specified values.
+		 */
+		Entry(final Bitmap thumbnail, final long durationMillis, final long lastModified) {
+			this.thumbnail = thumbnail;
+			this.durationMillis = durationMillis;
+			this.lastModified = lastModified;
+		}
+	}
+
+	/**
+	 * Request for asynchronous loading of thumbnail initiated via {@link #load(Context, Uri, int, Callback)}.
+	 *
+	 * @author Martin Albedinsky
+	 * @since 1.3
+	 */
+	public static final class Request {
+
+		/**
+		 * Callback to be notified about the loaded thumbnail. Cleared when this request is cancelled
+		 * or finished.
+		 */
+		volatile Callback callback;
+
+		/**
+		 * Creates a new instance of Request with the specified <var>callback</var>.
+		 *
+		 * @param callback The callback to be notified about the loaded thumbnail.
+		 */
+		Request(final Callback callback) {
+			this.callback = callback;
+		}
+
+		/**
+		 * Cancels this request, so the associated callback will not be notified about the loaded
+		 * thumbnail. This method should be called on the main thread.
+		 */
+		public void cancel() {
+			this.callback = null;
+		}
+
+		/**
+		 * Checks whether this request has been cancelled or has already finished.
+		 *
+		 * @return {@code True} if the callback of this request will not be notified anymore,
+		 * {@code false} otherwise.
+		 */
+		public boolean isCancelled() {
+			return callback == null;
+		}
+	}
+}
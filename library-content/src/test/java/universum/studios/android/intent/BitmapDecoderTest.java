@@ -0,0 +1,280 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import android.graphics.Bitmap;
+import android.net.Uri;
+import android.os.Build;
+
+import org.junit.Test;
+import org.robolectric.annotation.Config;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import universum.studios.android.test.local.RobolectricTestCase;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * @author Martin Albedinsky
+ */
+public final class BitmapDecoderTest extends RobolectricTestCase {
+
+	private static final int CROP = ImageIntent.ImageOptions.FIT_CROP;
+	private static final int INSIDE = ImageIntent.ImageOptions.FIT_INSIDE;
+
+	@Override public void afterTest() throws Exception {
+		super.afterTest();
+		BitmapDecoder.setMetrics(null);
+		BitmapDecoder.setDecodeGovernor(null);
+	}
+
+	@Test(expected = IllegalAccessException.class)
+	public void testInstantiation() throws Exception {
+		// Act:
+		BitmapDecoder.class.newInstance();
+	}
+
+	@Test public void testObtainDecodeGovernor() {
+		// Arrange:
+		final DecodeGovernor governor = new DecodeGovernor(1024);
+		// Act + Assert:
+		assertThat(BitmapDecoder.obtainDecodeGovernor(), is(sameInstance(BitmapDecoder.obtainDecodeGovernor())));
+		BitmapDecoder.setDecodeGovernor(governor);
+		assertThat(BitmapDecoder.obtainDecodeGovernor(), is(sameInstance(governor)));
+	}
+
+	@Test public void testComputeSampleSize() {
+		// Act + Assert:
+		assertThat(BitmapDecoder.computeSampleSize(4000, 3000, 4000, 3000, CROP), is(1));
+		assertThat(BitmapDecoder.computeSampleSize(4000, 3000, 2000, 1500, CROP), is(2));
+		assertThat(BitmapDecoder.computeSampleSize(4000, 3000, 1999, 1499, CROP), is(2));
+		assertThat(BitmapDecoder.computeSampleSize(4000, 3000, 1000, 750, CROP), is(4));
+		assertThat(BitmapDecoder.computeSampleSize(4000, 3000, 300, 300, CROP), is(8));
+		assertThat(BitmapDecoder.computeSampleSize(4000, 3000, 5000, 5000, CROP), is(1));
+	}
+
+	@Test public void testComputeSampleSizeIsPowerOfTwo() {
+		for (int target = 1; target < 4000; target += 7) {
+			// Act:
+			final int sampleSize = BitmapDecoder.computeSampleSize(4000, 3000, target, target, CROP);
+			// Assert:
+			assertThat(Integer.bitCount(sampleSize), is(1));
+			assertThat(3000 / sampleSize >= Math.min(target, 3000), is(true));
+		}
+	}
+
+	@Test public void testComputeSampleSizeWithUnconstrainedDimension() {
+		// Act + Assert:
+		assertThat(BitmapDecoder.computeSampleSize(4000, 3000, 0, 750, CROP), is(4));
+		assertThat(BitmapDecoder.computeSampleSize(4000, 3000, 1000, 0, CROP), is(4));
+		assertThat(BitmapDecoder.computeSampleSize(4000, 3000, 0, 0, CROP), is(1));
+	}
+
+	@Test public void testComputeSampleSizeWithUnknownBounds() {
+		// Act + Assert:
+		assertThat(BitmapDecoder.computeSampleSize(-1, -1, 100, 100, CROP), is(1));
+		assertThat(BitmapDecoder.computeSampleSize(0, 3000, 100, 100, CROP), is(1));
+	}
+
+	@Test public void testComputeSampleSizeToFitInside() {
+		// Act + Assert:
+		assertThat(BitmapDecoder.computeSampleSize(4000, 3000, 1000, 1000, INSIDE), is(4));
+		assertThat(BitmapDecoder.computeSampleSize(4000, 3000, 1000, 1000, CROP), is(2));
+		assertThat(BitmapDecoder.computeSampleSize(4000, 3000, 500, 2000, INSIDE), is(8));
+		assertThat(BitmapDecoder.computeSampleSize(4000, 3000, 500, 2000, CROP), is(1));
+		assertThat(BitmapDecoder.computeSampleSize(4000, 3000, 0, 750, INSIDE), is(4));
+	}
+
+	@Test public void testConstrainSampleSize() {
+		// Act + Assert:
+		assertThat(BitmapDecoder.constrainSampleSize(4000, 3000, 1, 0), is(1));
+		assertThat(BitmapDecoder.constrainSampleSize(4000, 3000, 1, 12000000), is(1));
+		assertThat(BitmapDecoder.constrainSampleSize(4000, 3000, 1, 3000000), is(2));
+		assertThat(BitmapDecoder.constrainSampleSize(4000, 3000, 1, 2999999), is(4));
+		assertThat(BitmapDecoder.constrainSampleSize(4000, 3000, 8, 3000000), is(8));
+		assertThat(BitmapDecoder.constrainSampleSize(-1, -1, 2, 100), is(2));
+	}
+
+	@Test public void testScaleToCrop() {
+		// Arrange:
+		final Bitmap source = Bitmap.createBitmap(400, 300, Bitmap.Config.ARGB_8888);
+		// Act:
+		final Bitmap bitmap = BitmapDecoder.scale(source, new ImageIntent.ImageOptions().inSize(100, 100).fitMode(CROP));
+		// Assert:
+		assertThat(bitmap.getWidth(), is(100));
+		assertThat(bitmap.getHeight(), is(100));
+	}
+
+	@Test public void testScaleToFitInside() {
+		// Arrange:
+		final Bitmap source = Bitmap.createBitmap(400, 300, Bitmap.Config.ARGB_8888);
+		// Act:
+		final Bitmap bitmap = BitmapDecoder.scale(source, new ImageIntent.ImageOptions().inSize(100, 100).fitMode(INSIDE));
+		// Assert:
+		assertThat(bitmap.getWidth(), is(100));
+		assertThat(bitmap.getHeight(), is(75));
+	}
+
+	@Test public void testScaleWithoutChange() {
+		// Arrange:
+		final Bitmap source = Bitmap.createBitmap(400, 300, Bitmap.Config.ARGB_8888);
+		// Act + Assert:
+		assertThat(BitmapDecoder.scale(source, new ImageIntent.ImageOptions()), is(sameInstance(source)));
+		assertThat(BitmapDecoder.scale(source, new ImageIntent.ImageOptions().inSize(400, 300)), is(sameInstance(source)));
+	}
+
+	@Test public void testScaleWithPreferredConfig() {
+		// Arrange:
+		final Bitmap source = Bitmap.createBitmap(400, 300, Bitmap.Config.ARGB_8888);
+		// Act:
+		final Bitmap bitmap = BitmapDecoder.scale(source, new ImageIntent.ImageOptions().preferredConfig(Bitmap.Config.RGB_565));
+		// Assert:
+		assertThat(bitmap.getConfig(), is(Bitmap.Config.RGB_565));
+		assertThat(source.isRecycled(), is(false));
+	}
+
+	@Test public void testFitToCrop() {
+		// Arrange:
+		final Bitmap source = Bitmap.createBitmap(200, 150, Bitmap.Config.ARGB_8888);
+		// Act:
+		final Bitmap bitmap = BitmapDecoder.fit(source, new ImageIntent.ImageOptions().inSize(100, 100).fitMode(CROP));
+		// Assert:
+		assertThat(bitmap.getWidth(), is(100));
+		assertThat(bitmap.getHeight(), is(100));
+		assertThat(source.isRecycled(), is(true));
+	}
+
+	@Config(sdk = Build.VERSION_CODES.O)
+	@Test public void testFitToCropWithHardwareConfig() {
+		// Arrange:
+		final Bitmap source = Bitmap.createBitmap(200, 150, Bitmap.Config.ARGB_8888);
+		// Act:
+		final Bitmap bitmap = BitmapDecoder.fit(source, new ImageIntent.ImageOptions()
+				.inSize(100, 100)
+				.fitMode(CROP)
+				.preferredConfig(Bitmap.Config.HARDWARE)
+		);
+		// Assert:
+		assertThat(bitmap.getWidth(), is(100));
+		assertThat(bitmap.getHeight(), is(100));
+		assertThat(bitmap.getConfig(), is(Bitmap.Config.HARDWARE));
+		assertThat(source.isRecycled(), is(true));
+	}
+
+	@Config(sdk = Build.VERSION_CODES.O)
+	@Test public void testFitWithinTargetWithHardwareConfig() {
+		// Arrange:
+		final Bitmap source = Bitmap.createBitmap(80, 60, Bitmap.Config.ARGB_8888);
+		// Act:
+		final Bitmap bitmap = BitmapDecoder.fit(source, new ImageIntent.ImageOptions()
+				.inSize(100, 100)
+				.preferredConfig(Bitmap.Config.HARDWARE)
+		);
+		// Assert:
+		assertThat(bitmap.getWidth(), is(80));
+		assertThat(bitmap.getHeight(), is(60));
+		assertThat(bitmap.getConfig(), is(Bitmap.Config.HARDWARE));
+		assertThat(source.isRecycled(), is(true));
+	}
+
+	@Config(sdk = Build.VERSION_CODES.O)
+	@Test public void testDecodingConfigOf() {
+		// Act + Assert:
+		assertThat(BitmapDecoder.decodingConfigOf(Bitmap.Config.HARDWARE), is(Bitmap.Config.ARGB_8888));
+		assertThat(BitmapDecoder.decodingConfigOf(Bitmap.Config.RGB_565), is(Bitmap.Config.RGB_565));
+		assertThat(BitmapDecoder.decodingConfigOf(null), is(nullValue()));
+	}
+
+	@Test public void testFitInsideWhenExceedingTarget() {
+		// Arrange:
+		final Bitmap source = Bitmap.createBitmap(200, 150, Bitmap.Config.ARGB_8888);
+		// Act:
+		final Bitmap bitmap = BitmapDecoder.fit(source, new ImageIntent.ImageOptions().inSize(100, 100).fitMode(INSIDE));
+		// Assert:
+		assertThat(bitmap.getWidth(), is(100));
+		assertThat(bitmap.getHeight(), is(75));
+		assertThat(source.isRecycled(), is(true));
+	}
+
+	@Test public void testFitInsideWithinTarget() {
+		// Arrange:
+		final Bitmap source = Bitmap.createBitmap(80, 60, Bitmap.Config.ARGB_8888);
+		// Act + Assert:
+		assertThat(BitmapDecoder.fit(source, new ImageIntent.ImageOptions().inSize(100, 100).fitMode(INSIDE)), is(sameInstance(source)));
+		assertThat(BitmapDecoder.fit(source, null), is(sameInstance(source)));
+		assertThat(BitmapDecoder.fit(null, new ImageIntent.ImageOptions()), is(nullValue()));
+		assertThat(source.isRecycled(), is(false));
+	}
+
+	@Test public void testFittedByteCountOf() {
+		// Act + Assert:
+		assertThat(BitmapDecoder.fittedByteCountOf(400, 300, new ImageIntent.ImageOptions().inSize(100, 100)), is(30000L));
+		assertThat(BitmapDecoder.fittedByteCountOf(400, 300, new ImageIntent.ImageOptions().inSize(100, 100).fitMode(CROP)), is(40000L));
+		assertThat(BitmapDecoder.fittedByteCountOf(400, 300, new ImageIntent.ImageOptions().maxPixels(3000)), is(11844L));
+		assertThat(BitmapDecoder.fittedByteCountOf(80, 60, new ImageIntent.ImageOptions().inSize(100, 100)), is(0L));
+		assertThat(BitmapDecoder.fittedByteCountOf(400, 300, null), is(0L));
+		assertThat(BitmapDecoder.fittedByteCountOf(-1, -1, new ImageIntent.ImageOptions().inSize(100, 100)), is(0L));
+	}
+
+	@Test public void testDecodeMissingContent() {
+		// Arrange:
+		final Uri uri = Uri.fromFile(new File("missing-image.jpg"));
+		final TestMetrics metrics = new TestMetrics();
+		BitmapDecoder.setMetrics(metrics);
+		// Act:
+		final Bitmap bitmap = BitmapDecoder.decode(context.getContentResolver(), uri, new ImageIntent.ImageOptions().inSize(100, 100));
+		// Assert:
+		assertThat(bitmap, is(nullValue()));
+		assertThat(metrics.decodedUri, is(uri));
+		assertThat(metrics.decodedBitmap, is(nullValue()));
+		assertThat(metrics.decodeNanos >= 0, is(true));
+	}
+
+	@Test public void testDecodeContentAvailableOnlyAsStream() {
+		// Arrange:
+		final Uri uri = Uri.parse("content://universum.studios.test/images/1");
+		shadowOf(context.getContentResolver()).registerInputStream(uri, new ByteArrayInputStream(new byte[1024]));
+		// Act:
+		final Bitmap bitmap = BitmapDecoder.decode(context.getContentResolver(), uri, null);
+		// Assert:
+		assertThat(bitmap, is(notNullValue()));
+	}
+
+	private static final class TestMetrics implements BitmapDecoder.Metrics {
+
+		Uri decodedUri;
+		Bitmap decodedBitmap;
+		long decodeNanos = -1;
+
+		@Override public void onBitmapDecoded(@NonNull final Uri uri, final int sampleSize, @Nullable final Bitmap bitmap, final long decodeNanos) {
+			this.decodedUri = uri;
+			this.decodedBitmap = bitmap;
+			this.decodeNanos = decodeNanos;
+		}
+	}
+}
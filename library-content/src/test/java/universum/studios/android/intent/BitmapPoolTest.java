@@ -0,0 +1,164 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import android.graphics.Bitmap;
+
+import org.junit.Test;
+
+import universum.studios.android.test.local.RobolectricTestCase;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author Martin Albedinsky
+ */
+public final class BitmapPoolTest extends RobolectricTestCase {
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInstantiationWithInvalidMaxSize() {
+		// Act:
+		new BitmapPool(0);
+	}
+
+	@Test public void testInstantiation() {
+		// Act:
+		final BitmapPool pool = new BitmapPool(1024);
+		// Assert:
+		assertThat(pool.maxSize(), is(1024L));
+		assertThat(pool.size(), is(0L));
+		assertThat(pool.count(), is(0));
+	}
+
+	@Test public void testPut() {
+		// Arrange:
+		final BitmapPool pool = new BitmapPool(1024 * 1024);
+		final Bitmap bitmap = Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888);
+		// Act:
+		pool.put(bitmap);
+		// Assert:
+		assertThat(pool.count(), is(1));
+		assertThat(pool.size(), is((long) BitmapPool.sizeOf(bitmap)));
+		assertThat(bitmap.isRecycled(), is(false));
+	}
+
+	@Test public void testPutAlreadyPooled() {
+		// Arrange:
+		final BitmapPool pool = new BitmapPool(1024 * 1024);
+		final Bitmap bitmap = Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888);
+		pool.put(bitmap);
+		// Act:
+		pool.put(bitmap);
+		// Assert:
+		assertThat(pool.count(), is(1));
+	}
+
+	@Test public void testPutTooLarge() {
+		// Arrange:
+		final BitmapPool pool = new BitmapPool(100);
+		final Bitmap bitmap = Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888);
+		// Act:
+		pool.put(bitmap);
+		// Assert:
+		assertThat(pool.count(), is(0));
+		assertThat(bitmap.isRecycled(), is(true));
+	}
+
+	@Test public void testPutEvictsLeastRecentlyPooled() {
+		// Arrange:
+		final BitmapPool pool = new BitmapPool(2 * 10 * 10 * 4);
+		final Bitmap first = Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888);
+		final Bitmap second = Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888);
+		final Bitmap third = Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888);
+		pool.put(first);
+		pool.put(second);
+		// Act:
+		pool.put(third);
+		// Assert:
+		assertThat(pool.count(), is(2));
+		assertThat(pool.size(), is(2L * 10 * 10 * 4));
+		assertThat(first.isRecycled(), is(true));
+		assertThat(second.isRecycled(), is(false));
+		assertThat(third.isRecycled(), is(false));
+	}
+
+	@Test public void testGet() {
+		// Arrange:
+		final BitmapPool pool = new BitmapPool(1024 * 1024);
+		final Bitmap bitmap = Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888);
+		pool.put(bitmap);
+		// Act:
+		final Bitmap reusable = pool.get(10, 10, Bitmap.Config.ARGB_8888, 1);
+		// Assert:
+		assertThat(reusable, is(sameInstance(bitmap)));
+		assertThat(pool.count(), is(0));
+		assertThat(pool.size(), is(0L));
+	}
+
+	@Test public void testGetWithTooSmallBitmaps() {
+		// Arrange:
+		final BitmapPool pool = new BitmapPool(1024 * 1024);
+		pool.put(Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888));
+		// Act + Assert:
+		assertThat(pool.get(20, 20, Bitmap.Config.ARGB_8888, 1), is(nullValue()));
+		assertThat(pool.count(), is(1));
+	}
+
+	@Test public void testGetWithTooLargeBitmaps() {
+		// Arrange:
+		final BitmapPool pool = new BitmapPool(1024 * 1024);
+		pool.put(Bitmap.createBitmap(100, 100, Bitmap.Config.ARGB_8888));
+		// Act + Assert:
+		assertThat(pool.get(10, 10, Bitmap.Config.ARGB_8888, 1), is(nullValue()));
+		assertThat(pool.count(), is(1));
+	}
+
+	@Test public void testGetWithInvalidDimensions() {
+		// Arrange:
+		final BitmapPool pool = new BitmapPool(1024 * 1024);
+		pool.put(Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888));
+		// Act + Assert:
+		assertThat(pool.get(0, 10, Bitmap.Config.ARGB_8888, 1), is(nullValue()));
+		assertThat(pool.get(10, -1, Bitmap.Config.ARGB_8888, 1), is(nullValue()));
+	}
+
+	@Test public void testClear() {
+		// Arrange:
+		final BitmapPool pool = new BitmapPool(1024 * 1024);
+		final Bitmap bitmap = Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888);
+		pool.put(bitmap);
+		// Act:
+		pool.clear();
+		// Assert:
+		assertThat(pool.count(), is(0));
+		assertThat(pool.size(), is(0L));
+		assertThat(bitmap.isRecycled(), is(true));
+	}
+
+	@Test public void testBytesPerPixel() {
+		// Act + Assert:
+		assertThat(BitmapPool.bytesPerPixel(Bitmap.Config.ALPHA_8), is(1));
+		assertThat(BitmapPool.bytesPerPixel(Bitmap.Config.RGB_565), is(2));
+		assertThat(BitmapPool.bytesPerPixel(Bitmap.Config.ARGB_8888), is(4));
+		assertThat(BitmapPool.bytesPerPixel(null), is(4));
+	}
+}
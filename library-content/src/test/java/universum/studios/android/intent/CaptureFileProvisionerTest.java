@@ -0,0 +1,234 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.concurrent.Executor;
+
+import androidx.annotation.NonNull;
+import universum.studios.android.test.local.RobolectricTestCase;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Martin Albedinsky
+ */
+@SuppressWarnings("ResultOfMethodCallIgnored")
+public final class CaptureFileProvisionerTest extends RobolectricTestCase {
+
+	private static final Executor DIRECT_EXECUTOR = new Executor() {
+
+		@Override public void execute(@NonNull final Runnable command) {
+			command.run();
+		}
+	};
+
+	private File directory;
+
+	@Override public void beforeTest() throws Exception {
+		super.beforeTest();
+		this.directory = new File(context.getCacheDir(), "captures");
+		BaseIntent.setAsyncExecutor(DIRECT_EXECUTOR);
+	}
+
+	@Override public void afterTest() throws Exception {
+		super.afterTest();
+		BaseIntent.setAsyncExecutor(null);
+		final File[] files = directory.listFiles();
+		if (files != null) {
+			for (final File file : files) {
+				file.delete();
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInstantiationWithInvalidPoolSize() {
+		// Act:
+		new CaptureFileProvisioner(directory, ImageIntent.IMAGE_FILE_NAME_FORMAT, ".jpg", 0);
+	}
+
+	@Test public void testDefaultProvisioners() {
+		// Act + Assert:
+		assertThat(CaptureFileProvisioner.images(), is(sameInstance(CaptureFileProvisioner.images())));
+		assertThat(CaptureFileProvisioner.videos(), is(sameInstance(CaptureFileProvisioner.videos())));
+		assertThat(CaptureFileProvisioner.images(), is(not(sameInstance(CaptureFileProvisioner.videos()))));
+	}
+
+	@Test public void testPrepare() {
+		// Arrange:
+		final CaptureFileProvisioner provisioner = new CaptureFileProvisioner(directory, ImageIntent.IMAGE_FILE_NAME_FORMAT, ".jpg", 3);
+		// Act:
+		provisioner.prepare();
+		// Assert:
+		assertThat(provisioner.pooledCount(), is(3));
+		assertThat(directory.listFiles().length, is(3));
+	}
+
+	@Test public void testPoll() {
+		// Arrange:
+		final CaptureFileProvisioner provisioner = new CaptureFileProvisioner(directory, ImageIntent.IMAGE_FILE_NAME_FORMAT, ".jpg", 2);
+		provisioner.prepare();
+		// Act:
+		final File file = provisioner.poll();
+		// Assert:
+		assertThat(file, is(notNullValue()));
+		assertThat(file.isFile(), is(true));
+		assertThat(file.getName().startsWith("IMAGE_"), is(true));
+		assertThat(file.getName().endsWith(".jpg"), is(true));
+		assertThat(provisioner.pooledCount(), is(2));
+	}
+
+	@Test public void testPollFromEmptyPool() {
+		// Arrange:
+		final CaptureFileProvisioner provisioner = new CaptureFileProvisioner(directory, ImageIntent.IMAGE_FILE_NAME_FORMAT, ".jpg", 1);
+		BaseIntent.setAsyncExecutor(new Executor() {
+
+			@Override public void execute(@NonNull final Runnable command) {
+				// Refilling is never performed.
+			}
+		});
+		// Act + Assert:
+		assertThat(provisioner.poll(), is(nullValue()));
+	}
+
+	@Test public void testObtainAsync() {
+		// Arrange:
+		final CaptureFileProvisioner provisioner = new CaptureFileProvisioner(directory, VideoIntent.VIDEO_FILE_NAME_FORMAT, ".mp4", 1);
+		final CaptureFileProvisioner.Callback mockCallback = mock(CaptureFileProvisioner.Callback.class);
+		// Act:
+		provisioner.obtainAsync(mockCallback);
+		// Assert:
+		verify(mockCallback).onFileProvisioned(any(File.class));
+	}
+
+	@Test public void testRecycleUnusedFile() {
+		// Arrange:
+		final CaptureFileProvisioner provisioner = new CaptureFileProvisioner(directory, ImageIntent.IMAGE_FILE_NAME_FORMAT, ".jpg", 1);
+		provisioner.prepare();
+		final File file = provisioner.poll();
+		// Act:
+		provisioner.recycle(file);
+		// Assert:
+		assertThat(file.exists(), is(false));
+		assertThat(provisioner.pooledCount(), is(1));
+	}
+
+	@Test public void testRecycleUsedFile() throws Exception {
+		// Arrange:
+		final CaptureFileProvisioner provisioner = new CaptureFileProvisioner(directory, ImageIntent.IMAGE_FILE_NAME_FORMAT, ".jpg", 1);
+		provisioner.prepare();
+		final File file = provisioner.poll();
+		final FileOutputStream stream = new FileOutputStream(file);
+		stream.write(1);
+		stream.close();
+		// Act:
+		provisioner.recycle(file);
+		// Assert:
+		assertThat(file.exists(), is(true));
+		assertThat(provisioner.pooledCount(), is(1));
+	}
+
+	@Test public void testClear() {
+		// Arrange:
+		final CaptureFileProvisioner provisioner = new CaptureFileProvisioner(directory, ImageIntent.IMAGE_FILE_NAME_FORMAT, ".jpg", 2);
+		provisioner.prepare();
+		// Act:
+		provisioner.clear();
+		// Assert:
+		assertThat(provisioner.pooledCount(), is(0));
+		assertThat(directory.listFiles().length, is(0));
+	}
+
+	@Test public void testIsLeftoverFile() throws Exception {
+		// Arrange:
+		final CaptureFileProvisioner provisioner = new CaptureFileProvisioner(directory, ImageIntent.IMAGE_FILE_NAME_FORMAT, ".jpg", 1);
+		final File leftoverFile = createOldFile("IMAGE_20180101_120000_0.jpg", 0);
+		final File usedFile = createOldFile("IMAGE_20180101_120000_1.jpg", 1);
+		final File otherFile = createOldFile("PHOTO_20180101_120000_0.jpg", 0);
+		final File recentFile = new File(directory, "IMAGE_20180101_120000_2.jpg");
+		recentFile.createNewFile();
+		// Act + Assert:
+		assertThat(provisioner.isLeftoverFile(leftoverFile), is(true));
+		assertThat(provisioner.isLeftoverFile(usedFile), is(false));
+		assertThat(provisioner.isLeftoverFile(otherFile), is(false));
+		assertThat(provisioner.isLeftoverFile(recentFile), is(false));
+	}
+
+	@Test public void testIsLeftoverFileForFileCreatedBeforeProvisionerInCurrentProcess() throws Exception {
+		// Arrange:
+		directory.mkdirs();
+		final File file = new File(directory, "IMAGE_20180101_120000_0.jpg");
+		file.createNewFile();
+		final CaptureFileProvisioner provisioner = new CaptureFileProvisioner(directory, ImageIntent.IMAGE_FILE_NAME_FORMAT, ".jpg", 1);
+		// Act + Assert:
+		assertThat(provisioner.isLeftoverFile(file), is(false));
+	}
+
+	@Test public void testPrepareReclaimsLeftoverFiles() throws Exception {
+		// Arrange:
+		final File firstLeftoverFile = createOldFile("IMAGE_20180101_120000_0.jpg", 0);
+		final File secondLeftoverFile = createOldFile("IMAGE_20180101_120000_1.jpg", 0);
+		final File usedFile = createOldFile("IMAGE_20180101_120000_2.jpg", 1);
+		final CaptureFileProvisioner provisioner = new CaptureFileProvisioner(directory, ImageIntent.IMAGE_FILE_NAME_FORMAT, ".jpg", 1);
+		// Act:
+		provisioner.prepare();
+		// Assert:
+		assertThat(provisioner.pooledCount(), is(1));
+		assertThat(provisioner.poll(), is(firstLeftoverFile.exists() ? firstLeftoverFile : secondLeftoverFile));
+		assertThat(firstLeftoverFile.exists() && secondLeftoverFile.exists(), is(false));
+		assertThat(usedFile.exists(), is(true));
+		assertThat(directory.listFiles().length, is(3));
+	}
+
+	@Test public void testClearDeletesLeftoverFiles() throws Exception {
+		// Arrange:
+		final CaptureFileProvisioner provisioner = new CaptureFileProvisioner(directory, ImageIntent.IMAGE_FILE_NAME_FORMAT, ".jpg", 1);
+		final File leftoverFile = createOldFile("IMAGE_20180101_120000_0.jpg", 0);
+		final File usedFile = createOldFile("IMAGE_20180101_120000_1.jpg", 1);
+		// Act:
+		provisioner.clear();
+		// Assert:
+		assertThat(leftoverFile.exists(), is(false));
+		assertThat(usedFile.exists(), is(true));
+	}
+
+	private File createOldFile(final String name, final int length) throws Exception {
+		directory.mkdirs();
+		final File file = new File(directory, name);
+		final FileOutputStream stream = new FileOutputStream(file);
+		for (int i = 0; i < length; i++) {
+			stream.write(i);
+		}
+		stream.close();
+		file.setLastModified(System.currentTimeMillis() - 24 * 60 * 60 * 1000);
+		return file;
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InterruptedIOException;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+
+import universum.studios.android.test.local.LocalTestCase;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author Martin Albedinsky
+ */
+@SuppressWarnings("ResultOfMethodCallIgnored")
+public final class ContentCopierTest extends LocalTestCase {
+
+	@Test(expected = IllegalAccessException.class)
+	public void testInstantiation() throws Exception {
+		// Act:
+		ContentCopier.class.newInstance();
+	}
+
+	@Test public void testCopyBuffered() throws Exception {
+		// Arrange:
+		final byte[] content = createContent(3 * ContentCopier.BUFFER_SIZE + 17);
+		final File file = File.createTempFile("content", ".mp4");
+		final FileOutputStream outputStream = new FileOutputStream(file);
+		final long[] progress = {0, 0};
+		// Act:
+		final long copiedBytes = ContentCopier.copyBuffered(
+				Channels.newChannel(new ByteArrayInputStream(content)),
+				outputStream.getChannel(),
+				content.length,
+				new ContentCopier.ProgressListener() {
+
+					@Override public void onCopyProgress(final long copiedBytes, final long totalBytes) {
+						progress[0] = copiedBytes;
+						progress[1] = totalBytes;
+					}
+				},
+				null
+		);
+		outputStream.close();
+		// Assert:
+		assertThat(copiedBytes, is((long) content.length));
+		assertThat(progress[0], is((long) content.length));
+		assertThat(progress[1], is((long) content.length));
+		assertThat(Arrays.equals(readContent(file), content), is(true));
+		assertThat(ContentCopier.pooledBuffersCount() > 0, is(true));
+		file.delete();
+	}
+
+	@Test(expected = InterruptedIOException.class)
+	public void testCopyBufferedCancelled() throws Exception {
+		// Arrange:
+		final File file = File.createTempFile("content", ".mp4");
+		file.deleteOnExit();
+		final FileOutputStream outputStream = new FileOutputStream(file);
+		final ContentCopier.Cancellation cancellation = new ContentCopier.Cancellation();
+		cancellation.cancel();
+		try {
+			// Act:
+			ContentCopier.copyBuffered(
+					Channels.newChannel(new ByteArrayInputStream(createContent(128))),
+					outputStream.getChannel(),
+					-1,
+					null,
+					cancellation
+			);
+		} finally {
+			outputStream.close();
+		}
+	}
+
+	@Test public void testCancellation() {
+		// Arrange:
+		final ContentCopier.Cancellation cancellation = new ContentCopier.Cancellation();
+		// Act + Assert:
+		assertThat(cancellation.isCancelled(), is(false));
+		cancellation.cancel();
+		assertThat(cancellation.isCancelled(), is(true));
+	}
+
+	private static byte[] createContent(final int size) {
+		final byte[] content = new byte[size];
+		for (int i = 0; i < size; i++) {
+			content[i] = (byte) i;
+		}
+		return content;
+	}
+
+	private static byte[] readContent(final File file) throws Exception {
+		final byte[] content = new byte[(int) file.length()];
+		final FileInputStream stream = new FileInputStream(file);
+		try {
+			int offset = 0;
+			while (offset < content.length) {
+				offset += stream.read(content, offset, content.length - offset);
+			}
+		} finally {
+			stream.close();
+		}
+		return content;
+	}
+}
@@ -29,8 +29,10 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 
 import androidx.annotation.NonNull;
 import universum.studios.android.test.local.RobolectricTestCase;
@@ -54,12 +56,47 @@ public final class ContentIntentTest extends RobolectricTestCase {
 
 	@Test public void testCreateContentFileTimeStamp() {
 		// Act:
+		final String timeStamp = ContentIntent.createContentFileTimeStamp();
+		// Assert:
+		final String expectedPrefix = new SimpleDateFormat(ContentIntent.CONTENT_FILE_TIME_STAMP_FORMAT, Locale.getDefault()).format(new Date()) + "_";
+		assertThat(timeStamp.startsWith(expectedPrefix), is(true));
+		assertThat(timeStamp.substring(expectedPrefix.length()).matches("\\d+"), is(true));
+	}
 
+	@Test public void testCreateContentFileTimeStampIsUnique() throws Exception {
+		// Arrange:
+		final Set<String> timeStamps = Collections.synchronizedSet(new HashSet<String>());
+		final Thread[] threads = new Thread[4];
+		for (int i = 0; i < threads.length; i++) {
+			threads[i] = new Thread(new Runnable() {
+
+				@Override public void run() {
+					for (int j = 0; j < 250; j++) {
+						timeStamps.add(ContentIntent.createContentFileTimeStamp());
+					}
+				}
+			});
+		}
+		// Act:
+		for (final Thread thread : threads) {
+			thread.start();
+		}
+		for (final Thread thread : threads) {
+			thread.join();
+		}
 		// Assert:
+		assertThat(timeStamps.size(), is(1000));
+	}
+
+	@Test public void testFormatTimeStamp() {
+		// Arrange:
+		final long millis = System.currentTimeMillis();
+		// Act + Assert:
 		assertThat(
-				ContentIntent.createContentFileTimeStamp(),
-				is(new SimpleDateFormat(ContentIntent.CONTENT_FILE_TIME_STAMP_FORMAT, Locale.getDefault()).format(new Date()))
+				ContentIntent.formatTimeStamp(millis),
+				is(new SimpleDateFormat(ContentIntent.CONTENT_FILE_TIME_STAMP_FORMAT, Locale.getDefault()).format(new Date(millis)))
 		);
+		assertThat(ContentIntent.formatTimeStamp(millis + 1000), is(new SimpleDateFormat(ContentIntent.CONTENT_FILE_TIME_STAMP_FORMAT, Locale.getDefault()).format(new Date(millis + 1000))));
 	}
 
 	@Test
@@ -78,6 +115,19 @@ public final class ContentIntentTest extends RobolectricTestCase {
 		assertThat(intent.dataType(), is(nullValue()));
 	}
 
+	@Test public void testReset() {
+		// Arrange:
+		final ContentIntent intent = new ContentIntentImpl();
+		intent.withHandler(new ContentIntent.ContentHandler("TestHandler", new Intent()));
+		intent.input(Uri.parse("content://android/data/images/lion.jpg")).dataType(MimeType.IMAGE);
+		// Act:
+		intent.reset();
+		// Assert:
+		assertThat(intent.handlers(), is(Collections.EMPTY_LIST));
+		assertThat(intent.uri(), is(nullValue()));
+		assertThat(intent.dataType(), is(nullValue()));
+	}
+
 	@SuppressWarnings("unchecked")
 	@Test public void testWithHandlers() {
 		// Arrange:
@@ -274,6 +324,19 @@ public final class ContentIntentTest extends RobolectricTestCase {
 		);
 	}
 
+	@Test public void testBuildAfterChange() {
+		// Arrange:
+		final ContentIntent contentIntent = new ContentIntentImpl();
+		contentIntent.input(Uri.parse("content://android/data/images/lion.jpg"));
+		contentIntent.dataType(MimeType.IMAGE_JPEG);
+		contentIntent.build(context);
+		// Act:
+		contentIntent.dataType(MimeType.IMAGE_PNG);
+		// Assert:
+		final Intent intent = contentIntent.build(context);
+		assertThat(intent.getType(), is(MimeType.IMAGE_PNG));
+	}
+
 	@Test public void testBuildWithoutUri() {
 		assertThatBuildThrowsExceptionWithMessage(
 				context,
@@ -315,6 +378,20 @@ public final class ContentIntentTest extends RobolectricTestCase {
 		verify(mockStarter, times(0)).startIntent(any(Intent.class));
 	}
 
+	@Test public void testStartWithAsyncHandlers() {
+		// Arrange:
+		final ContentIntent intent = new ContentIntentImpl();
+		intent.withHandler(new ContentIntent.ContentHandler("TestHandler1", new Intent()));
+		final IntentStarter mockStarter = mock(IntentStarter.class);
+		when(mockStarter.getContext()).thenReturn(context);
+		final BaseIntent.StartCallback mockCallback = mock(BaseIntent.StartCallback.class);
+		// Act:
+		intent.startWithAsync(mockStarter, mockCallback);
+		// Assert:
+		verify(mockStarter, times(0)).startIntent(any(Intent.class));
+		verify(mockCallback).onIntentStarted(intent, true);
+	}
+
 	@Test public void testOnStartWith() {
 		// Arrange:
 		final ContentIntent contentIntent = new ContentIntentImpl();
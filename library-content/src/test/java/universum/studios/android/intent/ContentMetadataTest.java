@@ -0,0 +1,120 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import android.net.Uri;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+
+import universum.studios.android.test.local.RobolectricTestCase;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author Martin Albedinsky
+ */
+@SuppressWarnings("ResultOfMethodCallIgnored")
+public final class ContentMetadataTest extends RobolectricTestCase {
+
+	@Override public void afterTest() throws Exception {
+		super.afterTest();
+		ContentMetadata.clearCache();
+	}
+
+	@Test public void testInspectMissingContent() {
+		// Arrange:
+		final Uri uri = Uri.fromFile(new File("missing-image.jpg"));
+		// Act:
+		final ContentMetadata metadata = ContentMetadata.inspect(context.getContentResolver(), uri);
+		// Assert:
+		assertThat(metadata.uri(), is(uri));
+		assertThat(metadata.displayName(), is("missing-image.jpg"));
+		assertThat(metadata.size(), is((long) ContentMetadata.UNKNOWN));
+		assertThat(metadata.width(), is(ContentMetadata.UNKNOWN));
+		assertThat(metadata.height(), is(ContentMetadata.UNKNOWN));
+		assertThat(metadata.durationMillis(), is((long) ContentMetadata.UNKNOWN));
+		assertThat(metadata.isVideo(), is(false));
+	}
+
+	@Test public void testInspectMissingContentIsNotCached() {
+		// Arrange:
+		final Uri uri = Uri.fromFile(new File("missing-image.jpg"));
+		final ContentMetadata metadata = ContentMetadata.inspect(context.getContentResolver(), uri);
+		// Act + Assert:
+		assertThat(ContentMetadata.inspect(context.getContentResolver(), uri), is(not(sameInstance(metadata))));
+	}
+
+	@Test public void testInspectFileContent() throws Exception {
+		// Arrange:
+		final File file = File.createTempFile("content", ".bin");
+		final FileOutputStream stream = new FileOutputStream(file);
+		stream.write(new byte[128]);
+		stream.close();
+		// Act:
+		final ContentMetadata metadata = ContentMetadata.inspect(context.getContentResolver(), Uri.fromFile(file));
+		// Assert:
+		assertThat(metadata.displayName(), is(file.getName()));
+		assertThat(metadata.size(), is(128L));
+		assertThat(metadata.durationMillis(), is((long) ContentMetadata.UNKNOWN));
+		file.delete();
+	}
+
+	@Test public void testIsCacheable() {
+		// Arrange:
+		final ContentMetadata metadata = new ContentMetadata(Uri.EMPTY);
+		// Act + Assert:
+		assertThat(ContentMetadata.isCacheable(metadata), is(false));
+		metadata.size = 128;
+		assertThat(ContentMetadata.isCacheable(metadata), is(false));
+		metadata.width = 400;
+		metadata.height = 300;
+		assertThat(ContentMetadata.isCacheable(metadata), is(true));
+		metadata.size = 0;
+		assertThat(ContentMetadata.isCacheable(metadata), is(false));
+	}
+
+	@Test public void testIsSidewaysRotation() {
+		// Act + Assert:
+		assertThat(ContentMetadata.isSidewaysRotation(90), is(true));
+		assertThat(ContentMetadata.isSidewaysRotation(270), is(true));
+		assertThat(ContentMetadata.isSidewaysRotation(-90), is(true));
+		assertThat(ContentMetadata.isSidewaysRotation(0), is(false));
+		assertThat(ContentMetadata.isSidewaysRotation(180), is(false));
+		assertThat(ContentMetadata.isSidewaysRotation(ContentMetadata.UNKNOWN), is(false));
+	}
+
+	@Test public void testIsVideo() {
+		// Arrange:
+		final ContentMetadata metadata = new ContentMetadata(Uri.EMPTY);
+		// Act + Assert:
+		assertThat(metadata.mimeType(), is(nullValue()));
+		assertThat(metadata.isVideo(), is(false));
+		metadata.mimeType = "video/mp4";
+		assertThat(metadata.isVideo(), is(true));
+		metadata.mimeType = "image/jpeg";
+		assertThat(metadata.isVideo(), is(false));
+	}
+}
@@ -0,0 +1,193 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import android.graphics.Bitmap;
+
+import org.junit.Test;
+
+import universum.studios.android.test.local.RobolectricTestCase;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author Martin Albedinsky
+ */
+public final class DecodeGovernorTest extends RobolectricTestCase {
+
+	private static final Bitmap.Config CONFIG = Bitmap.Config.ARGB_8888;
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInstantiationWithInvalidMaxBytes() {
+		// Act:
+		new DecodeGovernor(0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInstantiationWithInvalidMaxWait() {
+		// Act:
+		new DecodeGovernor(1024, -1);
+	}
+
+	@Test public void testInstantiation() {
+		// Act:
+		final DecodeGovernor governor = new DecodeGovernor(1024);
+		// Assert:
+		assertThat(governor.maxBytes(), is(1024L));
+		assertThat(governor.usedBytes(), is(0L));
+		assertThat(governor.admittedCount(), is(0L));
+		assertThat(governor.queuedCount(), is(0L));
+		assertThat(governor.downsampledCount(), is(0L));
+		assertThat(governor.rejectedCount(), is(0L));
+	}
+
+	@Test public void testByteCountOf() {
+		// Act + Assert:
+		assertThat(DecodeGovernor.byteCountOf(4000, 3000, 1, CONFIG), is(48000000L));
+		assertThat(DecodeGovernor.byteCountOf(4000, 3000, 2, CONFIG), is(12000000L));
+		assertThat(DecodeGovernor.byteCountOf(4000, 3000, 0, Bitmap.Config.RGB_565), is(24000000L));
+		assertThat(DecodeGovernor.byteCountOf(-1, -1, 1, CONFIG), is(0L));
+	}
+
+	@Test public void testAcquireAndRelease() {
+		// Arrange:
+		final DecodeGovernor governor = new DecodeGovernor(8000000, 0);
+		// Act:
+		final int sampleSize = governor.acquire(1000, 1000, 1, CONFIG);
+		// Assert:
+		assertThat(sampleSize, is(1));
+		assertThat(governor.usedBytes(), is(4000000L));
+		assertThat(governor.admittedCount(), is(1L));
+		governor.release(4000000);
+		assertThat(governor.usedBytes(), is(0L));
+	}
+
+	@Test public void testAcquireExceedingWholeBudget() {
+		// Arrange:
+		final DecodeGovernor governor = new DecodeGovernor(12000000, 0);
+		// Act:
+		final int sampleSize = governor.acquire(4000, 3000, 1, CONFIG);
+		// Assert:
+		assertThat(sampleSize, is(2));
+		assertThat(governor.usedBytes(), is(12000000L));
+		assertThat(governor.downsampledCount(), is(1L));
+		assertThat(governor.queuedCount(), is(0L));
+	}
+
+	@Test public void testAcquireDownsampledWhenQueuedForTooLong() {
+		// Arrange:
+		final DecodeGovernor governor = new DecodeGovernor(5000000, 0);
+		governor.acquire(1000, 1000, 1, CONFIG);
+		// Act:
+		final int sampleSize = governor.acquire(1000, 1000, 1, CONFIG);
+		// Assert:
+		assertThat(sampleSize, is(2));
+		assertThat(governor.usedBytes(), is(5000000L));
+		assertThat(governor.queuedCount(), is(1L));
+		assertThat(governor.downsampledCount(), is(1L));
+		assertThat(governor.rejectedCount(), is(0L));
+	}
+
+	@Test public void testAcquireRejectedWhenQueuedForTooLong() {
+		// Arrange:
+		final DecodeGovernor governor = new DecodeGovernor(4000000, 0);
+		governor.acquire(1000, 1000, 1, CONFIG);
+		// Act:
+		final int sampleSize = governor.acquire(1000, 1000, 1, CONFIG);
+		// Assert:
+		assertThat(sampleSize, is(DecodeGovernor.REJECTED));
+		assertThat(governor.usedBytes(), is(4000000L));
+		assertThat(governor.admittedCount(), is(1L));
+		assertThat(governor.queuedCount(), is(1L));
+		assertThat(governor.rejectedCount(), is(1L));
+	}
+
+	@Test public void testAcquireQueuedUntilReleased() throws Exception {
+		// Arrange:
+		final DecodeGovernor governor = new DecodeGovernor(4000000, 10000);
+		governor.acquire(1000, 1000, 1, CONFIG);
+		final Thread releaser = new Thread(new Runnable() {
+
+			@Override public void run() {
+				try {
+					Thread.sleep(50);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				governor.release(4000000);
+			}
+		});
+		releaser.start();
+		// Act:
+		final int sampleSize = governor.acquire(1000, 1000, 1, CONFIG);
+		// Assert:
+		releaser.join();
+		assertThat(sampleSize, is(1));
+		assertThat(governor.usedBytes(), is(4000000L));
+		assertThat(governor.queuedCount(), is(1L));
+		assertThat(governor.downsampledCount(), is(0L));
+	}
+
+	@Test public void testAcquireWithExtraBytes() {
+		// Arrange:
+		final DecodeGovernor governor = new DecodeGovernor(6000000, 0);
+		// Act:
+		final int sampleSize = governor.acquire(2000, 1000, 1, CONFIG, 1000000, true);
+		// Assert:
+		assertThat(sampleSize, is(2));
+		assertThat(governor.usedBytes(), is(3000000L));
+		assertThat(governor.downsampledCount(), is(1L));
+	}
+
+	@Test public void testAcquireRejectedWhenExtraBytesExceedWholeBudget() {
+		// Arrange:
+		final DecodeGovernor governor = new DecodeGovernor(1000000, 0);
+		// Act:
+		final int sampleSize = governor.acquire(1000, 1000, 1, CONFIG, 2000000, true);
+		// Assert:
+		assertThat(sampleSize, is(DecodeGovernor.REJECTED));
+		assertThat(governor.usedBytes(), is(0L));
+		assertThat(governor.rejectedCount(), is(1L));
+	}
+
+	@Test public void testAcquireWithoutWaiting() {
+		// Arrange:
+		final DecodeGovernor governor = new DecodeGovernor(4000000, 10000);
+		governor.acquire(1000, 1000, 1, CONFIG);
+		final long startTime = System.nanoTime();
+		// Act:
+		final int sampleSize = governor.acquire(1000, 1000, 1, CONFIG, 0, false);
+		// Assert:
+		assertThat(System.nanoTime() - startTime < 5000000000L, is(true));
+		assertThat(sampleSize, is(DecodeGovernor.REJECTED));
+		assertThat(governor.queuedCount(), is(1L));
+		assertThat(governor.rejectedCount(), is(1L));
+	}
+
+	@Test public void testAcquireWithUnknownBounds() {
+		// Arrange:
+		final DecodeGovernor governor = new DecodeGovernor(1, 0);
+		// Act:
+		final int sampleSize = governor.acquire(-1, -1, 1, CONFIG);
+		// Assert:
+		assertThat(sampleSize, is(1));
+		assertThat(governor.usedBytes(), is(0L));
+	}
+}
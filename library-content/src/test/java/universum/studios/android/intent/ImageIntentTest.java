@@ -18,22 +18,35 @@
  */
 package universum.studios.android.intent;
 
+import android.app.Activity;
+import android.content.ClipData;
 import android.content.Intent;
+import android.graphics.Bitmap;
 import android.net.Uri;
 import android.provider.MediaStore;
 
 import org.junit.Test;
+import org.mockito.InOrder;
+import org.robolectric.shadows.ShadowLooper;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 
+import androidx.annotation.NonNull;
 import universum.studios.android.test.local.RobolectricTestCase;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 
 /**
  * @author Martin Albedinsky
@@ -41,6 +54,19 @@ import static org.hamcrest.MatcherAssert.assertThat;
 @SuppressWarnings("ResultOfMethodCallIgnored")
 public final class ImageIntentTest extends RobolectricTestCase {
 
+	private static final Executor DIRECT_EXECUTOR = new Executor() {
+
+		@Override public void execute(@NonNull final Runnable command) {
+			command.run();
+		}
+	};
+
+	@Override public void afterTest() throws Exception {
+		super.afterTest();
+		BitmapDecoder.setExecutor(null);
+		BitmapDecoder.setParallelExecutor(null);
+	}
+
 	@Test public void testCreateGalleryIntent() {
 		// Act:
 		final Intent intent = ImageIntent.createGalleryIntent();
@@ -50,6 +76,15 @@ public final class ImageIntentTest extends RobolectricTestCase {
 		assertThat(intent.getType(), is(MimeType.IMAGE));
 	}
 
+	@Test public void testCreateGalleryIntentAllowingMultiple() {
+		// Act:
+		final Intent intent = ImageIntent.createGalleryIntent(true);
+		// Assert:
+		assertThat(intent.getAction(), is(Intent.ACTION_GET_CONTENT));
+		assertThat(intent.getBooleanExtra(Intent.EXTRA_ALLOW_MULTIPLE, false), is(true));
+		assertThat(ImageIntent.createGalleryIntent(false).hasExtra(Intent.EXTRA_ALLOW_MULTIPLE), is(false));
+	}
+
 	@Test public void testCreateCameraIntent() {
 		// Act:
 		final Intent intent = ImageIntent.createCameraIntent();
@@ -98,6 +133,18 @@ public final class ImageIntentTest extends RobolectricTestCase {
 		assertThat(intent.dataType(), is(nullValue()));
 	}
 
+	@Test public void testReset() {
+		// Arrange:
+		final ImageIntent intent = new ImageIntent();
+		intent.withDefaultHandlers(context).input(Uri.parse("content://android/data/images/lion.jpg"));
+		// Act:
+		intent.reset();
+		// Assert:
+		assertThat(intent.handlers(), is(Collections.EMPTY_LIST));
+		assertThat(intent.uri(), is(nullValue()));
+		assertThat(intent.dataType(), is(nullValue()));
+	}
+
 	@Test public void testWithDefaultHandlers() {
 		// Arrange:
 		final ImageIntent intent = new ImageIntent();
@@ -115,6 +162,32 @@ public final class ImageIntentTest extends RobolectricTestCase {
 		assertThat(cameraHandler.requestCode(), is(ImageIntent.REQUEST_CODE_CAMERA));
 	}
 
+	@Test public void testAllowMultiple() {
+		// Arrange:
+		final ImageIntent intent = new ImageIntent();
+		intent.withDefaultHandlers(context);
+		// Act:
+		intent.allowMultiple(true);
+		// Assert:
+		assertThat(intent.allowMultiple(), is(true));
+		final ContentIntent.ContentHandler galleryHandler = intent.handlers().get(0);
+		assertThat(galleryHandler.intent.getBooleanExtra(Intent.EXTRA_ALLOW_MULTIPLE, false), is(true));
+		intent.allowMultiple(false);
+		assertThat(galleryHandler.intent.hasExtra(Intent.EXTRA_ALLOW_MULTIPLE), is(false));
+	}
+
+	@Test public void testAllowMultipleBeforeWithDefaultHandlers() {
+		// Arrange:
+		final ImageIntent intent = new ImageIntent();
+		intent.allowMultiple(true);
+		// Act:
+		intent.withDefaultHandlers(context);
+		// Assert:
+		assertThat(intent.handlers().get(0).intent.getBooleanExtra(Intent.EXTRA_ALLOW_MULTIPLE, false), is(true));
+		intent.reset();
+		assertThat(intent.allowMultiple(), is(false));
+	}
+
 	@Test public void testInput() {
 		// Arrange:
 		final ImageIntent intent = new ImageIntent();
@@ -174,4 +247,218 @@ public final class ImageIntentTest extends RobolectricTestCase {
 		// Assert:
 		assertThat(cameraIntent.<Uri>getParcelableExtra(MediaStore.EXTRA_OUTPUT), is(nullValue()));
 	}
-}
\ No newline at end of file
+
+	@Test public void testProcessResultIntentWithCanceledResult() {
+		// Act + Assert:
+		assertThat(ImageIntent.processResultIntent(
+				ImageIntent.REQUEST_CODE_GALLERY,
+				Activity.RESULT_CANCELED,
+				new Intent().setData(Uri.fromFile(new File("image.jpg"))),
+				context,
+				null
+		), is(nullValue()));
+	}
+
+	@Test public void testProcessResultIntentForGalleryWithMissingContent() {
+		// Act + Assert:
+		assertThat(ImageIntent.processResultIntent(
+				ImageIntent.REQUEST_CODE_GALLERY,
+				Activity.RESULT_OK,
+				new Intent().setData(Uri.fromFile(new File("missing-image.jpg"))),
+				context,
+				new ImageIntent.ImageOptions().inSize(100, 100)
+		), is(nullValue()));
+	}
+
+	@Test public void testProcessResultIntentForCameraWithoutData() {
+		// Act + Assert:
+		assertThat(ImageIntent.processResultIntent(
+				ImageIntent.REQUEST_CODE_CAMERA,
+				Activity.RESULT_OK,
+				null,
+				context,
+				null,
+				Uri.fromFile(new File("missing-image.jpg"))
+		), is(nullValue()));
+	}
+
+	@Test public void testProcessResultIntentForCameraFallsBackToThumbnail() {
+		// Arrange:
+		final Bitmap thumbnail = Bitmap.createBitmap(40, 30, Bitmap.Config.ARGB_8888);
+		final Intent data = new Intent().putExtra("data", thumbnail);
+		// Act:
+		final Bitmap image = ImageIntent.processResultIntent(
+				ImageIntent.REQUEST_CODE_CAMERA,
+				Activity.RESULT_OK,
+				data,
+				context,
+				new ImageIntent.ImageOptions().inSize(20, 20).fitMode(ImageIntent.ImageOptions.FIT_INSIDE),
+				Uri.fromFile(new File("missing-image.jpg"))
+		);
+		// Assert:
+		assertThat(image, is(notNullValue()));
+		assertThat(image.getWidth(), is(20));
+		assertThat(image.getHeight(), is(15));
+	}
+
+	@Test public void testProcessResultIntentAsync() {
+		// Arrange:
+		BitmapDecoder.setExecutor(DIRECT_EXECUTOR);
+		final ImageIntent.ResultCallback mockCallback = mock(ImageIntent.ResultCallback.class);
+		// Act:
+		final ImageIntent.ResultRequest request = ImageIntent.processResultIntentAsync(
+				ImageIntent.REQUEST_CODE_GALLERY,
+				Activity.RESULT_CANCELED,
+				null,
+				context,
+				null,
+				mockCallback
+		);
+		// Assert:
+		verify(mockCallback).onResultProcessed(ImageIntent.REQUEST_CODE_GALLERY, null);
+		assertThat(request.isCancelled(), is(true));
+	}
+
+	@Test public void testProcessResultIntentAsyncCancelledBeforeProcessing() {
+		// Arrange:
+		final List<Runnable> tasks = new ArrayList<>(1);
+		BitmapDecoder.setExecutor(new Executor() {
+
+			@Override public void execute(@NonNull final Runnable command) {
+				tasks.add(command);
+			}
+		});
+		final ImageIntent.ResultCallback mockCallback = mock(ImageIntent.ResultCallback.class);
+		final ImageIntent.ResultRequest request = ImageIntent.processResultIntentAsync(
+				ImageIntent.REQUEST_CODE_GALLERY,
+				Activity.RESULT_CANCELED,
+				null,
+				context,
+				null,
+				mockCallback
+		);
+		// Act:
+		request.cancel();
+		tasks.get(0).run();
+		// Assert:
+		assertThat(request.isCancelled(), is(true));
+		verifyZeroInteractions(mockCallback);
+	}
+
+	@Test public void testProcessResultIntentAsyncCancelledWhileProcessing() {
+		// Arrange:
+		BitmapDecoder.setExecutor(DIRECT_EXECUTOR);
+		final Bitmap thumbnail = Bitmap.createBitmap(40, 30, Bitmap.Config.ARGB_8888);
+		final ImageIntent.ResultCallback mockCallback = mock(ImageIntent.ResultCallback.class);
+		ShadowLooper.pauseMainLooper();
+		final ImageIntent.ResultRequest request = ImageIntent.processResultIntentAsync(
+				ImageIntent.REQUEST_CODE_CAMERA,
+				Activity.RESULT_OK,
+				new Intent().putExtra("data", thumbnail),
+				context,
+				null,
+				mockCallback
+		);
+		// Act:
+		request.cancel();
+		ShadowLooper.unPauseMainLooper();
+		// Assert:
+		verifyZeroInteractions(mockCallback);
+		assertThat(thumbnail.isRecycled(), is(true));
+	}
+
+	@Test public void testObtainResultUris() {
+		// Arrange:
+		final Uri firstUri = Uri.parse("content://android/data/images/lion.jpg");
+		final Uri secondUri = Uri.parse("content://android/data/images/tiger.jpg");
+		final ClipData clipData = new ClipData("images", new String[]{MimeType.IMAGE}, new ClipData.Item(firstUri));
+		clipData.addItem(new ClipData.Item(secondUri));
+		final Intent data = new Intent();
+		data.setClipData(clipData);
+		// Act:
+		final List<Uri> uris = ImageIntent.obtainResultUris(data);
+		// Assert:
+		assertThat(uris.size(), is(2));
+		assertThat(uris.get(0), is(firstUri));
+		assertThat(uris.get(1), is(secondUri));
+	}
+
+	@Test public void testObtainResultUrisForSingleImage() {
+		// Arrange:
+		final Uri uri = Uri.parse("content://android/data/images/lion.jpg");
+		// Act + Assert:
+		assertThat(ImageIntent.obtainResultUris(new Intent().setData(uri)), is(Collections.singletonList(uri)));
+		assertThat(ImageIntent.obtainResultUris(new Intent()).isEmpty(), is(true));
+		assertThat(ImageIntent.obtainResultUris(null).isEmpty(), is(true));
+	}
+
+	@Test public void testProcessMultipleResultIntentAsync() {
+		// Arrange:
+		BitmapDecoder.setParallelExecutor(DIRECT_EXECUTOR);
+		final Uri firstUri = Uri.fromFile(new File("missing-image-1.jpg"));
+		final Uri secondUri = Uri.fromFile(new File("missing-image-2.jpg"));
+		final ClipData clipData = new ClipData("images", new String[]{MimeType.IMAGE}, new ClipData.Item(firstUri));
+		clipData.addItem(new ClipData.Item(secondUri));
+		final Intent data = new Intent();
+		data.setClipData(clipData);
+		final ImageIntent.MultipleResultCallback mockCallback = mock(ImageIntent.MultipleResultCallback.class);
+		// Act:
+		final ImageIntent.ResultRequest request = ImageIntent.processMultipleResultIntentAsync(
+				ImageIntent.REQUEST_CODE_GALLERY,
+				Activity.RESULT_OK,
+				data,
+				context,
+				null,
+				mockCallback
+		);
+		// Assert:
+		final InOrder inOrder = inOrder(mockCallback);
+		inOrder.verify(mockCallback).onImageProcessed(ImageIntent.REQUEST_CODE_GALLERY, 0, firstUri, null);
+		inOrder.verify(mockCallback).onImageProcessed(ImageIntent.REQUEST_CODE_GALLERY, 1, secondUri, null);
+		inOrder.verify(mockCallback).onAllImagesProcessed(ImageIntent.REQUEST_CODE_GALLERY, 2);
+		assertThat(request.isCancelled(), is(true));
+	}
+
+	@Test public void testProcessMultipleResultIntentAsyncWithCanceledResult() {
+		// Arrange:
+		final ImageIntent.MultipleResultCallback mockCallback = mock(ImageIntent.MultipleResultCallback.class);
+		// Act:
+		final ImageIntent.ResultRequest request = ImageIntent.processMultipleResultIntentAsync(
+				ImageIntent.REQUEST_CODE_GALLERY,
+				Activity.RESULT_CANCELED,
+				null,
+				context,
+				null,
+				mockCallback
+		);
+		// Assert:
+		verify(mockCallback).onAllImagesProcessed(ImageIntent.REQUEST_CODE_GALLERY, 0);
+		assertThat(request.isCancelled(), is(true));
+	}
+
+	@Test public void testProcessMultipleResultIntentAsyncCancelled() {
+		// Arrange:
+		final List<Runnable> tasks = new ArrayList<>(1);
+		BitmapDecoder.setParallelExecutor(new Executor() {
+
+			@Override public void execute(@NonNull final Runnable command) {
+				tasks.add(command);
+			}
+		});
+		final ImageIntent.MultipleResultCallback mockCallback = mock(ImageIntent.MultipleResultCallback.class);
+		final ImageIntent.ResultRequest request = ImageIntent.processMultipleResultIntentAsync(
+				ImageIntent.REQUEST_CODE_GALLERY,
+				Activity.RESULT_OK,
+				new Intent().setData(Uri.fromFile(new File("missing-image.jpg"))),
+				context,
+				null,
+				mockCallback
+		);
+		// Act:
+		request.cancel();
+		tasks.get(0).run();
+		// Assert:
+		assertThat(tasks.size(), is(not(0)));
+		verifyZeroInteractions(mockCallback);
+	}
+}
@@ -0,0 +1,66 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import android.graphics.Rect;
+import android.net.Uri;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import universum.studios.android.test.local.RobolectricTestCase;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author Martin Albedinsky
+ */
+public final class ImageRegionDecoderTest extends RobolectricTestCase {
+
+	@Test(expected = IOException.class)
+	public void testOpenMissingContent() throws Exception {
+		// Act:
+		ImageRegionDecoder.open(context.getContentResolver(), Uri.fromFile(new File("missing-image.jpg")));
+	}
+
+	@Test public void testImageOptionsRegion() {
+		// Arrange:
+		final Rect region = new Rect(10, 20, 110, 220);
+		// Act:
+		final ImageIntent.ImageOptions options = new ImageIntent.ImageOptions().region(region);
+		// Assert:
+		assertThat(options.region, is(region));
+		assertThat(options.region, is(not(sameInstance(region))));
+	}
+
+	@Test public void testDecodeRegionOfMissingContent() {
+		// Act + Assert:
+		assertThat(BitmapDecoder.decode(
+				context.getContentResolver(),
+				Uri.fromFile(new File("missing-image.jpg")),
+				new ImageIntent.ImageOptions().region(new Rect(0, 0, 100, 100))
+		), is(nullValue()));
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import android.graphics.Bitmap;
+import android.net.Uri;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+
+import universum.studios.android.test.local.RobolectricTestCase;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author Martin Albedinsky
+ */
+public final class ImageTranscoderTest extends RobolectricTestCase {
+
+	@Test(expected = IllegalAccessException.class)
+	public void testInstantiation() throws Exception {
+		// Act:
+		ImageTranscoder.class.newInstance();
+	}
+
+	@Test public void testOptionsDefaults() {
+		// Act:
+		final ImageTranscoder.Options options = new ImageTranscoder.Options();
+		// Assert:
+		assertThat(options.maxDimension, is(0));
+		assertThat(options.format, is(Bitmap.CompressFormat.JPEG));
+		assertThat(options.quality, is(90));
+	}
+
+	@Test public void testOptions() {
+		// Act:
+		final ImageTranscoder.Options options = new ImageTranscoder.Options()
+				.maxDimension(1920)
+				.format(Bitmap.CompressFormat.WEBP)
+				.quality(75);
+		// Assert:
+		assertThat(options.maxDimension, is(1920));
+		assertThat(options.format, is(Bitmap.CompressFormat.WEBP));
+		assertThat(options.quality, is(75));
+	}
+
+	@Test(expected = IOException.class)
+	public void testTranscodeMissingContent() throws Exception {
+		// Act:
+		ImageTranscoder.transcode(
+				context.getContentResolver(),
+				Uri.fromFile(new File("missing-image.jpg")),
+				new ImageTranscoder.Options().maxDimension(100),
+				new ByteArrayOutputStream()
+		);
+	}
+
+	@Test public void testTranscodeMissingContentIntoFile() throws Exception {
+		// Arrange:
+		final File outputFile = new File(context.getCacheDir(), "transcoded.jpg");
+		// Act:
+		try {
+			ImageTranscoder.transcode(
+					context.getContentResolver(),
+					Uri.fromFile(new File("missing-image.jpg")),
+					new ImageTranscoder.Options(),
+					outputFile
+			);
+		} catch (IOException e) {
+			// Assert:
+			assertThat(outputFile.exists(), is(false));
+			return;
+		}
+		throw new AssertionError("No exception has been thrown.");
+	}
+}
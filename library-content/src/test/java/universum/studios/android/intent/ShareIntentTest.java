@@ -54,6 +54,21 @@ public final class ShareIntentTest extends RobolectricTestCase {
 		assertThat(intent.title(), is((CharSequence) ""));
 	}
 
+	@Test public void testReset() {
+		// Arrange:
+		final ShareIntent intent = new ShareIntent();
+		intent.content("Sharing content.").uri(Uri.parse("content://android/data/images/lion.jpg"));
+		intent.uris(Uri.parse("content://android/data/images/lion.jpg")).mimeType(MimeType.IMAGE).title("Title");
+		// Act:
+		intent.reset();
+		// Assert:
+		assertThat(intent.content(), is((CharSequence) ""));
+		assertThat(intent.uri(), is(nullValue()));
+		assertThat(intent.uris(), is(Collections.<Uri>emptyList()));
+		assertThat(intent.mimeType(), is(MimeType.TEXT));
+		assertThat(intent.title(), is((CharSequence) ""));
+	}
+
 	@Test public void testContent() {
 		// Arrange:
 		final ShareIntent intent = new ShareIntent();
@@ -150,6 +165,18 @@ public final class ShareIntentTest extends RobolectricTestCase {
 		assertThat(uris.get(1), is(uriSecond));
 	}
 
+	@Test public void testBuildAfterChange() {
+		// Arrange:
+		final ShareIntent shareIntent = new ShareIntent();
+		shareIntent.content("Content");
+		shareIntent.build(context);
+		// Act:
+		shareIntent.content("Changed content");
+		// Assert:
+		final Intent intent = shareIntent.build(context);
+		assertThat(intent.getCharSequenceExtra(Intent.EXTRA_TEXT).toString(), is("Changed content"));
+	}
+
 	@Test public void testBuildWithoutContent() {
 		assertThatBuildThrowsExceptionWithMessage(
 				context,
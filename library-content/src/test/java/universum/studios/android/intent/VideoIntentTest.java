@@ -18,6 +18,7 @@
  */
 package universum.studios.android.intent;
 
+import android.app.Activity;
 import android.content.Intent;
 import android.net.Uri;
 import android.provider.MediaStore;
@@ -25,6 +26,7 @@ import android.provider.MediaStore;
 import org.junit.Test;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.util.Collections;
 import java.util.List;
 
@@ -97,6 +99,18 @@ public final class VideoIntentTest extends RobolectricTestCase {
 		assertThat(intent.dataType(), is(nullValue()));
 	}
 
+	@Test public void testReset() {
+		// Arrange:
+		final VideoIntent intent = new VideoIntent();
+		intent.withDefaultHandlers(context).input(Uri.parse("content://android/data/videos/lion.mp4"));
+		// Act:
+		intent.reset();
+		// Assert:
+		assertThat(intent.handlers(), is(Collections.EMPTY_LIST));
+		assertThat(intent.uri(), is(nullValue()));
+		assertThat(intent.dataType(), is(nullValue()));
+	}
+
 	@Test public void testWithDefaultHandlers() {
 		// Arrange:
 		final VideoIntent intent = new VideoIntent();
@@ -114,6 +128,51 @@ public final class VideoIntentTest extends RobolectricTestCase {
 		assertThat(cameraHandler.requestCode(), is(VideoIntent.REQUEST_CODE_CAMERA));
 	}
 
+	@Test public void testLimitsBeforeWithDefaultHandlers() {
+		// Arrange:
+		final VideoIntent intent = new VideoIntent();
+		intent.durationLimit(30).sizeLimit(10 * 1024 * 1024).quality(VideoIntent.QUALITY_LOW);
+		// Act:
+		intent.withDefaultHandlers(context);
+		// Assert:
+		final Intent cameraIntent = intent.handlers().get(1).intent();
+		assertThat(cameraIntent.getIntExtra(MediaStore.EXTRA_DURATION_LIMIT, 0), is(30));
+		assertThat(cameraIntent.getLongExtra(MediaStore.EXTRA_SIZE_LIMIT, 0), is(10 * 1024 * 1024L));
+		assertThat(cameraIntent.getIntExtra(MediaStore.EXTRA_VIDEO_QUALITY, -1), is(VideoIntent.QUALITY_LOW));
+	}
+
+	@Test public void testLimitsAfterWithDefaultHandlers() {
+		// Arrange:
+		final VideoIntent intent = new VideoIntent();
+		intent.withDefaultHandlers(context);
+		final Intent cameraIntent = intent.handlers().get(1).intent();
+		assertThat(cameraIntent.hasExtra(MediaStore.EXTRA_DURATION_LIMIT), is(false));
+		assertThat(cameraIntent.hasExtra(MediaStore.EXTRA_SIZE_LIMIT), is(false));
+		assertThat(cameraIntent.hasExtra(MediaStore.EXTRA_VIDEO_QUALITY), is(false));
+		// Act:
+		intent.durationLimit(15).sizeLimit(1024).quality(VideoIntent.QUALITY_HIGH);
+		// Assert:
+		assertThat(cameraIntent.getIntExtra(MediaStore.EXTRA_DURATION_LIMIT, 0), is(15));
+		assertThat(cameraIntent.getLongExtra(MediaStore.EXTRA_SIZE_LIMIT, 0), is(1024L));
+		assertThat(cameraIntent.getIntExtra(MediaStore.EXTRA_VIDEO_QUALITY, -1), is(VideoIntent.QUALITY_HIGH));
+		intent.durationLimit(0).sizeLimit(0).quality(VideoIntent.QUALITY_UNSPECIFIED);
+		assertThat(cameraIntent.hasExtra(MediaStore.EXTRA_DURATION_LIMIT), is(false));
+		assertThat(cameraIntent.hasExtra(MediaStore.EXTRA_SIZE_LIMIT), is(false));
+		assertThat(cameraIntent.hasExtra(MediaStore.EXTRA_VIDEO_QUALITY), is(false));
+	}
+
+	@Test public void testResetLimits() {
+		// Arrange:
+		final VideoIntent intent = new VideoIntent();
+		intent.durationLimit(30).sizeLimit(1024).quality(VideoIntent.QUALITY_LOW);
+		// Act:
+		intent.reset();
+		// Assert:
+		assertThat(intent.durationLimit(), is(0));
+		assertThat(intent.sizeLimit(), is(0L));
+		assertThat(intent.quality(), is(VideoIntent.QUALITY_UNSPECIFIED));
+	}
+
 	@Test public void testInput() {
 		// Arrange:
 		final VideoIntent intent = new VideoIntent();
@@ -172,4 +231,71 @@ public final class VideoIntentTest extends RobolectricTestCase {
 		// Assert:
 		assertThat(cameraIntent.<Uri>getParcelableExtra(MediaStore.EXTRA_OUTPUT), is(nullValue()));
 	}
-}
\ No newline at end of file
+
+	@Test public void testCopyResultIntentWithCanceledResult() {
+		// Act + Assert:
+		assertThat(VideoIntent.copyResultIntent(
+				VideoIntent.REQUEST_CODE_GALLERY,
+				Activity.RESULT_CANCELED,
+				new Intent().setData(Uri.parse("content://android/data/videos/lion.mp4")),
+				context,
+				new File("video-copy.mp4"),
+				null,
+				null
+		), is(nullValue()));
+	}
+
+	@Test public void testCopyResultIntentWithoutData() {
+		// Act + Assert:
+		assertThat(VideoIntent.copyResultIntent(
+				VideoIntent.REQUEST_CODE_GALLERY,
+				Activity.RESULT_OK,
+				new Intent(),
+				context,
+				new File("video-copy.mp4"),
+				null,
+				null
+		), is(nullValue()));
+	}
+
+	@Test public void testCopyResultIntentForCameraFromOutputUri() throws Exception {
+		// Arrange:
+		final File capturedFile = File.createTempFile("captured-video", ".mp4");
+		final File outputFile = File.createTempFile("video-copy", ".mp4");
+		final FileOutputStream stream = new FileOutputStream(capturedFile);
+		stream.write(new byte[]{1, 2, 3, 4});
+		stream.close();
+		try {
+			// Act:
+			final File copiedFile = VideoIntent.copyResultIntent(
+					VideoIntent.REQUEST_CODE_CAMERA,
+					Activity.RESULT_OK,
+					null,
+					context,
+					Uri.fromFile(capturedFile),
+					outputFile,
+					null,
+					null
+			);
+			// Assert:
+			assertThat(copiedFile, is(outputFile));
+			assertThat(outputFile.length(), is(4L));
+		} finally {
+			capturedFile.delete();
+			outputFile.delete();
+		}
+	}
+
+	@Test public void testCopyResultForCameraWithoutOutputUri() {
+		// Act + Assert:
+		assertThat(new VideoIntent().copyResult(
+				VideoIntent.REQUEST_CODE_CAMERA,
+				Activity.RESULT_OK,
+				null,
+				context,
+				new File("video-copy.mp4"),
+				null,
+				null
+		), is(nullValue()));
+	}
+}
@@ -0,0 +1,223 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import android.graphics.Bitmap;
+import android.net.Uri;
+
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.concurrent.Executor;
+
+import androidx.annotation.NonNull;
+import universum.studios.android.test.local.RobolectricTestCase;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+/**
+ * @author Martin Albedinsky
+ */
+public final class VideoThumbnailCacheTest extends RobolectricTestCase {
+
+	private static final Executor DIRECT_EXECUTOR = new Executor() {
+
+		@Override public void execute(@NonNull final Runnable command) {
+			command.run();
+		}
+	};
+
+	@Override public void afterTest() throws Exception {
+		super.afterTest();
+		BitmapDecoder.setExecutor(null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInstantiationWithInvalidDiskSize() {
+		// Act:
+		new VideoThumbnailCache(new File("thumbnails"), 0, 1024);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInstantiationWithInvalidMemorySize() {
+		// Act:
+		new VideoThumbnailCache(new File("thumbnails"), 1024, 0);
+	}
+
+	@Test public void testGetDefault() {
+		// Act + Assert:
+		assertThat(VideoThumbnailCache.getDefault(context), is(sameInstance(VideoThumbnailCache.getDefault(context))));
+	}
+
+	@Test public void testCreateKey() {
+		// Arrange:
+		final Uri uri = Uri.parse("content://android/data/videos/lion.mp4");
+		// Act:
+		final String key = VideoThumbnailCache.createKey(uri, 1000, 96);
+		// Assert:
+		assertThat(key.length(), is(40));
+		assertThat(key.matches("[0-9a-f]+"), is(true));
+		assertThat(VideoThumbnailCache.createKey(uri, 1000, 96), is(key));
+		assertThat(VideoThumbnailCache.createKey(uri, 2000, 96), is(not(key)));
+		assertThat(VideoThumbnailCache.createKey(uri, 1000, 0), is(not(key)));
+		assertThat(VideoThumbnailCache.createKey(uri, 1000, 1024), is(not(key)));
+	}
+
+	@Test public void testLoadSameVideoInDifferentSizes() throws Exception {
+		// Arrange:
+		BitmapDecoder.setExecutor(DIRECT_EXECUTOR);
+		final File directory = new File(context.getCacheDir(), "test-thumbnails");
+		final VideoThumbnailCache cache = new VideoThumbnailCache(directory, 1024 * 1024, 1024 * 1024);
+		final File videoFile = File.createTempFile("video", ".mp4");
+		final Uri uri = Uri.fromFile(videoFile);
+		try {
+			writeEntry(directory, VideoThumbnailCache.createKey(uri, videoFile.lastModified(), 96), 1000);
+			writeEntry(directory, VideoThumbnailCache.createKey(uri, videoFile.lastModified(), 1024), 2000);
+			final VideoThumbnailCache.Callback mockCallback = mock(VideoThumbnailCache.Callback.class);
+			// Act:
+			cache.load(context, uri, 96, mockCallback);
+			cache.load(context, uri, 1024, mockCallback);
+			cache.clear();
+			cache.load(context, uri, 96, mockCallback);
+			// Assert:
+			final InOrder inOrder = inOrder(mockCallback);
+			inOrder.verify(mockCallback).onThumbnailLoaded(eq(uri), any(Bitmap.class), eq(1000L));
+			inOrder.verify(mockCallback).onThumbnailLoaded(eq(uri), any(Bitmap.class), eq(2000L));
+			inOrder.verify(mockCallback).onThumbnailLoaded(uri, null, -1);
+		} finally {
+			cache.clear();
+			videoFile.delete();
+		}
+	}
+
+	@Test public void testCreateMemoryKey() {
+		// Arrange:
+		final Uri uri = Uri.parse("content://android/data/videos/lion.mp4");
+		// Act + Assert:
+		assertThat(VideoThumbnailCache.createMemoryKey(uri, 96), is(VideoThumbnailCache.createMemoryKey(uri, 96)));
+		assertThat(VideoThumbnailCache.createMemoryKey(uri, 96), is(not(VideoThumbnailCache.createMemoryKey(uri, 1024))));
+	}
+
+	@Test public void testLoadDeliversThumbnailCachedInMemoryWithoutExecutor() throws Exception {
+		// Arrange:
+		BitmapDecoder.setExecutor(DIRECT_EXECUTOR);
+		final File directory = new File(context.getCacheDir(), "test-thumbnails");
+		final VideoThumbnailCache cache = new VideoThumbnailCache(directory, 1024 * 1024, 1024 * 1024);
+		final File videoFile = File.createTempFile("video", ".mp4");
+		final Uri uri = Uri.fromFile(videoFile);
+		try {
+			writeEntry(directory, VideoThumbnailCache.createKey(uri, videoFile.lastModified(), 96), 1000);
+			cache.load(context, uri, 96, mock(VideoThumbnailCache.Callback.class));
+			BitmapDecoder.setExecutor(new Executor() {
+
+				@Override public void execute(@NonNull final Runnable command) {
+					// Validation is never started.
+				}
+			});
+			final VideoThumbnailCache.Callback mockCallback = mock(VideoThumbnailCache.Callback.class);
+			// Act:
+			cache.load(context, uri, 96, mockCallback);
+			// Assert:
+			verify(mockCallback).onThumbnailLoaded(eq(uri), any(Bitmap.class), eq(1000L));
+		} finally {
+			cache.clear();
+			videoFile.delete();
+		}
+	}
+
+	@Test public void testLoadInvalidatesThumbnailCachedInMemoryForModifiedVideo() throws Exception {
+		// Arrange:
+		BitmapDecoder.setExecutor(DIRECT_EXECUTOR);
+		final File directory = new File(context.getCacheDir(), "test-thumbnails");
+		final VideoThumbnailCache cache = new VideoThumbnailCache(directory, 1024 * 1024, 1024 * 1024);
+		final File videoFile = File.createTempFile("video", ".mp4");
+		final Uri uri = Uri.fromFile(videoFile);
+		try {
+			writeEntry(directory, VideoThumbnailCache.createKey(uri, videoFile.lastModified(), 96), 1000);
+			final VideoThumbnailCache.Callback mockCallback = mock(VideoThumbnailCache.Callback.class);
+			cache.load(context, uri, 96, mockCallback);
+			videoFile.setLastModified(videoFile.lastModified() + 10000);
+			// Act:
+			cache.load(context, uri, 96, mockCallback);
+			cache.load(context, uri, 96, mockCallback);
+			// Assert:
+			final InOrder inOrder = inOrder(mockCallback);
+			inOrder.verify(mockCallback, times(2)).onThumbnailLoaded(eq(uri), any(Bitmap.class), eq(1000L));
+			inOrder.verify(mockCallback).onThumbnailLoaded(uri, null, -1);
+		} finally {
+			cache.clear();
+			videoFile.delete();
+		}
+	}
+
+	@Test public void testLoadMissingVideo() {
+		// Arrange:
+		BitmapDecoder.setExecutor(DIRECT_EXECUTOR);
+		final File directory = new File(context.getCacheDir(), "test-thumbnails");
+		final VideoThumbnailCache cache = new VideoThumbnailCache(directory, 1024 * 1024, 1024 * 1024);
+		final Uri uri = Uri.fromFile(new File("missing-video.mp4"));
+		final VideoThumbnailCache.Callback mockCallback = mock(VideoThumbnailCache.Callback.class);
+		// Act:
+		final VideoThumbnailCache.Request request = cache.load(context, uri, 100, mockCallback);
+		// Assert:
+		verify(mockCallback).onThumbnailLoaded(uri, null, -1);
+		assertThat(request.isCancelled(), is(true));
+		assertThat(cache.diskSize(), is(0L));
+	}
+
+	@Test public void testLoadCancelled() {
+		// Arrange:
+		final VideoThumbnailCache cache = new VideoThumbnailCache(new File(context.getCacheDir(), "test-thumbnails"), 1024, 1024);
+		final VideoThumbnailCache.Callback mockCallback = mock(VideoThumbnailCache.Callback.class);
+		BitmapDecoder.setExecutor(new Executor() {
+
+			@Override public void execute(@NonNull final Runnable command) {
+				// Loading is never started.
+			}
+		});
+		// Act:
+		cache.load(context, Uri.fromFile(new File("missing-video.mp4")), 0, mockCallback).cancel();
+		// Assert:
+		verifyZeroInteractions(mockCallback);
+	}
+
+	private static void writeEntry(final File directory, final String key, final long durationMillis) throws Exception {
+		directory.mkdirs();
+		final DataOutputStream stream = new DataOutputStream(new FileOutputStream(new File(directory, key + ".thumb")));
+		try {
+			stream.writeLong(durationMillis);
+			Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888).compress(Bitmap.CompressFormat.JPEG, 85, stream);
+		} finally {
+			stream.close();
+		}
+	}
+}
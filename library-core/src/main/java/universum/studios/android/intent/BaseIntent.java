@@ -21,8 +21,13 @@ package universum.studios.android.intent;
 import android.app.Activity;
 import android.content.Context;
 import android.content.Intent;
+import android.os.AsyncTask;
+import android.os.Handler;
+import android.os.Looper;
 import android.widget.Toast;
 
+import java.util.concurrent.Executor;
+
 import androidx.annotation.AnimRes;
 import androidx.annotation.CheckResult;
 import androidx.annotation.NonNull;
@@ -57,6 +62,25 @@ import androidx.annotation.Nullable;
  * and {@link #exitTransition(int)}. These transitions will be used whenever {@link #onStartWith(IntentStarter, Intent)}
  * is called using the intent starter's {@link IntentStarter#overridePendingTransition(int, int)}.
  *
+ * <h3>Asynchronous start</h3>
+ * Building of an intent and resolution of activity that can handle it may be performed on a background
+ * thread via {@link #startWithAsync(IntentStarter, StartCallback)}. Only the final start of the built
+ * intent is then performed on the main thread.
+ *
+ * <h3>Templates</h3>
+ * Intent builders that are always configured in the same way may be compiled via {@link #compile(Context)}
+ * into an {@link IntentTemplate} which holds already validated and built intent, so its subsequent
+ * starts do not need to validate and build the intent again.
+ *
+ * <h3>Metrics</h3>
+ * Durations of building, activity resolution and start of intents along with outcomes of start
+ * requests may be observed via {@link IntentMetrics} specified via {@link #setMetrics(IntentMetrics)}.
+ *
+ * <h3>Recycling</h3>
+ * All data of an intent builder may be reset to their default values via {@link #reset()}, so the
+ * same builder instance may be reused for another intent. Instances of builders that are frequently
+ * created, like in adapters of list views, may be pooled via {@link IntentRecycler}.
+ *
  * @author Martin Albedinsky
  * @since 1.0
  *
@@ -73,14 +97,68 @@ public abstract class BaseIntent<I extends BaseIntent> {
 	 */
 	// private static final String TAG = "BaseIntent";
 
+	/**
+	 * Default title text for the activity chooser dialog.
+	 */
+	private static final String DEFAULT_DIALOG_TITLE = "Choose";
+
+	/**
+	 * Default message text for the toast shown when there is no activity to process requested intent.
+	 */
+	private static final String DEFAULT_ACTIVITY_NOT_FOUND_MESSAGE = "No application found to handle this action";
+
 	/*
 	 * Interface ===================================================================================
 	 */
 
+	/**
+	 * Callback that may be used to receive result of start request initiated via
+	 * {@link #startWithAsync(IntentStarter, StartCallback)}. All callback methods are invoked on the
+	 * main thread.
+	 *
+	 * @author Martin Albedinsky
+	 * @since 1.3
+	 */
+	public interface StartCallback {
+
+		/**
+		 * Invoked after the intent has been built and started via the requested starter or after
+		 * there has been no activity found to handle it.
+		 *
+		 * @param intent  The intent builder of which intent has been requested to be started.
+		 * @param started {@code True} if the intent has been started, {@code false} if there is
+		 *                no activity available that could handle the intent.
+		 */
+		void onIntentStarted(@NonNull BaseIntent intent, boolean started);
+
+		/**
+		 * Invoked whenever building of the intent has failed.
+		 *
+		 * @param intent The intent builder of which intent has been requested to be started.
+		 * @param error  The error thrown during the build process.
+		 */
+		void onIntentStartFailed(@NonNull BaseIntent intent, @NonNull RuntimeException error);
+	}
+
 	/*
 	 * Static members ==============================================================================
 	 */
 
+	/**
+	 * Executor used to build intents and resolve their activities for asynchronous start requests.
+	 */
+	private static volatile Executor asyncExecutor;
+
+	/**
+	 * Handler used to post results of asynchronous start requests to the main thread.
+	 */
+	private static Handler mainHandler;
+
+	/**
+	 * Metrics notified about durations and outcomes of all start requests.
+	 */
+	private static volatile IntentMetrics metrics = IntentMetrics.NONE;
+
 	/*
 	 * Members =====================================================================================
 	 */
@@ -88,12 +166,12 @@ public abstract class BaseIntent<I extends BaseIntent> {
 	/**
 	 * Title text for the activity chooser dialog.
 	 */
-	CharSequence dialogTitle = "Choose";
+	CharSequence dialogTitle = DEFAULT_DIALOG_TITLE;
 
 	/**
 	 * Message text for the toast, in case, when there is no activity to process requested intent.
 	 */
-	private CharSequence activityNotFoundMessage = "No application found to handle this action";
+	private CharSequence activityNotFoundMessage = DEFAULT_ACTIVITY_NOT_FOUND_MESSAGE;
 
 	/**
 	 * WWindow enter transition resource id.
@@ -110,6 +188,15 @@ public abstract class BaseIntent<I extends BaseIntent> {
 	 */
 	private boolean applyTransitions;
 
+	/**
+	 * Copy of the intent built during the last call to {@link #build(Context)}. Valid only until
+	 * data of this builder are changed.
+	 *
+	 * @see #isBuiltIntentCacheable()
+	 * @see #invalidateBuiltIntent()
+	 */
+	private Intent builtIntent;
+
 	/*
 	 * Constructors ================================================================================
 	 */
@@ -243,6 +330,28 @@ public abstract class BaseIntent<I extends BaseIntent> {
 		return (I) this;
 	}
 
+	/**
+	 * Resets all data of this intent builder to their default values, so this builder may be reused
+	 * to build another intent as if it has been just created.
+	 * <p>
+	 * Inheritance hierarchies that specify their own data should override this method, reset those
+	 * data to their default values and call the super implementation.
+	 *
+	 * @return This intent builder to allow methods chaining.
+	 *
+	 * @see IntentRecycler#recycle(BaseIntent)
+	 */
+	@SuppressWarnings("unchecked")
+	public I reset() {
+		this.dialogTitle = DEFAULT_DIALOG_TITLE;
+		this.activityNotFoundMessage = DEFAULT_ACTIVITY_NOT_FOUND_MESSAGE;
+		this.enterTransition = 0;
+		this.exitTransition = 0;
+		this.applyTransitions = false;
+		invalidateBuiltIntent();
+		return (I) this;
+	}
+
 	/**
 	 * Starts na intent specific for this intent builder created via {@link #build(Context)} using
 	 * the given intent <var>starter</var>.
@@ -253,12 +362,212 @@ public abstract class BaseIntent<I extends BaseIntent> {
 	 */
 	public boolean startWith(@NonNull final IntentStarter starter) {
 		final Context context = starter.getContext();
-		final Intent intent = build(context);
-		if (isActivityForIntentAvailable(context, intent)) {
-			return onStartWith(starter, intent);
+		final Intent intent;
+		final boolean activityAvailable;
+		final long buildStartTime = System.nanoTime();
+		long buildNanos = 0;
+		final long resolveNanos;
+		try {
+			intent = build(context);
+			final long resolveStartTime = System.nanoTime();
+			buildNanos = resolveStartTime - buildStartTime;
+			activityAvailable = isActivityForIntentAvailable(context, intent);
+			resolveNanos = System.nanoTime() - resolveStartTime;
+		} catch (final RuntimeException error) {
+			notifyStartFailed(buildStartTime, buildNanos);
+			throw error;
 		}
-		notifyActivityNotFound(context);
-		return false;
+		return startResolvedIntent(starter, intent, activityAvailable, buildNanos, resolveNanos);
+	}
+
+	/**
+	 * Reports start request that has failed while building the intent or resolving its activity to
+	 * the current metrics.
+	 *
+	 * @param buildStartTime Time in nanoseconds when the build of the intent has been started.
+	 * @param buildNanos     Duration of the intent's build in nanoseconds or {@code 0} if the build
+	 *                       itself has failed.
+	 */
+	private void notifyStartFailed(final long buildStartTime, final long buildNanos) {
+		metrics.onIntentStartMeasured(
+				getClass(),
+				IntentMetrics.OUTCOME_FAILED,
+				buildNanos == 0 ? System.nanoTime() - buildStartTime : buildNanos,
+				0,
+				0
+		);
+	}
+
+	/**
+	 * Starts the given <var>intent</var> that has been already built and for which has been resolved
+	 * whether there is an activity available to handle it and reports the whole start request to
+	 * the current metrics.
+	 *
+	 * @param starter           The starter with which to start the intent.
+	 * @param intent            The intent built by this intent builder.
+	 * @param activityAvailable {@code True} if there is activity available for the intent, {@code false}
+	 *                          otherwise.
+	 * @param buildNanos        Duration of the intent's build in nanoseconds.
+	 * @param resolveNanos      Duration of the intent's activity resolution in nanoseconds.
+	 * @return {@code True} if the intent has been successfully started, {@code false} otherwise.
+	 *
+	 * @see #setMetrics(IntentMetrics)
+	 */
+	final boolean startResolvedIntent(
+			@NonNull final IntentStarter starter,
+			@NonNull final Intent intent,
+			final boolean activityAvailable,
+			final long buildNanos,
+			final long resolveNanos
+	) {
+		final IntentMetrics metrics = BaseIntent.metrics;
+		final Class<? extends BaseIntent> intentType = getClass();
+		if (!activityAvailable) {
+			notifyActivityNotFound(starter.getContext());
+			metrics.onIntentStartMeasured(intentType, IntentMetrics.OUTCOME_ACTIVITY_NOT_FOUND, buildNanos, resolveNanos, 0);
+			return false;
+		}
+		final long startTime = System.nanoTime();
+		final boolean started;
+		try {
+			started = onStartWith(starter, intent);
+		} catch (final RuntimeException error) {
+			metrics.onIntentStartMeasured(intentType, IntentMetrics.OUTCOME_FAILED, buildNanos, resolveNanos, System.nanoTime() - startTime);
+			throw error;
+		}
+		metrics.onIntentStartMeasured(
+				intentType,
+				started ? IntentMetrics.OUTCOME_STARTED : IntentMetrics.OUTCOME_NOT_STARTED,
+				buildNanos,
+				resolveNanos,
+				System.nanoTime() - startTime
+		);
+		return started;
+	}
+
+	/**
+	 * Same as {@link #startWith(IntentStarter)} but the intent is built and its activity resolved
+	 * on a background thread (see {@link #setAsyncExecutor(Executor)}). Only the final start of the
+	 * built intent is performed on the main thread.
+	 * <p>
+	 * <b>Note</b>, that this intent builder should not be modified until the start request is
+	 * finished and the specified callback notified.
+	 *
+	 * @param starter  The desired starter to be used to start the intent. See {@link IntentStarters}
+	 *                 for default available starters.
+	 * @param callback Callback to be notified on the main thread about the result of the start
+	 *                 request. May be {@code null}, in which case any error thrown while building
+	 *                 the intent will be re-thrown on the main thread.
+	 */
+	public void startWithAsync(@NonNull final IntentStarter starter, @Nullable final StartCallback callback) {
+		final Context context = starter.getContext();
+		obtainAsyncExecutor().execute(new Runnable() {
+
+			/**
+			 */
+			@Override public void run() {
+				final Intent intent;
+				final boolean activityAvailable;
+				final long buildStartTime = System.nanoTime();
+				long buildNanos = 0;
+				final long resolveNanos;
+				try {
+					intent = build(context);
+					final long resolveStartTime = System.nanoTime();
+					buildNanos = resolveStartTime - buildStartTime;
+					activityAvailable = isActivityForIntentAvailable(context, intent);
+					resolveNanos = System.nanoTime() - resolveStartTime;
+				} catch (final RuntimeException error) {
+					notifyStartFailed(buildStartTime, buildNanos);
+					postToMainThread(new Runnable() {
+
+						/**
+						 */
+						@Override public void run() {
+							if (callback == null) {
+								throw error;
+							}
+							callback.onIntentStartFailed(BaseIntent.this, error);
+						}
+					});
+					return;
+				}
+				final long measuredBuildNanos = buildNanos;
+				postToMainThread(new Runnable() {
+
+					/**
+					 */
+					@Override public void run() {
+						final boolean started = startResolvedIntent(starter, intent, activityAvailable, measuredBuildNanos, resolveNanos);
+						if (callback != null) {
+							callback.onIntentStarted(BaseIntent.this, started);
+						}
+					}
+				});
+			}
+		});
+	}
+
+	/**
+	 * Specifies an executor to be used to build intents and resolve their activities for start
+	 * requests initiated via {@link #startWithAsync(IntentStarter, StartCallback)}. The executor
+	 * may be also used by other asynchronous operations of intent builders which need to perform
+	 * disk I/O off the main thread.
+	 * <p>
+	 * Default value: <b>{@link AsyncTask#THREAD_POOL_EXECUTOR}</b>
+	 *
+	 * @param executor The desired executor. May be {@code null} to use the default one.
+	 */
+	public static void setAsyncExecutor(@Nullable final Executor executor) {
+		asyncExecutor = executor;
+	}
+
+	/**
+	 * Specifies metrics to be notified about durations of the particular phases and about outcomes
+	 * of all start requests initiated via {@link #startWith(IntentStarter)}, {@link #startWithAsync(IntentStarter, StartCallback)}
+	 * and {@link IntentTemplate#startWith(IntentStarter)}.
+	 * <p>
+	 * Default value: <b>{@link IntentMetrics#NONE}</b>
+	 *
+	 * @param metrics The desired metrics. May be {@code null} to use the default ones.
+	 *
+	 * @see HistogramIntentMetrics
+	 */
+	public static void setMetrics(@Nullable final IntentMetrics metrics) {
+		BaseIntent.metrics = metrics == null ? IntentMetrics.NONE : metrics;
+	}
+
+	/**
+	 * Returns the executor to be used for asynchronous start requests.
+	 *
+	 * @return The executor specified via {@link #setAsyncExecutor(Executor)} or the default one.
+	 */
+	@NonNull static Executor obtainAsyncExecutor() {
+		final Executor executor = asyncExecutor;
+		return executor == null ? AsyncTask.THREAD_POOL_EXECUTOR : executor;
+	}
+
+	/**
+	 * Returns the metrics to be notified about start requests.
+	 *
+	 * @return The metrics specified via {@link #setMetrics(IntentMetrics)} or {@link IntentMetrics#NONE}.
+	 */
+	@NonNull static IntentMetrics obtainMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Posts the specified <var>runnable</var> to be executed on the main thread.
+	 *
+	 * @param runnable The runnable to be posted.
+	 */
+	static void postToMainThread(@NonNull final Runnable runnable) {
+		synchronized (BaseIntent.class) {
+			if (mainHandler == null) {
+				mainHandler = new Handler(Looper.getMainLooper());
+			}
+		}
+		mainHandler.post(runnable);
 	}
 
 	/**
@@ -270,8 +579,68 @@ public abstract class BaseIntent<I extends BaseIntent> {
 	 *                                  requested intent.
 	 */
 	@NonNull public Intent build(@NonNull final Context context) {
+		final Intent cachedIntent = builtIntent;
+		if (cachedIntent != null) {
+			return new Intent(cachedIntent);
+		}
 		ensureCanBuildOrThrow();
-		return onBuild(context);
+		final Intent intent = onBuild(context);
+		if (isBuiltIntentCacheable()) {
+			this.builtIntent = new Intent(intent);
+		}
+		return intent;
+	}
+
+	/**
+	 * Returns a boolean flag indicating whether the intent built via {@link #build(Context)} may be
+	 * cached and its copy returned by subsequent calls to {@link #build(Context)} until data of this
+	 * builder are changed.
+	 * <p>
+	 * Builders that return {@code true} from this method must call {@link #invalidateBuiltIntent()}
+	 * whenever any data that are used to build their intent change. Inheritance hierarchies that add
+	 * such data must do the same from their own setters, or return {@code false} from this method.
+	 * For this reason, public non-final builders of this library enable caching only for their exact
+	 * type, so their existing subclasses which build intents also from their own data need to opt
+	 * in explicitly.
+	 * <p>
+	 * This implementation returns {@code false}.
+	 *
+	 * @return {@code True} if the built intent may be cached, {@code false} otherwise.
+	 */
+	protected boolean isBuiltIntentCacheable() {
+		return false;
+	}
+
+	/**
+	 * Invalidates the intent cached during the last call to {@link #build(Context)}, if any, so the
+	 * next call to {@link #build(Context)} will build a new intent from the current data.
+	 * <p>
+	 * This should be called from all setters that change data used to build intent of this builder.
+	 *
+	 * @see #isBuiltIntentCacheable()
+	 */
+	protected final void invalidateBuiltIntent() {
+		this.builtIntent = null;
+	}
+
+	/**
+	 * Compiles this intent builder into an immutable {@link IntentTemplate} that holds the intent
+	 * built from the current data of this builder. Starting of the template only clones the cached
+	 * intent, skipping {@link #ensureCanBuildOrThrow()} and {@link #onBuild(Context)} entirely.
+	 * <p>
+	 * Configuration related to start of the intent, like request code or transitions, is captured
+	 * by the template as well, so neither subsequent changes of this builder's data nor its
+	 * {@link #reset()} will be reflected in the compiled template.
+	 *
+	 * @param context Context used to build the intent.
+	 * @return Template with the intent built from the current data of this builder.
+	 * @throws IllegalArgumentException If this builder does not have all required data to build the
+	 *                                  requested intent.
+	 *
+	 * @see #build(Context)
+	 */
+	@NonNull public IntentTemplate compile(@NonNull final Context context) {
+		return IntentTemplate.compile(this, context);
 	}
 
 	/**
@@ -297,6 +666,9 @@ public abstract class BaseIntent<I extends BaseIntent> {
 	/**
 	 * Checks whether there is any activity that can handle the specified <var>intent</var> available
 	 * on the current Android device.
+	 * <p>
+	 * Results of these checks are cached by {@link IntentResolver}, so only the first check for
+	 * intents with the same filter relevant parts performs a blocking call to the package manager.
 	 *
 	 * @param context Context used to obtain package manager.
 	 * @param intent  The intent for which to resolve activity.
@@ -305,7 +677,7 @@ public abstract class BaseIntent<I extends BaseIntent> {
 	 * could handle that intent.
 	 */
 	@CheckResult public static boolean isActivityForIntentAvailable(@NonNull final Context context, @NonNull final Intent intent) {
-		return intent.resolveActivity(context.getPackageManager()) != null;
+		return IntentResolver.isActivityAvailable(context, intent);
 	}
 
 	/**
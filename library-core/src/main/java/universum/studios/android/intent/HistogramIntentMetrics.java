@@ -0,0 +1,270 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import androidx.annotation.FloatRange;
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+
+/**
+ * An {@link IntentMetrics} implementation which records durations of all measured phases into
+ * histograms with buckets of power of two nanoseconds, along with counts of the particular outcomes.
+ * Recording is lock-free and does not allocate any memory, so this implementation may be used in
+ * production. The current state of the histograms may be obtained via {@link #dump()}.
+ *
+ * <h3>Usage</h3>
+ * <pre>
+ * final HistogramIntentMetrics metrics = new HistogramIntentMetrics();
+ * BaseIntent.setMetrics(metrics);
+ * // ... later
+ * Log.d(TAG, metrics.dump());
+ * </pre>
+ *
+ * @author Martin Albedinsky
+ * @since 1.3
+ */
+public final class HistogramIntentMetrics implements IntentMetrics {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "HistogramIntentMetrics";
+
+	/**
+	 * Count of phases for which are recorded histograms.
+	 */
+	private static final int PHASES_COUNT = 3;
+
+	/**
+	 * Count of outcomes for which are recorded counts.
+	 */
+	private static final int OUTCOMES_COUNT = 4;
+
+	/**
+	 * Count of buckets in histogram of a single phase. Bucket at index {@code i} holds count of
+	 * durations within range {@code [2^(i-1), 2^i)} nanoseconds, where bucket at index {@code 0}
+	 * holds count of zero durations.
+	 */
+	static final int BUCKETS_COUNT = 64;
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Counts of recorded durations within buckets of all phases. Histogram of a specific phase starts
+	 * at index {@code phase * BUCKETS_COUNT}.
+	 */
+	private final AtomicLongArray buckets = new AtomicLongArray(PHASES_COUNT * BUCKETS_COUNT);
+
+	/**
+	 * Sums of recorded durations of all phases.
+	 */
+	private final AtomicLongArray totalNanos = new AtomicLongArray(PHASES_COUNT);
+
+	/**
+	 * Counts of the recorded outcomes.
+	 */
+	private final AtomicLongArray outcomes = new AtomicLongArray(OUTCOMES_COUNT);
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 */
+	@Override public void onIntentStartMeasured(
+			@NonNull final Class<? extends BaseIntent> intentType,
+			@Outcome final int outcome,
+			final long buildNanos,
+			final long resolveNanos,
+			final long startNanos
+	) {
+		outcomes.incrementAndGet(outcome);
+		record(PHASE_BUILD, buildNanos);
+		record(PHASE_RESOLVE, resolveNanos);
+		record(PHASE_START, startNanos);
+	}
+
+	/**
+	 * Records the given <var>nanos</var> duration into histogram of the specified <var>phase</var>.
+	 *
+	 * @param phase The phase for which to record the duration.
+	 * @param nanos The measured duration in nanoseconds.
+	 */
+	private void record(final int phase, final long nanos) {
+		final long duration = nanos < 0 ? 0 : nanos;
+		buckets.incrementAndGet(phase * BUCKETS_COUNT + bucketIndex(duration));
+		totalNanos.addAndGet(phase, duration);
+	}
+
+	/**
+	 * Returns index of the histogram bucket for the specified <var>nanos</var> duration.
+	 *
+	 * @param nanos The duration for which to resolve the bucket index.
+	 * @return Bucket index from the range {@code [0, BUCKETS_COUNT)}.
+	 */
+	static int bucketIndex(final long nanos) {
+		return Math.min(BUCKETS_COUNT - 1, 64 - Long.numberOfLeadingZeros(nanos));
+	}
+
+	/**
+	 * Returns the count of the recorded start requests with the specified <var>outcome</var>.
+	 *
+	 * @param outcome The desired outcome.
+	 * @return Count of start requests.
+	 */
+	@IntRange(from = 0) public long outcomeCount(@Outcome final int outcome) {
+		return outcomes.get(outcome);
+	}
+
+	/**
+	 * Returns the count of durations recorded for the specified <var>phase</var>.
+	 *
+	 * @param phase The desired phase.
+	 * @return Count of recorded durations.
+	 */
+	@IntRange(from = 0) public long count(@Phase final int phase) {
+		long count = 0;
+		final int offset = phase * BUCKETS_COUNT;
+		for (int i = 0; i < BUCKETS_COUNT; i++) {
+			count += buckets.get(offset + i);
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the mean of durations recorded for the specified <var>phase</var>.
+	 *
+	 * @param phase The desired phase.
+	 * @return Mean duration in nanoseconds or {@code 0} if there have been no durations recorded.
+	 */
+	@IntRange(from = 0) public long meanNanos(@Phase final int phase) {
+		final long count = count(phase);
+		return count == 0 ? 0 : totalNanos.get(phase) / count;
+	}
+
+	/**
+	 * Returns an estimation of the specified <var>percentile</var> of durations recorded for the
+	 * specified <var>phase</var>. As the durations are recorded into buckets of power of two
+	 * nanoseconds, the returned value is upper bound of the bucket in which the percentile lies.
+	 *
+	 * @param phase      The desired phase.
+	 * @param percentile The desired percentile from the range {@code [0, 1]}.
+	 * @return Percentile duration in nanoseconds or {@code 0} if there have been no durations recorded.
+	 */
+	@IntRange(from = 0) public long percentileNanos(@Phase final int phase, @FloatRange(from = 0, to = 1) final double percentile) {
+		final long count = count(phase);
+		if (count == 0) {
+			return 0;
+		}
+		final long threshold = Math.max(1, (long) Math.ceil(count * percentile));
+		final int offset = phase * BUCKETS_COUNT;
+		long cumulativeCount = 0;
+		for (int i = 0; i < BUCKETS_COUNT; i++) {
+			cumulativeCount += buckets.get(offset + i);
+			if (cumulativeCount >= threshold) {
+				return bucketUpperBound(i);
+			}
+		}
+		return Long.MAX_VALUE;
+	}
+
+	/**
+	 * Returns the exclusive upper bound of the histogram bucket at the specified <var>index</var>.
+	 *
+	 * @param index Index of the desired bucket.
+	 * @return Upper bound in nanoseconds.
+	 */
+	private static long bucketUpperBound(final int index) {
+		return index >= BUCKETS_COUNT - 1 ? Long.MAX_VALUE : 1L << index;
+	}
+
+	/**
+	 * Clears all the recorded durations and outcomes.
+	 */
+	public void reset() {
+		for (int i = 0; i < buckets.length(); i++) {
+			buckets.set(i, 0);
+		}
+		for (int i = 0; i < totalNanos.length(); i++) {
+			totalNanos.set(i, 0);
+		}
+		for (int i = 0; i < outcomes.length(); i++) {
+			outcomes.set(i, 0);
+		}
+	}
+
+	/**
+	 * Dumps the current state of these metrics into a human readable text.
+	 *
+	 * @return Text with the recorded outcomes and summary of durations for each phase.
+	 */
+	@NonNull public String dump() {
+		final StringBuilder builder = new StringBuilder(256);
+		builder.append("IntentMetrics{");
+		builder.append("started: ").append(outcomeCount(OUTCOME_STARTED));
+		builder.append(", notStarted: ").append(outcomeCount(OUTCOME_NOT_STARTED));
+		builder.append(", activityNotFound: ").append(outcomeCount(OUTCOME_ACTIVITY_NOT_FOUND));
+		builder.append(", failed: ").append(outcomeCount(OUTCOME_FAILED));
+		dumpPhase(builder, "build", PHASE_BUILD);
+		dumpPhase(builder, "resolve", PHASE_RESOLVE);
+		dumpPhase(builder, "start", PHASE_START);
+		return builder.append("}").toString();
+	}
+
+	/**
+	 * Dumps summary of durations recorded for the specified <var>phase</var> into the given <var>builder</var>.
+	 *
+	 * @param builder The builder into which to append the summary.
+	 * @param name    Name of the phase.
+	 * @param phase   The phase of which summary to dump.
+	 */
+	private void dumpPhase(final StringBuilder builder, final String name, final int phase) {
+		builder.append(", ").append(name).append(": {");
+		builder.append("count: ").append(count(phase));
+		builder.append(", meanNanos: ").append(meanNanos(phase));
+		builder.append(", p50Nanos: ").append(percentileNanos(phase, 0.5));
+		builder.append(", p90Nanos: ").append(percentileNanos(phase, 0.9));
+		builder.append(", p99Nanos: ").append(percentileNanos(phase, 0.99));
+		builder.append("}");
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+}
@@ -0,0 +1,138 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+import androidx.annotation.IntDef;
+import androidx.annotation.NonNull;
+
+/**
+ * Interface that may be used to observe how long the particular phases of starting of intents built
+ * by {@link BaseIntent} builders take. Metrics may be specified via {@link BaseIntent#setMetrics(IntentMetrics)}
+ * and are notified about each start request initiated via {@link BaseIntent#startWith(IntentStarter)},
+ * {@link BaseIntent#startWithAsync(IntentStarter, BaseIntent.StartCallback)} or {@link IntentTemplate#startWith(IntentStarter)}.
+ * <p>
+ * Each start request is measured in three phases:
+ * <ul>
+ * <li>{@link #PHASE_BUILD}: building of the intent via {@link BaseIntent#build(android.content.Context)},</li>
+ * <li>{@link #PHASE_RESOLVE}: resolution of activity for the intent via {@link BaseIntent#isActivityForIntentAvailable(android.content.Context, android.content.Intent)},</li>
+ * <li>{@link #PHASE_START}: start of the intent via the requested {@link IntentStarter}.</li>
+ * </ul>
+ * <p>
+ * <b>Note</b>, that implementations may be notified from multiple threads and should not perform
+ * any expensive work, as they are invoked on the path of each start request.
+ *
+ * @author Martin Albedinsky
+ * @since 1.3
+ *
+ * @see HistogramIntentMetrics
+ */
+public interface IntentMetrics {
+
+	/**
+	 * Phase during which is an intent built by its builder.
+	 */
+	int PHASE_BUILD = 0;
+
+	/**
+	 * Phase during which is resolved activity that can handle an intent.
+	 */
+	int PHASE_RESOLVE = 1;
+
+	/**
+	 * Phase during which is an intent started via intent starter.
+	 */
+	int PHASE_START = 2;
+
+	/**
+	 * Defines an annotation for determining set of allowed phases for {@link IntentMetrics}.
+	 */
+	@Retention(RetentionPolicy.SOURCE)
+	@IntDef({PHASE_BUILD, PHASE_RESOLVE, PHASE_START})
+	@interface Phase {}
+
+	/**
+	 * Outcome indicating that an intent has been successfully started.
+	 */
+	int OUTCOME_STARTED = 0;
+
+	/**
+	 * Outcome indicating that an intent builder has refused to start its intent.
+	 */
+	int OUTCOME_NOT_STARTED = 1;
+
+	/**
+	 * Outcome indicating that there has been no activity found to handle an intent.
+	 */
+	int OUTCOME_ACTIVITY_NOT_FOUND = 2;
+
+	/**
+	 * Outcome indicating that an exception has been thrown while building, resolving or starting
+	 * an intent.
+	 */
+	int OUTCOME_FAILED = 3;
+
+	/**
+	 * Defines an annotation for determining set of allowed outcomes for {@link IntentMetrics}.
+	 */
+	@Retention(RetentionPolicy.SOURCE)
+	@IntDef({OUTCOME_STARTED, OUTCOME_NOT_STARTED, OUTCOME_ACTIVITY_NOT_FOUND, OUTCOME_FAILED})
+	@interface Outcome {}
+
+	/**
+	 * Default metrics implementation which ignores all measurements.
+	 */
+	IntentMetrics NONE = new IntentMetrics() {
+
+		/**
+		 */
+		@Override public void onIntentStartMeasured(
+				@NonNull final Class<? extends BaseIntent> intentType,
+				@Outcome final int outcome,
+				final long buildNanos,
+				final long resolveNanos,
+				final long startNanos
+		) {
+			// Measurements are ignored.
+		}
+	};
+
+	/**
+	 * Invoked whenever a start request for intent built by a builder of the specified <var>intentType</var>
+	 * has been finished.
+	 * <p>
+	 * Phases that have not been reached, for example due to exception thrown in a previous phase,
+	 * are reported with duration of {@code 0}.
+	 *
+	 * @param intentType   Type of the intent builder of which intent has been requested to be started.
+	 * @param outcome      Outcome of the start request.
+	 * @param buildNanos   Duration of the {@link #PHASE_BUILD} phase in nanoseconds.
+	 * @param resolveNanos Duration of the {@link #PHASE_RESOLVE} phase in nanoseconds.
+	 * @param startNanos   Duration of the {@link #PHASE_START} phase in nanoseconds.
+	 */
+	void onIntentStartMeasured(
+			@NonNull Class<? extends BaseIntent> intentType,
+			@Outcome int outcome,
+			long buildNanos,
+			long resolveNanos,
+			long startNanos
+	);
+}
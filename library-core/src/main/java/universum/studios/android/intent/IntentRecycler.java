@@ -0,0 +1,211 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+
+/**
+ * An IntentRecycler represents a bounded pool of {@link BaseIntent} builders of a specific type.
+ * New or pooled builder may be obtained via {@link #obtain()} and when it is no longer needed, it
+ * may be returned back into the pool via {@link #recycle(BaseIntent)}, where its data are reset to
+ * their default values via {@link BaseIntent#reset()}. This allows reuse of intent builders on hot
+ * paths, like binding of list items, without allocation of a new builder each time.
+ * <p>
+ * Obtaining and recycling of builders is thread safe, however a single builder instance should not
+ * be used after it has been recycled.
+ *
+ * <h3>Usage</h3>
+ * <pre>
+ * private static final IntentRecycler&lt;DialerIntent&gt; DIALER_INTENTS = new IntentRecycler&lt;&gt;(
+ *         5,
+ *         new IntentRecycler.Factory&lt;DialerIntent&gt;() {
+ *
+ *             &#64;Override &#64;NonNull public DialerIntent createIntent() {
+ *                 return new DialerIntent();
+ *             }
+ *         }
+ * );
+ *
+ * final DialerIntent intent = DIALER_INTENTS.obtain().phoneNumber(number);
+ * intent.startWith(IntentStarters.activityStarter(activity));
+ * DIALER_INTENTS.recycle(intent);
+ * </pre>
+ *
+ * @author Martin Albedinsky
+ * @since 1.3
+ *
+ * @param <I> Type of the intent builders pooled by the recycler.
+ */
+public final class IntentRecycler<I extends BaseIntent> {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "IntentRecycler";
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Factory used by {@link IntentRecycler} to create new intent builders whenever its pool is empty.
+	 *
+	 * @author Martin Albedinsky
+	 * @since 1.3
+	 *
+	 * @param <I> Type of the intent builders created by the factory.
+	 */
+	public interface Factory<I extends BaseIntent> {
+
+		/**
+		 * Creates a new instance of intent builder.
+		 *
+		 * @return New intent builder with default data.
+		 */
+		@NonNull I createIntent();
+	}
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Lock used to synchronize operations upon the pool.
+	 */
+	private final Object lock = new Object();
+
+	/**
+	 * Factory used to create new builders whenever there are no pooled ones.
+	 */
+	private final Factory<I> factory;
+
+	/**
+	 * Array holding the currently pooled builders.
+	 */
+	private final Object[] pool;
+
+	/**
+	 * Count of the builders currently held in the pool.
+	 */
+	private int poolSize;
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of IntentRecycler with the specified <var>maxPoolSize</var> and
+	 * <var>factory</var>.
+	 *
+	 * @param maxPoolSize Maximum count of builders that may be held in the pool. Builders recycled
+	 *                    while the pool is full are simply dropped.
+	 * @param factory     Factory used to create new builders whenever the pool is empty.
+	 * @throws IllegalArgumentException If the specified pool size is not positive.
+	 */
+	public IntentRecycler(@IntRange(from = 1) final int maxPoolSize, @NonNull final Factory<I> factory) {
+		if (maxPoolSize <= 0) {
+			throw new IllegalArgumentException("Max pool size must be greater than 0.");
+		}
+		this.pool = new Object[maxPoolSize];
+		this.factory = factory;
+	}
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Returns an intent builder from the pool, or a new one created by the factory, if the pool is
+	 * currently empty.
+	 *
+	 * @return Intent builder with default data.
+	 *
+	 * @see #recycle(BaseIntent)
+	 */
+	@SuppressWarnings("unchecked")
+	@NonNull public I obtain() {
+		synchronized (lock) {
+			if (poolSize > 0) {
+				final int index = --poolSize;
+				final I intent = (I) pool[index];
+				pool[index] = null;
+				return intent;
+			}
+		}
+		return factory.createIntent();
+	}
+
+	/**
+	 * Resets data of the given intent builder via {@link BaseIntent#reset()} and returns it back into
+	 * the pool, if it is not full yet and the builder is not already pooled.
+	 * <p>
+	 * <b>Note</b>, that the recycled builder should not be used by the caller anymore.
+	 *
+	 * @param intent The intent builder to be recycled.
+	 *
+	 * @see #obtain()
+	 */
+	public void recycle(@NonNull final I intent) {
+		intent.reset();
+		synchronized (lock) {
+			for (int i = 0; i < poolSize; i++) {
+				if (pool[i] == intent) return;
+			}
+			if (poolSize < pool.length) {
+				pool[poolSize++] = intent;
+			}
+		}
+	}
+
+	/**
+	 * Returns the count of intent builders that are currently held in the pool of this recycler.
+	 *
+	 * @return Count of pooled builders.
+	 */
+	@IntRange(from = 0) public int size() {
+		synchronized (lock) {
+			return poolSize;
+		}
+	}
+
+	/**
+	 * Clears the pool of this recycler, dropping all pooled intent builders.
+	 */
+	public void clear() {
+		synchronized (lock) {
+			for (int i = 0; i < poolSize; i++) {
+				pool[i] = null;
+			}
+			this.poolSize = 0;
+		}
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+}
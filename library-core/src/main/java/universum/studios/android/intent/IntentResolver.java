@@ -0,0 +1,549 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import android.content.BroadcastReceiver;
+import android.content.ComponentName;
+import android.content.ContentResolver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.content.pm.PackageManager;
+import android.content.pm.ResolveInfo;
+import android.net.Uri;
+import android.util.LruCache;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import androidx.annotation.CheckResult;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+/**
+ * Resolver that may be used to check whether there is an activity available that can handle a
+ * specific {@link Intent}.
+ * <p>
+ * Results of resolution requests are stored in a process-wide cache keyed by the parts of an intent
+ * that are relevant for intent filters matching, that is <b>action, data scheme + host, MIME type,
+ * categories, package and component</b>, so repeated checks for similar intents do not need to
+ * perform a blocking call to the {@link android.content.pm.PackageManager PackageManager}. The
+ * cache is cleared whenever a package is added, removed, replaced or changed on the device.
+ * <p>
+ * Availability for a whole collection of intent builders may be checked at once via
+ * {@link #areActivitiesAvailable(Context, Collection)}.
+ *
+ * @author Martin Albedinsky
+ * @since 1.3
+ *
+ * @see BaseIntent#isActivityForIntentAvailable(Context, Intent)
+ */
+public final class IntentResolver {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	private static final String TAG = "IntentResolver";
+
+	/**
+	 * Maximum count of resolution results that may be stored in the cache.
+	 */
+	private static final int CACHE_MAX_SIZE = 64;
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Cache with results of already performed resolution requests.
+	 */
+	private static final LruCache<ResolutionKey, Boolean> CACHE = new LruCache<>(CACHE_MAX_SIZE);
+
+	/**
+	 * Generation of the {@link #CACHE} incremented whenever the cache is cleared, so results resolved
+	 * before the cache has been cleared are not stored into it afterwards.
+	 * <p>
+	 * Guarded by the {@link #CACHE} instance.
+	 */
+	private static int cacheGeneration;
+
+	/**
+	 * Lock used to synchronize registration of {@link #PACKAGES_RECEIVER}.
+	 */
+	private static final Object RECEIVER_LOCK = new Object();
+
+	/**
+	 * Receiver used to clear the cache whenever the set of installed packages changes.
+	 */
+	private static final BroadcastReceiver PACKAGES_RECEIVER = new BroadcastReceiver() {
+
+		/**
+		 */
+		@Override public void onReceive(@NonNull final Context context, @NonNull final Intent intent) {
+			clearCache();
+		}
+	};
+
+	/**
+	 * Application context with which is the {@link #PACKAGES_RECEIVER} registered.
+	 */
+	private static Context receiverContext;
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 */
+	private IntentResolver() {
+		// Not allowed to be instantiated publicly.
+		throw new UnsupportedOperationException();
+	}
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Checks whether there is any activity that can handle the specified <var>intent</var> available
+	 * on the current Android device.
+	 * <p>
+	 * If there is already a cached result for an intent with the same filter relevant parts, that
+	 * result is returned without querying the package manager.
+	 *
+	 * @param context Context used to obtain package manager.
+	 * @param intent  The intent for which to resolve activity.
+	 * @return {@code True} if activity for the intent has been resolved/found, {@code false} otherwise.
+	 *
+	 * @see #clearCache()
+	 */
+	@CheckResult public static boolean isActivityAvailable(@NonNull final Context context, @NonNull final Intent intent) {
+		if (!isCacheable(intent)) {
+			return resolveActivity(context, intent);
+		}
+		ensureReceiverRegistered(context);
+		final ResolutionKey key = new ResolutionKey(intent);
+		final int generation = obtainCacheGeneration();
+		final Boolean cached = CACHE.get(key);
+		if (cached != null) {
+			return cached;
+		}
+		final boolean available = resolveActivity(context, intent);
+		cacheResult(key, available, generation);
+		return available;
+	}
+
+	/**
+	 * Checks whether there are activities available for intents of all the specified intent builders.
+	 * <p>
+	 * Intents of the given builders are grouped by their filter relevant parts (see class description),
+	 * so each group is resolved at most once, and not at all for groups of which results are already
+	 * cached. The package manager is queried only once for all intents with the same action and data
+	 * scheme, which are then matched against the intent filters of the queried activities locally.
+	 * Only intents that are limited to a specific package or component, or that do not match any of
+	 * the queried filters, require a query of their own. Intents that cannot be built due to missing
+	 * data are reported as unavailable.
+	 *
+	 * @param context Context used to build the intents and to obtain package manager.
+	 * @param intents The intent builders for which to check activities availability.
+	 * @return Bit set where a bit at index of a particular intent builder within the iteration order
+	 * of the given collection is set if there is an activity available for its intent.
+	 *
+	 * @see #isActivityAvailable(Context, Intent)
+	 */
+	@CheckResult @NonNull public static BitSet areActivitiesAvailable(@NonNull final Context context, @NonNull final Collection<? extends BaseIntent> intents) {
+		final BitSet availability = new BitSet(intents.size());
+		if (intents.isEmpty()) {
+			return availability;
+		}
+		ensureReceiverRegistered(context);
+		final PackageManager packageManager = context.getPackageManager();
+		final Map<ResolutionKey, Boolean> groups = new HashMap<>();
+		final Map<String, List<ResolveInfo>> candidates = new HashMap<>();
+		final int generation = obtainCacheGeneration();
+		int index = 0;
+		for (final BaseIntent builder : intents) {
+			final Intent intent = buildIntentOrNull(context, builder);
+			if (intent != null && isActivityAvailableInGroups(packageManager, intent, groups, candidates, generation)) {
+				availability.set(index);
+			}
+			index++;
+		}
+		return availability;
+	}
+
+	/**
+	 * Checks whether there is an activity available for the specified <var>intent</var> using the
+	 * given <var>groups</var> map with results already resolved for other intents of a batch request.
+	 *
+	 * @param packageManager Package manager used to query activities for a not yet resolved group.
+	 * @param intent         The intent for which to resolve activity.
+	 * @param groups         Map with results of already resolved groups.
+	 * @param candidates     Map with activities already queried for action and data scheme pairs.
+	 * @param generation     Generation of the cache obtained before the batch request has started.
+	 * @return {@code True} if there is an activity available, {@code false} otherwise.
+	 */
+	private static boolean isActivityAvailableInGroups(
+			final PackageManager packageManager,
+			final Intent intent,
+			final Map<ResolutionKey, Boolean> groups,
+			final Map<String, List<ResolveInfo>> candidates,
+			final int generation
+	) {
+		if (!isCacheable(intent)) {
+			return queryActivities(packageManager, intent);
+		}
+		final ResolutionKey key = new ResolutionKey(intent);
+		Boolean available = groups.get(key);
+		if (available == null) {
+			available = CACHE.get(key);
+			if (available == null) {
+				available = resolveActivityInBatch(packageManager, intent, candidates);
+				cacheResult(key, available, generation);
+			}
+			groups.put(key, available);
+		}
+		return available;
+	}
+
+	/**
+	 * Resolves whether there is an activity available for the specified <var>intent</var> using
+	 * activities already queried for other intents with the same action and data scheme.
+	 * <p>
+	 * The first intent with a particular action and data scheme is queried with its resolved filters
+	 * and these are then used to match all the following intents with the same action and scheme
+	 * locally. An intent that does not match any of the filters is still queried on its own, as there
+	 * may be activities with filters that did not match the first intent, like filters for a specific
+	 * MIME type.
+	 *
+	 * @param packageManager Package manager used to query activities.
+	 * @param intent         The intent for which to resolve activity.
+	 * @param candidates     Map with activities already queried for action and data scheme pairs.
+	 * @return {@code True} if there is an activity available, {@code false} otherwise.
+	 */
+	private static boolean resolveActivityInBatch(final PackageManager packageManager, final Intent intent, final Map<String, List<ResolveInfo>> candidates) {
+		if (intent.getComponent() != null || intent.getPackage() != null) {
+			return queryActivities(packageManager, intent);
+		}
+		final String candidatesKey = intent.getAction() + "#" + intent.getScheme();
+		final List<ResolveInfo> activities = candidates.get(candidatesKey);
+		if (activities == null) {
+			final List<ResolveInfo> queriedActivities = packageManager.queryIntentActivities(
+					intent,
+					PackageManager.MATCH_DEFAULT_ONLY | PackageManager.GET_RESOLVED_FILTER
+			);
+			candidates.put(candidatesKey, queriedActivities);
+			return !queriedActivities.isEmpty();
+		}
+		return matchesAnyFilter(intent, activities) || queryActivities(packageManager, intent);
+	}
+
+	/**
+	 * Checks whether the specified <var>intent</var> matches a filter of any of the given activities.
+	 *
+	 * @param intent     The intent to match.
+	 * @param activities Activities queried with their resolved filters.
+	 * @return {@code True} if the intent matches at least one filter, {@code false} otherwise.
+	 */
+	private static boolean matchesAnyFilter(final Intent intent, final List<ResolveInfo> activities) {
+		for (final ResolveInfo activity : activities) {
+			final IntentFilter filter = activity.filter;
+			if (filter != null && filter.match(
+					intent.getAction(),
+					intent.getType(),
+					intent.getScheme(),
+					intent.getData(),
+					intent.getCategories(),
+					TAG
+			) >= 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Queries activities that can handle the specified <var>intent</var>.
+	 *
+	 * @param packageManager Package manager used to perform the query.
+	 * @param intent         The intent for which to query activities.
+	 * @return {@code True} if there is at least one activity that can handle the intent.
+	 */
+	private static boolean queryActivities(final PackageManager packageManager, final Intent intent) {
+		return !packageManager.queryIntentActivities(intent, PackageManager.MATCH_DEFAULT_ONLY).isEmpty();
+	}
+
+	/**
+	 * Builds intent of the specified intent <var>builder</var>.
+	 *
+	 * @param context Context used to build the intent.
+	 * @param builder The builder of which intent to build.
+	 * @return Built intent or {@code null} if the builder cannot build its intent.
+	 */
+	private static Intent buildIntentOrNull(final Context context, final BaseIntent builder) {
+		try {
+			return builder.build(context);
+		} catch (IllegalArgumentException | IllegalStateException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Performs resolution of activity for the specified <var>intent</var> via package manager.
+	 *
+	 * @param context Context used to obtain package manager.
+	 * @param intent  The intent for which to resolve activity.
+	 * @return {@code True} if activity has been resolved, {@code false} otherwise.
+	 */
+	private static boolean resolveActivity(final Context context, final Intent intent) {
+		return intent.resolveActivity(context.getPackageManager()) != null;
+	}
+
+	/**
+	 * Checks whether a resolution result for the specified <var>intent</var> may be cached.
+	 * <p>
+	 * Intents pointing to a content without explicitly specified MIME type cannot be cached as
+	 * the type is resolved by the content provider for each particular content.
+	 *
+	 * @param intent The intent to check.
+	 * @return {@code True} if the intent's resolution may be cached, {@code false} otherwise.
+	 */
+	private static boolean isCacheable(final Intent intent) {
+		return intent.getType() != null || !ContentResolver.SCHEME_CONTENT.equals(intent.getScheme());
+	}
+
+	/**
+	 * Returns the current generation of the resolution cache.
+	 *
+	 * @return Generation that should be passed to {@link #cacheResult(ResolutionKey, boolean, int)}.
+	 */
+	private static int obtainCacheGeneration() {
+		synchronized (CACHE) {
+			return cacheGeneration;
+		}
+	}
+
+	/**
+	 * Stores the specified resolution result into the cache, but only if the cache has not been
+	 * cleared since the specified <var>generation</var> has been obtained.
+	 *
+	 * @param key        Key for which to store the result.
+	 * @param available  The resolved result.
+	 * @param generation Generation of the cache obtained before the result has been resolved.
+	 */
+	private static void cacheResult(final ResolutionKey key, final boolean available, final int generation) {
+		synchronized (CACHE) {
+			if (generation == cacheGeneration) {
+				CACHE.put(key, available);
+			}
+		}
+	}
+
+	/**
+	 * Registers receiver that clears the cache whenever a package is added, removed or changed.
+	 * <p>
+	 * The receiver is registered only once for the whole process with the application context.
+	 *
+	 * @param context Context used to access application context with which to register the receiver.
+	 */
+	private static void ensureReceiverRegistered(final Context context) {
+		synchronized (RECEIVER_LOCK) {
+			if (receiverContext != null) {
+				return;
+			}
+			final Context applicationContext = context.getApplicationContext();
+			if (applicationContext == null) {
+				return;
+			}
+			final IntentFilter filter = new IntentFilter();
+			filter.addAction(Intent.ACTION_PACKAGE_ADDED);
+			filter.addAction(Intent.ACTION_PACKAGE_REMOVED);
+			filter.addAction(Intent.ACTION_PACKAGE_REPLACED);
+			filter.addAction(Intent.ACTION_PACKAGE_CHANGED);
+			filter.addDataScheme("package");
+			applicationContext.registerReceiver(PACKAGES_RECEIVER, filter);
+			// Any results cached before registration may be already outdated.
+			clearCache();
+			receiverContext = applicationContext;
+		}
+	}
+
+	/**
+	 * Unregisters the receiver registered via {@link #ensureReceiverRegistered(Context)}, if any,
+	 * so it is registered anew for the next resolution request.
+	 */
+	@VisibleForTesting static void unregisterReceiver() {
+		synchronized (RECEIVER_LOCK) {
+			if (receiverContext != null) {
+				receiverContext.unregisterReceiver(PACKAGES_RECEIVER);
+				receiverContext = null;
+			}
+		}
+	}
+
+	/**
+	 * Clears all cached resolution results.
+	 * <p>
+	 * This is performed automatically whenever a package is added, removed or changed, so there
+	 * should be no need to call this method directly.
+	 */
+	public static void clearCache() {
+		synchronized (CACHE) {
+			cacheGeneration++;
+			CACHE.evictAll();
+		}
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+
+	/**
+	 * Key for the resolution cache composed of parts of an intent that are relevant for matching
+	 * of intent filters.
+	 */
+	static final class ResolutionKey {
+
+		/**
+		 * Action of the intent.
+		 */
+		private final String action;
+
+		/**
+		 * Scheme of the intent's data.
+		 */
+		private final String scheme;
+
+		/**
+		 * Host of the intent's data.
+		 */
+		private final String host;
+
+		/**
+		 * MIME type of the intent.
+		 */
+		private final String type;
+
+		/**
+		 * Categories of the intent.
+		 */
+		private final Set<String> categories;
+
+		/**
+		 * Package to which is the intent limited.
+		 */
+		private final String packageName;
+
+		/**
+		 * Component of the intent.
+		 */
+		private final ComponentName component;
+
+		/**
+		 * Pre-computed hash code of this key.
+		 */
+		private final int hashCode;
+
+		/**
+		 * Creates a new ResolutionKey for the specified <var>intent</var>.
+		 *
+		 * @param intent The intent for which to create the new key.
+		 */
+		ResolutionKey(@NonNull final Intent intent) {
+			final Uri data = intent.getData();
+			final Set<String> intentCategories = intent.getCategories();
+			this.action = intent.getAction();
+			this.scheme = data == null ? null : data.getScheme();
+			this.host = data == null ? null : data.getHost();
+			this.type = intent.getType();
+			this.categories = intentCategories == null || intentCategories.isEmpty() ? null : new HashSet<>(intentCategories);
+			this.packageName = intent.getPackage();
+			this.component = intent.getComponent();
+			int hash = hashCodeOf(action);
+			hash = 31 * hash + hashCodeOf(scheme);
+			hash = 31 * hash + hashCodeOf(host);
+			hash = 31 * hash + hashCodeOf(type);
+			hash = 31 * hash + hashCodeOf(categories);
+			hash = 31 * hash + hashCodeOf(packageName);
+			hash = 31 * hash + hashCodeOf(component);
+			this.hashCode = hash;
+		}
+
+		/**
+		 * Returns hash code of the specified <var>object</var>.
+		 *
+		 * @param object The object of which hash code to return. May be {@code null}.
+		 * @return Object's hash code or {@code 0} if the object is {@code null}.
+		 */
+		private static int hashCodeOf(final Object object) {
+			return object == null ? 0 : object.hashCode();
+		}
+
+		/**
+		 * Checks whether the specified objects are equal.
+		 *
+		 * @param first  The first object to check. May be {@code null}.
+		 * @param second The second object to check. May be {@code null}.
+		 * @return {@code True} if both objects are {@code null} or equal, {@code false} otherwise.
+		 */
+		private static boolean equalsOf(final Object first, final Object second) {
+			return first == null ? second == null : first.equals(second);
+		}
+
+		/**
+		 */
+		@Override public int hashCode() {
+			return hashCode;
+		}
+
+		/**
+		 */
+		@Override public boolean equals(@Nullable final Object other) {
+			if (other == this) return true;
+			if (!(other instanceof ResolutionKey)) return false;
+			final ResolutionKey key = (ResolutionKey) other;
+			return hashCode == key.hashCode &&
+					equalsOf(action, key.action) &&
+					equalsOf(scheme, key.scheme) &&
+					equalsOf(host, key.host) &&
+					equalsOf(type, key.type) &&
+					equalsOf(categories, key.categories) &&
+					equalsOf(packageName, key.packageName) &&
+					equalsOf(component, key.component);
+		}
+	}
+}
@@ -0,0 +1,365 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import android.content.Context;
+import android.content.Intent;
+import android.os.Bundle;
+import android.widget.Toast;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import androidx.annotation.AnimRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * An IntentTemplate represents an immutable, already validated and built intent of a specific
+ * {@link BaseIntent} builder. Templates may be created via {@link BaseIntent#compile(Context)} and
+ * are suitable for intents that are configured always in the same way, as each start of a template
+ * only clones its cached intent instead of validating the builder's data and building a new intent.
+ * <p>
+ * The template does not keep reference to its intent builder. All calls that the builder performs
+ * upon the intent starter within {@link BaseIntent#onStartWith(IntentStarter, Intent)}, like start
+ * for result with a specific request code or override of window transitions, are captured when the
+ * template is compiled and then only replayed for each start of the template, so the builder may
+ * be freely changed, reset or recycled after the template has been compiled.
+ *
+ * @author Martin Albedinsky
+ * @since 1.3
+ *
+ * @see BaseIntent#compile(Context)
+ */
+public final class IntentTemplate {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "IntentTemplate";
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Type of the intent builder from which has been this template compiled.
+	 */
+	private final Class<? extends BaseIntent> intentType;
+
+	/**
+	 * Intent built by the builder at the time of compilation.
+	 */
+	private final Intent intent;
+
+	/**
+	 * Calls performed by the builder upon intent starter at the time of compilation.
+	 */
+	private final List<StarterCall> starterCalls;
+
+	/**
+	 * Result returned by the builder from its {@link BaseIntent#onStartWith(IntentStarter, Intent)}
+	 * at the time of compilation.
+	 */
+	private final boolean startResult;
+
+	/**
+	 * Message text for the toast shown when there is no activity to handle the intent.
+	 */
+	private final CharSequence activityNotFoundMessage;
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of IntentTemplate with the specified parameters.
+	 *
+	 * @param intentType              Type of the builder from which has been the template compiled.
+	 * @param intent                  The intent built by the builder. The template takes ownership
+	 *                                of this instance.
+	 * @param starterCalls            Calls performed by the builder upon intent starter.
+	 * @param startResult             Result of the builder's start.
+	 * @param activityNotFoundMessage Message for the toast shown when there is no activity available.
+	 */
+	private IntentTemplate(
+			@NonNull final Class<? extends BaseIntent> intentType,
+			@NonNull final Intent intent,
+			@NonNull final List<StarterCall> starterCalls,
+			final boolean startResult,
+			@NonNull final CharSequence activityNotFoundMessage
+	) {
+		this.intentType = intentType;
+		this.intent = intent;
+		this.starterCalls = starterCalls;
+		this.startResult = startResult;
+		this.activityNotFoundMessage = activityNotFoundMessage;
+	}
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Compiles the specified <var>builder</var> into a new template. The builder's intent is built
+	 * and its start is captured via a recording intent starter, so the returned template does not
+	 * depend on the builder's state anymore.
+	 *
+	 * @param builder The builder to be compiled.
+	 * @param context Context used to build the intent.
+	 * @return Template with the intent and start configuration of the builder.
+	 * @throws IllegalArgumentException If the builder does not have all required data to build its
+	 *                                  intent.
+	 */
+	@NonNull static IntentTemplate compile(@NonNull final BaseIntent builder, @NonNull final Context context) {
+		final Intent intent = new Intent(builder.build(context));
+		final RecordingStarter recorder = new RecordingStarter(context);
+		final boolean startResult = builder.onStartWith(recorder, new Intent(intent));
+		return new IntentTemplate(
+				builder.getClass(),
+				intent,
+				recorder.calls,
+				startResult,
+				builder.activityNotFoundMessage().toString()
+		);
+	}
+
+	/**
+	 * Returns a copy of the intent cached by this template.
+	 *
+	 * @return New intent with the same data as the one built when this template was compiled.
+	 */
+	@NonNull public Intent intent() {
+		return new Intent(intent);
+	}
+
+	/**
+	 * Starts a copy of the intent cached by this template using the given intent <var>starter</var>.
+	 * <p>
+	 * Unlike {@link BaseIntent#startWith(IntentStarter)} this does not validate data of the intent
+	 * builder nor builds a new intent, so the build phase is reported to {@link IntentMetrics} with
+	 * duration of {@code 0}. If there is no activity available for the intent, a toast with the
+	 * builder's {@link BaseIntent#activityNotFoundMessage()} captured at compile time is shown.
+	 *
+	 * @param starter The desired starter to be used to start the intent. See {@link IntentStarters}
+	 *                for default available starters.
+	 * @return {@code True} if the intent has been successfully started, {@code false} otherwise.
+	 */
+	public boolean startWith(@NonNull final IntentStarter starter) {
+		final IntentMetrics metrics = BaseIntent.obtainMetrics();
+		final Context context = starter.getContext();
+		final long resolveStartTime = System.nanoTime();
+		final boolean activityAvailable = BaseIntent.isActivityForIntentAvailable(context, intent);
+		final long resolveNanos = System.nanoTime() - resolveStartTime;
+		if (!activityAvailable) {
+			if (activityNotFoundMessage.length() > 0) {
+				Toast.makeText(context, activityNotFoundMessage, Toast.LENGTH_LONG).show();
+			}
+			metrics.onIntentStartMeasured(intentType, IntentMetrics.OUTCOME_ACTIVITY_NOT_FOUND, 0, resolveNanos, 0);
+			return false;
+		}
+		final long startTime = System.nanoTime();
+		try {
+			for (final StarterCall call : starterCalls) {
+				call.replay(starter);
+			}
+		} catch (final RuntimeException error) {
+			metrics.onIntentStartMeasured(intentType, IntentMetrics.OUTCOME_FAILED, 0, resolveNanos, System.nanoTime() - startTime);
+			throw error;
+		}
+		metrics.onIntentStartMeasured(
+				intentType,
+				startResult ? IntentMetrics.OUTCOME_STARTED : IntentMetrics.OUTCOME_NOT_STARTED,
+				0,
+				resolveNanos,
+				System.nanoTime() - startTime
+		);
+		return startResult;
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+
+	/**
+	 * A single call performed upon {@link IntentStarter} that may be replayed upon another starter.
+	 * Intents and options are copied for each replay, so the recorded instances are never shared.
+	 */
+	private static final class StarterCall {
+
+		/**
+		 * Type of the call to {@link IntentStarter#startIntent(Intent)}.
+		 */
+		static final int START = 0;
+
+		/**
+		 * Type of the call to {@link IntentStarter#startIntent(Intent, Bundle)}.
+		 */
+		static final int START_WITH_OPTIONS = 1;
+
+		/**
+		 * Type of the call to {@link IntentStarter#startIntentForResult(Intent, int)}.
+		 */
+		static final int START_FOR_RESULT = 2;
+
+		/**
+		 * Type of the call to {@link IntentStarter#startIntentForResult(Intent, int, Bundle)}.
+		 */
+		static final int START_FOR_RESULT_WITH_OPTIONS = 3;
+
+		/**
+		 * Type of the call to {@link IntentStarter#overridePendingTransition(int, int)}.
+		 */
+		static final int OVERRIDE_TRANSITION = 4;
+
+		/**
+		 * Type of this call.
+		 */
+		final int type;
+
+		/**
+		 * Intent passed to the call, if any.
+		 */
+		final Intent intent;
+
+		/**
+		 * Request code or enter transition passed to the call.
+		 */
+		final int firstArg;
+
+		/**
+		 * Exit transition passed to the call.
+		 */
+		final int secondArg;
+
+		/**
+		 * Options passed to the call, if any.
+		 */
+		final Bundle options;
+
+		/**
+		 * Creates a new instance of StarterCall with the specified parameters.
+		 */
+		StarterCall(final int type, @Nullable final Intent intent, final int firstArg, final int secondArg, @Nullable final Bundle options) {
+			this.type = type;
+			this.intent = intent == null ? null : new Intent(intent);
+			this.firstArg = firstArg;
+			this.secondArg = secondArg;
+			this.options = options == null ? null : new Bundle(options);
+		}
+
+		/**
+		 * Performs this call upon the given <var>starter</var>.
+		 *
+		 * @param starter The starter upon which to perform this call.
+		 */
+		void replay(@NonNull final IntentStarter starter) {
+			switch (type) {
+				case START:
+					starter.startIntent(new Intent(intent));
+					break;
+				case START_WITH_OPTIONS:
+					starter.startIntent(new Intent(intent), options == null ? null : new Bundle(options));
+					break;
+				case START_FOR_RESULT:
+					starter.startIntentForResult(new Intent(intent), firstArg);
+					break;
+				case START_FOR_RESULT_WITH_OPTIONS:
+					starter.startIntentForResult(new Intent(intent), firstArg, options == null ? null : new Bundle(options));
+					break;
+				case OVERRIDE_TRANSITION:
+					starter.overridePendingTransition(firstArg, secondArg);
+					break;
+			}
+		}
+	}
+
+	/**
+	 * An {@link IntentStarter} implementation which only records all calls performed upon it.
+	 */
+	private static final class RecordingStarter implements IntentStarter {
+
+		/**
+		 * Context provided via {@link #getContext()}.
+		 */
+		private final Context context;
+
+		/**
+		 * List of the recorded calls.
+		 */
+		final List<StarterCall> calls = new ArrayList<>(2);
+
+		/**
+		 * Creates a new instance of RecordingStarter with the specified <var>context</var>.
+		 *
+		 * @param context The context to be provided by the starter.
+		 */
+		RecordingStarter(@NonNull final Context context) {
+			this.context = context;
+		}
+
+		/**
+		 */
+		@Override @NonNull public Context getContext() {
+			return context;
+		}
+
+		/**
+		 */
+		@Override public void startIntent(@NonNull final Intent intent) {
+			calls.add(new StarterCall(StarterCall.START, intent, 0, 0, null));
+		}
+
+		/**
+		 */
+		@Override public void startIntent(@NonNull final Intent intent, @Nullable final Bundle options) {
+			calls.add(new StarterCall(StarterCall.START_WITH_OPTIONS, intent, 0, 0, options));
+		}
+
+		/**
+		 */
+		@Override public void startIntentForResult(@NonNull final Intent intent, final int requestCode) {
+			calls.add(new StarterCall(StarterCall.START_FOR_RESULT, intent, requestCode, 0, null));
+		}
+
+		/**
+		 */
+		@Override public void startIntentForResult(@NonNull final Intent intent, final int requestCode, @Nullable final Bundle options) {
+			calls.add(new StarterCall(StarterCall.START_FOR_RESULT_WITH_OPTIONS, intent, requestCode, 0, options));
+		}
+
+		/**
+		 */
+		@Override public void overridePendingTransition(@AnimRes final int enterAnimRes, @AnimRes final int exitAnimRes) {
+			calls.add(new StarterCall(StarterCall.OVERRIDE_TRANSITION, null, enterAnimRes, exitAnimRes, null));
+		}
+	}
+}
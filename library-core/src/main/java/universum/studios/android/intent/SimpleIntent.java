@@ -124,6 +124,7 @@ public class SimpleIntent extends BaseIntent<SimpleIntent> {
 	public SimpleIntent activityClass(@NonNull final Class<? extends Activity> activityClass) {
 		this.activityClass = activityClass;
 		this.type = TYPE_ACTIVITY;
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -153,6 +154,7 @@ public class SimpleIntent extends BaseIntent<SimpleIntent> {
 	public SimpleIntent action(@NonNull final String action) {
 		this.action = action;
 		this.type = TYPE_ACTION;
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -179,6 +181,7 @@ public class SimpleIntent extends BaseIntent<SimpleIntent> {
 	 */
 	public SimpleIntent flags(@IntRange(from = 0, to = Integer.MAX_VALUE) final int flags) {
 		this.flags = flags;
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -193,6 +196,7 @@ public class SimpleIntent extends BaseIntent<SimpleIntent> {
 	 */
 	public SimpleIntent flag(@IntRange(from = 1, to = Integer.MAX_VALUE) final int flag) {
 		this.flags |= flag;
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -235,6 +239,25 @@ public class SimpleIntent extends BaseIntent<SimpleIntent> {
 		return requestCode;
 	}
 
+	/**
+	 */
+	@Override public SimpleIntent reset() {
+		super.reset();
+		this.type = 0;
+		this.action = null;
+		this.activityClass = null;
+		this.flags = 0;
+		this.requestCode = -1;
+		this.forResult = false;
+		return this;
+	}
+
+	/**
+	 */
+	@Override protected boolean isBuiltIntentCacheable() {
+		return getClass() == SimpleIntent.class;
+	}
+
 	/**
 	 */
 	@Override protected void ensureCanBuildOrThrow() {
@@ -22,27 +22,58 @@ import android.app.Activity;
 import android.content.Context;
 import android.content.Intent;
 
+import android.content.pm.ActivityInfo;
+import android.content.pm.ApplicationInfo;
+import android.content.pm.ResolveInfo;
+
 import org.junit.Test;
 import org.robolectric.Robolectric;
 
+import java.util.concurrent.Executor;
+
 import androidx.annotation.NonNull;
 import universum.studios.android.test.local.RobolectricTestCase;
 import universum.studios.android.test.local.TestActivity;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
+import static org.robolectric.Shadows.shadowOf;
 
 /**
  * @author Martin Albedinsky
  */
 public final class BaseIntentTest extends RobolectricTestCase {
 
+	private static final Executor DIRECT_EXECUTOR = new Executor() {
+
+		@Override public void execute(@NonNull final Runnable command) {
+			command.run();
+		}
+	};
+
+	@Override public void beforeTest() throws Exception {
+		super.beforeTest();
+		IntentResolver.clearCache();
+	}
+
+	@Override public void afterTest() throws Exception {
+		super.afterTest();
+		BaseIntent.setAsyncExecutor(null);
+		BaseIntent.setMetrics(null);
+		IntentResolver.clearCache();
+	}
+
 	@Test public void testInstantiation() {
 		// Act:
 		final BaseIntent intent = new IntentImpl();
@@ -53,6 +84,25 @@ public final class BaseIntentTest extends RobolectricTestCase {
 		assertThat(intent.activityNotFoundMessage(), is((CharSequence) "No application found to handle this action"));
 	}
 
+	@Test public void testReset() {
+		// Arrange:
+		final CountingIntent intent = new CountingIntent();
+		intent.cacheable = true;
+		intent.dialogTitle("Choose provider");
+		intent.activityNotFoundMessage("No activity found");
+		intent.transitions(android.R.anim.fade_in, android.R.anim.fade_out);
+		intent.build(context);
+		// Act:
+		intent.reset();
+		// Assert:
+		assertThat(intent.dialogTitle(), is((CharSequence) "Choose"));
+		assertThat(intent.activityNotFoundMessage(), is((CharSequence) "No application found to handle this action"));
+		assertThat(intent.enterTransition(), is(0));
+		assertThat(intent.exitTransition(), is(0));
+		intent.build(context);
+		assertThat(intent.buildCount, is(2));
+	}
+
 	@Test public void testDialogTitle() {
 		// Arrange:
 		final BaseIntent intent = new IntentImpl();
@@ -206,6 +256,206 @@ public final class BaseIntentTest extends RobolectricTestCase {
 		verify(mockStarter).overridePendingTransition(baseIntent.enterTransition(), baseIntent.exitTransition());
 	}
 
+	@Test public void testBuild() {
+		// Arrange:
+		final CountingIntent baseIntent = new CountingIntent();
+		// Act:
+		final Intent intent = baseIntent.build(context);
+		// Assert:
+		assertThat(intent.getAction(), is("ACTION.Test"));
+		assertThat(baseIntent.buildCount, is(1));
+	}
+
+	@Test public void testBuildRepeatedlyWithCacheableIntent() {
+		// Arrange:
+		final CountingIntent baseIntent = new CountingIntent();
+		baseIntent.cacheable = true;
+		final Intent firstIntent = baseIntent.build(context);
+		// Act:
+		final Intent secondIntent = baseIntent.build(context);
+		// Assert:
+		assertThat(baseIntent.buildCount, is(1));
+		assertThat(secondIntent, is(not(sameInstance(firstIntent))));
+		assertThat(secondIntent.filterEquals(firstIntent), is(true));
+	}
+
+	@Test public void testBuildRepeatedlyWithNotCacheableIntent() {
+		// Arrange:
+		final CountingIntent baseIntent = new CountingIntent();
+		baseIntent.build(context);
+		// Act:
+		baseIntent.build(context);
+		// Assert:
+		assertThat(baseIntent.buildCount, is(2));
+	}
+
+	@Test public void testInvalidateBuiltIntent() {
+		// Arrange:
+		final CountingIntent baseIntent = new CountingIntent();
+		baseIntent.cacheable = true;
+		baseIntent.build(context);
+		// Act:
+		baseIntent.invalidateBuiltIntent();
+		// Assert:
+		baseIntent.build(context);
+		assertThat(baseIntent.buildCount, is(2));
+	}
+
+	@Test public void testStartWithAsync() {
+		// Arrange:
+		BaseIntent.setAsyncExecutor(DIRECT_EXECUTOR);
+		final IntentStarter mockStarter = mock(IntentStarter.class);
+		when(mockStarter.getContext()).thenReturn(context);
+		final BaseIntent.StartCallback mockCallback = mock(BaseIntent.StartCallback.class);
+		final BaseIntent intent = new IntentImpl();
+		registerActivityFor(intent.build(context));
+		// Act:
+		intent.startWithAsync(mockStarter, mockCallback);
+		// Assert:
+		verify(mockStarter).startIntent(any(Intent.class));
+		verify(mockCallback).onIntentStarted(intent, true);
+	}
+
+	@Test public void testStartWithAsyncWithUnavailableActivity() {
+		// Arrange:
+		BaseIntent.setAsyncExecutor(DIRECT_EXECUTOR);
+		final IntentStarter mockStarter = mock(IntentStarter.class);
+		when(mockStarter.getContext()).thenReturn(context);
+		final BaseIntent.StartCallback mockCallback = mock(BaseIntent.StartCallback.class);
+		final BaseIntent intent = new IntentImpl();
+		// Act:
+		intent.startWithAsync(mockStarter, mockCallback);
+		// Assert:
+		verify(mockStarter, times(0)).startIntent(any(Intent.class));
+		verify(mockCallback).onIntentStarted(intent, false);
+	}
+
+	@Test public void testStartWithAsyncWhenBuildFails() {
+		// Arrange:
+		BaseIntent.setAsyncExecutor(DIRECT_EXECUTOR);
+		final IntentStarter mockStarter = mock(IntentStarter.class);
+		when(mockStarter.getContext()).thenReturn(context);
+		final BaseIntent.StartCallback mockCallback = mock(BaseIntent.StartCallback.class);
+		final BaseIntent intent = new BaseIntent() {
+
+			@Override protected void ensureCanBuildOrThrow() {
+				throw cannotBuildIntentException("No data specified.");
+			}
+
+			@Override @NonNull protected Intent onBuild(@NonNull final Context context) {
+				return new Intent("ACTION.Test");
+			}
+		};
+		// Act:
+		intent.startWithAsync(mockStarter, mockCallback);
+		// Assert:
+		verify(mockStarter, times(0)).startIntent(any(Intent.class));
+		verify(mockCallback).onIntentStartFailed(eq(intent), any(IllegalArgumentException.class));
+	}
+
+	@Test public void testStartWithNotifiesMetrics() {
+		// Arrange:
+		final IntentMetrics mockMetrics = mock(IntentMetrics.class);
+		BaseIntent.setMetrics(mockMetrics);
+		final IntentStarter mockStarter = mock(IntentStarter.class);
+		when(mockStarter.getContext()).thenReturn(context);
+		final BaseIntent intent = new IntentImpl();
+		registerActivityFor(intent.build(context));
+		// Act:
+		intent.startWith(mockStarter);
+		// Assert:
+		verify(mockMetrics).onIntentStartMeasured(eq(IntentImpl.class), eq(IntentMetrics.OUTCOME_STARTED), anyLong(), anyLong(), anyLong());
+	}
+
+	@Test public void testStartWithUnavailableActivityNotifiesMetrics() {
+		// Arrange:
+		final IntentMetrics mockMetrics = mock(IntentMetrics.class);
+		BaseIntent.setMetrics(mockMetrics);
+		final IntentStarter mockStarter = mock(IntentStarter.class);
+		when(mockStarter.getContext()).thenReturn(context);
+		final BaseIntent intent = new IntentImpl();
+		// Act:
+		intent.startWith(mockStarter);
+		// Assert:
+		verify(mockMetrics).onIntentStartMeasured(eq(IntentImpl.class), eq(IntentMetrics.OUTCOME_ACTIVITY_NOT_FOUND), anyLong(), anyLong(), eq(0L));
+	}
+
+	@Test public void testStartWhenBuildFailsNotifiesMetrics() {
+		// Arrange:
+		final IntentMetrics mockMetrics = mock(IntentMetrics.class);
+		BaseIntent.setMetrics(mockMetrics);
+		final IntentStarter mockStarter = mock(IntentStarter.class);
+		when(mockStarter.getContext()).thenReturn(context);
+		final SimpleIntent intent = new SimpleIntent();
+		// Act:
+		try {
+			intent.startWith(mockStarter);
+		} catch (IllegalArgumentException e) {
+			// Assert:
+			verify(mockMetrics).onIntentStartMeasured(eq(SimpleIntent.class), eq(IntentMetrics.OUTCOME_FAILED), anyLong(), eq(0L), eq(0L));
+			return;
+		}
+		throw new AssertionError("No exception thrown.");
+	}
+
+	@Test public void testStartWithAsyncNotifiesMetrics() {
+		// Arrange:
+		BaseIntent.setAsyncExecutor(DIRECT_EXECUTOR);
+		final IntentMetrics mockMetrics = mock(IntentMetrics.class);
+		BaseIntent.setMetrics(mockMetrics);
+		final IntentStarter mockStarter = mock(IntentStarter.class);
+		when(mockStarter.getContext()).thenReturn(context);
+		final BaseIntent intent = new IntentImpl();
+		registerActivityFor(intent.build(context));
+		// Act:
+		intent.startWithAsync(mockStarter, null);
+		// Assert:
+		verify(mockMetrics).onIntentStartMeasured(eq(IntentImpl.class), eq(IntentMetrics.OUTCOME_STARTED), anyLong(), anyLong(), anyLong());
+	}
+
+	@Test public void testStartWithAsyncDoesNotBuildOnCallingThread() {
+		// Arrange:
+		BaseIntent.setAsyncExecutor(new Executor() {
+
+			@Override public void execute(@NonNull final Runnable command) {
+				// Never executes the command.
+			}
+		});
+		final IntentStarter mockStarter = mock(IntentStarter.class);
+		when(mockStarter.getContext()).thenReturn(context);
+		final BaseIntent.StartCallback mockCallback = mock(BaseIntent.StartCallback.class);
+		// Act:
+		new IntentImpl().startWithAsync(mockStarter, mockCallback);
+		// Assert:
+		verify(mockStarter, times(0)).startIntent(any(Intent.class));
+		verifyZeroInteractions(mockCallback);
+	}
+
+	private void registerActivityFor(final Intent intent) {
+		final ResolveInfo info = new ResolveInfo();
+		info.activityInfo = new ActivityInfo();
+		info.activityInfo.packageName = "universum.studios.test";
+		info.activityInfo.name = "TestActivity";
+		info.activityInfo.applicationInfo = new ApplicationInfo();
+		info.activityInfo.applicationInfo.packageName = "universum.studios.test";
+		shadowOf(context.getPackageManager()).addResolveInfoForIntent(intent, info);
+	}
+
+	static final class CountingIntent extends BaseIntent<CountingIntent> {
+
+		boolean cacheable;
+		int buildCount;
+
+		@Override protected boolean isBuiltIntentCacheable() {
+			return cacheable;
+		}
+
+		@Override @NonNull protected Intent onBuild(@NonNull final Context context) {
+			this.buildCount++;
+			return new Intent("ACTION.Test");
+		}
+	}
+
 	static final class IntentImpl extends BaseIntent<IntentImpl> {
 
 		@Override @NonNull protected Intent onBuild(@NonNull final Context context) {
@@ -0,0 +1,107 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import org.junit.Test;
+
+import universum.studios.android.test.local.LocalTestCase;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author Martin Albedinsky
+ */
+public final class HistogramIntentMetricsTest extends LocalTestCase {
+
+	@Test public void testInstantiation() {
+		// Act:
+		final HistogramIntentMetrics metrics = new HistogramIntentMetrics();
+		// Assert:
+		assertThat(metrics.count(IntentMetrics.PHASE_BUILD), is(0L));
+		assertThat(metrics.meanNanos(IntentMetrics.PHASE_BUILD), is(0L));
+		assertThat(metrics.percentileNanos(IntentMetrics.PHASE_BUILD, 0.5), is(0L));
+		assertThat(metrics.outcomeCount(IntentMetrics.OUTCOME_STARTED), is(0L));
+	}
+
+	@Test public void testBucketIndex() {
+		// Act + Assert:
+		assertThat(HistogramIntentMetrics.bucketIndex(0), is(0));
+		assertThat(HistogramIntentMetrics.bucketIndex(1), is(1));
+		assertThat(HistogramIntentMetrics.bucketIndex(2), is(2));
+		assertThat(HistogramIntentMetrics.bucketIndex(3), is(2));
+		assertThat(HistogramIntentMetrics.bucketIndex(1024), is(11));
+		assertThat(HistogramIntentMetrics.bucketIndex(Long.MAX_VALUE), is(HistogramIntentMetrics.BUCKETS_COUNT - 1));
+	}
+
+	@Test public void testOnIntentStartMeasured() {
+		// Arrange:
+		final HistogramIntentMetrics metrics = new HistogramIntentMetrics();
+		// Act:
+		metrics.onIntentStartMeasured(SimpleIntent.class, IntentMetrics.OUTCOME_STARTED, 100, 1000, 10000);
+		metrics.onIntentStartMeasured(SimpleIntent.class, IntentMetrics.OUTCOME_ACTIVITY_NOT_FOUND, 300, 3000, 0);
+		// Assert:
+		assertThat(metrics.outcomeCount(IntentMetrics.OUTCOME_STARTED), is(1L));
+		assertThat(metrics.outcomeCount(IntentMetrics.OUTCOME_ACTIVITY_NOT_FOUND), is(1L));
+		assertThat(metrics.outcomeCount(IntentMetrics.OUTCOME_FAILED), is(0L));
+		assertThat(metrics.count(IntentMetrics.PHASE_BUILD), is(2L));
+		assertThat(metrics.count(IntentMetrics.PHASE_RESOLVE), is(2L));
+		assertThat(metrics.count(IntentMetrics.PHASE_START), is(2L));
+		assertThat(metrics.meanNanos(IntentMetrics.PHASE_BUILD), is(200L));
+		assertThat(metrics.meanNanos(IntentMetrics.PHASE_RESOLVE), is(2000L));
+		assertThat(metrics.meanNanos(IntentMetrics.PHASE_START), is(5000L));
+	}
+
+	@Test public void testPercentileNanos() {
+		// Arrange:
+		final HistogramIntentMetrics metrics = new HistogramIntentMetrics();
+		for (int i = 0; i < 9; i++) {
+			metrics.onIntentStartMeasured(SimpleIntent.class, IntentMetrics.OUTCOME_STARTED, 100, 0, 0);
+		}
+		metrics.onIntentStartMeasured(SimpleIntent.class, IntentMetrics.OUTCOME_STARTED, 5000, 0, 0);
+		// Act + Assert:
+		assertThat(metrics.percentileNanos(IntentMetrics.PHASE_BUILD, 0.5), is(128L));
+		assertThat(metrics.percentileNanos(IntentMetrics.PHASE_BUILD, 0.9), is(128L));
+		assertThat(metrics.percentileNanos(IntentMetrics.PHASE_BUILD, 1), is(8192L));
+	}
+
+	@Test public void testReset() {
+		// Arrange:
+		final HistogramIntentMetrics metrics = new HistogramIntentMetrics();
+		metrics.onIntentStartMeasured(SimpleIntent.class, IntentMetrics.OUTCOME_FAILED, 100, 0, 0);
+		// Act:
+		metrics.reset();
+		// Assert:
+		assertThat(metrics.count(IntentMetrics.PHASE_BUILD), is(0L));
+		assertThat(metrics.meanNanos(IntentMetrics.PHASE_BUILD), is(0L));
+		assertThat(metrics.outcomeCount(IntentMetrics.OUTCOME_FAILED), is(0L));
+	}
+
+	@Test public void testDump() {
+		// Arrange:
+		final HistogramIntentMetrics metrics = new HistogramIntentMetrics();
+		metrics.onIntentStartMeasured(SimpleIntent.class, IntentMetrics.OUTCOME_STARTED, 100, 1000, 10000);
+		// Act:
+		final String dump = metrics.dump();
+		// Assert:
+		assertThat(dump, containsString("started: 1"));
+		assertThat(dump, containsString("build: {count: 1, meanNanos: 100"));
+	}
+}
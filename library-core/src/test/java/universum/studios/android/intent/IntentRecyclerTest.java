@@ -0,0 +1,117 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import android.content.Intent;
+
+import org.junit.Test;
+
+import androidx.annotation.NonNull;
+import universum.studios.android.test.local.RobolectricTestCase;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author Martin Albedinsky
+ */
+public final class IntentRecyclerTest extends RobolectricTestCase {
+
+	private static final IntentRecycler.Factory<SimpleIntent> FACTORY = new IntentRecycler.Factory<SimpleIntent>() {
+
+		@Override @NonNull public SimpleIntent createIntent() {
+			return new SimpleIntent();
+		}
+	};
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInstantiationWithInvalidPoolSize() {
+		// Act:
+		new IntentRecycler<>(0, FACTORY);
+	}
+
+	@Test public void testObtainFromEmptyPool() {
+		// Arrange:
+		final IntentRecycler<SimpleIntent> recycler = new IntentRecycler<>(2, FACTORY);
+		// Act:
+		final SimpleIntent first = recycler.obtain();
+		final SimpleIntent second = recycler.obtain();
+		// Assert:
+		assertThat(first, is(not(sameInstance(second))));
+		assertThat(recycler.size(), is(0));
+	}
+
+	@Test public void testObtainRecycled() {
+		// Arrange:
+		final IntentRecycler<SimpleIntent> recycler = new IntentRecycler<>(2, FACTORY);
+		final SimpleIntent intent = recycler.obtain();
+		recycler.recycle(intent);
+		// Act:
+		final SimpleIntent obtained = recycler.obtain();
+		// Assert:
+		assertThat(obtained, is(sameInstance(intent)));
+		assertThat(recycler.size(), is(0));
+	}
+
+	@Test public void testRecycle() {
+		// Arrange:
+		final IntentRecycler<SimpleIntent> recycler = new IntentRecycler<>(2, FACTORY);
+		final SimpleIntent intent = recycler.obtain().action(Intent.ACTION_VIEW).requestCode(100);
+		// Act:
+		recycler.recycle(intent);
+		// Assert:
+		assertThat(recycler.size(), is(1));
+		assertThat(intent.action(), is(""));
+		assertThat(intent.requestCode(), is(-1));
+	}
+
+	@Test public void testRecycleAlreadyRecycled() {
+		// Arrange:
+		final IntentRecycler<SimpleIntent> recycler = new IntentRecycler<>(2, FACTORY);
+		final SimpleIntent intent = recycler.obtain();
+		recycler.recycle(intent);
+		// Act:
+		recycler.recycle(intent);
+		// Assert:
+		assertThat(recycler.size(), is(1));
+	}
+
+	@Test public void testRecycleWithFullPool() {
+		// Arrange:
+		final IntentRecycler<SimpleIntent> recycler = new IntentRecycler<>(1, FACTORY);
+		recycler.recycle(new SimpleIntent());
+		// Act:
+		recycler.recycle(new SimpleIntent());
+		// Assert:
+		assertThat(recycler.size(), is(1));
+	}
+
+	@Test public void testClear() {
+		// Arrange:
+		final IntentRecycler<SimpleIntent> recycler = new IntentRecycler<>(2, FACTORY);
+		recycler.recycle(new SimpleIntent());
+		recycler.recycle(new SimpleIntent());
+		// Act:
+		recycler.clear();
+		// Assert:
+		assertThat(recycler.size(), is(0));
+	}
+}
@@ -0,0 +1,296 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import android.app.Application;
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.content.pm.ActivityInfo;
+import android.content.pm.ApplicationInfo;
+import android.content.pm.PackageManager;
+import android.content.pm.ResolveInfo;
+import android.net.Uri;
+
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import androidx.annotation.NonNull;
+import universum.studios.android.test.local.RobolectricTestCase;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * @author Martin Albedinsky
+ */
+public final class IntentResolverTest extends RobolectricTestCase {
+
+	@Override public void beforeTest() throws Exception {
+		super.beforeTest();
+		IntentResolver.unregisterReceiver();
+		IntentResolver.clearCache();
+	}
+
+	@Override public void afterTest() throws Exception {
+		super.afterTest();
+		IntentResolver.unregisterReceiver();
+		IntentResolver.clearCache();
+	}
+
+	@Test(expected = IllegalAccessException.class)
+	public void testInstantiation() throws Exception {
+		// Act:
+		IntentResolver.class.newInstance();
+	}
+
+	@Test(expected = InvocationTargetException.class)
+	public void testInstantiationWithAccessibleConstructor() throws Exception {
+		// Arrange:
+		final Constructor<IntentResolver> constructor = IntentResolver.class.getDeclaredConstructor();
+		constructor.setAccessible(true);
+		// Act:
+		constructor.newInstance();
+	}
+
+	@Test public void testIsActivityAvailable() {
+		// Arrange:
+		final Intent intent = new Intent(Intent.ACTION_VIEW, Uri.parse("http://www.google.com"));
+		registerActivityFor(intent);
+		// Act + Assert:
+		assertThat(IntentResolver.isActivityAvailable(context, intent), is(true));
+	}
+
+	@Test public void testIsActivityAvailableWithoutActivity() {
+		// Act + Assert:
+		assertThat(IntentResolver.isActivityAvailable(context, new Intent("ACTION.Test")), is(false));
+	}
+
+	@Test public void testIsActivityAvailableReturnsCachedResult() {
+		// Arrange:
+		final Intent intent = new Intent("ACTION.Test");
+		assertThat(IntentResolver.isActivityAvailable(context, intent), is(false));
+		registerActivityFor(intent);
+		// Act + Assert:
+		assertThat(IntentResolver.isActivityAvailable(context, intent), is(false));
+		IntentResolver.clearCache();
+		assertThat(IntentResolver.isActivityAvailable(context, intent), is(true));
+	}
+
+	@Test public void testIsActivityAvailableForIntentsWithDifferentFilterParts() {
+		// Arrange:
+		final Intent intent = new Intent(Intent.ACTION_VIEW, Uri.parse("http://www.google.com"));
+		registerActivityFor(intent);
+		// Act + Assert:
+		assertThat(IntentResolver.isActivityAvailable(context, intent), is(true));
+		assertThat(IntentResolver.isActivityAvailable(context, new Intent(Intent.ACTION_VIEW, Uri.parse("geo:0,0"))), is(false));
+		assertThat(IntentResolver.isActivityAvailable(context, new Intent(Intent.ACTION_EDIT, Uri.parse("http://www.google.com"))), is(false));
+	}
+
+	@Test public void testPackageChangeClearsCache() {
+		// Arrange:
+		final Intent intent = new Intent("ACTION.Test");
+		assertThat(IntentResolver.isActivityAvailable(context, intent), is(false));
+		registerActivityFor(intent);
+		// Act:
+		context.sendBroadcast(new Intent(Intent.ACTION_PACKAGE_ADDED, Uri.parse("package:universum.studios.test")));
+		// Assert:
+		assertThat(IntentResolver.isActivityAvailable(context, intent), is(true));
+	}
+
+	@Test public void testPackageChangeClearsCacheWithReceiverRegisteredOnlyOnce() {
+		// Arrange:
+		final Intent intent = new Intent("ACTION.Test");
+		assertThat(IntentResolver.isActivityAvailable(new ContextWrapper(context), intent), is(false));
+		assertThat(IntentResolver.isActivityAvailable(new ContextWrapper(context), intent), is(false));
+		registerActivityFor(intent);
+		// Act:
+		context.sendBroadcast(new Intent(Intent.ACTION_PACKAGE_ADDED, Uri.parse("package:universum.studios.test")));
+		// Assert:
+		assertThat(shadowOf((Application) context.getApplicationContext()).getRegisteredReceivers().size(), is(1));
+		assertThat(IntentResolver.isActivityAvailable(context, intent), is(true));
+	}
+
+	@Test public void testIsActivityAvailableDoesNotCacheResultResolvedBeforeCacheClear() {
+		// Arrange:
+		final Intent intent = new Intent("ACTION.Test");
+		final PackageManager mockPackageManager = mock(PackageManager.class);
+		when(mockPackageManager.resolveActivity(any(Intent.class), anyInt())).thenAnswer(new Answer<ResolveInfo>() {
+
+			@Override public ResolveInfo answer(@NonNull final InvocationOnMock invocation) {
+				IntentResolver.clearCache();
+				return createResolveInfo();
+			}
+		});
+		final Context packageContext = new ContextWrapper(context) {
+
+			@Override public PackageManager getPackageManager() {
+				return mockPackageManager;
+			}
+		};
+		// Act + Assert:
+		assertThat(IntentResolver.isActivityAvailable(packageContext, intent), is(true));
+		assertThat(IntentResolver.isActivityAvailable(packageContext, intent), is(true));
+		verify(mockPackageManager, times(2)).resolveActivity(any(Intent.class), anyInt());
+	}
+
+	@Test public void testIsActivityAvailableForContentWithoutTypeIsNotCached() {
+		// Arrange:
+		final Intent intent = new Intent(Intent.ACTION_VIEW, Uri.parse("content://universum.studios.test/images/1"));
+		assertThat(IntentResolver.isActivityAvailable(context, intent), is(false));
+		registerActivityFor(intent);
+		// Act + Assert:
+		assertThat(IntentResolver.isActivityAvailable(context, intent), is(true));
+	}
+
+	@Test public void testAreActivitiesAvailable() {
+		// Arrange:
+		registerActivityFor(new Intent("ACTION.First"));
+		registerActivityFor(new Intent("ACTION.Third"));
+		// Act:
+		final BitSet availability = IntentResolver.areActivitiesAvailable(context, Arrays.asList(
+				new SimpleIntent().action("ACTION.First"),
+				new SimpleIntent().action("ACTION.Second"),
+				new SimpleIntent().action("ACTION.First"),
+				new SimpleIntent().action("ACTION.Third")
+		));
+		// Assert:
+		assertThat(availability.get(0), is(true));
+		assertThat(availability.get(1), is(false));
+		assertThat(availability.get(2), is(true));
+		assertThat(availability.get(3), is(true));
+		assertThat(availability.cardinality(), is(3));
+	}
+
+	@Test public void testAreActivitiesAvailableQueriesPackageManagerOncePerActionAndScheme() {
+		// Arrange:
+		final PackageManager mockPackageManager = mock(PackageManager.class);
+		when(mockPackageManager.queryIntentActivities(any(Intent.class), anyInt())).thenAnswer(new Answer<List<ResolveInfo>>() {
+
+			@Override public List<ResolveInfo> answer(@NonNull final InvocationOnMock invocation) {
+				final Intent intent = invocation.getArgument(0);
+				if (intent.getComponent() == null && !"http".equals(intent.getScheme())) {
+					return Collections.emptyList();
+				}
+				final ResolveInfo info = createResolveInfo();
+				info.filter = new IntentFilter(Intent.ACTION_VIEW);
+				info.filter.addCategory(Intent.CATEGORY_DEFAULT);
+				info.filter.addDataScheme("http");
+				return Collections.singletonList(info);
+			}
+		});
+		final Context packageContext = new ContextWrapper(context) {
+
+			@Override public PackageManager getPackageManager() {
+				return mockPackageManager;
+			}
+		};
+		// Act:
+		final BitSet availability = IntentResolver.areActivitiesAvailable(packageContext, Arrays.asList(
+				new PreparedIntent(new Intent(Intent.ACTION_VIEW, Uri.parse("http://www.google.com"))),
+				new PreparedIntent(new Intent(Intent.ACTION_VIEW, Uri.parse("http://www.android.com"))),
+				new PreparedIntent(new Intent(Intent.ACTION_VIEW, Uri.parse("http://www.google.com/maps"))),
+				new PreparedIntent(new Intent(Intent.ACTION_VIEW, Uri.parse("geo:0,0"))),
+				new PreparedIntent(new Intent(Intent.ACTION_VIEW).setDataAndType(Uri.parse("http://www.android.com/page"), "text/html")),
+				new PreparedIntent(new Intent(Intent.ACTION_VIEW).setClassName("universum.studios.test", "TestActivity")),
+				new PreparedIntent(new Intent(Intent.ACTION_VIEW, Uri.parse("http://www.android.com")).setPackage("universum.studios.test"))
+		));
+		// Assert:
+		assertThat(availability.get(0), is(true));
+		assertThat(availability.get(1), is(true));
+		assertThat(availability.get(2), is(true));
+		assertThat(availability.get(3), is(false));
+		assertThat(availability.get(4), is(true));
+		assertThat(availability.get(5), is(true));
+		assertThat(availability.get(6), is(true));
+		verify(mockPackageManager, times(5)).queryIntentActivities(any(Intent.class), anyInt());
+		verify(mockPackageManager, never()).resolveActivity(any(Intent.class), anyInt());
+	}
+
+	@Test public void testAreActivitiesAvailableUsesCachedResults() {
+		// Arrange:
+		final Intent intent = new Intent("ACTION.Test");
+		assertThat(IntentResolver.isActivityAvailable(context, intent), is(false));
+		registerActivityFor(intent);
+		// Act:
+		final BitSet availability = IntentResolver.areActivitiesAvailable(context, Collections.singletonList(
+				new SimpleIntent().action("ACTION.Test")
+		));
+		// Assert:
+		assertThat(availability.get(0), is(false));
+	}
+
+	@Test public void testAreActivitiesAvailableWithIntentsThatCannotBeBuilt() {
+		// Act:
+		final BitSet availability = IntentResolver.areActivitiesAvailable(context, Collections.singletonList(new SimpleIntent()));
+		// Assert:
+		assertThat(availability.isEmpty(), is(true));
+	}
+
+	@Test public void testAreActivitiesAvailableWithEmptyCollection() {
+		// Act:
+		final BitSet availability = IntentResolver.areActivitiesAvailable(context, Collections.<BaseIntent>emptyList());
+		// Assert:
+		assertThat(availability.isEmpty(), is(true));
+	}
+
+	private static final class PreparedIntent extends BaseIntent<PreparedIntent> {
+
+		private final Intent intent;
+
+		PreparedIntent(final Intent intent) {
+			this.intent = intent;
+		}
+
+		@Override @NonNull protected Intent onBuild(@NonNull final Context context) {
+			return new Intent(intent);
+		}
+	}
+
+	private void registerActivityFor(final Intent intent) {
+		shadowOf(context.getPackageManager()).addResolveInfoForIntent(intent, createResolveInfo());
+	}
+
+	private static ResolveInfo createResolveInfo() {
+		final ResolveInfo info = new ResolveInfo();
+		info.activityInfo = new ActivityInfo();
+		info.activityInfo.packageName = "universum.studios.test";
+		info.activityInfo.name = "TestActivity";
+		info.activityInfo.applicationInfo = new ApplicationInfo();
+		info.activityInfo.applicationInfo.packageName = "universum.studios.test";
+		return info;
+	}
+}
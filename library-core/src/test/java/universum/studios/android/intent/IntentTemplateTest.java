@@ -0,0 +1,171 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import android.content.Context;
+import android.content.Intent;
+import android.content.pm.ActivityInfo;
+import android.content.pm.ApplicationInfo;
+import android.content.pm.ResolveInfo;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import androidx.annotation.NonNull;
+import universum.studios.android.test.local.RobolectricTestCase;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * @author Martin Albedinsky
+ */
+public final class IntentTemplateTest extends RobolectricTestCase {
+
+	@Override public void beforeTest() throws Exception {
+		super.beforeTest();
+		IntentResolver.clearCache();
+	}
+
+	@Override public void afterTest() throws Exception {
+		super.afterTest();
+		IntentResolver.clearCache();
+	}
+
+	@Test public void testCompile() {
+		// Arrange:
+		final CountingIntent builder = new CountingIntent();
+		// Act:
+		final IntentTemplate template = builder.compile(context);
+		// Assert:
+		assertThat(builder.buildCount, is(1));
+		assertThat(template.intent().getAction(), is("ACTION.Test"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCompileWithoutRequiredData() {
+		// Act:
+		new SimpleIntent().compile(context);
+	}
+
+	@Test public void testIntent() {
+		// Arrange:
+		final IntentTemplate template = new CountingIntent().compile(context);
+		// Act:
+		final Intent first = template.intent();
+		final Intent second = template.intent();
+		// Assert:
+		assertThat(first, is(not(sameInstance(second))));
+		assertThat(first.filterEquals(second), is(true));
+	}
+
+	@Test public void testStartWith() {
+		// Arrange:
+		final CountingIntent builder = new CountingIntent();
+		final IntentTemplate template = builder.compile(context);
+		registerActivityFor(template.intent());
+		final IntentStarter mockStarter = mock(IntentStarter.class);
+		when(mockStarter.getContext()).thenReturn(context);
+		// Act:
+		assertThat(template.startWith(mockStarter), is(true));
+		assertThat(template.startWith(mockStarter), is(true));
+		// Assert:
+		final ArgumentCaptor<Intent> intentCaptor = ArgumentCaptor.forClass(Intent.class);
+		verify(mockStarter, times(2)).startIntent(intentCaptor.capture());
+		assertThat(intentCaptor.getAllValues().get(0), is(not(sameInstance(intentCaptor.getAllValues().get(1)))));
+		assertThat(builder.buildCount, is(1));
+	}
+
+	@Test public void testStartWithAfterBuilderChange() {
+		// Arrange:
+		final SimpleIntent builder = new SimpleIntent().action("ACTION.Test").requestCode(12).transitions(1, 2);
+		final IntentTemplate template = builder.compile(context);
+		registerActivityFor(template.intent());
+		builder.requestCode(-1).transitions(3, 4).action("ACTION.Other");
+		builder.reset();
+		final IntentStarter mockStarter = mock(IntentStarter.class);
+		when(mockStarter.getContext()).thenReturn(context);
+		// Act:
+		final boolean started = template.startWith(mockStarter);
+		// Assert:
+		assertThat(started, is(true));
+		final ArgumentCaptor<Intent> intentCaptor = ArgumentCaptor.forClass(Intent.class);
+		verify(mockStarter).startIntentForResult(intentCaptor.capture(), eq(12));
+		verify(mockStarter, times(0)).startIntent(any(Intent.class));
+		verify(mockStarter, times(0)).overridePendingTransition(3, 4);
+		assertThat(intentCaptor.getValue().getAction(), is("ACTION.Test"));
+	}
+
+	@Test public void testStartWithTransitions() {
+		// Arrange:
+		final CountingIntent builder = new CountingIntent();
+		builder.transitions(1, 2);
+		final IntentTemplate template = builder.compile(context);
+		registerActivityFor(template.intent());
+		builder.transitions(0, 0);
+		final IntentStarter mockStarter = mock(IntentStarter.class);
+		when(mockStarter.getContext()).thenReturn(context);
+		// Act:
+		template.startWith(mockStarter);
+		// Assert:
+		verify(mockStarter).startIntent(any(Intent.class));
+		verify(mockStarter).overridePendingTransition(1, 2);
+	}
+
+	@Test public void testStartWithUnavailableActivity() {
+		// Arrange:
+		final IntentTemplate template = new CountingIntent().compile(context);
+		final IntentStarter mockStarter = mock(IntentStarter.class);
+		when(mockStarter.getContext()).thenReturn(context);
+		// Act:
+		final boolean started = template.startWith(mockStarter);
+		// Assert:
+		assertThat(started, is(false));
+		verify(mockStarter, times(0)).startIntent(any(Intent.class));
+	}
+
+	private void registerActivityFor(final Intent intent) {
+		final ResolveInfo info = new ResolveInfo();
+		info.activityInfo = new ActivityInfo();
+		info.activityInfo.packageName = "universum.studios.test";
+		info.activityInfo.name = "TestActivity";
+		info.activityInfo.applicationInfo = new ApplicationInfo();
+		info.activityInfo.applicationInfo.packageName = "universum.studios.test";
+		shadowOf(context.getPackageManager()).addResolveInfoForIntent(intent, info);
+	}
+
+	private static final class CountingIntent extends BaseIntent<CountingIntent> {
+
+		int buildCount;
+
+		@Override @NonNull protected Intent onBuild(@NonNull final Context context) {
+			this.buildCount++;
+			return new Intent("ACTION.Test");
+		}
+	}
+}
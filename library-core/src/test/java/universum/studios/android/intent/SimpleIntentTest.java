@@ -19,17 +19,21 @@
 package universum.studios.android.intent;
 
 import android.content.ComponentName;
+import android.content.Context;
 import android.content.Intent;
 
 import org.junit.Test;
 
+import androidx.annotation.NonNull;
 import universum.studios.android.test.local.RobolectricTestCase;
 import universum.studios.android.test.local.TestActivity;
 
 import static junit.framework.Assert.assertEquals;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -50,6 +54,19 @@ public final class SimpleIntentTest extends RobolectricTestCase {
 		assertThat(intent.requestCode(), is(-1));
 	}
 
+	@Test public void testReset() {
+		// Arrange:
+		final SimpleIntent intent = new SimpleIntent();
+		intent.activityClass(TestActivity.class).flags(Intent.FLAG_ACTIVITY_NEW_TASK).requestCode(100);
+		// Act:
+		intent.reset();
+		// Assert:
+		assertThat(intent.activityClass(), is(nullValue()));
+		assertThat(intent.action(), is(""));
+		assertThat(intent.flags(), is(0));
+		assertThat(intent.requestCode(), is(-1));
+	}
+
 	@Test public void testActivityClass() {
 		// Arrange:
 		final SimpleIntent intent = new SimpleIntent();
@@ -145,6 +162,42 @@ public final class SimpleIntentTest extends RobolectricTestCase {
 		assertThat(intent.getFlags(), is(Intent.FLAG_ACTIVITY_CLEAR_TOP));
 	}
 
+	@Test public void testBuildRepeatedly() {
+		// Arrange:
+		final SimpleIntent simpleIntent = new SimpleIntent().action(Intent.ACTION_VIEW);
+		final Intent firstIntent = simpleIntent.build(context);
+		// Act:
+		final Intent secondIntent = simpleIntent.build(context);
+		// Assert:
+		assertThat(secondIntent, is(not(sameInstance(firstIntent))));
+		assertThat(secondIntent.filterEquals(firstIntent), is(true));
+	}
+
+	@Test public void testBuildRepeatedlyWithSubclass() {
+		// Arrange:
+		final ExtendedIntent extendedIntent = new ExtendedIntent();
+		extendedIntent.action(Intent.ACTION_VIEW);
+		extendedIntent.extra = "first";
+		extendedIntent.build(context);
+		// Act:
+		extendedIntent.extra = "second";
+		// Assert:
+		final Intent intent = extendedIntent.build(context);
+		assertThat(intent.getStringExtra("EXTRA.Test"), is("second"));
+	}
+
+	@Test public void testBuildAfterChange() {
+		// Arrange:
+		final SimpleIntent simpleIntent = new SimpleIntent().action(Intent.ACTION_VIEW);
+		simpleIntent.build(context);
+		// Act:
+		simpleIntent.action(Intent.ACTION_EDIT).flag(Intent.FLAG_ACTIVITY_NEW_TASK);
+		// Assert:
+		final Intent intent = simpleIntent.build(context);
+		assertThat(intent.getAction(), is(Intent.ACTION_EDIT));
+		assertThat(intent.getFlags(), is(Intent.FLAG_ACTIVITY_NEW_TASK));
+	}
+
 	@Test public void testBuildWithoutParams() {
 		assertThatBuildThrowsExceptionWithMessage(
 				context,
@@ -201,4 +254,13 @@ public final class SimpleIntentTest extends RobolectricTestCase {
 		assertThat(simpleIntent.onStartWith(mockStarter, intent), is(true));
 		verify(mockStarter).startIntentForResult(intent, 1000);
 	}
-}
\ No newline at end of file
+
+	private static final class ExtendedIntent extends SimpleIntent {
+
+		String extra;
+
+		@Override @NonNull protected Intent onBuild(@NonNull final Context context) {
+			return super.onBuild(context).putExtra("EXTRA.Test", extra);
+		}
+	}
+}
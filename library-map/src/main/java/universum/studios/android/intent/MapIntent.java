@@ -158,6 +158,7 @@ public class MapIntent extends BaseIntent<MapIntent> {
 		this.lat = Math.max(LAT_MIN, Math.min(LAT_MAX, lat));
 		this.lng = Math.max(LNG_MIN, Math.min(LNG_MAX, lng));
 		this.latLngSet = true;
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -196,6 +197,7 @@ public class MapIntent extends BaseIntent<MapIntent> {
 	 */
 	public MapIntent locationQuery(@Nullable final String query) {
 		this.locationQuery = query;
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -221,6 +223,7 @@ public class MapIntent extends BaseIntent<MapIntent> {
 	 */
 	public MapIntent zoomLevel(@IntRange(from = ZOOM_LEVEL_MIN, to = ZOOM_LEVEL_MAX) final int level) {
 		this.zoomLevel = Math.max(ZOOM_LEVEL_MIN, Math.min(ZOOM_LEVEL_MAX, level));
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -245,6 +248,7 @@ public class MapIntent extends BaseIntent<MapIntent> {
 	 */
 	public MapIntent label(@Nullable final String label) {
 		this.label = label;
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -259,6 +263,25 @@ public class MapIntent extends BaseIntent<MapIntent> {
 		return label == null ? "" : label;
 	}
 
+	/**
+	 */
+	@Override public MapIntent reset() {
+		super.reset();
+		this.lat = 0;
+		this.lng = 0;
+		this.latLngSet = false;
+		this.zoomLevel = 0;
+		this.label = null;
+		this.locationQuery = null;
+		return this;
+	}
+
+	/**
+	 */
+	@Override protected boolean isBuiltIntentCacheable() {
+		return getClass() == MapIntent.class;
+	}
+
 	/**
 	 */
 	@Override protected void ensureCanBuildOrThrow() {
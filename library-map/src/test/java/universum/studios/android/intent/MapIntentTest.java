@@ -52,6 +52,20 @@ public final class MapIntentTest extends RobolectricTestCase {
 		assertThat(intent.label(), is(""));
 	}
 
+	@Test public void testReset() {
+		// Arrange:
+		final MapIntent intent = new MapIntent();
+		intent.location(24.16546d, 135.154d).locationQuery("Prague").zoomLevel(10).label("Label");
+		// Act:
+		intent.reset();
+		// Assert:
+		assertThat(intent.lat(), is(0d));
+		assertThat(intent.lng(), is(0d));
+		assertThat(intent.locationQuery(), is(""));
+		assertThat(intent.zoomLevel(), is(0));
+		assertThat(intent.label(), is(""));
+	}
+
 	@Test public void testLocation() {
 		// Arrange:
 		final MapIntent intent = new MapIntent();
@@ -212,6 +226,18 @@ public final class MapIntentTest extends RobolectricTestCase {
 		assertThat(intent.getData().getScheme(), is(MapIntent.URI_SCHEME));
 	}
 
+	@Test public void testBuildAfterChange() {
+		// Arrange:
+		final MapIntent mapIntent = new MapIntent();
+		mapIntent.location(40.7128, -74.0060);
+		mapIntent.build(context);
+		// Act:
+		mapIntent.zoomLevel(10);
+		// Assert:
+		final Intent intent = mapIntent.build(context);
+		assertThat(intent.getData(), is(Uri.parse("geo:40.7128,-74.006?z=10")));
+	}
+
 	@Test public void testBuildWithoutParams() {
 		assertThatBuildThrowsExceptionWithMessage(
 				context,
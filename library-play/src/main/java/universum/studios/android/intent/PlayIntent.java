@@ -90,6 +90,7 @@ public final class PlayIntent extends BaseIntent<PlayIntent> {
 	 */
 	public PlayIntent applicationId(@NonNull final String applicationId) {
 		this.applicationId = applicationId;
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -104,6 +105,20 @@ public final class PlayIntent extends BaseIntent<PlayIntent> {
 		return applicationId == null ? "" : applicationId;
 	}
 
+	/**
+	 */
+	@Override public PlayIntent reset() {
+		super.reset();
+		this.applicationId = null;
+		return this;
+	}
+
+	/**
+	 */
+	@Override protected boolean isBuiltIntentCacheable() {
+		return true;
+	}
+
 	/**
 	 */
 	@Override @NonNull protected Intent onBuild(@NonNull final Context context) {
@@ -42,6 +42,16 @@ public final class PlayIntentTest extends RobolectricTestCase {
 		assertThat(intent.applicationId(), is(""));
 	}
 
+	@Test public void testReset() {
+		// Arrange:
+		final PlayIntent intent = new PlayIntent();
+		intent.applicationId("com.google.android.inbox");
+		// Act:
+		intent.reset();
+		// Assert:
+		assertThat(intent.applicationId(), is(""));
+	}
+
 	@Test public void testApplicationId() {
 		// Arrange:
 		final PlayIntent intent = new PlayIntent();
@@ -62,6 +72,18 @@ public final class PlayIntentTest extends RobolectricTestCase {
 		assertThat(intent.getData(), is(Uri.parse(PlayIntent.VIEW_URL_BASE + "com.android.inbox")));
 	}
 
+	@Test public void testBuildAfterChange() {
+		// Arrange:
+		final PlayIntent playIntent = new PlayIntent();
+		playIntent.applicationId("com.google.android.apps.maps");
+		playIntent.build(context);
+		// Act:
+		playIntent.applicationId("com.google.android.youtube");
+		// Assert:
+		final Intent intent = playIntent.build(context);
+		assertThat(intent.getData(), is(Uri.parse(PlayIntent.VIEW_URL_BASE + "com.google.android.youtube")));
+	}
+
 	@Test public void testBuildWithDefaultPackageName() {
 		// Arrange:
 		final PlayIntent playIntent = new PlayIntent();
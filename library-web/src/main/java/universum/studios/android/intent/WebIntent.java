@@ -25,10 +25,8 @@ import android.text.TextUtils;
 import android.util.Patterns;
 
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import androidx.annotation.NonNull;
-import androidx.annotation.VisibleForTesting;
 
 /**
  * A {@link BaseIntent} builder implementation providing API for building and starting of intents
@@ -36,7 +34,8 @@ import androidx.annotation.VisibleForTesting;
  * <p>
  * This intent builder requires only a web Url to be specified via {@link #url(String)}.
  * <p>
- * Valid Url for the web intent must comply with {@link Patterns#WEB_URL} matcher.
+ * Valid Url for the web intent must comply with {@link Patterns#WEB_URL} matcher, which is checked
+ * via {@link WebUrlValidator}.
  *
  * @author Martin Albedinsky
  */
@@ -61,21 +60,15 @@ public class WebIntent extends BaseIntent<WebIntent> {
 
 	/**
 	 * Matcher for the valid web URL.
+	 * <p>
+	 * <b>Note</b>, that this matcher is shared and so it is not safe to be used concurrently from
+	 * multiple threads.
 	 *
 	 * @see Patterns#WEB_URL
+	 * @deprecated Use {@link WebUrlValidator} instead which is thread safe and does not require
+	 * regular expressions.
 	 */
-	public static final Matcher WEB_URL_MATCHER = Patterns.WEB_URL.matcher("");
-
-	/**
-	 * HTTP prefix for the valid web URL which does not contain a protocol part.
-	 */
-	@VisibleForTesting static final String HTTP_PREFIX = "http://";
-
-	/**
-	 * Matcher for valid HTTP format. Checks for the "http://" or "https://" prefix at the begin of
-	 * the specified web URL.
-	 */
-	@VisibleForTesting static final Matcher HTTP_FORMAT_MATCHER = Pattern.compile("^(http|https):\\/\\/(.+)").matcher("");
+	@Deprecated public static final Matcher WEB_URL_MATCHER = Patterns.WEB_URL.matcher("");
 
 	/*
 	 * Members =====================================================================================
@@ -98,8 +91,9 @@ public class WebIntent extends BaseIntent<WebIntent> {
 	 * Sets an URL that should be loaded into framework's web browser. <b>Note</b>, that the specified
 	 * <var>url</var> must be valid web URL otherwise will be not accepted.
 	 * <p>
-	 * If the given <var>url</var> is valid, but doesn't contain HTTP or HTTPS prefix, then the HTTP
-	 * (http://) prefix will be attached to it.
+	 * If the given <var>url</var> is valid, but doesn't contain any scheme prefix, then the HTTP
+	 * (http://) prefix will be attached to it. Scheme and host of the url are also lower-cased. See
+	 * {@link WebUrlValidator#normalize(CharSequence)} for more info.
 	 *
 	 * @param url The desired URL to load into web browser.
 	 * @return This intent builder to allow methods chaining.
@@ -107,13 +101,11 @@ public class WebIntent extends BaseIntent<WebIntent> {
 	 * @see #url()
 	 */
 	public WebIntent url(@NonNull final String url) {
-		if (WEB_URL_MATCHER.reset(url).matches()) {
-			if (HTTP_FORMAT_MATCHER.reset(url).matches()) {
-				this.url = url;
-			} else {
-				this.url = HTTP_PREFIX + url;
-			}
+		final String normalizedUrl = WebUrlValidator.normalize(url);
+		if (normalizedUrl != null) {
+			this.url = normalizedUrl;
 		}
+		invalidateBuiltIntent();
 		return this;
 	}
 
@@ -128,6 +120,20 @@ public class WebIntent extends BaseIntent<WebIntent> {
 		return url == null ? "" : url;
 	}
 
+	/**
+	 */
+	@Override public WebIntent reset() {
+		super.reset();
+		this.url = null;
+		return this;
+	}
+
+	/**
+	 */
+	@Override protected boolean isBuiltIntentCacheable() {
+		return getClass() == WebIntent.class;
+	}
+
 	/**
 	 */
 	@Override protected void ensureCanBuildOrThrow() {
@@ -0,0 +1,550 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2016 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.intent;
+
+import android.util.Patterns;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Utility class that may be used to validate and normalize web URLs. The validation follows rules
+ * of {@link Patterns#WEB_URL}, however it is performed by a hand-written single pass scanner which
+ * does not use any regular expressions, keeps no shared state and so may be safely used concurrently
+ * from multiple threads.
+ * <p>
+ * Valid web URL consists of:
+ * <ul>
+ * <li>optional {@code http://}, {@code https://} or {@code rtsp://} scheme (case insensitive),</li>
+ * <li>optional user info terminated by {@code @} character (only along with scheme),</li>
+ * <li>host name with at least two labels where the last one is a top level domain, or an IPv4 address,</li>
+ * <li>optional port number with at most 5 digits,</li>
+ * <li>optional path and query starting with {@code /} or {@code ?} character.</li>
+ * </ul>
+ *
+ * @author Martin Albedinsky
+ * @since 1.3
+ */
+public final class WebUrlValidator {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "WebUrlValidator";
+
+	/**
+	 * Scheme prepended to normalized URLs that do not specify any scheme.
+	 */
+	static final String DEFAULT_SCHEME_PREFIX = "http://";
+
+	/**
+	 * Schemes (along with their separator) recognized by the validator.
+	 */
+	private static final String[] SCHEME_PREFIXES = {"http://", "https://", "rtsp://"};
+
+	/**
+	 * Maximum length of a single label of a host name.
+	 */
+	private static final int LABEL_MAX_LENGTH = 63;
+
+	/**
+	 * Maximum count of digits of a port number.
+	 */
+	private static final int PORT_MAX_DIGITS = 5;
+
+	/**
+	 * Maximum length of the user name part of a user info.
+	 */
+	private static final int USER_NAME_MAX_LENGTH = 64;
+
+	/**
+	 * Maximum length of the password part of a user info.
+	 */
+	private static final int PASSWORD_MAX_LENGTH = 25;
+
+	/**
+	 * Prefix of top level domains in punycode encoding.
+	 */
+	private static final String PUNYCODE_PREFIX = "xn--";
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 */
+	private WebUrlValidator() {
+		// Not allowed to be instantiated publicly.
+		throw new UnsupportedOperationException();
+	}
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Checks whether the specified <var>url</var> is a valid web URL.
+	 *
+	 * @param url The URL to be validated. May be {@code null}.
+	 * @return {@code True} if the URL is valid, {@code false} if it is not or it is {@code null}.
+	 *
+	 * @see #normalize(CharSequence)
+	 */
+	public static boolean isValid(@Nullable final CharSequence url) {
+		return url != null && scanHost(url, schemePrefixLength(url)) != -1;
+	}
+
+	/**
+	 * Validates and normalizes the specified <var>url</var>. Normalized URL has its scheme and host
+	 * lower-cased and if the specified URL does not contain any scheme, {@code http://} is prepended
+	 * to it.
+	 * <p>
+	 * If the specified URL is already normalized, it is returned without any additional allocations.
+	 *
+	 * @param url The URL to be normalized. May be {@code null}.
+	 * @return Normalized URL or {@code null} if the specified URL is not valid or it is {@code null}.
+	 *
+	 * @see #isValid(CharSequence)
+	 */
+	@Nullable public static String normalize(@Nullable final CharSequence url) {
+		if (url == null) {
+			return null;
+		}
+		final int schemePrefixLength = schemePrefixLength(url);
+		final long hostRange = scanHost(url, schemePrefixLength);
+		if (hostRange == -1) {
+			return null;
+		}
+		final int hostStart = (int) (hostRange >>> 32);
+		final int hostEnd = (int) hostRange;
+		if (schemePrefixLength > 0 && !containsUpperCase(url, 0, schemePrefixLength) && !containsUpperCase(url, hostStart, hostEnd)) {
+			return url.toString();
+		}
+		final int length = url.length();
+		final StringBuilder builder = new StringBuilder(length + (schemePrefixLength == 0 ? DEFAULT_SCHEME_PREFIX.length() : 0));
+		if (schemePrefixLength == 0) {
+			builder.append(DEFAULT_SCHEME_PREFIX);
+		} else {
+			appendLowerCase(builder, url, 0, schemePrefixLength);
+		}
+		builder.append(url, schemePrefixLength, hostStart);
+		appendLowerCase(builder, url, hostStart, hostEnd);
+		builder.append(url, hostEnd, length);
+		return builder.toString();
+	}
+
+	/**
+	 * Returns length of the scheme prefix (scheme along with {@code ://} separator) at the start of
+	 * the specified <var>url</var>.
+	 *
+	 * @param url The URL of which scheme prefix to resolve.
+	 * @return Length of the scheme prefix or {@code 0} if the URL does not start with recognized scheme.
+	 */
+	private static int schemePrefixLength(final CharSequence url) {
+		for (final String prefix : SCHEME_PREFIXES) {
+			if (startsWithIgnoreCase(url, prefix)) {
+				return prefix.length();
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Scans the authority, port and path parts of the specified <var>url</var> starting at the
+	 * specified <var>start</var> index.
+	 *
+	 * @param url   The URL to be scanned.
+	 * @param start Index at which starts the authority part of the URL, that is length of the scheme
+	 *              prefix.
+	 * @return Range of the host within the URL with start index in the upper and end index in the
+	 * lower 32 bits, or {@code -1} if the URL is not valid.
+	 */
+	private static long scanHost(final CharSequence url, final int start) {
+		final int length = url.length();
+		// User info is allowed only along with an explicit scheme.
+		for (int i = start; start > 0 && i < length; i++) {
+			final char c = url.charAt(i);
+			if (c == '@') {
+				if (isUserInfo(url, start, i)) {
+					final long hostRange = scanHostPortAndPath(url, i + 1);
+					if (hostRange != -1) {
+						return hostRange;
+					}
+				}
+				break;
+			}
+			if (c == '/') {
+				break;
+			}
+		}
+		return scanHostPortAndPath(url, start);
+	}
+
+	/**
+	 * Scans the host, port and path parts of the specified <var>url</var> starting at the specified
+	 * <var>hostStart</var> index.
+	 *
+	 * @param url       The URL to be scanned.
+	 * @param hostStart Index at which starts the host part of the URL.
+	 * @return Range of the host as described in {@link #scanHost(CharSequence, int)}.
+	 */
+	private static long scanHostPortAndPath(final CharSequence url, final int hostStart) {
+		final int ipAddressEnd = scanIpAddress(url, hostStart);
+		if (ipAddressEnd != -1 && isPortAndPath(url, ipAddressEnd)) {
+			return ((long) hostStart << 32) | ipAddressEnd;
+		}
+		final int hostNameEnd = scanHostName(url, hostStart);
+		if (hostNameEnd != -1 && isPortAndPath(url, hostNameEnd)) {
+			return ((long) hostStart << 32) | hostNameEnd;
+		}
+		return -1;
+	}
+
+	/**
+	 * Scans a host name within the specified <var>url</var> starting at the specified <var>start</var>
+	 * index.
+	 *
+	 * @param url   The URL to be scanned.
+	 * @param start Index at which starts the host name.
+	 * @return Index at which ends the host name or {@code -1} if there is no valid host name.
+	 */
+	private static int scanHostName(final CharSequence url, final int start) {
+		final int length = url.length();
+		int index = start;
+		int labelsCount = 0;
+		while (true) {
+			final int labelStart = index;
+			while (index < length && isLabelChar(url.charAt(index))) {
+				index++;
+			}
+			if (index == labelStart) {
+				return -1;
+			}
+			if (index < length && url.charAt(index) == '.') {
+				if (!isLabel(url, labelStart, index)) {
+					return -1;
+				}
+				index++;
+				labelsCount++;
+				continue;
+			}
+			return labelsCount > 0 && isTopLevelDomain(url, labelStart, index) ? index : -1;
+		}
+	}
+
+	/**
+	 * Checks whether the specified range of the <var>url</var> is a valid host name label which
+	 * starts and ends with a letter or digit.
+	 */
+	private static boolean isLabel(final CharSequence url, final int start, final int end) {
+		return end - start <= LABEL_MAX_LENGTH && isLabelBoundaryChar(url.charAt(start)) && isLabelBoundaryChar(url.charAt(end - 1));
+	}
+
+	/**
+	 * Checks whether the specified range of the <var>url</var> is a valid top level domain which
+	 * contains only letters or which is encoded in punycode.
+	 */
+	private static boolean isTopLevelDomain(final CharSequence url, final int start, final int end) {
+		final int length = end - start;
+		if (length > PUNYCODE_PREFIX.length() && regionMatches(url, start, PUNYCODE_PREFIX)) {
+			if (length > LABEL_MAX_LENGTH) {
+				return false;
+			}
+			for (int i = start + PUNYCODE_PREFIX.length(); i < end; i++) {
+				final char c = url.charAt(i);
+				if (!isAsciiLetterOrDigit(c) && c != '_' && (c != '-' || i == end - 1)) {
+					return false;
+				}
+			}
+			return true;
+		}
+		if (length < 2 || length > LABEL_MAX_LENGTH) {
+			return false;
+		}
+		for (int i = start; i < end; i++) {
+			final char c = url.charAt(i);
+			if (!isAsciiLetter(c) && !isUcsChar(c)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Scans an IPv4 address within the specified <var>url</var> starting at the specified
+	 * <var>start</var> index.
+	 *
+	 * @param url   The URL to be scanned.
+	 * @param start Index at which starts the IP address.
+	 * @return Index at which ends the IP address or {@code -1} if there is no valid IP address.
+	 */
+	private static int scanIpAddress(final CharSequence url, final int start) {
+		final int length = url.length();
+		int index = start;
+		for (int octet = 0; octet < 4; octet++) {
+			if (octet > 0) {
+				if (index == length || url.charAt(index) != '.') {
+					return -1;
+				}
+				index++;
+			}
+			final int octetStart = index;
+			int value = 0;
+			while (index < length && index - octetStart < 3 && isDigit(url.charAt(index))) {
+				value = value * 10 + (url.charAt(index) - '0');
+				index++;
+			}
+			final int digits = index - octetStart;
+			if (digits == 0 || value > 255) {
+				return -1;
+			}
+			// Only the first octet must not be zero and two digit octets must not start with zero.
+			if ((digits == 1 && value == 0 && octet == 0) || (digits == 2 && url.charAt(octetStart) == '0')) {
+				return -1;
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Checks whether the specified <var>url</var> contains only valid port and path parts starting
+	 * at the specified <var>start</var> index.
+	 *
+	 * @param url   The URL to be checked.
+	 * @param start Index at which ends the host part of the URL.
+	 * @return {@code True} if the rest of the URL is valid, {@code false} otherwise.
+	 */
+	private static boolean isPortAndPath(final CharSequence url, final int start) {
+		final int length = url.length();
+		int index = start;
+		if (index < length && url.charAt(index) == ':') {
+			final int portStart = ++index;
+			while (index < length && isDigit(url.charAt(index))) {
+				index++;
+			}
+			final int digits = index - portStart;
+			if (digits == 0 || digits > PORT_MAX_DIGITS) {
+				return false;
+			}
+		}
+		if (index == length) {
+			return true;
+		}
+		final char pathStart = url.charAt(index);
+		if (pathStart != '/' && pathStart != '?') {
+			return false;
+		}
+		index++;
+		while (index < length) {
+			final char c = url.charAt(index);
+			if (c == '%') {
+				if (!isEscapeSequence(url, index)) {
+					return false;
+				}
+				index += 3;
+			} else if (isPathChar(c)) {
+				index++;
+			} else {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks whether the specified range of the <var>url</var> is a valid user info consisting of
+	 * user name optionally followed by {@code :} and password.
+	 */
+	private static boolean isUserInfo(final CharSequence url, final int start, final int end) {
+		int index = start;
+		int partStart = start;
+		boolean password = false;
+		while (index < end) {
+			final char c = url.charAt(index);
+			if (c == '%') {
+				if (index + 3 > end || !isEscapeSequence(url, index)) {
+					return false;
+				}
+				index += 3;
+			} else if (c == ':' && !password) {
+				if (index == partStart || index - partStart > USER_NAME_MAX_LENGTH) {
+					return false;
+				}
+				password = true;
+				partStart = ++index;
+			} else if (isUserInfoChar(c)) {
+				index++;
+			} else {
+				return false;
+			}
+		}
+		return index > partStart && index - partStart <= (password ? PASSWORD_MAX_LENGTH : USER_NAME_MAX_LENGTH);
+	}
+
+	/**
+	 * Checks whether there is a valid {@code %XX} escape sequence at the specified <var>index</var>
+	 * of the <var>url</var>.
+	 */
+	private static boolean isEscapeSequence(final CharSequence url, final int index) {
+		return index + 2 < url.length() && isHexDigit(url.charAt(index + 1)) && isHexDigit(url.charAt(index + 2));
+	}
+
+	/**
+	 * Checks whether the specified <var>url</var> starts with the given lower-cased <var>prefix</var>
+	 * ignoring case.
+	 */
+	private static boolean startsWithIgnoreCase(final CharSequence url, final String prefix) {
+		final int length = prefix.length();
+		if (url.length() < length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (toLowerCase(url.charAt(i)) != prefix.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks whether the specified <var>url</var> contains the given <var>region</var> at the
+	 * specified <var>start</var> index.
+	 */
+	private static boolean regionMatches(final CharSequence url, final int start, final String region) {
+		for (int i = 0; i < region.length(); i++) {
+			if (url.charAt(start + i) != region.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks whether the specified range of the <var>url</var> contains any ASCII upper-case letter.
+	 */
+	private static boolean containsUpperCase(final CharSequence url, final int start, final int end) {
+		for (int i = start; i < end; i++) {
+			final char c = url.charAt(i);
+			if (c >= 'A' && c <= 'Z') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Appends the specified range of the <var>url</var> with ASCII letters lower-cased into the
+	 * given <var>builder</var>.
+	 */
+	private static void appendLowerCase(final StringBuilder builder, final CharSequence url, final int start, final int end) {
+		for (int i = start; i < end; i++) {
+			builder.append(toLowerCase(url.charAt(i)));
+		}
+	}
+
+	/**
+	 * Converts the specified <var>c</var> to lower case if it is an ASCII upper-case letter.
+	 */
+	private static char toLowerCase(final char c) {
+		return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+	}
+
+	/**
+	 * Checks whether the specified <var>c</var> is an ASCII digit.
+	 */
+	private static boolean isDigit(final char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	/**
+	 * Checks whether the specified <var>c</var> is a hexadecimal digit.
+	 */
+	private static boolean isHexDigit(final char c) {
+		return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+	}
+
+	/**
+	 * Checks whether the specified <var>c</var> is an ASCII letter.
+	 */
+	private static boolean isAsciiLetter(final char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+	}
+
+	/**
+	 * Checks whether the specified <var>c</var> is an ASCII letter or digit.
+	 */
+	private static boolean isAsciiLetterOrDigit(final char c) {
+		return isAsciiLetter(c) || isDigit(c);
+	}
+
+	/**
+	 * Checks whether the specified <var>c</var> is an international (non-ASCII) character allowed
+	 * within web URLs.
+	 */
+	private static boolean isUcsChar(final char c) {
+		return c >= '\u00A0' && !(c >= '\uFDD0' && c <= '\uFDEF') && c < '\uFFF0';
+	}
+
+	/**
+	 * Checks whether the specified <var>c</var> may start or end a host name label.
+	 */
+	private static boolean isLabelBoundaryChar(final char c) {
+		return isAsciiLetterOrDigit(c) || isUcsChar(c);
+	}
+
+	/**
+	 * Checks whether the specified <var>c</var> may be contained in a host name label.
+	 */
+	private static boolean isLabelChar(final char c) {
+		return isLabelBoundaryChar(c) || c == '-' || c == '_';
+	}
+
+	/**
+	 * Checks whether the specified <var>c</var> may be contained in a user info.
+	 */
+	private static boolean isUserInfoChar(final char c) {
+		return isAsciiLetterOrDigit(c) || "$-_.+!*'(),;?&=".indexOf(c) != -1;
+	}
+
+	/**
+	 * Checks whether the specified <var>c</var> may be contained in a path or query.
+	 */
+	private static boolean isPathChar(final char c) {
+		return isLabelBoundaryChar(c) || ";/?:@&=#~-.+!*'(),_$".indexOf(c) != -1;
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+}
@@ -42,18 +42,6 @@ public final class WebIntentTest extends RobolectricTestCase {
 		assertThat(WebIntent.WEB_URL_MATCHER, is(notNullValue()));
 	}
 
-	@Test public void testHttpPrefix() {
-		// Assert:
-		assertThat(WebIntent.HTTP_PREFIX, is("http://"));
-	}
-
-	@Test public void testHttpMatcher() {
-		// Act + Assert:
-		assertThat(WebIntent.HTTP_FORMAT_MATCHER.reset("http://www.google.com").matches(), is(true));
-		assertThat(WebIntent.HTTP_FORMAT_MATCHER.reset("https://www.google.com").matches(), is(true));
-		assertThat(WebIntent.HTTP_FORMAT_MATCHER.reset("www.google.com").matches(), is(false));
-	}
-
 	@Test public void testInstantiation() {
 		// Act:
 		final WebIntent intent = new WebIntent();
@@ -62,6 +50,16 @@ public final class WebIntentTest extends RobolectricTestCase {
 		assertThat(intent.url().length(), is(0));
 	}
 
+	@Test public void testReset() {
+		// Arrange:
+		final WebIntent intent = new WebIntent();
+		intent.url("http://www.google.com");
+		// Act:
+		intent.reset();
+		// Assert:
+		assertThat(intent.url().length(), is(0));
+	}
+
 	@Test public void testUrlText() {
 		// Arrange:
 		final WebIntent intent = new WebIntent();
@@ -80,6 +78,15 @@ public final class WebIntentTest extends RobolectricTestCase {
 		assertThat(intent.url(), is("http://www.google.com"));
 	}
 
+	@Test public void testUrlTextWithUpperCaseSchemeAndHost() {
+		// Arrange:
+		final WebIntent intent = new WebIntent();
+		// Act:
+		intent.url("HTTPS://WWW.Google.com/Search");
+		// Assert:
+		assertThat(intent.url(), is("https://www.google.com/Search"));
+	}
+
 	@Test public void testUrlTextWithInvalidValue() {
 		// Arrange:
 		final WebIntent intent = new WebIntent();
@@ -101,6 +108,18 @@ public final class WebIntentTest extends RobolectricTestCase {
 		assertThat(intent.getData(), is(Uri.parse("http://inbox.google.com")));
 	}
 
+	@Test public void testBuildAfterChange() {
+		// Arrange:
+		final WebIntent webIntent = new WebIntent();
+		webIntent.url("inbox.google.com");
+		webIntent.build(context);
+		// Act:
+		webIntent.url("https://www.google.com");
+		// Assert:
+		final Intent intent = webIntent.build(context);
+		assertThat(intent.getData(), is(Uri.parse("https://www.google.com")));
+	}
+
 	@Test public void testBuildWithoutUrl() {
 		assertThatBuildThrowsExceptionWithMessage(
 				context,